@@ -0,0 +1,61 @@
+package com.college.loadtest;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Minimal --key=value command line parser shared by the benchmark entry points
+ */
+public class BenchmarkArgs {
+
+    private final Map<String, String> values = new HashMap<>();
+
+    public BenchmarkArgs(String[] args) {
+        for (String arg : args) {
+            if (!arg.startsWith("--")) {
+                throw new IllegalArgumentException("Unexpected argument: " + arg);
+            }
+            int eq = arg.indexOf('=');
+            if (eq < 0) {
+                values.put(arg.substring(2), "true");
+            } else {
+                values.put(arg.substring(2, eq), arg.substring(eq + 1));
+            }
+        }
+    }
+
+    public String get(String key, String defaultValue) {
+        return values.getOrDefault(key, defaultValue);
+    }
+
+    public int getInt(String key, int defaultValue) {
+        String value = values.get(key);
+        return value == null ? defaultValue : Integer.parseInt(value);
+    }
+
+    public boolean getBoolean(String key, boolean defaultValue) {
+        String value = values.get(key);
+        return value == null ? defaultValue : Boolean.parseBoolean(value);
+    }
+
+    /**
+     * Durations are given in seconds
+     */
+    public Duration getSeconds(String key, int defaultSeconds) {
+        return Duration.ofSeconds(getInt(key, defaultSeconds));
+    }
+
+    public List<Integer> getIntList(String key) {
+        List<Integer> result = new ArrayList<>();
+        String value = values.get(key);
+        if (value != null && !value.isBlank()) {
+            for (String part : value.split(",")) {
+                result.add(Integer.parseInt(part.trim()));
+            }
+        }
+        return result;
+    }
+}
@@ -0,0 +1,219 @@
+package com.college.loadtest;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+
+import java.io.File;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Second-level cache correctness under concurrent updates
+ *
+ * Starts an embedded PostgreSQL and the student-service jar against it,
+ * creates --students students and then, for --duration seconds, has
+ * --writers threads PUT new versions of them (each student owned by one
+ * writer, the version carried in its phone number) while --readers threads
+ * GET them by id. A read must never return a version older than one
+ * acknowledged before the read was sent, nor one that was never written.
+ * Afterwards every student read through the API must match its database row,
+ * and a deleted student must be gone from the API straight away. The run
+ * fails when any check does, or when the students region served no hits and
+ * so proved nothing.
+ *
+ * The service runs with its shipped read path, the second-level cache and
+ * single-flight coalescing both on as application.yml sets them; only rate
+ * limiting is turned off, so the readers are not throttled. Validate changes
+ * to either with this check as it stands, not with one of them disabled. The
+ * reads that joined another's load are reported next to the cache hits.
+ *
+ *   (cd student-service && mvn -q package spring-boot:repackage -DskipTests)
+ *   (cd load-test && mvn -q exec:java -Dexec.mainClass=com.college.loadtest.CacheConsistencyCheck \
+ *       -Dexec.args="--students=50 --writers=4 --readers=16 --duration=30")
+ */
+public class CacheConsistencyCheck {
+
+    private static final Pattern PHONE = Pattern.compile("\"phone\":\"\\+91(\\d{10})\"");
+    private static final Pattern STUDENT_HITS = Pattern.compile(
+            "cache_gets_total\\{cache=\"students\",cacheManager=\"hibernate\",result=\"hit\",} ([0-9.E]+)");
+    private static final Pattern COALESCED_READS = Pattern.compile(
+            "student_singleflight_calls_total\\{[^}]*outcome=\"coalesced\"[^}]*} ([0-9.E]+)");
+
+    public static void main(String[] args) throws Exception {
+        BenchmarkArgs options = new BenchmarkArgs(args);
+        int students = options.getInt("students", 50);
+        int writers = options.getInt("writers", 4);
+        int readers = options.getInt("readers", 16);
+        Duration duration = options.getSeconds("duration", 30);
+        int port = options.getInt("port", 18081);
+        String jar = options.get("jar", "../student-service/target/student-service-1.0.0.jar");
+
+        try (EmbeddedPostgres postgres = EmbeddedPostgres.builder().start()) {
+            List<String> appArgs = List.of(
+                    "--spring.datasource.url=" + postgres.getJdbcUrl("postgres", "postgres"),
+                    "--spring.datasource.username=postgres",
+                    "--spring.datasource.password=",
+                    "--spring.profiles.active=" + options.get("profiles", "prod"),
+                    "--student.rate-limit.enabled=false");
+            File log = new File(options.get("service-log", "target/student-service-cache-check.log"));
+            HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofMillis(200)).build();
+            try (ServiceProcess service = ServiceProcess.start(jar, port, List.of(), appArgs, log)) {
+                double startup = service.awaitHealthy(client, options.getSeconds("timeout", 180));
+                System.out.printf("student-service healthy after %.1fs, log in %s%n", startup, log);
+
+                String root = "http://localhost:" + port + "/student-service";
+                String base = root + "/api/v1/students";
+                String run = Long.toString(System.currentTimeMillis(), 36);
+                long[] ids = new long[students];
+                for (int n = 0; n < students; n++) {
+                    HttpResponse<String> created = send(client, HttpRequest.newBuilder(URI.create(base))
+                            .header("Content-Type", "application/json")
+                            .POST(HttpRequest.BodyPublishers.ofString(body(run, n, 0))));
+                    if (created.statusCode() != 201) {
+                        throw new IllegalStateException("Create returned " + created.statusCode() + ": " + created.body());
+                    }
+                    ids[n] = Long.parseLong(created.body().replaceAll("^\\{\"id\":(\\d+).*", "$1"));
+                }
+
+                // Highest version acknowledged, and highest sent, per student
+                AtomicLongArray acknowledged = new AtomicLongArray(students);
+                AtomicLongArray sent = new AtomicLongArray(students);
+                AtomicLong reads = new AtomicLong();
+                AtomicLong writes = new AtomicLong();
+                List<String> violations = new ArrayList<>();
+                long deadline = System.nanoTime() + duration.toNanos();
+
+                ExecutorService pool = Executors.newFixedThreadPool(writers + readers);
+                List<Future<?>> tasks = new ArrayList<>();
+                for (int w = 0; w < writers; w++) {
+                    int writer = w;
+                    tasks.add(pool.submit(() -> {
+                        while (System.nanoTime() < deadline) {
+                            for (int n = writer; n < students && System.nanoTime() < deadline; n += writers) {
+                                long version = sent.get(n) + 1;
+                                sent.set(n, version);
+                                HttpResponse<String> updated = send(client, HttpRequest.newBuilder(URI.create(base + "/" + ids[n]))
+                                        .header("Content-Type", "application/json")
+                                        .PUT(HttpRequest.BodyPublishers.ofString(body(run, n, version))));
+                                if (updated.statusCode() != 200) {
+                                    throw new IllegalStateException("Update returned " + updated.statusCode() + ": " + updated.body());
+                                }
+                                acknowledged.set(n, version);
+                                writes.incrementAndGet();
+                            }
+                        }
+                        return null;
+                    }));
+                }
+                for (int r = 0; r < readers; r++) {
+                    tasks.add(pool.submit(() -> {
+                        while (System.nanoTime() < deadline) {
+                            int n = ThreadLocalRandom.current().nextInt(students);
+                            long floor = acknowledged.get(n);
+                            HttpResponse<String> read = send(client, HttpRequest.newBuilder(URI.create(base + "/" + ids[n])).GET());
+                            long ceiling = sent.get(n);
+                            long version = versionOf(read);
+                            if (version < floor || version > ceiling) {
+                                synchronized (violations) {
+                                    violations.add(String.format("student %d read version %d, acknowledged %d, sent %d",
+                                            ids[n], version, floor, ceiling));
+                                }
+                            }
+                            reads.incrementAndGet();
+                        }
+                        return null;
+                    }));
+                }
+                for (Future<?> task : tasks) {
+                    task.get();
+                }
+                pool.shutdown();
+                System.out.printf("%d updates and %d reads in %ds, %d stale or phantom reads%n",
+                        writes.get(), reads.get(), duration.toSeconds(), violations.size());
+
+                try (Connection connection = postgres.getPostgresDatabase().getConnection();
+                     PreparedStatement phone = connection.prepareStatement("SELECT phone FROM students WHERE id = ?")) {
+                    for (int n = 0; n < students; n++) {
+                        phone.setLong(1, ids[n]);
+                        try (ResultSet rs = phone.executeQuery()) {
+                            rs.next();
+                            long stored = Long.parseLong(rs.getString(1).substring(3));
+                            long served = versionOf(send(client, HttpRequest.newBuilder(URI.create(base + "/" + ids[n])).GET()));
+                            if (stored != served || stored != acknowledged.get(n)) {
+                                violations.add(String.format("student %d serves version %d, database holds %d, last acknowledged %d",
+                                        ids[n], served, stored, acknowledged.get(n)));
+                            }
+                        }
+                    }
+                }
+
+                for (int n = 0; n < students; n += 4) {
+                    URI location = URI.create(base + "/" + ids[n]);
+                    int deleted = send(client, HttpRequest.newBuilder(location).DELETE()).statusCode();
+                    int status = send(client, HttpRequest.newBuilder(location).GET()).statusCode();
+                    if (deleted != 204 || status != 404) {
+                        violations.add(String.format("student %d: delete returned %d, read after it %d", ids[n], deleted, status));
+                    }
+                }
+
+                String metrics = send(client, HttpRequest.newBuilder(URI.create(root + "/actuator/prometheus")).GET()).body();
+                Matcher hits = STUDENT_HITS.matcher(metrics);
+                double studentHits = hits.find() ? Double.parseDouble(hits.group(1)) : 0;
+                double coalesced = 0;
+                for (Matcher calls = COALESCED_READS.matcher(metrics); calls.find(); ) {
+                    coalesced += Double.parseDouble(calls.group(1));
+                }
+                System.out.printf("students region served %.0f hits, %.0f reads joined another's load%n",
+                        studentHits, coalesced);
+
+                for (String violation : violations.subList(0, Math.min(20, violations.size()))) {
+                    System.out.println("  " + violation);
+                }
+                if (!violations.isEmpty()) {
+                    throw new IllegalStateException(violations.size() + " consistency violations");
+                }
+                if (studentHits == 0) {
+                    throw new IllegalStateException("No second-level cache hits; is hibernate.cache.use_second_level_cache on?");
+                }
+                System.out.println("Second-level cache stayed consistent with the database");
+            }
+        }
+    }
+
+    private static String body(String run, int n, long version) {
+        return String.format("{\"studentId\":\"CC%s%05d\",\"firstName\":\"Cache\",\"lastName\":\"Check\","
+                        + "\"email\":\"cc%s%d@cache.test\",\"phone\":\"+91%010d\",\"department\":\"CSE\",\"yearOfStudy\":1}",
+                run, n, run, n, version);
+    }
+
+    private static long versionOf(HttpResponse<String> response) {
+        Matcher phone = PHONE.matcher(response.body());
+        if (response.statusCode() != 200 || !phone.find()) {
+            throw new IllegalStateException("Read returned " + response.statusCode() + ": " + response.body());
+        }
+        return Long.parseLong(phone.group(1));
+    }
+
+    private static HttpResponse<String> send(HttpClient client, HttpRequest.Builder request) {
+        try {
+            return client.send(request.timeout(Duration.ofSeconds(30)).build(), HttpResponse.BodyHandlers.ofString());
+        } catch (Exception e) {
+            throw new IllegalStateException("Request failed: " + request.build().uri(), e);
+        }
+    }
+}
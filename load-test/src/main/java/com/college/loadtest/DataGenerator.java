@@ -0,0 +1,219 @@
+package com.college.loadtest;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+
+import javax.sql.DataSource;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Seeds student_db with synthetic students and admissions through COPY
+ *
+ * Rows are rendered in Java from a seeded random stream and streamed to the
+ * server in COPY text format, so the same --seed always produces the same
+ * dataset and a million students load in seconds rather than minutes of
+ * INSERTs. Ids are assigned here, continuing after the current maximum, and
+ * the sequences are moved past them afterwards so the service keeps inserting
+ * normally.
+ *
+ *   mvn -q exec:java -Dexec.mainClass=com.college.loadtest.DataGenerator \
+ *       -Dexec.args="--url=jdbc:postgresql://localhost:5432/student_db --students=1000000 --truncate"
+ */
+public class DataGenerator {
+
+    static final String[] FIRST_NAMES = {
+            "Aarav", "Aditi", "Akash", "Ananya", "Arjun", "Diya", "Farhan", "Gauri", "Ishaan", "Kavya",
+            "Kabir", "Meera", "Nikhil", "Neha", "Pranav", "Priya", "Rahul", "Riya", "Rohan", "Saanvi",
+            "Sahil", "Sneha", "Tanvi", "Varun", "Vikram", "Yash", "Zoya", "Emma", "Liam", "Olivia",
+            "Noah", "Ava", "Ethan", "Sophia", "Lucas", "Mia", "Mason", "Isabella", "Logan", "Amelia"};
+
+    static final String[] LAST_NAMES = {
+            "Sharma", "Verma", "Gupta", "Iyer", "Nair", "Reddy", "Patel", "Mehta", "Kapoor", "Joshi",
+            "Menon", "Rao", "Bose", "Chatterjee", "Das", "Khan", "Singh", "Kulkarni", "Pillai", "Agarwal",
+            "Smith", "Johnson", "Williams", "Brown", "Jones", "Garcia", "Miller", "Davis", "Wilson", "Anderson",
+            "Thomas", "Taylor", "Moore", "Jackson", "Martin", "Lee", "Thompson", "White", "Harris", "Clark"};
+
+    static final String[] PROGRAMS = {
+            "B.Tech Computer Science", "B.Tech Electronics", "B.Tech Mechanical", "B.Tech Civil",
+            "B.Tech Information Technology", "M.Tech Computer Science", "M.Tech VLSI", "M.Tech Structures",
+            "MBA", "MCA", "B.Sc Physics", "B.Sc Mathematics", "M.Sc Chemistry", "PhD Computer Science"};
+
+    // Roughly the mix of a running college: most students active, a long tail of the rest
+    private static final String[] STUDENT_STATUSES = {
+            "ACTIVE", "ACTIVE", "ACTIVE", "ACTIVE", "ACTIVE", "ACTIVE", "ACTIVE",
+            "INACTIVE", "GRADUATED", "GRADUATED", "SUSPENDED", "DROPPED_OUT"};
+
+    private static final String[] ADMISSION_STATUSES = {
+            "APPROVED", "APPROVED", "APPROVED", "APPROVED", "PENDING", "PENDING",
+            "REJECTED", "REJECTED", "WAITLISTED", "CANCELLED"};
+
+    private static final int FLUSH_BYTES = 1 << 20;
+
+    /**
+     * Counts and timings of one run
+     */
+    public record Result(long students, long admissions, double seconds) {}
+
+    public static void main(String[] args) throws Exception {
+        BenchmarkArgs options = new BenchmarkArgs(args);
+        HikariConfig config = new HikariConfig();
+        config.setJdbcUrl(options.get("url", "jdbc:postgresql://localhost:5432/student_db"));
+        config.setUsername(options.get("user", "student_user"));
+        config.setPassword(options.get("password", "student_pass"));
+        config.setMaximumPoolSize(1);
+        try (HikariDataSource ds = new HikariDataSource(config)) {
+            Result result = generate(ds, options.getInt("students", 1_000_000),
+                    options.getInt("admissions-per-student", 3), options.getInt("seed", 42),
+                    options.getBoolean("truncate", false));
+            System.out.printf("generated %d students and %d admissions in %.1fs%n",
+                    result.students(), result.admissions(), result.seconds());
+        }
+    }
+
+    /**
+     * Append the given number of students, each with admissionsPerStudent admissions
+     */
+    public static Result generate(DataSource dataSource, int students, int admissionsPerStudent, long seed,
+                                  boolean truncate) throws SQLException {
+        long start = System.nanoTime();
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setAutoCommit(false);
+            try (Statement statement = connection.createStatement()) {
+                if (truncate) {
+                    statement.execute("TRUNCATE students RESTART IDENTITY CASCADE");
+                }
+                List<Integer> departments = new ArrayList<>();
+                try (ResultSet rs = statement.executeQuery("SELECT id FROM departments ORDER BY id")) {
+                    while (rs.next()) {
+                        departments.add(rs.getInt(1));
+                    }
+                }
+                if (departments.isEmpty()) {
+                    throw new IllegalStateException("departments is empty, run the student-service migrations first");
+                }
+                long firstStudent = nextId(statement, "students");
+                long firstAdmission = nextId(statement, "admissions");
+
+                CopyWriter studentRows = new CopyWriter(connection, "COPY students (id, student_id, first_name, "
+                        + "last_name, email, phone, date_of_birth, address, department_id, year_of_study, status, "
+                        + "created_at, updated_at) FROM STDIN");
+                SplittableRandom random = new SplittableRandom(seed);
+                LocalDateTime now = LocalDateTime.now().withNano(0);
+                for (long id = firstStudent; id < firstStudent + students; id++) {
+                    String first = pick(random, FIRST_NAMES);
+                    String last = pick(random, LAST_NAMES);
+                    LocalDateTime createdAt = now.minusMinutes(random.nextInt(4 * 365 * 24 * 60));
+                    studentRows.field(id)
+                            .field(String.format("STU%08d", id))
+                            .field(first)
+                            .field(last)
+                            .field(first.toLowerCase() + "." + last.toLowerCase() + "." + id + "@college.edu")
+                            .field("+91" + (7_000_000_000L + random.nextLong(2_999_999_999L)))
+                            .field(LocalDate.of(1995, 1, 1).plusDays(random.nextInt(4000)))
+                            .field(id + " College Road")
+                            .field(departments.get(random.nextInt(departments.size())))
+                            .field(1 + random.nextInt(4))
+                            .field(pick(random, STUDENT_STATUSES))
+                            .field(createdAt)
+                            .lastField(createdAt.plusMinutes(random.nextInt(365 * 24 * 60)));
+                }
+                studentRows.finish();
+
+                CopyWriter admissionRows = new CopyWriter(connection, "COPY admissions (id, student_id, "
+                        + "admission_year, program, admission_date, admission_status, entrance_score, remarks, "
+                        + "created_at, updated_at) FROM STDIN");
+                long admissionId = firstAdmission;
+                for (long studentId = firstStudent; studentId < firstStudent + students; studentId++) {
+                    for (int n = 0; n < admissionsPerStudent; n++) {
+                        int year = 2017 + random.nextInt(8);
+                        LocalDateTime createdAt = LocalDate.of(year, 3, 1).plusDays(random.nextInt(150)).atStartOfDay();
+                        admissionRows.field(admissionId++)
+                                .field(studentId)
+                                .field(year)
+                                .field(pick(random, PROGRAMS))
+                                .field(createdAt.toLocalDate().plusDays(30))
+                                .field(pick(random, ADMISSION_STATUSES))
+                                // One decimal, so ties at the merit-list cutoff happen as they do in real data
+                                .field(random.nextInt(400, 1001) / 10.0)
+                                .field(null)
+                                .field(createdAt)
+                                .lastField(now.minusMinutes(random.nextInt(365 * 24 * 60)));
+                    }
+                }
+                admissionRows.finish();
+
+                statement.execute("SELECT setval(pg_get_serial_sequence('students', 'id'), "
+                        + "(SELECT COALESCE(max(id), 1) FROM students))");
+                statement.execute("SELECT setval(pg_get_serial_sequence('admissions', 'id'), "
+                        + "(SELECT COALESCE(max(id), 1) FROM admissions))");
+            }
+            connection.commit();
+            try (Statement statement = connection.createStatement()) {
+                connection.setAutoCommit(true);
+                statement.execute("ANALYZE students");
+                statement.execute("ANALYZE admissions");
+            }
+        }
+        return new Result(students, (long) students * admissionsPerStudent, (System.nanoTime() - start) / 1e9);
+    }
+
+    private static long nextId(Statement statement, String table) throws SQLException {
+        try (ResultSet rs = statement.executeQuery("SELECT COALESCE(max(id), 0) + 1 FROM " + table)) {
+            rs.next();
+            return rs.getLong(1);
+        }
+    }
+
+    private static String pick(SplittableRandom random, String[] values) {
+        return values[random.nextInt(values.length)];
+    }
+
+    /**
+     * Renders rows in COPY text format and hands them to the server in 1 MB chunks
+     *
+     * Generated values never contain tabs, newlines or backslashes, so no escaping is needed.
+     */
+    private static final class CopyWriter {
+
+        private final CopyIn copy;
+        private final StringBuilder buffer = new StringBuilder(FLUSH_BYTES + 4096);
+
+        CopyWriter(Connection connection, String sql) throws SQLException {
+            this.copy = connection.unwrap(PGConnection.class).getCopyAPI().copyIn(sql);
+        }
+
+        CopyWriter field(Object value) {
+            buffer.append(value == null ? "\\N" : value).append('\t');
+            return this;
+        }
+
+        void lastField(Object value) throws SQLException {
+            buffer.append(value == null ? "\\N" : value).append('\n');
+            if (buffer.length() >= FLUSH_BYTES) {
+                flush();
+            }
+        }
+
+        void finish() throws SQLException {
+            flush();
+            copy.endCopy();
+        }
+
+        private void flush() throws SQLException {
+            byte[] bytes = buffer.toString().getBytes(StandardCharsets.UTF_8);
+            copy.writeToCopy(bytes, 0, bytes.length);
+            buffer.setLength(0);
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package com.college.loadtest;
+
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Supplier;
+
+/**
+ * Closed-loop HTTP load generator built on the JDK client's async API
+ *
+ * Each of the N virtual clients sends its next request as soon as the previous
+ * one completes, so the in-flight count equals the concurrency without needing
+ * one driver thread per client.
+ */
+public class HttpLoadDriver implements AutoCloseable {
+
+    /**
+     * Outcome of one run
+     */
+    public record Result(LatencyStats latency, double throughput) {}
+
+    private final ExecutorService executor;
+    private final HttpClient client;
+
+    public HttpLoadDriver(int threads) {
+        this.executor = Executors.newFixedThreadPool(threads);
+        this.client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .executor(executor)
+                .build();
+    }
+
+    public Result run(Supplier<HttpRequest> requests, int concurrency, Duration duration) {
+        long start = System.nanoTime();
+        long deadline = start + duration.toNanos();
+        List<LatencyStats> parts = new ArrayList<>();
+        List<CompletableFuture<Void>> clients = new ArrayList<>();
+        for (int i = 0; i < concurrency; i++) {
+            LatencyStats stats = new LatencyStats();
+            parts.add(stats);
+            clients.add(loop(requests, stats, deadline));
+        }
+        CompletableFuture.allOf(clients.toArray(new CompletableFuture[0])).join();
+        double seconds = (System.nanoTime() - start) / 1e9;
+        LatencyStats merged = LatencyStats.merge(parts);
+        return new Result(merged, merged.count() / seconds);
+    }
+
+    private CompletableFuture<Void> loop(Supplier<HttpRequest> requests, LatencyStats stats, long deadline) {
+        if (System.nanoTime() >= deadline) {
+            return CompletableFuture.completedFuture(null);
+        }
+        long sent = System.nanoTime();
+        return client.sendAsync(requests.get(), HttpResponse.BodyHandlers.discarding())
+                .handle((response, error) -> {
+                    if (error == null && response.statusCode() < 500) {
+                        stats.record(System.nanoTime() - sent);
+                    } else {
+                        stats.recordError();
+                    }
+                    return null;
+                })
+                .thenCompose(ignored -> loop(requests, stats, deadline));
+    }
+
+    @Override
+    public void close() {
+        executor.shutdownNow();
+    }
+}
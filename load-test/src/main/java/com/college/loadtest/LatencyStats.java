@@ -0,0 +1,69 @@
+package com.college.loadtest;
+
+import java.util.Arrays;
+import java.util.Collection;
+
+/**
+ * Raw latency samples for one worker; merged and sorted once at the end of a run
+ * so percentiles are exact rather than bucketed.
+ */
+public class LatencyStats {
+
+    private long[] samples = new long[1024];
+    private int size;
+    private long errors;
+
+    public void record(long nanos) {
+        if (size == samples.length) {
+            samples = Arrays.copyOf(samples, size * 2);
+        }
+        samples[size++] = nanos;
+    }
+
+    public void recordError() {
+        errors++;
+    }
+
+    public int count() {
+        return size;
+    }
+
+    public long errors() {
+        return errors;
+    }
+
+    public static LatencyStats merge(Collection<LatencyStats> parts) {
+        LatencyStats merged = new LatencyStats();
+        int total = parts.stream().mapToInt(LatencyStats::count).sum();
+        merged.samples = new long[Math.max(total, 1)];
+        for (LatencyStats part : parts) {
+            System.arraycopy(part.samples, 0, merged.samples, merged.size, part.size);
+            merged.size += part.size;
+            merged.errors += part.errors;
+        }
+        Arrays.sort(merged.samples, 0, merged.size);
+        return merged;
+    }
+
+    /**
+     * Percentile in milliseconds; only valid on a merged (sorted) instance
+     */
+    public double percentileMillis(double percentile) {
+        if (size == 0) {
+            return 0.0;
+        }
+        int index = (int) Math.ceil(percentile / 100.0 * size) - 1;
+        return samples[Math.max(0, Math.min(index, size - 1))] / 1_000_000.0;
+    }
+
+    public double meanMillis() {
+        if (size == 0) {
+            return 0.0;
+        }
+        double sum = 0;
+        for (int i = 0; i < size; i++) {
+            sum += samples[i];
+        }
+        return sum / size / 1_000_000.0;
+    }
+}
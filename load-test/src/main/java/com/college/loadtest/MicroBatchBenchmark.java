@@ -0,0 +1,65 @@
+package com.college.loadtest;
+
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Latency/throughput of GET /{id} with and without micro-batching
+ *
+ * Run two student-service instances against the same database, one with
+ * student.batching.enabled=false and one with true (different server.port),
+ * then sweep concurrency against both:
+ *
+ *   mvn -q exec:java -Dexec.mainClass=com.college.loadtest.MicroBatchBenchmark \
+ *       -Dexec.args="--targets=plain=http://localhost:8081/student-service,batched=http://localhost:8082/student-service"
+ *
+ * At low concurrency batching only adds up to one window of latency; it pays
+ * off once the request rate keeps several keys pending per window and the
+ * per-query overhead, not the pool, becomes the limit.
+ */
+public class MicroBatchBenchmark {
+
+    public static void main(String[] args) throws Exception {
+        BenchmarkArgs options = new BenchmarkArgs(args);
+        Map<String, String> targets = new LinkedHashMap<>();
+        for (String target : options.get("targets", "default=http://localhost:8081/student-service").split(",")) {
+            String[] parts = target.split("=", 2);
+            targets.put(parts[0], parts[1] + "/api/v1/students/");
+        }
+        List<Integer> levels = options.getIntList("concurrency");
+        if (levels.isEmpty()) {
+            levels = List.of(1, 4, 16, 64, 256);
+        }
+        Duration warmup = options.getSeconds("warmup", 5);
+        Duration duration = options.getSeconds("duration", 20);
+        StudentKeys keys = StudentKeys.load(
+                options.get("url", "jdbc:postgresql://localhost:5432/student_db"),
+                options.get("user", "student_user"),
+                options.get("password", "student_pass"), 50_000);
+
+        System.out.printf("%-10s %6s %12s %10s %10s %10s %8s%n",
+                "target", "conc", "req/s", "p50(ms)", "p99(ms)", "mean(ms)", "errors");
+        try (HttpLoadDriver driver = new HttpLoadDriver(options.getInt("driver-threads", 4))) {
+            for (int concurrency : levels) {
+                for (Map.Entry<String, String> target : targets.entrySet()) {
+                    Supplier<HttpRequest> requests = () -> HttpRequest.newBuilder(
+                                    URI.create(target.getValue() + keys.randomId()))
+                            .timeout(Duration.ofSeconds(30))
+                            .GET()
+                            .build();
+                    driver.run(requests, concurrency, warmup);
+                    HttpLoadDriver.Result result = driver.run(requests, concurrency, duration);
+                    LatencyStats latency = result.latency();
+                    System.out.printf("%-10s %6d %12.0f %10.2f %10.2f %10.2f %8d%n", target.getKey(), concurrency,
+                            result.throughput(), latency.percentileMillis(50), latency.percentileMillis(99),
+                            latency.meanMillis(), latency.errors());
+                }
+            }
+        }
+    }
+}
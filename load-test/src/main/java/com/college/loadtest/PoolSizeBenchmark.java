@@ -0,0 +1,163 @@
+package com.college.loadtest;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.TreeSet;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Sweeps Hikari pool sizes against a seeded student_db and reports which size
+ * gives the best throughput for the machine's core count.
+ *
+ * The workload mirrors student-service reads: lookup by student_id, lookup by
+ * id, count by status and an id-ordered page. Client concurrency stays fixed
+ * while the pool size varies, so the curve shows where extra connections stop
+ * helping and start adding contention.
+ *
+ * Usage:
+ *   mvn -q exec:java -Dexec.mainClass=com.college.loadtest.PoolSizeBenchmark \
+ *       -Dexec.args="--url=jdbc:postgresql://localhost:5432/student_db --cores=8 --clients=64"
+ */
+public class PoolSizeBenchmark {
+
+    private static final String[] STATUSES = {"ACTIVE", "INACTIVE", "GRADUATED", "SUSPENDED", "DROPPED_OUT"};
+
+    public static void main(String[] args) throws Exception {
+        BenchmarkArgs options = new BenchmarkArgs(args);
+        String url = options.get("url", "jdbc:postgresql://localhost:5432/student_db");
+        String user = options.get("user", "student_user");
+        String password = options.get("password", "student_pass");
+        int cores = options.getInt("cores", Runtime.getRuntime().availableProcessors());
+        int spindles = options.getInt("spindles", 1);
+        int clients = options.getInt("clients", 64);
+        Duration warmup = options.getSeconds("warmup", 5);
+        Duration duration = options.getSeconds("duration", 20);
+
+        TreeSet<Integer> poolSizes = new TreeSet<>(options.getIntList("pool-sizes"));
+        if (poolSizes.isEmpty()) {
+            poolSizes.addAll(List.of(1, cores, cores * 2, cores * 2 + spindles, cores * 4, cores * 8, 10));
+        }
+
+        StudentKeys keys;
+        try (HikariDataSource probe = dataSource(url, user, password, 1)) {
+            keys = StudentKeys.load(probe, 10_000);
+        }
+
+        System.out.printf("cores=%d clients=%d duration=%ds keys=%d%n",
+                cores, clients, duration.toSeconds(), keys.size());
+        System.out.printf("%8s %12s %10s %10s %10s %8s%n", "pool", "ops/s", "p50(ms)", "p99(ms)", "mean(ms)", "errors");
+
+        int bestSize = 0;
+        double bestThroughput = 0;
+        List<double[]> results = new ArrayList<>();
+        for (int poolSize : poolSizes) {
+            try (HikariDataSource ds = dataSource(url, user, password, poolSize)) {
+                run(ds, clients, warmup, keys);
+                long start = System.nanoTime();
+                LatencyStats stats = run(ds, clients, duration, keys);
+                double seconds = (System.nanoTime() - start) / 1e9;
+                double throughput = stats.count() / seconds;
+                results.add(new double[]{poolSize, throughput});
+                System.out.printf("%8d %12.0f %10.2f %10.2f %10.2f %8d%n", poolSize, throughput,
+                        stats.percentileMillis(50), stats.percentileMillis(99), stats.meanMillis(), stats.errors());
+                if (throughput > bestThroughput) {
+                    bestThroughput = throughput;
+                    bestSize = poolSize;
+                }
+            }
+        }
+
+        // Smallest pool within 5% of peak: extra connections past that point only cost memory on the server
+        int recommended = bestSize;
+        for (double[] result : results) {
+            if (result[1] >= bestThroughput * 0.95) {
+                recommended = (int) result[0];
+                break;
+            }
+        }
+        System.out.printf("peak=%d connections, recommended STUDENT_DB_POOL_SIZE=%d (heuristic cores*2+spindles=%d)%n",
+                bestSize, recommended, cores * 2 + spindles);
+    }
+
+    private static HikariDataSource dataSource(String url, String user, String password, int poolSize) {
+        HikariConfig config = new HikariConfig();
+        config.setJdbcUrl(url);
+        config.setUsername(user);
+        config.setPassword(password);
+        config.setMaximumPoolSize(poolSize);
+        config.setMinimumIdle(poolSize);
+        config.setConnectionTimeout(30_000);
+        // Same driver settings as the student-service perf profile
+        config.addDataSourceProperty("prepareThreshold", "3");
+        config.addDataSourceProperty("preparedStatementCacheQueries", "512");
+        config.addDataSourceProperty("preparedStatementCacheSizeMiB", "16");
+        config.addDataSourceProperty("reWriteBatchedInserts", "true");
+        return new HikariDataSource(config);
+    }
+
+    private static LatencyStats run(HikariDataSource ds, int clients, Duration duration,
+                                    StudentKeys keys) throws Exception {
+        long deadline = System.nanoTime() + duration.toNanos();
+        ExecutorService executor = Executors.newFixedThreadPool(clients);
+        try {
+            List<Future<LatencyStats>> futures = new ArrayList<>();
+            for (int i = 0; i < clients; i++) {
+                futures.add(executor.submit(() -> worker(ds, deadline, keys)));
+            }
+            List<LatencyStats> parts = new ArrayList<>();
+            for (Future<LatencyStats> future : futures) {
+                parts.add(future.get());
+            }
+            return LatencyStats.merge(parts);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static LatencyStats worker(HikariDataSource ds, long deadline, StudentKeys keys) {
+        LatencyStats stats = new LatencyStats();
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        while (System.nanoTime() < deadline) {
+            long start = System.nanoTime();
+            try (Connection connection = ds.getConnection()) {
+                int pick = random.nextInt(10);
+                if (pick < 4) {
+                    query(connection, "SELECT * FROM students WHERE student_id = ?", keys.randomStudentId());
+                } else if (pick < 8) {
+                    query(connection, "SELECT * FROM students WHERE id = ?", keys.randomId());
+                } else if (pick < 9) {
+                    query(connection, "SELECT count(*) FROM students WHERE status = ?",
+                            STATUSES[random.nextInt(STATUSES.length)]);
+                } else {
+                    query(connection, "SELECT * FROM students ORDER BY id LIMIT 10 OFFSET ?", random.nextInt(1000));
+                }
+                stats.record(System.nanoTime() - start);
+            } catch (SQLException e) {
+                stats.recordError();
+            }
+        }
+        return stats;
+    }
+
+    private static void query(Connection connection, String sql, Object parameter) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            statement.setObject(1, parameter);
+            try (ResultSet rs = statement.executeQuery()) {
+                while (rs.next()) {
+                    // drain
+                }
+            }
+        }
+    }
+}
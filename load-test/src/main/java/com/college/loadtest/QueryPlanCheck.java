@@ -0,0 +1,411 @@
+package com.college.loadtest;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.flywaydb.core.Flyway;
+
+import javax.sql.DataSource;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Fails the build when a student-service repository query can only be served by a sequential scan
+ *
+ * Starts an embedded PostgreSQL, applies the student-service Flyway migrations,
+ * seeds a large dataset and EXPLAINs the SQL each repository method issues.
+ * A sequential scan over one of the large tables is re-planned with
+ * enable_seqscan off: if the scan remains, no index can serve the query and
+ * the check fails. If an index plan exists the planner chose the scan on
+ * cost (the filter matches a large share of the table) and it is reported as
+ * a warning only.
+ *
+ * The SQL is copied from the repositories, JPQL queries as Hibernate renders
+ * them. Most repositories build theirs with JdbcTemplate rather than @Query,
+ * and this module cannot load the repackaged service jar, so a repository
+ * query that changes must be changed here too.
+ *
+ * Bound to the verify phase of this module; skip with -DskipQueryPlanCheck.
+ *
+ *   mvn -q exec:java -Dexec.mainClass=com.college.loadtest.QueryPlanCheck \
+ *       -Dexec.args="--migrations=../student-service/src/main/resources/db/migration --students=200000"
+ */
+public class QueryPlanCheck {
+
+    private static final Set<String> LARGE_TABLES = Set.of(
+            "students", "admissions", "academic_records", "academic_standings", "change_tombstones",
+            "student_archive_graduated", "student_archive_dropped_out", "student_archive_other",
+            "admission_archive", "academic_record_archive", "academic_standing_archive");
+
+    private static final Pattern SEQ_SCAN = Pattern.compile("Seq Scan on (\\w+)");
+
+    private static final String STUDENT_COLUMNS =
+            "s.id, s.address, s.created_at, s.date_of_birth, s.department_id, s.email, s.first_name, " +
+            "s.last_name, s.phone, s.status, s.student_id, s.updated_at, s.year_of_study";
+
+    private static final String ADMISSION_COLUMNS =
+            "a.student_id, a.id, a.admission_date, a.admission_status, a.admission_year, a.created_at, " +
+            "a.entrance_score, a.program, a.remarks";
+
+    private static final String ARCHIVED_STUDENT_COLUMNS = "id, student_id, first_name, last_name, email, phone, " +
+            "date_of_birth, address, department_id, year_of_study, status, created_at, updated_at";
+
+    record QueryCase(String method, String sql, Object... params) {}
+
+    public static void main(String[] args) throws Exception {
+        BenchmarkArgs options = new BenchmarkArgs(args);
+        Path migrations = Path.of(options.get("migrations", "../student-service/src/main/resources/db/migration"));
+        int students = options.getInt("students", 200_000);
+
+        try (EmbeddedPostgres postgres = EmbeddedPostgres.builder().start()) {
+            DataSource dataSource = postgres.getPostgresDatabase();
+            Flyway.configure()
+                    .dataSource(dataSource)
+                    .locations("filesystem:" + migrations.toAbsolutePath().normalize())
+                    .load()
+                    .migrate();
+
+            long start = System.nanoTime();
+            seed(dataSource, students);
+            System.out.printf("seeded %d students in %.1fs%n", students, (System.nanoTime() - start) / 1e9);
+
+            List<String> failures = check(dataSource, cases(students));
+            if (!failures.isEmpty()) {
+                throw new IllegalStateException(failures.size() + " repository queries have no usable index: "
+                        + String.join(", ", failures));
+            }
+        }
+    }
+
+    /**
+     * The SQL Hibernate generates for each repository method, with representative parameters
+     */
+    static List<QueryCase> cases(int students) {
+        String someStudentId = String.format("STU%08d", students / 2);
+        List<QueryCase> cases = new ArrayList<>();
+
+        // StudentRepository
+        cases.add(new QueryCase("StudentRepository.findById",
+                "SELECT " + STUDENT_COLUMNS + " FROM students s WHERE s.id = ?", (long) students / 2));
+        cases.add(new QueryCase("StudentRepository.findByStudentId",
+                "SELECT " + STUDENT_COLUMNS + " FROM students s WHERE s.student_id = ?", someStudentId));
+        cases.add(new QueryCase("StudentRepository.findByIdIn",
+                "SELECT " + STUDENT_COLUMNS + " FROM students s WHERE s.id IN (?, ?, ?, ?)", 10L, 20L, 30L, 40L));
+        cases.add(new QueryCase("StudentRepository.findByStudentIdIn",
+                "SELECT " + STUDENT_COLUMNS + " FROM students s WHERE s.student_id IN (?, ?)",
+                "STU00000010", someStudentId));
+        cases.add(new QueryCase("StudentRepository.findByEmail",
+                "SELECT " + STUDENT_COLUMNS + " FROM students s WHERE s.email = ?", "student42@college.edu"));
+        cases.add(new QueryCase("StudentRepository.existsByStudentId",
+                "SELECT s.id FROM students s WHERE s.student_id = ? FETCH FIRST 1 ROWS ONLY", someStudentId));
+        cases.add(new QueryCase("StudentRepository.existsByEmail",
+                "SELECT s.id FROM students s WHERE s.email = ? FETCH FIRST 1 ROWS ONLY", "student42@college.edu"));
+        cases.add(new QueryCase("StudentRepository.findByDepartmentId",
+                "SELECT " + STUDENT_COLUMNS + " FROM students s WHERE s.department_id = ?", 7));
+        cases.add(new QueryCase("StudentRepository.findByDepartmentId(Pageable)",
+                "SELECT " + STUDENT_COLUMNS + " FROM students s WHERE s.department_id = ? " +
+                "ORDER BY s.id OFFSET ? ROWS FETCH FIRST ? ROWS ONLY", 7, 200, 20));
+        cases.add(new QueryCase("StudentRepository.findByStatus",
+                "SELECT " + STUDENT_COLUMNS + " FROM students s WHERE s.status = ?", "SUSPENDED"));
+        cases.add(new QueryCase("StudentRepository.findByStatus(Pageable)",
+                "SELECT " + STUDENT_COLUMNS + " FROM students s WHERE s.status = ? " +
+                "ORDER BY s.id OFFSET ? ROWS FETCH FIRST ? ROWS ONLY", "ACTIVE", 200, 20));
+        cases.add(new QueryCase("StudentRepository.findByDepartmentIdAndStatus",
+                "SELECT " + STUDENT_COLUMNS + " FROM students s WHERE s.department_id = ? AND s.status = ?",
+                7, "ACTIVE"));
+        cases.add(new QueryCase("StudentRepository.findByYearOfStudy",
+                "SELECT " + STUDENT_COLUMNS + " FROM students s WHERE s.year_of_study = ?", 3));
+        cases.add(new QueryCase("StudentRepository.findByNameContaining",
+                "SELECT " + STUDENT_COLUMNS + " FROM students s " +
+                "WHERE lower(s.first_name) LIKE lower(('%' || ? || '%')) ESCAPE '' " +
+                "OR lower(s.last_name) LIKE lower(('%' || ? || '%')) ESCAPE ''", "kmo", "kmo"));
+        cases.add(new QueryCase("StudentRepository.findAll(Pageable)",
+                "SELECT " + STUDENT_COLUMNS + " FROM students s ORDER BY s.id OFFSET ? ROWS FETCH FIRST ? ROWS ONLY",
+                1000, 20));
+        // Sort keys accepted by StudentSortRegistry, always with id as tie-breaker
+        for (String column : List.of("student_id", "email", "last_name", "year_of_study", "created_at")) {
+            cases.add(new QueryCase("StudentRepository.findAll(Pageable) by " + column,
+                    "SELECT " + STUDENT_COLUMNS + " FROM students s ORDER BY s." + column + " DESC, s.id DESC " +
+                    "OFFSET ? ROWS FETCH FIRST ? ROWS ONLY", 1000, 20));
+        }
+        // Streams behind the application/x-ndjson list endpoints, read through a cursor in id order
+        cases.add(new QueryCase("StudentRepository.streamByDepartmentId",
+                "SELECT " + STUDENT_COLUMNS + " FROM students s WHERE s.department_id = ? ORDER BY s.id", 7));
+        cases.add(new QueryCase("StudentRepository.streamByStatus",
+                "SELECT " + STUDENT_COLUMNS + " FROM students s WHERE s.status = ? ORDER BY s.id", "SUSPENDED"));
+        cases.add(new QueryCase("StudentRepository.streamByNameContaining",
+                "SELECT " + STUDENT_COLUMNS + " FROM students s " +
+                "WHERE lower(s.first_name) LIKE lower(('%' || ? || '%')) ESCAPE '' " +
+                "OR lower(s.last_name) LIKE lower(('%' || ? || '%')) ESCAPE '' ORDER BY s.id", "kmo", "kmo"));
+        cases.add(new QueryCase("StudentRepository.countByStatus",
+                "SELECT count(s.id) FROM students s WHERE s.status = ?", "SUSPENDED"));
+        cases.add(new QueryCase("StudentRepository.countByDepartmentId",
+                "SELECT count(s.id) FROM students s WHERE s.department_id = ?", 7));
+        cases.add(new QueryCase("StudentRepository.countGroupedByDepartmentId",
+                "SELECT s.department_id, count(s.id) FROM students s WHERE s.department_id IS NOT NULL " +
+                "GROUP BY s.department_id"));
+
+        // AdmissionRepository and the lazy Student.admissions collection
+        cases.add(new QueryCase("AdmissionRepository.findByStudentId",
+                "SELECT " + ADMISSION_COLUMNS + " FROM admissions a WHERE a.student_id = ?", (long) students / 2));
+        cases.add(new QueryCase("AdmissionRepository.findByStudentStudentId",
+                "SELECT " + ADMISSION_COLUMNS + " FROM admissions a JOIN students s ON s.id = a.student_id " +
+                "WHERE s.student_id = ?", someStudentId));
+        cases.add(new QueryCase("AdmissionRepository.findByAdmissionStatus",
+                "SELECT " + ADMISSION_COLUMNS + " FROM admissions a WHERE a.admission_status = ?", "WAITLISTED"));
+        cases.add(new QueryCase("AdmissionRepository.findByAdmissionYear",
+                "SELECT " + ADMISSION_COLUMNS + " FROM admissions a WHERE a.admission_year = ?", 2021));
+        cases.add(new QueryCase("AdmissionRepository.findByProgram",
+                "SELECT " + ADMISSION_COLUMNS + " FROM admissions a WHERE a.program = ?", "Program 17"));
+        cases.add(new QueryCase("AdmissionRepository.countByAdmissionStatus",
+                "SELECT count(a.id) FROM admissions a WHERE a.admission_status = ?", "WAITLISTED"));
+        cases.add(new QueryCase("AdmissionRepository.countByAdmissionYear",
+                "SELECT count(a.id) FROM admissions a WHERE a.admission_year = ?", 2021));
+        cases.add(new QueryCase("AdmissionRepository.findAllPrograms",
+                "SELECT DISTINCT a.program FROM admissions a ORDER BY a.program"));
+
+        // AdmissionImportRepository, one bulk import batch of 500 rows
+        String[] importedStudentIds = new String[500];
+        Long[] importedIds = new Long[500];
+        for (int i = 0; i < 500; i++) {
+            importedStudentIds[i] = String.format("STU%08d", 1 + (long) i * students / 500);
+            importedIds[i] = 1 + (long) i * students / 500;
+        }
+        cases.add(new QueryCase("AdmissionImportRepository.findStudentIds",
+                "SELECT student_id, id FROM students WHERE student_id = ANY(?)", (Object) importedStudentIds));
+        cases.add(new QueryCase("AdmissionImportRepository.findByStudentIds",
+                "SELECT id, student_id, admission_year, program, admission_date, admission_status, entrance_score, " +
+                "remarks FROM admissions WHERE student_id = ANY(?) ORDER BY id", (Object) importedIds));
+
+        // AcademicRecordRepository / AcademicStandingRepository
+        cases.add(new QueryCase("AcademicRecordRepository.findByStudentIdOrderByYearAscSemesterAsc",
+                "SELECT r.* FROM academic_records r WHERE r.student_id = ? ORDER BY r.year, r.semester",
+                (long) students / 2));
+        cases.add(new QueryCase("AcademicRecordRepository.findByIdForUpdate",
+                "SELECT r.*, s.* FROM academic_records r JOIN students s ON s.id = r.student_id " +
+                "WHERE r.id = ? FOR NO KEY UPDATE OF r", 1000L));
+        cases.add(new QueryCase("AcademicStandingRepository.findById",
+                "SELECT st.* FROM academic_standings st WHERE st.student_id = ?", (long) students / 2));
+        cases.add(new QueryCase("AcademicStandingRepository.applyDelta",
+                "UPDATE academic_standings SET quality_points = quality_points + ?, " +
+                "credits_earned = credits_earned + ? WHERE student_id = ?", 160.0, 20, (long) students / 2));
+
+        // AnalyticsSourceRepository incremental refresh: rows changed in the last hour
+        Timestamp lastHour = new Timestamp(System.currentTimeMillis() - 3_600_000L);
+        cases.add(new QueryCase("AnalyticsSourceRepository.streamStudents(since)",
+                "SELECT id, COALESCE(department_id, 0), status, COALESCE(year_of_study, 0), updated_at " +
+                "FROM students WHERE updated_at >= ? ORDER BY updated_at, id", lastHour));
+        cases.add(new QueryCase("AnalyticsSourceRepository.streamAdmissions(since)",
+                "SELECT id, program, admission_year, admission_status, entrance_score, updated_at " +
+                "FROM admissions WHERE updated_at >= ? ORDER BY updated_at, id", lastHour));
+        cases.add(new QueryCase("StudentDirectoryRepository.streamChangedSince",
+                "SELECT id, student_id, email, status, updated_at FROM students " +
+                "WHERE updated_at >= ? ORDER BY updated_at, id", lastHour));
+        cases.add(new QueryCase("MeritCandidateRepository.streamChangedSince",
+                "SELECT id, student_id, program, admission_year, " +
+                "admission_status IN ('PENDING', 'APPROVED', 'WAITLISTED') AND entrance_score IS NOT NULL, " +
+                "entrance_score, updated_at FROM admissions WHERE updated_at >= ? ORDER BY updated_at, id", lastHour));
+
+        // Changes feed, one page from the start up to any transaction bound
+        cases.add(new QueryCase("StudentRepository.findChangedAfter",
+                "SELECT s.id, s.change_xid FROM students s WHERE (s.change_xid, s.id) > (?, ?) " +
+                "AND s.change_xid < ? ORDER BY s.change_xid, s.id LIMIT ?", 0L, 0L, Long.MAX_VALUE, 200));
+        cases.add(new QueryCase("AdmissionRepository.findChangedAfter",
+                "SELECT a.id, a.change_xid FROM admissions a WHERE (a.change_xid, a.id) > (?, ?) " +
+                "AND a.change_xid < ? ORDER BY a.change_xid, a.id LIMIT ?", 0L, 0L, Long.MAX_VALUE, 200));
+        cases.add(new QueryCase("ChangeTombstoneRepository.findAfter",
+                "SELECT change_xid, id, entity_type, entity_id, student_id, deleted_at FROM change_tombstones " +
+                "WHERE (change_xid, id) > (?, ?) AND change_xid < ? ORDER BY change_xid, id LIMIT ?",
+                0L, 0L, Long.MAX_VALUE, 200));
+
+        // StudentArchiveRepository lookups; countByStatus reads its whole partition by design and is left out
+        long archivedId = archivedStudentId(students);
+        String archivedStudentId = String.format("STU%08d", archivedId);
+        cases.add(new QueryCase("StudentArchiveRepository.findById",
+                "SELECT " + ARCHIVED_STUDENT_COLUMNS + " FROM student_archive WHERE deleted_at IS NULL AND id = ? " +
+                "LIMIT 1", archivedId));
+        cases.add(new QueryCase("StudentArchiveRepository.findByStudentId",
+                "SELECT " + ARCHIVED_STUDENT_COLUMNS + " FROM student_archive WHERE deleted_at IS NULL " +
+                "AND student_id = ? LIMIT 1", archivedStudentId));
+        cases.add(new QueryCase("StudentArchiveRepository.findById admissions",
+                "SELECT id, student_id, admission_year, program, admission_date, admission_status, entrance_score, " +
+                "remarks, created_at, updated_at FROM admission_archive WHERE student_id = ? ORDER BY id", archivedId));
+        cases.add(new QueryCase("StudentArchiveRepository.existsByStudentId",
+                "SELECT EXISTS (SELECT 1 FROM student_archive WHERE student_id = ? AND deleted_at IS NULL)",
+                archivedStudentId));
+        cases.add(new QueryCase("StudentArchiveRepository.existsByEmail",
+                "SELECT EXISTS (SELECT 1 FROM student_archive WHERE email = ? AND deleted_at IS NULL)",
+                "student" + archivedId + "@college.edu"));
+        cases.add(new QueryCase("StudentArchiveRepository.findRecords",
+                "SELECT id, student_id, semester, year, gpa, total_credits, status, created_at, updated_at " +
+                "FROM academic_record_archive WHERE student_id = ? AND EXISTS (SELECT 1 FROM student_archive s " +
+                "WHERE s.id = ? AND s.deleted_at IS NULL) ORDER BY year, semester", archivedId, archivedId));
+        cases.add(new QueryCase("StudentArchiveRepository.findStanding",
+                "SELECT student_id, quality_points, credits_earned, cumulative_gpa, updated_at " +
+                "FROM academic_standing_archive WHERE student_id = ? AND EXISTS (SELECT 1 FROM student_archive s " +
+                "WHERE s.id = ? AND s.deleted_at IS NULL)", archivedId, archivedId));
+        cases.add(new QueryCase("StudentArchiveRepository.archiveInactive",
+                "SELECT id FROM students WHERE status = ANY(?) " +
+                "AND updated_at < LOCALTIMESTAMP - make_interval(secs => ?) ORDER BY id LIMIT ? FOR UPDATE SKIP LOCKED",
+                new String[] {"GRADUATED", "DROPPED_OUT"}, 30 * 86_400.0, 500));
+        return cases;
+    }
+
+    /**
+     * A live student in the archive: the seed copies every GRADUATED one there (id % 100 in 80..91)
+     */
+    private static long archivedStudentId(int students) {
+        return students / 2 / 100 * 100 + 85;
+    }
+
+    private static List<String> check(DataSource dataSource, List<QueryCase> cases) throws SQLException {
+        List<String> failures = new ArrayList<>();
+        System.out.printf("%-62s %-8s %s%n", "method", "verdict", "plan");
+        try (Connection connection = dataSource.getConnection();
+             Statement settings = connection.createStatement()) {
+            for (QueryCase query : cases) {
+                List<String> plan = explain(connection, query);
+                Set<String> scanned = seqScans(plan);
+                String verdict = "ok";
+                if (!scanned.isEmpty()) {
+                    settings.execute("SET enable_seqscan = off");
+                    Set<String> forced = seqScans(explain(connection, query));
+                    settings.execute("RESET enable_seqscan");
+                    if (forced.isEmpty()) {
+                        verdict = "warn";
+                    } else {
+                        verdict = "FAIL";
+                        failures.add(query.method() + " " + forced);
+                    }
+                }
+                System.out.printf("%-62s %-8s %s%n", query.method(), verdict, plan.get(0).trim());
+            }
+        }
+        System.out.println("warn = planner prefers a scan on cost although an index could serve the query");
+        return failures;
+    }
+
+    private static List<String> explain(Connection connection, QueryCase query) throws SQLException {
+        List<String> lines = new ArrayList<>();
+        try (PreparedStatement statement = connection.prepareStatement("EXPLAIN " + query.sql())) {
+            for (int i = 0; i < query.params().length; i++) {
+                Object param = query.params()[i];
+                if (param instanceof String[] values) {
+                    statement.setArray(i + 1, connection.createArrayOf("varchar", values));
+                } else if (param instanceof Long[] values) {
+                    statement.setArray(i + 1, connection.createArrayOf("bigint", values));
+                } else {
+                    statement.setObject(i + 1, param);
+                }
+            }
+            try (ResultSet rs = statement.executeQuery()) {
+                while (rs.next()) {
+                    lines.add(rs.getString(1));
+                }
+            }
+        }
+        return lines;
+    }
+
+    private static Set<String> seqScans(List<String> plan) {
+        Set<String> tables = new TreeSet<>();
+        for (String line : plan) {
+            Matcher matcher = SEQ_SCAN.matcher(line);
+            if (matcher.find() && LARGE_TABLES.contains(matcher.group(1))) {
+                tables.add(matcher.group(1));
+            }
+        }
+        return tables;
+    }
+
+    /**
+     * Realistic shape: 40 departments, mostly ACTIVE students, two admissions and two semesters each,
+     * updates spread over the last year
+     */
+    private static void seed(DataSource dataSource, int students) throws SQLException {
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement()) {
+            statement.execute("INSERT INTO departments (dept_code, dept_name) " +
+                    "SELECT 'D' || lpad(g::text, 2, '0'), 'Department ' || g FROM generate_series(1, 35) g " +
+                    "ON CONFLICT (dept_code) DO NOTHING");
+
+            try (PreparedStatement insert = connection.prepareStatement(
+                    "INSERT INTO students (student_id, first_name, last_name, email, phone, date_of_birth, address, " +
+                    "department_id, year_of_study, status, created_at, updated_at) " +
+                    "SELECT 'STU' || lpad(g::text, 8, '0'), " +
+                    "initcap(translate(substr(md5(g::text), 1, 7), '0123456789', 'ghijklmnop')), " +
+                    "initcap(translate(substr(md5(g::text), 8, 9), '0123456789', 'ghijklmnop')), " +
+                    "'student' || g || '@college.edu', '+1' || lpad((g % 1000000000)::text, 10, '0'), " +
+                    "DATE '1998-01-01' + (g % 2500), g || ' College Road', " +
+                    "d.ids[1 + g % array_length(d.ids, 1)], 1 + g % 4, " +
+                    "CASE WHEN g % 100 < 70 THEN 'ACTIVE' WHEN g % 100 < 80 THEN 'INACTIVE' " +
+                    "WHEN g % 100 < 92 THEN 'GRADUATED' WHEN g % 100 < 95 THEN 'SUSPENDED' ELSE 'DROPPED_OUT' END, " +
+                    "now(), now() - (g % 365) * interval '1 day' " +
+                    "FROM generate_series(1, ?) g, (SELECT array_agg(id ORDER BY id) AS ids FROM departments) d")) {
+                insert.setInt(1, students);
+                insert.executeUpdate();
+            }
+
+            statement.execute("INSERT INTO admissions (student_id, admission_year, program, admission_date, " +
+                    "admission_status, entrance_score, remarks, created_at, updated_at) " +
+                    "SELECT s.id, 2017 + (s.id + n) % 8, 'Program ' || ((s.id * 7 + n) % 60), " +
+                    "DATE '2017-06-01' + ((s.id + n) % 2900)::int, " +
+                    "(ARRAY['APPROVED','APPROVED','APPROVED','PENDING','REJECTED','REJECTED'," +
+                    "'APPROVED','APPROVED','CANCELLED','WAITLISTED'])[1 + (s.id + n) % 10], " +
+                    "40 + (s.id * 13 + n) % 60, NULL, now(), now() - ((s.id + n) % 365) * interval '1 day' " +
+                    "FROM students s, generate_series(0, 1) n");
+
+            statement.execute("INSERT INTO academic_records (student_id, semester, year, gpa, total_credits, status) " +
+                    "SELECT s.id, n, 2022 + n / 2, 5 + ((s.id * 31 + n) % 500) / 100.0, 20, 'COMPLETED' " +
+                    "FROM students s, generate_series(1, 2) n");
+
+            statement.execute("INSERT INTO academic_standings (student_id, quality_points, credits_earned, cumulative_gpa) " +
+                    "SELECT student_id, SUM(gpa * total_credits), SUM(total_credits), " +
+                    "ROUND(SUM(gpa * total_credits) / SUM(total_credits), 3) " +
+                    "FROM academic_records GROUP BY student_id");
+
+            // The archive holds copies of the graduated and dropped-out students, and of some inactive ones
+            // as deleted students; the live rows stay for the queries above. Dropped-out students are
+            // archived as deleted too.
+            statement.execute("INSERT INTO student_archive (" + ARCHIVED_STUDENT_COLUMNS + ", deleted_at) " +
+                    "SELECT " + ARCHIVED_STUDENT_COLUMNS + ", CASE WHEN status <> 'GRADUATED' THEN now() END " +
+                    "FROM students WHERE status IN ('GRADUATED', 'DROPPED_OUT') " +
+                    "OR (status = 'INACTIVE' AND id % 100 < 75)");
+            statement.execute("INSERT INTO admission_archive (id, student_id, admission_year, program, admission_date, " +
+                    "admission_status, entrance_score, remarks, created_at, updated_at) " +
+                    "SELECT a.id, a.student_id, a.admission_year, a.program, a.admission_date, a.admission_status, " +
+                    "a.entrance_score, a.remarks, a.created_at, a.updated_at " +
+                    "FROM admissions a JOIN student_archive s ON s.id = a.student_id");
+            statement.execute("INSERT INTO academic_record_archive (id, student_id, semester, year, gpa, " +
+                    "total_credits, status, created_at, updated_at) " +
+                    "SELECT r.id, r.student_id, r.semester, r.year, r.gpa, r.total_credits, r.status, r.created_at, " +
+                    "r.updated_at FROM academic_records r JOIN student_archive s ON s.id = r.student_id");
+            statement.execute("INSERT INTO academic_standing_archive (student_id, quality_points, credits_earned, " +
+                    "cumulative_gpa, updated_at) " +
+                    "SELECT st.student_id, st.quality_points, st.credits_earned, st.cumulative_gpa, st.updated_at " +
+                    "FROM academic_standings st JOIN student_archive s ON s.id = st.student_id");
+
+            // A month of deletes for the changes feed, one student and two admissions each
+            try (PreparedStatement insert = connection.prepareStatement(
+                    "INSERT INTO change_tombstones (entity_type, entity_id, student_id, deleted_at) " +
+                    "SELECT CASE WHEN n = 0 THEN 'STUDENT' ELSE 'ADMISSION' END, g * 3 + n, g, " +
+                    "now() - (g % 30) * interval '1 day' - (g % 86400) * interval '1 second' " +
+                    "FROM generate_series(1, ?) g, generate_series(0, 2) n")) {
+                insert.setInt(1, students);
+                insert.executeUpdate();
+            }
+
+            // Fresh statistics and visibility map, as autovacuum would leave a long-running database
+            statement.execute("VACUUM ANALYZE");
+        }
+    }
+}
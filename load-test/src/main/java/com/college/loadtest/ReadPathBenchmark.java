@@ -0,0 +1,70 @@
+package com.college.loadtest;
+
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+/**
+ * Compares the blocking MVC read path with the reactive (WebFlux/R2DBC) one
+ * under rising concurrency.
+ *
+ * Start student-service with both stacks on a deliberately small thread budget,
+ * e.g. --server.tomcat.threads.max=8 --student.reactive.enabled=true
+ * --student.reactive.event-loop-threads=2, then:
+ *
+ *   mvn -q exec:java -Dexec.mainClass=com.college.loadtest.ReadPathBenchmark \
+ *       -Dexec.args="--concurrency=16,64,256,1024"
+ *
+ * The MVC path caps in-flight work at the Tomcat thread count and queues the
+ * rest; the reactive path keeps accepting until the R2DBC pool is the limit.
+ */
+public class ReadPathBenchmark {
+
+    public static void main(String[] args) throws Exception {
+        BenchmarkArgs options = new BenchmarkArgs(args);
+        String mvcBase = options.get("mvc", "http://localhost:8081/student-service/api/v1/students");
+        String reactiveBase = options.get("reactive", "http://localhost:8091/student-service/api/v1/students");
+        List<Integer> levels = options.getIntList("concurrency");
+        if (levels.isEmpty()) {
+            levels = List.of(16, 64, 256, 1024);
+        }
+        Duration warmup = options.getSeconds("warmup", 5);
+        Duration duration = options.getSeconds("duration", 20);
+        StudentKeys keys = StudentKeys.load(
+                options.get("url", "jdbc:postgresql://localhost:5432/student_db"),
+                options.get("user", "student_user"),
+                options.get("password", "student_pass"), 10_000);
+
+        System.out.printf("%-9s %6s %12s %10s %10s %8s%n", "path", "conc", "req/s", "p50(ms)", "p99(ms)", "errors");
+        try (HttpLoadDriver driver = new HttpLoadDriver(options.getInt("driver-threads", 4))) {
+            for (int concurrency : levels) {
+                for (String[] path : new String[][]{{"mvc", mvcBase}, {"reactive", reactiveBase}}) {
+                    Supplier<HttpRequest> requests = lookups(path[1], keys);
+                    driver.run(requests, concurrency, warmup);
+                    HttpLoadDriver.Result result = driver.run(requests, concurrency, duration);
+                    System.out.printf("%-9s %6d %12.0f %10.2f %10.2f %8d%n", path[0], concurrency,
+                            result.throughput(), result.latency().percentileMillis(50),
+                            result.latency().percentileMillis(99), result.latency().errors());
+                }
+            }
+        }
+    }
+
+    /**
+     * Even mix of get-by-id and get-by-studentId
+     */
+    private static Supplier<HttpRequest> lookups(String base, StudentKeys keys) {
+        return () -> {
+            String path = ThreadLocalRandom.current().nextBoolean()
+                    ? "/" + keys.randomId()
+                    : "/student-id/" + keys.randomStudentId();
+            return HttpRequest.newBuilder(URI.create(base + path))
+                    .timeout(Duration.ofSeconds(30))
+                    .GET()
+                    .build();
+        };
+    }
+}
@@ -0,0 +1,83 @@
+package com.college.loadtest;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A student-service jar launched as a child process, stopped on close
+ */
+public class ServiceProcess implements AutoCloseable {
+
+    private final Process process;
+    private final List<String> command;
+    private final URI health;
+    private final long startedAt;
+
+    private ServiceProcess(Process process, List<String> command, URI health, long startedAt) {
+        this.process = process;
+        this.command = command;
+        this.health = health;
+        this.startedAt = startedAt;
+    }
+
+    /**
+     * Launch the jar on the given port; output goes to log, or is discarded when log is null
+     */
+    public static ServiceProcess start(String jar, int port, List<String> jvmArgs, List<String> appArgs,
+                                       File log) throws IOException {
+        List<String> command = new ArrayList<>();
+        command.add("java");
+        command.addAll(jvmArgs);
+        command.add("-jar");
+        command.add(jar);
+        command.add("--server.port=" + port);
+        command.addAll(appArgs);
+
+        long start = System.nanoTime();
+        Process process = new ProcessBuilder(command)
+                .redirectErrorStream(true)
+                .redirectOutput(log == null ? ProcessBuilder.Redirect.DISCARD : ProcessBuilder.Redirect.to(log))
+                .start();
+        URI health = URI.create("http://localhost:" + port + "/student-service/api/v1/health");
+        return new ServiceProcess(process, command, health, start);
+    }
+
+    /**
+     * Wait for the first 200 from the health endpoint; returns seconds since launch
+     */
+    public double awaitHealthy(HttpClient client, Duration timeout) throws IOException, InterruptedException {
+        long deadline = startedAt + timeout.toNanos();
+        HttpRequest request = HttpRequest.newBuilder(health).timeout(Duration.ofSeconds(1)).GET().build();
+        while (System.nanoTime() < deadline) {
+            if (!process.isAlive()) {
+                throw new IllegalStateException("student-service exited with " + process.exitValue()
+                        + " during startup: " + String.join(" ", command));
+            }
+            try {
+                if (client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+                    return (System.nanoTime() - startedAt) / 1e9;
+                }
+            } catch (IOException e) {
+                // not listening yet
+            }
+            Thread.sleep(20);
+        }
+        throw new IllegalStateException("student-service did not become healthy within " + timeout);
+    }
+
+    @Override
+    public void close() throws InterruptedException {
+        process.destroy();
+        if (!process.waitFor(30, TimeUnit.SECONDS)) {
+            process.destroyForcibly();
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package com.college.loadtest;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+
+import java.io.File;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Local sharded student-service: one embedded PostgreSQL per shard
+ *
+ * Starts --shards embedded databases, launches the student-service jar with
+ * student.sharding pointed at them (the service migrates each shard itself),
+ * creates --students students spread over the seeded departments and checks
+ * that every shard received some, that the merged list sees all of them and
+ * that each one is found again by id. With --keep the service stays up for
+ * manual testing until Enter is pressed.
+ *
+ *   (cd student-service && mvn -q package spring-boot:repackage -DskipTests)
+ *   (cd load-test && mvn -q exec:java -Dexec.mainClass=com.college.loadtest.ShardedSetup \
+ *       -Dexec.args="--shards=3 --students=200 --keep")
+ */
+public class ShardedSetup {
+
+    private static final String[] DEPARTMENTS = {"CSE", "ECE", "ME", "CE", "IT"};
+
+    public static void main(String[] args) throws Exception {
+        BenchmarkArgs options = new BenchmarkArgs(args);
+        int shardCount = options.getInt("shards", 2);
+        int students = options.getInt("students", 100);
+        int port = options.getInt("port", 18081);
+        String jar = options.get("jar", "../student-service/target/student-service-1.0.0.jar");
+
+        List<EmbeddedPostgres> shards = new ArrayList<>();
+        try {
+            List<String> appArgs = new ArrayList<>(List.of(
+                    "--student.sharding.enabled=true",
+                    "--spring.jpa.open-in-view=false",
+                    "--spring.profiles.active=" + options.get("profiles", "prod")));
+            for (int shard = 0; shard < shardCount; shard++) {
+                EmbeddedPostgres postgres = EmbeddedPostgres.builder().start();
+                shards.add(postgres);
+                appArgs.add("--student.sharding.shards[" + shard + "].url=" + postgres.getJdbcUrl("postgres", "postgres"));
+                appArgs.add("--student.sharding.shards[" + shard + "].username=postgres");
+                appArgs.add("--student.sharding.shards[" + shard + "].password=");
+            }
+
+            File log = new File(options.get("service-log", "target/student-service-sharded.log"));
+            HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofMillis(200)).build();
+            try (ServiceProcess service = ServiceProcess.start(jar, port, List.of(), appArgs, log)) {
+                double startup = service.awaitHealthy(client, options.getSeconds("timeout", 180));
+                System.out.printf("student-service healthy on %d shards after %.1fs, log in %s%n",
+                        shardCount, startup, log);
+
+                String base = "http://localhost:" + port + "/student-service/api/v1/students";
+                String run = Long.toString(System.currentTimeMillis(), 36);
+                List<String> locations = new ArrayList<>();
+                for (int n = 0; n < students; n++) {
+                    String body = String.format("{\"studentId\":\"SH%s%05d\",\"firstName\":\"Shard\",\"lastName\":\"Test\","
+                                    + "\"email\":\"sh%s%d@shard.test\",\"phone\":\"+91%010d\",\"department\":\"%s\",\"yearOfStudy\":1}",
+                            run, n, run, n, n, DEPARTMENTS[n % DEPARTMENTS.length]);
+                    HttpResponse<String> created = client.send(HttpRequest.newBuilder(URI.create(base))
+                            .header("Content-Type", "application/json")
+                            .POST(HttpRequest.BodyPublishers.ofString(body))
+                            .build(), HttpResponse.BodyHandlers.ofString());
+                    if (created.statusCode() != 201) {
+                        throw new IllegalStateException("Create returned " + created.statusCode() + ": " + created.body());
+                    }
+                    locations.add(base + "/" + created.body().replaceAll("^\\{\"id\":(\\d+).*", "$1"));
+                }
+
+                long total = 0;
+                for (int shard = 0; shard < shardCount; shard++) {
+                    long rows = count(shards.get(shard));
+                    System.out.printf("shard %d: %d students%n", shard, rows);
+                    if (rows == 0) {
+                        throw new IllegalStateException("Shard " + shard + " received no students");
+                    }
+                    total += rows;
+                }
+
+                String page = client.send(HttpRequest.newBuilder(URI.create(base + "?size=1")).build(),
+                        HttpResponse.BodyHandlers.ofString()).body();
+                long listed = Long.parseLong(page.replaceAll(".*\"totalElements\":(\\d+).*", "$1"));
+                if (listed != total) {
+                    throw new IllegalStateException("List reports " + listed + " students, shards hold " + total);
+                }
+                for (String location : locations) {
+                    int status = client.send(HttpRequest.newBuilder(URI.create(location)).build(),
+                            HttpResponse.BodyHandlers.discarding()).statusCode();
+                    if (status != 200) {
+                        throw new IllegalStateException(location + " returned " + status);
+                    }
+                }
+                System.out.printf("%d students created, listed and read back across %d shards%n", total, shardCount);
+
+                if (options.getBoolean("keep", false)) {
+                    System.out.println("Service running at " + base + ", press Enter to stop");
+                    System.in.read();
+                }
+            }
+        } finally {
+            for (EmbeddedPostgres postgres : shards) {
+                postgres.close();
+            }
+        }
+    }
+
+    private static long count(EmbeddedPostgres postgres) throws Exception {
+        try (Connection connection = postgres.getPostgresDatabase().getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery("SELECT count(*) FROM students")) {
+            rs.next();
+            return rs.getLong(1);
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.college.loadtest;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Time-to-first-successful-request for student-service launch variants
+ *
+ * Needs the fast-start build and a reachable database:
+ *
+ *   (cd student-service && mvn -Pfast-start package)
+ *   (cd load-test && mvn -q exec:java -Dexec.mainClass=com.college.loadtest.StartupBenchmark \
+ *       -Dexec.args="--jar=../student-service/target/student-service-1.0.0.jar --runs=5")
+ *
+ * Each variant is launched --runs times; the clock stops at the first 200 from
+ * the health endpoint, so the numbers include JVM start, migrations and web
+ * server start. Output is one line per variant and is stable enough to diff in CI.
+ */
+public class StartupBenchmark {
+
+    public static void main(String[] args) throws Exception {
+        BenchmarkArgs options = new BenchmarkArgs(args);
+        String jar = options.get("jar", "../student-service/target/student-service-1.0.0.jar");
+        String archive = options.get("archive", new File(new File(jar).getParentFile(), "student-service.jsa").getPath());
+        int runs = options.getInt("runs", 5);
+        int port = options.getInt("port", 8081);
+        Duration timeout = options.getSeconds("timeout", 120);
+
+        Map<String, List<String>> variants = new LinkedHashMap<>();
+        variants.put("default", List.of());
+        variants.put("aot", List.of("-Dspring.aot.enabled=true", "-Dspring.profiles.active=fast-start"));
+        if (new File(archive).isFile()) {
+            variants.put("aot+cds", List.of("-XX:SharedArchiveFile=" + archive, "-Xlog:cds=off",
+                    "-Dspring.aot.enabled=true", "-Dspring.profiles.active=fast-start"));
+        } else {
+            System.out.println("No CDS archive at " + archive + ", skipping aot+cds");
+        }
+
+        HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofMillis(200)).build();
+        System.out.printf("%-10s %10s %10s %10s%n", "variant", "median(s)", "min(s)", "max(s)");
+        for (Map.Entry<String, List<String>> variant : variants.entrySet()) {
+            double[] seconds = new double[runs];
+            for (int i = 0; i < runs; i++) {
+                seconds[i] = launch(jar, port, variant.getValue(), client, timeout);
+            }
+            Arrays.sort(seconds);
+            System.out.printf("%-10s %10.2f %10.2f %10.2f%n", variant.getKey(),
+                    seconds[runs / 2], seconds[0], seconds[runs - 1]);
+        }
+    }
+
+    private static double launch(String jar, int port, List<String> jvmArgs, HttpClient client,
+                                 Duration timeout) throws IOException, InterruptedException {
+        try (ServiceProcess service = ServiceProcess.start(jar, port, jvmArgs, List.of(), null)) {
+            return service.awaitHealthy(client, timeout);
+        }
+    }
+}
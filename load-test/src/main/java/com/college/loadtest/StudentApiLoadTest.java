@@ -0,0 +1,227 @@
+package com.college.loadtest;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.flywaydb.core.Flyway;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Latency and throughput of each StudentController endpoint against a seeded database
+ *
+ * With --embedded the run is self-contained: an embedded PostgreSQL is
+ * started, migrated with the student-service Flyway scripts and seeded by
+ * DataGenerator, and the student-service jar is launched against it.
+ * Without it the scenarios hit an already running service whose database is
+ * reachable at --url for sampling keys.
+ *
+ *   (cd student-service && mvn -q package spring-boot:repackage -DskipTests)
+ *   (cd load-test && mvn -q exec:java -Dexec.mainClass=com.college.loadtest.StudentApiLoadTest \
+ *       -Dexec.args="--embedded --students=1000000 --concurrency=32 --report=target/student-api.csv")
+ *
+ * Each scenario is warmed up and then run for --duration seconds, one after
+ * another, and reported as one line: p50, p99 and requests per second. With
+ * --baseline pointing at an earlier --report file, lines whose p99 or
+ * throughput got worse by more than --tolerance percent are marked and the
+ * run exits non-zero.
+ */
+public class StudentApiLoadTest {
+
+    private static final List<String> SCENARIOS =
+            List.of("get", "get-by-student-id", "search", "list", "statistics", "create");
+
+    private static final String[] SORT_KEYS = {"id", "studentId", "lastName", "createdAt"};
+
+    public static void main(String[] args) throws Exception {
+        BenchmarkArgs options = new BenchmarkArgs(args);
+        List<String> scenarios = Arrays.asList(options.get("scenarios", String.join(",", SCENARIOS)).split(","));
+        for (String scenario : scenarios) {
+            if (!SCENARIOS.contains(scenario)) {
+                throw new IllegalArgumentException("Unknown scenario " + scenario + ", expected one of " + SCENARIOS);
+            }
+        }
+
+        if (!options.getBoolean("embedded", false)) {
+            StudentKeys keys = StudentKeys.load(
+                    options.get("url", "jdbc:postgresql://localhost:5432/student_db"),
+                    options.get("user", "student_user"),
+                    options.get("password", "student_pass"), 10_000);
+            run(options, scenarios, options.get("base", "http://localhost:8081/student-service/api/v1/students"), keys);
+            return;
+        }
+
+        Path migrations = Path.of(options.get("migrations", "../student-service/src/main/resources/db/migration"));
+        String jar = options.get("jar", "../student-service/target/student-service-1.0.0.jar");
+        int port = options.getInt("port", 18081);
+        try (EmbeddedPostgres postgres = EmbeddedPostgres.builder().start()) {
+            Flyway.configure()
+                    .dataSource(postgres.getPostgresDatabase())
+                    .locations("filesystem:" + migrations.toAbsolutePath().normalize())
+                    .load()
+                    .migrate();
+            DataGenerator.Result seeded = DataGenerator.generate(postgres.getPostgresDatabase(),
+                    options.getInt("students", 1_000_000), options.getInt("admissions-per-student", 3),
+                    options.getInt("seed", 42), false);
+            System.out.printf("seeded %d students and %d admissions in %.1fs%n",
+                    seeded.students(), seeded.admissions(), seeded.seconds());
+
+            StudentKeys keys;
+            try (HikariDataSource probe = new HikariDataSource()) {
+                probe.setJdbcUrl(postgres.getJdbcUrl("postgres", "postgres"));
+                probe.setMaximumPoolSize(1);
+                keys = StudentKeys.load(probe, 10_000);
+            }
+
+            List<String> appArgs = new ArrayList<>(List.of(
+                    "--spring.datasource.url=" + postgres.getJdbcUrl("postgres", "postgres"),
+                    "--spring.datasource.username=postgres",
+                    "--spring.datasource.password=",
+                    // Measure with production logging rather than the DEBUG web/SQL defaults
+                    "--spring.profiles.active=" + options.get("profiles", "prod"),
+                    // One client at full speed would only measure the per-client rate limit
+                    "--student.rate-limit.enabled=" + options.getBoolean("rate-limit", false)));
+            String serviceArgs = options.get("service-args", "");
+            if (!serviceArgs.isBlank()) {
+                appArgs.addAll(Arrays.asList(serviceArgs.trim().split("\\s+")));
+            }
+            File log = new File(options.get("service-log", "target/student-service-load-test.log"));
+            HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofMillis(200)).build();
+            try (ServiceProcess service = ServiceProcess.start(jar, port, List.of(), appArgs, log)) {
+                double startup = service.awaitHealthy(client, options.getSeconds("timeout", 180));
+                System.out.printf("student-service healthy after %.1fs, log in %s%n", startup, log);
+                run(options, scenarios, "http://localhost:" + port + "/student-service/api/v1/students", keys);
+            }
+        }
+    }
+
+    private static void run(BenchmarkArgs options, List<String> scenarios, String base, StudentKeys keys)
+            throws IOException {
+        int concurrency = options.getInt("concurrency", 32);
+        Duration warmup = options.getSeconds("warmup", 10);
+        Duration duration = options.getSeconds("duration", 30);
+        double tolerance = options.getInt("tolerance", 10) / 100.0;
+        Map<String, double[]> baseline = readReport(options.get("baseline", null));
+
+        List<String> report = new ArrayList<>();
+        report.add("scenario,concurrency,throughput,p50_ms,p99_ms,errors");
+        boolean regressed = false;
+        System.out.printf("%-18s %6s %10s %10s %10s %8s%n", "scenario", "conc", "req/s", "p50(ms)", "p99(ms)", "errors");
+        try (HttpLoadDriver driver = new HttpLoadDriver(options.getInt("driver-threads", 4))) {
+            for (String scenario : scenarios) {
+                Supplier<HttpRequest> requests = requests(scenario, base, keys);
+                driver.run(requests, concurrency, warmup);
+                HttpLoadDriver.Result result = driver.run(requests, concurrency, duration);
+                double p50 = result.latency().percentileMillis(50);
+                double p99 = result.latency().percentileMillis(99);
+                report.add(String.format(Locale.ROOT, "%s,%d,%.1f,%.3f,%.3f,%d", scenario, concurrency,
+                        result.throughput(), p50, p99, result.latency().errors()));
+
+                String verdict = "";
+                double[] previous = baseline.get(scenario);
+                if (previous != null) {
+                    double throughputChange = result.throughput() / previous[0] - 1;
+                    double p99Change = p99 / previous[1] - 1;
+                    boolean worse = throughputChange < -tolerance || p99Change > tolerance;
+                    regressed |= worse;
+                    verdict = String.format("  throughput %+.1f%%, p99 %+.1f%%%s",
+                            throughputChange * 100, p99Change * 100, worse ? "  REGRESSION" : "");
+                }
+                System.out.printf("%-18s %6d %10.0f %10.2f %10.2f %8d%s%n", scenario, concurrency,
+                        result.throughput(), p50, p99, result.latency().errors(), verdict);
+            }
+        }
+
+        String reportFile = options.get("report", null);
+        if (reportFile != null) {
+            Path path = Path.of(reportFile);
+            if (path.toAbsolutePath().getParent() != null) {
+                Files.createDirectories(path.toAbsolutePath().getParent());
+            }
+            Files.write(path, report);
+        }
+        if (regressed) {
+            throw new IllegalStateException("Regression beyond " + Math.round(tolerance * 100)
+                    + "% against " + options.get("baseline", null));
+        }
+    }
+
+    /**
+     * One request per call, chosen at random within the scenario
+     */
+    static Supplier<HttpRequest> requests(String scenario, String base, StudentKeys keys) {
+        return switch (scenario) {
+            case "get" -> () -> get(base + "/" + keys.randomId());
+            case "get-by-student-id" -> () -> get(base + "/student-id/" + keys.randomStudentId());
+            case "search" -> () -> {
+                // Three-letter fragment of a generated last name: realistic, non-trivial match counts
+                String name = DataGenerator.LAST_NAMES[ThreadLocalRandom.current().nextInt(DataGenerator.LAST_NAMES.length)];
+                int from = ThreadLocalRandom.current().nextInt(name.length() - 2);
+                return get(base + "/search?name=" + name.substring(from, from + 3).toLowerCase());
+            };
+            case "list" -> () -> {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                return get(base + "?page=" + random.nextInt(100) + "&size=20&sortBy="
+                        + SORT_KEYS[random.nextInt(SORT_KEYS.length)] + "&sortDir=" + (random.nextBoolean() ? "asc" : "desc"));
+            };
+            case "statistics" -> () -> get(base + "/statistics");
+            case "create" -> creates(base);
+            default -> throw new IllegalArgumentException("Unknown scenario " + scenario);
+        };
+    }
+
+    private static Supplier<HttpRequest> creates(String base) {
+        // Unique per run so repeated runs against the same database keep creating rather than conflicting
+        String run = Long.toString(System.currentTimeMillis(), 36);
+        AtomicLong sequence = new AtomicLong();
+        return () -> {
+            long n = sequence.incrementAndGet();
+            String body = String.format("{\"studentId\":\"LT%s%06d\",\"firstName\":\"Load\",\"lastName\":\"Test\","
+                    + "\"email\":\"lt%s%d@load.test\",\"phone\":\"+91%010d\",\"department\":\"CSE\",\"yearOfStudy\":1}",
+                    run, n, run, n, n);
+            return HttpRequest.newBuilder(URI.create(base))
+                    .timeout(Duration.ofSeconds(30))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(body))
+                    .build();
+        };
+    }
+
+    private static HttpRequest get(String uri) {
+        return HttpRequest.newBuilder(URI.create(uri))
+                .timeout(Duration.ofSeconds(30))
+                .GET()
+                .build();
+    }
+
+    /**
+     * scenario -> {throughput, p99} from an earlier --report file; empty when there is none
+     */
+    private static Map<String, double[]> readReport(String file) throws IOException {
+        Map<String, double[]> rows = new HashMap<>();
+        if (file == null) {
+            return rows;
+        }
+        List<String> lines = Files.readAllLines(Path.of(file));
+        for (String line : lines.subList(1, lines.size())) {
+            String[] columns = line.split(",");
+            rows.put(columns[0], new double[]{Double.parseDouble(columns[2]), Double.parseDouble(columns[4])});
+        }
+        return rows;
+    }
+}
@@ -0,0 +1,63 @@
+package com.college.loadtest;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Random sample of existing student keys, read straight from student_db
+ */
+public class StudentKeys {
+
+    private final List<Long> ids = new ArrayList<>();
+    private final List<String> studentIds = new ArrayList<>();
+
+    public static StudentKeys load(String url, String user, String password, int limit) throws SQLException {
+        HikariConfig config = new HikariConfig();
+        config.setJdbcUrl(url);
+        config.setUsername(user);
+        config.setPassword(password);
+        config.setMaximumPoolSize(1);
+        try (HikariDataSource ds = new HikariDataSource(config)) {
+            return load(ds, limit);
+        }
+    }
+
+    public static StudentKeys load(HikariDataSource ds, int limit) throws SQLException {
+        StudentKeys keys = new StudentKeys();
+        try (Connection connection = ds.getConnection();
+             PreparedStatement statement = connection.prepareStatement(
+                     "SELECT id, student_id FROM students ORDER BY random() LIMIT ?")) {
+            statement.setInt(1, limit);
+            try (ResultSet rs = statement.executeQuery()) {
+                while (rs.next()) {
+                    keys.ids.add(rs.getLong(1));
+                    keys.studentIds.add(rs.getString(2));
+                }
+            }
+        }
+        if (keys.ids.isEmpty()) {
+            throw new IllegalStateException("students table is empty, add students to student_db before benchmarking");
+        }
+        return keys;
+    }
+
+    public int size() {
+        return ids.size();
+    }
+
+    public long randomId() {
+        return ids.get(ThreadLocalRandom.current().nextInt(ids.size()));
+    }
+
+    public String randomStudentId() {
+        return studentIds.get(ThreadLocalRandom.current().nextInt(studentIds.size()));
+    }
+}
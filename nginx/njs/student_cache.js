@@ -0,0 +1,19 @@
+// Invalidation of the student read microcache, driven by student-service write responses
+//
+// Cached reads are keyed on a generation counter kept in a shared dictionary,
+// so every worker sees the same value. A successful write response carrying
+// X-Cache-Invalidate moves the generation on: every read after it misses and
+// goes to student-service, and the old entries age out unread.
+
+function generation(r) {
+    return String(ngx.shared.student_cache.get('students') || 0);
+}
+
+function invalidate(r) {
+    var scope = r.variables.upstream_http_x_cache_invalidate;
+    if (scope && r.status < 300) {
+        ngx.shared.student_cache.incr(scope, 1, 0);
+    }
+}
+
+export default {generation, invalidate};
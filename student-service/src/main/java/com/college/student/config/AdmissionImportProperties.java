@@ -0,0 +1,86 @@
+package com.college.student.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Settings for the bulk admissions import (student.admissions.import.*)
+ */
+@ConfigurationProperties(prefix = "student.admissions.import")
+public class AdmissionImportProperties {
+
+    /**
+     * Rows handed from one stage to the next at a time, and inserted per JDBC batch
+     */
+    private int batchSize = 500;
+
+    /**
+     * Batches each queue between two stages holds before the stage feeding it blocks
+     */
+    private int queueCapacity = 8;
+
+    /**
+     * Threads validating rows and resolving their students; 0 uses one per available processor
+     */
+    private int validateWorkers = 0;
+
+    /**
+     * Threads deciding statuses from scores
+     */
+    private int scoreWorkers = 2;
+
+    /**
+     * Threads writing batches, each with a connection of its own while it writes
+     */
+    private int persistWorkers = 2;
+
+    /**
+     * Lowest and highest valid entrance score
+     */
+    private double minScore = 0;
+    private double maxScore = 100;
+
+    /**
+     * Rows without a status are approved from this score, when set
+     */
+    private Double approveScore;
+
+    /**
+     * Rows without a status are waitlisted from this score and otherwise rejected, when set
+     */
+    private Double waitlistScore;
+
+    /**
+     * Rejected rows listed in the result; the rest are only counted
+     */
+    private int maxReportedRejections = 100;
+
+    public int getBatchSize() { return batchSize; }
+    public void setBatchSize(int batchSize) { this.batchSize = batchSize; }
+
+    public int getQueueCapacity() { return queueCapacity; }
+    public void setQueueCapacity(int queueCapacity) { this.queueCapacity = queueCapacity; }
+
+    public int getValidateWorkers() { return validateWorkers; }
+    public void setValidateWorkers(int validateWorkers) { this.validateWorkers = validateWorkers; }
+
+    public int getScoreWorkers() { return scoreWorkers; }
+    public void setScoreWorkers(int scoreWorkers) { this.scoreWorkers = scoreWorkers; }
+
+    public int getPersistWorkers() { return persistWorkers; }
+    public void setPersistWorkers(int persistWorkers) { this.persistWorkers = persistWorkers; }
+
+    public double getMinScore() { return minScore; }
+    public void setMinScore(double minScore) { this.minScore = minScore; }
+
+    public double getMaxScore() { return maxScore; }
+    public void setMaxScore(double maxScore) { this.maxScore = maxScore; }
+
+    public Double getApproveScore() { return approveScore; }
+    public void setApproveScore(Double approveScore) { this.approveScore = approveScore; }
+
+    public Double getWaitlistScore() { return waitlistScore; }
+    public void setWaitlistScore(Double waitlistScore) { this.waitlistScore = waitlistScore; }
+
+    public int getMaxReportedRejections() { return maxReportedRejections; }
+    public void setMaxReportedRejections(int maxReportedRejections) { this.maxReportedRejections = maxReportedRejections; }
+}
@@ -0,0 +1,44 @@
+package com.college.student.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Settings for the in-memory analytics snapshot (student.analytics.*)
+ */
+@ConfigurationProperties(prefix = "student.analytics")
+public class AnalyticsProperties {
+
+    /**
+     * Build the columnar snapshot and serve /api/v1/analytics from it
+     */
+    private boolean enabled = false;
+
+    /**
+     * How often rows changed since the last refresh are folded in
+     */
+    private Duration refreshInterval = Duration.ofSeconds(30);
+
+    /**
+     * How often the snapshot is rebuilt from scratch, which is also when deletes become visible
+     */
+    private Duration fullRebuildInterval = Duration.ofMinutes(10);
+
+    /**
+     * Overlap re-read on each refresh so rows committed late with an earlier updated_at are not missed
+     */
+    private Duration refreshOverlap = Duration.ofSeconds(5);
+
+    public boolean isEnabled() { return enabled; }
+    public void setEnabled(boolean enabled) { this.enabled = enabled; }
+
+    public Duration getRefreshInterval() { return refreshInterval; }
+    public void setRefreshInterval(Duration refreshInterval) { this.refreshInterval = refreshInterval; }
+
+    public Duration getFullRebuildInterval() { return fullRebuildInterval; }
+    public void setFullRebuildInterval(Duration fullRebuildInterval) { this.fullRebuildInterval = fullRebuildInterval; }
+
+    public Duration getRefreshOverlap() { return refreshOverlap; }
+    public void setRefreshOverlap(Duration refreshOverlap) { this.refreshOverlap = refreshOverlap; }
+}
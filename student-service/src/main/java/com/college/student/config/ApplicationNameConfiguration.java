@@ -0,0 +1,43 @@
+package com.college.student.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.UUID;
+
+/**
+ * Gives this instance's database sessions an application_name of their own
+ *
+ * Set on every pooled connection, it tells this instance's writes apart from
+ * other replicas' in invalidation messages, and shows which replica a session
+ * belongs to in pg_stat_activity.
+ */
+@Configuration
+public class ApplicationNameConfiguration {
+
+    public static final String APPLICATION_NAME = "student-service-" + UUID.randomUUID().toString().substring(0, 8);
+
+    private static final String PROPERTY = "ApplicationName";
+
+    /**
+     * Name the connections of the auto-configured pool; shard pools are named where they are built
+     */
+    @Bean
+    public static BeanPostProcessor applicationNamePostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessBeforeInitialization(Object bean, String beanName) {
+                if (bean instanceof HikariDataSource pool) {
+                    name(pool);
+                }
+                return bean;
+            }
+        };
+    }
+
+    static void name(HikariDataSource pool) {
+        pool.addDataSourceProperty(PROPERTY, APPLICATION_NAME);
+    }
+}
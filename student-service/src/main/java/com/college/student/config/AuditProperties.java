@@ -0,0 +1,80 @@
+package com.college.student.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Settings for the write-behind mutation audit log (student.audit.*)
+ */
+@ConfigurationProperties(prefix = "student.audit")
+public class AuditProperties {
+
+    public enum Sink { DATABASE, FILE }
+
+    public enum Overflow { DROP, BLOCK }
+
+    /**
+     * Record an audit event for every committed mutation
+     */
+    private boolean enabled = true;
+
+    /**
+     * Where the writer puts events: batched inserts into audit_events, or an append-only JSON-lines file
+     */
+    private Sink sink = Sink.DATABASE;
+
+    /**
+     * File appended to when the sink is FILE
+     */
+    private String file = "logs/student-audit.jsonl";
+
+    /**
+     * Events held between the request threads and the writer; must be a power of two
+     */
+    private int bufferSize = 8192;
+
+    /**
+     * Most events written per insert batch or file write
+     */
+    private int batchSize = 500;
+
+    /**
+     * Longest an event waits for its batch to fill before it is written anyway
+     */
+    private Duration flushInterval = Duration.ofMillis(200);
+
+    /**
+     * What a full buffer does to a mutation: drop its event, or wait up to block-timeout for room
+     */
+    private Overflow overflow = Overflow.DROP;
+
+    /**
+     * Longest a mutation waits for room with overflow BLOCK before its event is dropped
+     */
+    private Duration blockTimeout = Duration.ofMillis(10);
+
+    public boolean isEnabled() { return enabled; }
+    public void setEnabled(boolean enabled) { this.enabled = enabled; }
+
+    public Sink getSink() { return sink; }
+    public void setSink(Sink sink) { this.sink = sink; }
+
+    public String getFile() { return file; }
+    public void setFile(String file) { this.file = file; }
+
+    public int getBufferSize() { return bufferSize; }
+    public void setBufferSize(int bufferSize) { this.bufferSize = bufferSize; }
+
+    public int getBatchSize() { return batchSize; }
+    public void setBatchSize(int batchSize) { this.batchSize = batchSize; }
+
+    public Duration getFlushInterval() { return flushInterval; }
+    public void setFlushInterval(Duration flushInterval) { this.flushInterval = flushInterval; }
+
+    public Overflow getOverflow() { return overflow; }
+    public void setOverflow(Overflow overflow) { this.overflow = overflow; }
+
+    public Duration getBlockTimeout() { return blockTimeout; }
+    public void setBlockTimeout(Duration blockTimeout) { this.blockTimeout = blockTimeout; }
+}
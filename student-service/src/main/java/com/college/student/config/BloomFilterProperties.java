@@ -0,0 +1,60 @@
+package com.college.student.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Settings for the studentId / email Bloom filters (student.bloom-filter.*)
+ */
+@ConfigurationProperties(prefix = "student.bloom-filter")
+public class BloomFilterProperties {
+
+    /**
+     * Answer definite negatives of existence checks without querying the database
+     */
+    private boolean enabled = false;
+
+    /**
+     * Target false-positive rate; each halving costs about 0.6 bytes more per key
+     */
+    private double falsePositiveRate = 0.01;
+
+    /**
+     * Minimum keys the first layer is sized for; rebuilds size it for the current count plus headroom
+     */
+    private long expectedKeys = 100_000;
+
+    /**
+     * How often keys written by other instances are folded in; local writes are added immediately
+     */
+    private Duration refreshInterval = Duration.ofSeconds(5);
+
+    /**
+     * How often the filters are rebuilt, which drops deleted and replaced keys
+     */
+    private Duration rebuildInterval = Duration.ofHours(1);
+
+    /**
+     * Overlap re-read on each refresh so rows committed late with an earlier updated_at are not missed
+     */
+    private Duration refreshOverlap = Duration.ofSeconds(5);
+
+    public boolean isEnabled() { return enabled; }
+    public void setEnabled(boolean enabled) { this.enabled = enabled; }
+
+    public double getFalsePositiveRate() { return falsePositiveRate; }
+    public void setFalsePositiveRate(double falsePositiveRate) { this.falsePositiveRate = falsePositiveRate; }
+
+    public long getExpectedKeys() { return expectedKeys; }
+    public void setExpectedKeys(long expectedKeys) { this.expectedKeys = expectedKeys; }
+
+    public Duration getRefreshInterval() { return refreshInterval; }
+    public void setRefreshInterval(Duration refreshInterval) { this.refreshInterval = refreshInterval; }
+
+    public Duration getRebuildInterval() { return rebuildInterval; }
+    public void setRebuildInterval(Duration rebuildInterval) { this.rebuildInterval = rebuildInterval; }
+
+    public Duration getRefreshOverlap() { return refreshOverlap; }
+    public void setRefreshOverlap(Duration refreshOverlap) { this.refreshOverlap = refreshOverlap; }
+}
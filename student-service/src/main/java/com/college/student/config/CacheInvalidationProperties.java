@@ -0,0 +1,36 @@
+package com.college.student.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Settings for cache invalidation across replicas (student.cache-invalidation.*)
+ */
+@ConfigurationProperties(prefix = "student.cache-invalidation")
+public class CacheInvalidationProperties {
+
+    /**
+     * LISTEN for the changes other replicas commit and evict them from this instance's caches
+     */
+    private boolean enabled = false;
+
+    /**
+     * Wait before reconnecting a listener whose connection was lost
+     */
+    private Duration reconnectDelay = Duration.ofSeconds(5);
+
+    /**
+     * How long a listener may go without messages before its connection is checked
+     */
+    private Duration heartbeatInterval = Duration.ofSeconds(30);
+
+    public boolean isEnabled() { return enabled; }
+    public void setEnabled(boolean enabled) { this.enabled = enabled; }
+
+    public Duration getReconnectDelay() { return reconnectDelay; }
+    public void setReconnectDelay(Duration reconnectDelay) { this.reconnectDelay = reconnectDelay; }
+
+    public Duration getHeartbeatInterval() { return heartbeatInterval; }
+    public void setHeartbeatInterval(Duration heartbeatInterval) { this.heartbeatInterval = heartbeatInterval; }
+}
@@ -0,0 +1,28 @@
+package com.college.student.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Settings for the changes feed (student.changes.*)
+ */
+@ConfigurationProperties(prefix = "student.changes")
+public class ChangeFeedProperties {
+
+    /**
+     * How long tombstones of deleted rows are kept; consumers further behind must resynchronise
+     */
+    private Duration tombstoneRetention = Duration.ofDays(30);
+
+    /**
+     * How often expired tombstones are purged
+     */
+    private Duration purgeInterval = Duration.ofHours(1);
+
+    public Duration getTombstoneRetention() { return tombstoneRetention; }
+    public void setTombstoneRetention(Duration tombstoneRetention) { this.tombstoneRetention = tombstoneRetention; }
+
+    public Duration getPurgeInterval() { return purgeInterval; }
+    public void setPurgeInterval(Duration purgeInterval) { this.purgeInterval = purgeInterval; }
+}
@@ -0,0 +1,71 @@
+package com.college.student.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+
+/**
+ * Connection pool and Hibernate query plan cache metrics
+ *
+ * Hikari and Hibernate already publish raw counters (hikaricp.*, hibernate.*);
+ * these gauges turn them into the two ratios used for pool tuning. The
+ * driver's prepared statement cache exposes no counters, so neither ratio
+ * covers it.
+ */
+@Configuration
+public class DatabaseMetricsConfiguration {
+
+    /**
+     * Fraction of the pool in use (active / maximum), 1.0 means callers are queuing
+     */
+    @Bean
+    public MeterBinder poolSaturationMetrics(DataSource dataSource) {
+        return registry -> {
+            if (!(dataSource instanceof HikariDataSource hikari)) {
+                return;
+            }
+            Gauge.builder("student.db.pool.saturation", hikari, DatabaseMetricsConfiguration::saturation)
+                    .description("Active connections divided by maximum pool size")
+                    .register(registry);
+        };
+    }
+
+    /**
+     * Hibernate query plan cache hit ratio, populated when hibernate.generate_statistics is on
+     */
+    @Bean
+    public MeterBinder queryPlanCacheMetrics(EntityManagerFactory entityManagerFactory) {
+        return registry -> {
+            Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+            Gauge.builder("student.hibernate.query.plan.cache.hit.ratio", statistics,
+                            DatabaseMetricsConfiguration::hitRatio)
+                    .description("Query plan cache hits divided by lookups")
+                    .register(registry);
+        };
+    }
+
+    private static double saturation(HikariDataSource hikari) {
+        HikariPoolMXBean pool = hikari.getHikariPoolMXBean();
+        if (pool == null || hikari.getMaximumPoolSize() == 0) {
+            return 0.0;
+        }
+        return (double) pool.getActiveConnections() / hikari.getMaximumPoolSize();
+    }
+
+    private static double hitRatio(Statistics statistics) {
+        if (!statistics.isStatisticsEnabled()) {
+            return Double.NaN;
+        }
+        long hits = statistics.getQueryPlanCacheHitCount();
+        long lookups = hits + statistics.getQueryPlanCacheMissCount();
+        return lookups == 0 ? 0.0 : (double) hits / lookups;
+    }
+}
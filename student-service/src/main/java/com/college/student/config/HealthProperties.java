@@ -0,0 +1,36 @@
+package com.college.student.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Settings for the background database health check (student.health.*)
+ */
+@ConfigurationProperties(prefix = "student.health")
+public class HealthProperties {
+
+    /**
+     * How often each database is checked; probes in between are answered from the last check
+     */
+    private Duration checkInterval = Duration.ofSeconds(5);
+
+    /**
+     * Longest a check query may run before the database counts as down
+     */
+    private Duration queryTimeout = Duration.ofSeconds(2);
+
+    /**
+     * Age past which a check result is no longer trusted and the database is reported down
+     */
+    private Duration maxAge = Duration.ofSeconds(30);
+
+    public Duration getCheckInterval() { return checkInterval; }
+    public void setCheckInterval(Duration checkInterval) { this.checkInterval = checkInterval; }
+
+    public Duration getQueryTimeout() { return queryTimeout; }
+    public void setQueryTimeout(Duration queryTimeout) { this.queryTimeout = queryTimeout; }
+
+    public Duration getMaxAge() { return maxAge; }
+    public void setMaxAge(Duration maxAge) { this.maxAge = maxAge; }
+}
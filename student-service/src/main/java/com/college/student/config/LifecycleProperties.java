@@ -0,0 +1,56 @@
+package com.college.student.config;
+
+import com.college.student.entity.StudentStatus;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Settings for moving finished students into the archive (student.lifecycle.*)
+ */
+@ConfigurationProperties(prefix = "student.lifecycle")
+public class LifecycleProperties {
+
+    /**
+     * Archive students in the archived statuses in the background
+     */
+    private boolean enabled = false;
+
+    /**
+     * Statuses whose students leave the live tables
+     */
+    private List<StudentStatus> archivedStatuses = new ArrayList<>(
+            List.of(StudentStatus.GRADUATED, StudentStatus.DROPPED_OUT));
+
+    /**
+     * How long a student must stay unchanged in such a status before being archived, leaving time for corrections
+     */
+    private Duration archiveAfter = Duration.ofDays(30);
+
+    /**
+     * How often students due for the archive are looked for
+     */
+    private Duration interval = Duration.ofHours(1);
+
+    /**
+     * Students moved per transaction
+     */
+    private int batchSize = 500;
+
+    public boolean isEnabled() { return enabled; }
+    public void setEnabled(boolean enabled) { this.enabled = enabled; }
+
+    public List<StudentStatus> getArchivedStatuses() { return archivedStatuses; }
+    public void setArchivedStatuses(List<StudentStatus> archivedStatuses) { this.archivedStatuses = archivedStatuses; }
+
+    public Duration getArchiveAfter() { return archiveAfter; }
+    public void setArchiveAfter(Duration archiveAfter) { this.archiveAfter = archiveAfter; }
+
+    public Duration getInterval() { return interval; }
+    public void setInterval(Duration interval) { this.interval = interval; }
+
+    public int getBatchSize() { return batchSize; }
+    public void setBatchSize(int batchSize) { this.batchSize = batchSize; }
+}
@@ -0,0 +1,52 @@
+package com.college.student.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Settings for merit list ranking (student.merit.*)
+ */
+@ConfigurationProperties(prefix = "student.merit")
+public class MeritListProperties {
+
+    /**
+     * Threads ranking program partitions; 0 uses one per available processor
+     */
+    private int parallelism = 0;
+
+    /**
+     * How stale the rankings may get before a request folds in changed admissions
+     */
+    private Duration refreshInterval = Duration.ofSeconds(5);
+
+    /**
+     * How often rankings are rebuilt from scratch, which is also when deleted admissions drop out
+     */
+    private Duration fullRebuildInterval = Duration.ofMinutes(10);
+
+    /**
+     * Overlap re-read on each refresh so admissions committed late with an earlier updated_at are not missed
+     */
+    private Duration refreshOverlap = Duration.ofSeconds(5);
+
+    /**
+     * Largest number of seats a single merit list may be requested for
+     */
+    private int maxSeats = 10000;
+
+    public int getParallelism() { return parallelism; }
+    public void setParallelism(int parallelism) { this.parallelism = parallelism; }
+
+    public Duration getRefreshInterval() { return refreshInterval; }
+    public void setRefreshInterval(Duration refreshInterval) { this.refreshInterval = refreshInterval; }
+
+    public Duration getFullRebuildInterval() { return fullRebuildInterval; }
+    public void setFullRebuildInterval(Duration fullRebuildInterval) { this.fullRebuildInterval = fullRebuildInterval; }
+
+    public Duration getRefreshOverlap() { return refreshOverlap; }
+    public void setRefreshOverlap(Duration refreshOverlap) { this.refreshOverlap = refreshOverlap; }
+
+    public int getMaxSeats() { return maxSeats; }
+    public void setMaxSeats(int maxSeats) { this.maxSeats = maxSeats; }
+}
@@ -0,0 +1,52 @@
+package com.college.student.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Settings for batching single student lookups (student.batching.*)
+ */
+@ConfigurationProperties(prefix = "student.batching")
+public class MicroBatchingProperties {
+
+    /**
+     * Merge concurrent single-row lookups into IN queries
+     */
+    private boolean enabled = false;
+
+    /**
+     * How long the first lookup waits for others to join its batch
+     */
+    private Duration window = Duration.ofMillis(2);
+
+    /**
+     * Flush as soon as this many distinct keys are pending
+     */
+    private int maxBatchSize = 64;
+
+    /**
+     * Threads running batch queries; each holds one pooled connection while it runs
+     */
+    private int loaderThreads = 4;
+
+    /**
+     * Longest a lookup waits for its batch before querying on its own
+     */
+    private Duration timeout = Duration.ofSeconds(1);
+
+    public boolean isEnabled() { return enabled; }
+    public void setEnabled(boolean enabled) { this.enabled = enabled; }
+
+    public Duration getWindow() { return window; }
+    public void setWindow(Duration window) { this.window = window; }
+
+    public int getMaxBatchSize() { return maxBatchSize; }
+    public void setMaxBatchSize(int maxBatchSize) { this.maxBatchSize = maxBatchSize; }
+
+    public int getLoaderThreads() { return loaderThreads; }
+    public void setLoaderThreads(int loaderThreads) { this.loaderThreads = loaderThreads; }
+
+    public Duration getTimeout() { return timeout; }
+    public void setTimeout(Duration timeout) { this.timeout = timeout; }
+}
@@ -0,0 +1,136 @@
+package com.college.student.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Settings for rate limiting and load shedding of the student API (student.rate-limit.*)
+ */
+@ConfigurationProperties(prefix = "student.rate-limit")
+public class RateLimitProperties {
+
+    /**
+     * Apply the client, route and concurrency limits to /api/v1/students requests
+     */
+    private boolean enabled = false;
+
+    /**
+     * Header identifying the calling client; requests without it are keyed by remote address
+     */
+    private String clientHeader = "X-Client-Id";
+
+    /**
+     * Token bucket of each client across all student endpoints
+     */
+    private Bucket client = new Bucket(50, 100);
+
+    /**
+     * Additional token bucket per client for individual endpoints, keyed by StudentController method name
+     */
+    private Map<String, Bucket> routes = new HashMap<>();
+
+    /**
+     * Client buckets kept before idle ones are swept
+     */
+    private int maxClients = 10_000;
+
+    private Concurrency concurrency = new Concurrency();
+
+    public static class Bucket {
+
+        /**
+         * Sustained requests per second
+         */
+        private double rate;
+
+        /**
+         * Requests allowed in a burst on top of the sustained rate
+         */
+        private int burst;
+
+        public Bucket() {
+        }
+
+        public Bucket(double rate, int burst) {
+            this.rate = rate;
+            this.burst = burst;
+        }
+
+        public double getRate() { return rate; }
+        public void setRate(double rate) { this.rate = rate; }
+
+        public int getBurst() { return burst; }
+        public void setBurst(int burst) { this.burst = burst; }
+    }
+
+    public static class Concurrency {
+
+        /**
+         * Shed requests beyond a concurrency limit adapted from measured latency
+         */
+        private boolean enabled = true;
+
+        private int initialLimit = 20;
+
+        private int minLimit = 4;
+
+        private int maxLimit = 200;
+
+        /**
+         * Latency growth over the no-load baseline tolerated before the limit shrinks
+         */
+        private double tolerance = 2.0;
+
+        /**
+         * Length of one latency sample window; the limit is adjusted once per window
+         */
+        private Duration window = Duration.ofMillis(200);
+
+        /**
+         * Fewest completed requests a window needs before it moves the limit
+         */
+        private int minWindowSamples = 10;
+
+        public boolean isEnabled() { return enabled; }
+        public void setEnabled(boolean enabled) { this.enabled = enabled; }
+
+        public int getInitialLimit() { return initialLimit; }
+        public void setInitialLimit(int initialLimit) { this.initialLimit = initialLimit; }
+
+        public int getMinLimit() { return minLimit; }
+        public void setMinLimit(int minLimit) { this.minLimit = minLimit; }
+
+        public int getMaxLimit() { return maxLimit; }
+        public void setMaxLimit(int maxLimit) { this.maxLimit = maxLimit; }
+
+        public double getTolerance() { return tolerance; }
+        public void setTolerance(double tolerance) { this.tolerance = tolerance; }
+
+        public Duration getWindow() { return window; }
+        public void setWindow(Duration window) { this.window = window; }
+
+        public int getMinWindowSamples() { return minWindowSamples; }
+        public void setMinWindowSamples(int minWindowSamples) { this.minWindowSamples = minWindowSamples; }
+    }
+
+    public boolean isEnabled() { return enabled; }
+    public void setEnabled(boolean enabled) { this.enabled = enabled; }
+
+    public String getClientHeader() { return clientHeader; }
+    public void setClientHeader(String clientHeader) { this.clientHeader = clientHeader; }
+
+    public Bucket getClient() { return client; }
+    public void setClient(Bucket client) { this.client = client; }
+
+    public Map<String, Bucket> getRoutes() { return routes; }
+    public void setRoutes(Map<String, Bucket> routes) { this.routes = routes; }
+
+    public int getMaxClients() { return maxClients; }
+    public void setMaxClients(int maxClients) { this.maxClients = maxClients; }
+
+    public Concurrency getConcurrency() { return concurrency; }
+    public void setConcurrency(Concurrency concurrency) { this.concurrency = concurrency; }
+}
@@ -0,0 +1,128 @@
+package com.college.student.config;
+
+import com.college.student.controller.ReactiveRateLimitFilter;
+import com.college.student.controller.ReactiveStudentHandler;
+import com.college.student.repository.ReactiveStudentRepository;
+import com.college.student.util.DepartmentDictionary;
+import com.college.student.util.RateLimiter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.postgresql.PostgresqlConnectionFactoryProvider;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactoryOptions;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.json.Jackson2JsonDecoder;
+import org.springframework.http.codec.json.Jackson2JsonEncoder;
+import org.springframework.web.reactive.function.server.HandlerFunction;
+import org.springframework.web.reactive.function.server.HandlerStrategies;
+import org.springframework.web.reactive.function.server.RequestPredicate;
+import org.springframework.web.reactive.function.server.RouterFunction;
+import org.springframework.web.reactive.function.server.RouterFunctions;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import reactor.netty.resources.LoopResources;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.springframework.web.reactive.function.server.RequestPredicates.GET;
+import static org.springframework.web.reactive.function.server.RequestPredicates.POST;
+import static org.springframework.web.reactive.function.server.RequestPredicates.accept;
+
+/**
+ * Non-blocking read stack: WebFlux handlers over R2DBC on a separate Netty port
+ *
+ * The ConnectionFactory is deliberately not exposed as a bean, because its
+ * presence would switch off the JDBC DataSource auto-configuration that JPA
+ * relies on. Requests pass the same rate limiter as the MVC endpoints.
+ */
+@Configuration
+@EnableConfigurationProperties(ReactiveReadProperties.class)
+@ConditionalOnProperty(prefix = "student.reactive", name = "enabled", havingValue = "true")
+public class ReactiveReadConfiguration {
+
+    private static final String BASE_PATH = "/student-service/api/v1/students";
+
+    /**
+     * Event loops shared by the HTTP server and the R2DBC driver, so the whole read path runs on them
+     */
+    @Bean(destroyMethod = "dispose")
+    public LoopResources reactiveLoopResources(ReactiveReadProperties properties) {
+        int threads = properties.getEventLoopThreads() > 0
+                ? properties.getEventLoopThreads() : Runtime.getRuntime().availableProcessors();
+        return LoopResources.create("student-reactive", threads, true);
+    }
+
+    @Bean
+    public ReactiveStudentRepository reactiveStudentRepository(ReactiveReadProperties properties,
+                                                               DataSourceProperties dataSourceProperties,
+                                                               LoopResources reactiveLoopResources,
+                                                               DepartmentDictionary departmentDictionary) {
+        String url = properties.getUrl();
+        if (url == null || url.isBlank()) {
+            url = toR2dbcUrl(dataSourceProperties.determineUrl());
+        }
+        ConnectionFactoryOptions options = ConnectionFactoryOptions.parse(url).mutate()
+                .option(ConnectionFactoryOptions.USER, dataSourceProperties.determineUsername())
+                .option(ConnectionFactoryOptions.PASSWORD, dataSourceProperties.determinePassword())
+                .option(PostgresqlConnectionFactoryProvider.LOOP_RESOURCES, reactiveLoopResources)
+                .build();
+        ConnectionPoolConfiguration poolConfiguration =
+                ConnectionPoolConfiguration.builder(ConnectionFactories.get(options))
+                        .name("student-reactive")
+                        .maxSize(properties.getPoolSize())
+                        .initialSize(Math.min(2, properties.getPoolSize()))
+                        .build();
+        return new ReactiveStudentRepository(new ConnectionPool(poolConfiguration), departmentDictionary);
+    }
+
+    @Bean
+    public ReactiveStudentServer reactiveStudentServer(ReactiveReadProperties properties,
+                                                       ReactiveStudentRepository repository,
+                                                       LoopResources reactiveLoopResources,
+                                                       ObjectMapper objectMapper,
+                                                       RateLimiter rateLimiter) {
+        ReactiveStudentHandler handler = new ReactiveStudentHandler(repository, properties.getMaxBatchSize());
+        // Each route under the name of its handler method, which the rate limiter's route limits are keyed on
+        Map<RequestPredicate, String> names = new LinkedHashMap<>();
+        RouterFunctions.Builder routes = RouterFunctions.route();
+        route(routes, names, "streamStudents", GET(BASE_PATH + "/stream")
+                .and(accept(MediaType.APPLICATION_NDJSON, MediaType.ALL)), handler::streamStudents);
+        route(routes, names, "getStudentByStudentId", GET(BASE_PATH + "/student-id/{studentId}"),
+                handler::getStudentByStudentId);
+        route(routes, names, "getStudentsByIds", POST(BASE_PATH + "/batch"), handler::getStudentsByIds);
+        route(routes, names, "getStudentById", GET(BASE_PATH + "/{id}"), handler::getStudentById);
+
+        // Reuse the MVC ObjectMapper so both stacks serialize StudentDto identically
+        HandlerStrategies.Builder strategies = HandlerStrategies.builder()
+                .codecs(codecs -> {
+                    codecs.defaultCodecs().jackson2JsonEncoder(new Jackson2JsonEncoder(objectMapper));
+                    codecs.defaultCodecs().jackson2JsonDecoder(new Jackson2JsonDecoder(objectMapper));
+                });
+        strategies.webFilter(new ReactiveRateLimitFilter(rateLimiter, names,
+                strategies.build().messageReaders()));
+        return new ReactiveStudentServer(RouterFunctions.toHttpHandler(routes.build(), strategies.build()),
+                properties.getPort(), reactiveLoopResources);
+    }
+
+    private static void route(RouterFunctions.Builder routes, Map<RequestPredicate, String> names, String name,
+                              RequestPredicate predicate, HandlerFunction<ServerResponse> handler) {
+        routes.route(predicate, handler);
+        names.put(predicate, name);
+    }
+
+    static String toR2dbcUrl(String jdbcUrl) {
+        if (!jdbcUrl.startsWith("jdbc:")) {
+            throw new IllegalArgumentException("Cannot derive R2DBC URL from " + jdbcUrl);
+        }
+        String url = "r2dbc:" + jdbcUrl.substring("jdbc:".length());
+        // pgjdbc query parameters (prepareThreshold etc.) mean nothing to r2dbc-postgresql
+        int query = url.indexOf('?');
+        return query < 0 ? url : url.substring(0, query);
+    }
+}
@@ -0,0 +1,58 @@
+package com.college.student.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Settings for the non-blocking read stack (student.reactive.*)
+ */
+@ConfigurationProperties(prefix = "student.reactive")
+public class ReactiveReadProperties {
+
+    /**
+     * Start the reactive read server alongside the MVC endpoints
+     */
+    private boolean enabled = false;
+
+    /**
+     * Port of the reactive read server
+     */
+    private int port = 8091;
+
+    /**
+     * Netty event loop threads, 0 means one per core
+     */
+    private int eventLoopThreads = 0;
+
+    /**
+     * R2DBC URL, derived from spring.datasource.url when empty
+     */
+    private String url;
+
+    /**
+     * Maximum R2DBC connections
+     */
+    private int poolSize = 10;
+
+    /**
+     * Upper bound on ids accepted by the batch endpoint
+     */
+    private int maxBatchSize = 500;
+
+    public boolean isEnabled() { return enabled; }
+    public void setEnabled(boolean enabled) { this.enabled = enabled; }
+
+    public int getPort() { return port; }
+    public void setPort(int port) { this.port = port; }
+
+    public int getEventLoopThreads() { return eventLoopThreads; }
+    public void setEventLoopThreads(int eventLoopThreads) { this.eventLoopThreads = eventLoopThreads; }
+
+    public String getUrl() { return url; }
+    public void setUrl(String url) { this.url = url; }
+
+    public int getPoolSize() { return poolSize; }
+    public void setPoolSize(int poolSize) { this.poolSize = poolSize; }
+
+    public int getMaxBatchSize() { return maxBatchSize; }
+    public void setMaxBatchSize(int maxBatchSize) { this.maxBatchSize = maxBatchSize; }
+}
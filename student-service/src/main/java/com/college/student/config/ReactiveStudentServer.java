@@ -0,0 +1,53 @@
+package com.college.student.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.http.server.reactive.HttpHandler;
+import org.springframework.http.server.reactive.ReactorHttpHandlerAdapter;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.HttpServer;
+import reactor.netty.resources.LoopResources;
+
+/**
+ * Reactor Netty server hosting the reactive read routes on their own port and event loops
+ */
+public class ReactiveStudentServer implements SmartLifecycle {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReactiveStudentServer.class);
+
+    private final HttpHandler httpHandler;
+    private final int port;
+    private final LoopResources loopResources;
+
+    private DisposableServer server;
+
+    public ReactiveStudentServer(HttpHandler httpHandler, int port, LoopResources loopResources) {
+        this.httpHandler = httpHandler;
+        this.port = port;
+        this.loopResources = loopResources;
+    }
+
+    @Override
+    public void start() {
+        server = HttpServer.create()
+                .port(port)
+                .runOn(loopResources)
+                .handle(new ReactorHttpHandlerAdapter(httpHandler))
+                .bindNow();
+        logger.info("Reactive read server started on port {}", port);
+    }
+
+    @Override
+    public void stop() {
+        if (server != null) {
+            server.disposeNow();
+            server = null;
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return server != null;
+    }
+}
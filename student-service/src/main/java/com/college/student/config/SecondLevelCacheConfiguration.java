@@ -0,0 +1,69 @@
+package com.college.student.config;
+
+import com.github.benmanes.caffeine.jcache.configuration.TypesafeConfigurator;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import com.typesafe.config.ConfigFactory;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.JCacheMetrics;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.Cache;
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import java.net.URI;
+
+/**
+ * Caffeine-backed JCache manager for the Hibernate second-level cache
+ *
+ * Regions and their size and expiry limits are declared in
+ * hibernate-cache.conf. All of them are opened up front, so query regions
+ * Hibernate only asks for on first use are published from startup too: each
+ * as cache.gets / puts / removals / evictions tagged cache=<region>, plus
+ * student.cache.size.
+ */
+@Configuration
+public class SecondLevelCacheConfiguration {
+
+    private static final String REGIONS = "hibernate-cache.conf";
+    private static final String DEFAULTS = "default";
+
+    @Bean(destroyMethod = "close")
+    public CacheManager hibernateCacheManager() {
+        ClassLoader classLoader = getClass().getClassLoader();
+        CacheManager cacheManager = Caching.getCachingProvider(CaffeineCachingProvider.class.getName())
+                .getCacheManager(URI.create("classpath:" + REGIONS), classLoader);
+        for (String region : TypesafeConfigurator.cacheNames(ConfigFactory.parseResources(classLoader, REGIONS))) {
+            // "default" holds the settings every region inherits, not a region of its own
+            if (!DEFAULTS.equals(region)) {
+                cacheManager.getCache(region);
+            }
+        }
+        return cacheManager;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer secondLevelCacheCustomizer(CacheManager hibernateCacheManager) {
+        return properties -> properties.put(ConfigSettings.CACHE_MANAGER, hibernateCacheManager);
+    }
+
+    @Bean
+    public MeterBinder secondLevelCacheMetrics(CacheManager hibernateCacheManager) {
+        return registry -> {
+            for (String region : hibernateCacheManager.getCacheNames()) {
+                Cache<Object, Object> cache = hibernateCacheManager.getCache(region);
+                JCacheMetrics.monitor(registry, cache, Tags.of("cacheManager", "hibernate"));
+                com.github.benmanes.caffeine.cache.Cache<?, ?> store =
+                        cache.unwrap(com.github.benmanes.caffeine.cache.Cache.class);
+                Gauge.builder("student.cache.size", store, com.github.benmanes.caffeine.cache.Cache::estimatedSize)
+                        .description("Entries currently held in a second-level cache region")
+                        .tag("region", region)
+                        .register(registry);
+            }
+        };
+    }
+}
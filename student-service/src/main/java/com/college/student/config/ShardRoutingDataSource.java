@@ -0,0 +1,41 @@
+package com.college.student.config;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+import java.util.function.Supplier;
+
+/**
+ * DataSource that hands out connections of the shard bound to the current thread, shard 0 if none is
+ *
+ * The shard is looked up when a connection is opened, so it must be bound
+ * before a transaction touches the database; wrapped in a
+ * LazyConnectionDataSourceProxy that is the first statement, not the start of
+ * the transaction.
+ */
+public class ShardRoutingDataSource extends AbstractRoutingDataSource {
+
+    private static final ThreadLocal<Integer> CURRENT_SHARD = new ThreadLocal<>();
+
+    /**
+     * Run work with the given shard bound to this thread, restoring the previous binding afterwards
+     */
+    public static <T> T callOn(int shard, Supplier<T> work) {
+        Integer previous = CURRENT_SHARD.get();
+        CURRENT_SHARD.set(shard);
+        try {
+            return work.get();
+        } finally {
+            if (previous == null) {
+                CURRENT_SHARD.remove();
+            } else {
+                CURRENT_SHARD.set(previous);
+            }
+        }
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        Integer shard = CURRENT_SHARD.get();
+        return shard == null ? 0 : shard;
+    }
+}
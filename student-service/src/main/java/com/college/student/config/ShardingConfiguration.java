@@ -0,0 +1,150 @@
+package com.college.student.config;
+
+import com.college.student.util.ShardRouter;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.flyway.FlywayMigrationStrategy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Student data split across the databases listed under student.sharding.shards
+ *
+ * Replaces the auto-configured DataSource with one that routes each
+ * connection to the shard bound by ShardRouter, so JPA repositories and the
+ * JdbcTemplate ones follow it unchanged. Flyway migrates every shard, each
+ * shard's id sequences are moved to its own range, and the departments
+ * dictionary is copied from shard 0 so department ids agree everywhere.
+ *
+ * Work with no shard bound (the audit writer, for one) goes to shard 0.
+ * Features that keep a copy of the whole students table or read it over a
+ * separate driver are refused at startup rather than serving shard 0 only.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "student.sharding", name = "enabled", havingValue = "true")
+public class ShardingConfiguration {
+
+    private static final Logger logger = LoggerFactory.getLogger(ShardingConfiguration.class);
+
+    private static final List<String> SINGLE_DATABASE_FEATURES = List.of(
+            "student.analytics.enabled", "student.directory.enabled",
+            "student.bloom-filter.enabled", "student.reactive.enabled");
+
+    private static final List<String> SHARDED_SEQUENCES = List.of("students", "admissions", "academic_records");
+
+    @Bean
+    @Primary
+    public DataSource dataSource(ShardingProperties properties, MeterRegistry meterRegistry, Environment environment) {
+        validate(properties, environment);
+
+        Map<Object, Object> shards = new HashMap<>();
+        for (int shard = 0; shard < properties.getShards().size(); shard++) {
+            ShardingProperties.Shard settings = properties.getShards().get(shard);
+            HikariDataSource pool = new HikariDataSource();
+            pool.setPoolName("student-shard-" + shard);
+            pool.setJdbcUrl(settings.getUrl());
+            pool.setUsername(settings.getUsername());
+            pool.setPassword(settings.getPassword());
+            pool.setMaximumPoolSize(properties.getPoolSize());
+            pool.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+            pool.addDataSourceProperty("reWriteBatchedInserts", "true");
+            ApplicationNameConfiguration.name(pool);
+            shards.put(shard, pool);
+        }
+        ShardRoutingDataSource routing = new ShardRoutingDataSource();
+        routing.setTargetDataSources(shards);
+        routing.setDefaultTargetDataSource(shards.get(0));
+        routing.afterPropertiesSet();
+        logger.info("Routing student data across {} shards", shards.size());
+        return new LazyConnectionDataSourceProxy(routing);
+    }
+
+    @Bean
+    public FlywayMigrationStrategy shardedMigration(ShardingProperties properties) {
+        return flyway -> {
+            JdbcTemplate jdbcTemplate = new JdbcTemplate(flyway.getConfiguration().getDataSource());
+            int shardCount = properties.getShards().size();
+            for (int shard = 0; shard < shardCount; shard++) {
+                ShardRoutingDataSource.callOn(shard, flyway::migrate);
+            }
+            for (int shard = 1; shard < shardCount; shard++) {
+                long base = (long) shard << ShardRouter.SHARD_SHIFT;
+                ShardRoutingDataSource.callOn(shard, () -> {
+                    reserveIdRange(jdbcTemplate, base);
+                    return null;
+                });
+            }
+            copyDepartments(jdbcTemplate, shardCount);
+        };
+    }
+
+    private static void validate(ShardingProperties properties, Environment environment) {
+        if (properties.getShards().isEmpty()) {
+            throw new IllegalStateException("student.sharding.enabled is set but no student.sharding.shards are listed");
+        }
+        for (String feature : SINGLE_DATABASE_FEATURES) {
+            if (environment.getProperty(feature, Boolean.class, false)) {
+                throw new IllegalStateException(feature + " cannot be combined with student.sharding.enabled");
+            }
+        }
+        // An open-in-view EntityManager keeps the request's first connection, whatever shard later work needs
+        if (environment.getProperty("spring.jpa.open-in-view", Boolean.class, true)) {
+            throw new IllegalStateException("student.sharding.enabled requires spring.jpa.open-in-view=false");
+        }
+    }
+
+    /**
+     * Move this shard's id sequences to the start of its range unless they are already past it
+     */
+    private static void reserveIdRange(JdbcTemplate jdbcTemplate, long base) {
+        for (String table : SHARDED_SEQUENCES) {
+            String sequence = jdbcTemplate.queryForObject(
+                    "SELECT pg_get_serial_sequence(?, 'id')", String.class, table);
+            Long last = jdbcTemplate.queryForObject("SELECT last_value FROM " + sequence, Long.class);
+            if (last != null && last < base) {
+                jdbcTemplate.queryForObject("SELECT setval(?, ?, false)", Long.class, sequence, base);
+            }
+        }
+    }
+
+    /**
+     * Give every shard the departments of shard 0 under the same ids
+     */
+    private static void copyDepartments(JdbcTemplate jdbcTemplate, int shardCount) {
+        List<Map<String, Object>> departments = ShardRoutingDataSource.callOn(0, () -> jdbcTemplate.queryForList(
+                "SELECT id, dept_code, dept_name, head_of_department, established_year FROM departments"));
+        for (int shard = 1; shard < shardCount; shard++) {
+            int target = shard;
+            ShardRoutingDataSource.callOn(shard, () -> {
+                for (Map<String, Object> department : departments) {
+                    jdbcTemplate.update("INSERT INTO departments (id, dept_code, dept_name, head_of_department, " +
+                                    "established_year) VALUES (?, ?, ?, ?, ?) ON CONFLICT DO NOTHING",
+                            department.get("id"), department.get("dept_code"), department.get("dept_name"),
+                            department.get("head_of_department"), department.get("established_year"));
+                    String code = jdbcTemplate.queryForObject("SELECT dept_code FROM departments WHERE id = ?",
+                            String.class, department.get("id"));
+                    if (!department.get("dept_code").equals(code)) {
+                        throw new IllegalStateException("Department " + department.get("id") + " is "
+                                + department.get("dept_code") + " on shard 0 but " + code + " on shard " + target);
+                    }
+                }
+                jdbcTemplate.queryForObject("SELECT setval(pg_get_serial_sequence('departments', 'id'), " +
+                        "(SELECT COALESCE(max(id), 1) FROM departments))", Long.class);
+                return null;
+            });
+        }
+    }
+}
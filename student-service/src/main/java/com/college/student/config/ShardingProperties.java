@@ -0,0 +1,61 @@
+package com.college.student.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Settings for splitting students across several databases (student.sharding.*)
+ */
+@ConfigurationProperties(prefix = "student.sharding")
+public class ShardingProperties {
+
+    /**
+     * Route student data to the databases listed under shards instead of spring.datasource
+     */
+    private boolean enabled = false;
+
+    /**
+     * One entry per shard, in shard-number order; the order must never change once data is written
+     */
+    private List<Shard> shards = new ArrayList<>();
+
+    /**
+     * Maximum connections per shard
+     */
+    private int poolSize = 10;
+
+    /**
+     * Threads running the per-shard parts of cross-shard queries; 0 means four per shard
+     */
+    private int fanOutThreads = 0;
+
+    public static class Shard {
+
+        private String url;
+        private String username;
+        private String password;
+
+        public String getUrl() { return url; }
+        public void setUrl(String url) { this.url = url; }
+
+        public String getUsername() { return username; }
+        public void setUsername(String username) { this.username = username; }
+
+        public String getPassword() { return password; }
+        public void setPassword(String password) { this.password = password; }
+    }
+
+    public boolean isEnabled() { return enabled; }
+    public void setEnabled(boolean enabled) { this.enabled = enabled; }
+
+    public List<Shard> getShards() { return shards; }
+    public void setShards(List<Shard> shards) { this.shards = shards; }
+
+    public int getPoolSize() { return poolSize; }
+    public void setPoolSize(int poolSize) { this.poolSize = poolSize; }
+
+    public int getFanOutThreads() { return fanOutThreads; }
+    public void setFanOutThreads(int fanOutThreads) { this.fanOutThreads = fanOutThreads; }
+}
@@ -0,0 +1,44 @@
+package com.college.student.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Settings for the off-heap student directory (student.directory.*)
+ */
+@ConfigurationProperties(prefix = "student.directory")
+public class StudentDirectoryProperties {
+
+    /**
+     * Serve exists and resolve lookups from the directory instead of the database
+     */
+    private boolean enabled = false;
+
+    /**
+     * How often students changed by other instances are folded in; local writes are applied on commit
+     */
+    private Duration refreshInterval = Duration.ofSeconds(10);
+
+    /**
+     * How often the directory is reloaded, which drops students deleted elsewhere and reclaims replaced entries
+     */
+    private Duration fullRebuildInterval = Duration.ofMinutes(30);
+
+    /**
+     * Overlap re-read on each refresh so rows committed late with an earlier updated_at are not missed
+     */
+    private Duration refreshOverlap = Duration.ofSeconds(5);
+
+    public boolean isEnabled() { return enabled; }
+    public void setEnabled(boolean enabled) { this.enabled = enabled; }
+
+    public Duration getRefreshInterval() { return refreshInterval; }
+    public void setRefreshInterval(Duration refreshInterval) { this.refreshInterval = refreshInterval; }
+
+    public Duration getFullRebuildInterval() { return fullRebuildInterval; }
+    public void setFullRebuildInterval(Duration fullRebuildInterval) { this.fullRebuildInterval = fullRebuildInterval; }
+
+    public Duration getRefreshOverlap() { return refreshOverlap; }
+    public void setRefreshOverlap(Duration refreshOverlap) { this.refreshOverlap = refreshOverlap; }
+}
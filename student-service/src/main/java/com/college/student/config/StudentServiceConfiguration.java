@@ -0,0 +1,26 @@
+package com.college.student.config;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Registers the student.* settings used by the service layer
+ */
+@Configuration
+@EnableConfigurationProperties({
+        MicroBatchingProperties.class,
+        AnalyticsProperties.class,
+        MeritListProperties.class,
+        StudentDirectoryProperties.class,
+        BloomFilterProperties.class,
+        AuditProperties.class,
+        ShardingProperties.class,
+        RateLimitProperties.class,
+        CacheInvalidationProperties.class,
+        HealthProperties.class,
+        ChangeFeedProperties.class,
+        LifecycleProperties.class,
+        AdmissionImportProperties.class
+})
+public class StudentServiceConfiguration {
+}
@@ -0,0 +1,27 @@
+package com.college.student.config;
+
+import com.college.student.controller.GatewayCacheInterceptor;
+import com.college.student.controller.RateLimitInterceptor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Registers the interceptors of the servlet API
+ */
+@Configuration
+public class WebConfiguration implements WebMvcConfigurer {
+
+    @Autowired
+    private RateLimitInterceptor rateLimitInterceptor;
+
+    @Autowired
+    private GatewayCacheInterceptor gatewayCacheInterceptor;
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(rateLimitInterceptor).addPathPatterns("/api/v1/students/**", "/api/v1/students");
+        registry.addInterceptor(gatewayCacheInterceptor).addPathPatterns("/api/v1/students/**", "/api/v1/students");
+    }
+}
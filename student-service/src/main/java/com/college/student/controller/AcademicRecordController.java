@@ -0,0 +1,138 @@
+package com.college.student.controller;
+
+import com.college.student.dto.AcademicRecordDto;
+import com.college.student.dto.AcademicStandingDto;
+import com.college.student.dto.DepartmentGpaSummary;
+import com.college.student.service.AcademicRecordService;
+import com.college.student.util.ShardRouter;
+import jakarta.validation.Valid;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * REST Controller for AcademicRecord operations
+ */
+@RestController
+@RequestMapping("/api/v1/academic-records")
+@CrossOrigin(origins = "*")
+public class AcademicRecordController {
+
+    private static final Logger logger = LoggerFactory.getLogger(AcademicRecordController.class);
+
+    private static final MediaType NDJSON = MediaType.parseMediaType("application/x-ndjson");
+
+    @Autowired
+    private AcademicRecordService academicRecordService;
+
+    @Autowired
+    private ShardRouter shardRouter;
+
+    /**
+     * Create a new academic record
+     */
+    @PostMapping
+    public ResponseEntity<AcademicRecordDto> createRecord(@Valid @RequestBody AcademicRecordDto recordDto) {
+        logger.debug("Received request to create academic record for student ID: {}", recordDto.getStudentId());
+
+        try {
+            AcademicRecordDto createdRecord = academicRecordService.createRecord(recordDto);
+            return new ResponseEntity<>(createdRecord, HttpStatus.CREATED);
+        } catch (IllegalArgumentException e) {
+            logger.error("Error creating academic record: {}", e.getMessage());
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        }
+    }
+
+    /**
+     * Update academic record
+     */
+    @PutMapping("/{id}")
+    public ResponseEntity<AcademicRecordDto> updateRecord(
+            @PathVariable Long id,
+            @Valid @RequestBody AcademicRecordDto recordDto) {
+
+        logger.debug("Received request to update academic record with ID: {}", id);
+
+        try {
+            AcademicRecordDto updatedRecord = academicRecordService.updateRecord(id, recordDto);
+            return ResponseEntity.ok(updatedRecord);
+        } catch (IllegalArgumentException e) {
+            logger.error("Error updating academic record: {}", e.getMessage());
+            return ResponseEntity.notFound().build();
+        }
+    }
+
+    /**
+     * Delete academic record
+     */
+    @DeleteMapping("/{id}")
+    public ResponseEntity<Void> deleteRecord(@PathVariable Long id) {
+        logger.debug("Received request to delete academic record with ID: {}", id);
+
+        boolean deleted = academicRecordService.deleteRecord(id);
+        return deleted ? ResponseEntity.noContent().build() : ResponseEntity.notFound().build();
+    }
+
+    /**
+     * Get academic records of a student
+     */
+    @GetMapping("/student/{studentId}")
+    public ResponseEntity<List<AcademicRecordDto>> getRecordsByStudent(@PathVariable Long studentId) {
+        logger.debug("Fetching academic records for student ID: {}", studentId);
+
+        List<AcademicRecordDto> records = academicRecordService.getRecordsByStudent(studentId);
+        return ResponseEntity.ok(records);
+    }
+
+    /**
+     * Get cumulative GPA of a student
+     */
+    @GetMapping("/student/{studentId}/standing")
+    public ResponseEntity<AcademicStandingDto> getStanding(@PathVariable Long studentId) {
+        logger.debug("Fetching academic standing for student ID: {}", studentId);
+
+        Optional<AcademicStandingDto> standing = academicRecordService.getStanding(studentId);
+        return standing.map(s -> ResponseEntity.ok(s))
+                      .orElse(ResponseEntity.notFound().build());
+    }
+
+    /**
+     * Stream department rank and percentile of every graded student, one JSON object per line
+     */
+    @GetMapping("/rankings")
+    public ResponseEntity<StreamingResponseBody> getRankings(@RequestParam(required = false) String department) {
+        logger.debug("Streaming academic rankings for department: {}", department);
+
+        // Checked before streaming starts, while the status can still be set
+        if (shardRouter.isSharded()) {
+            return new ResponseEntity<>(HttpStatus.SERVICE_UNAVAILABLE);
+        }
+        StreamingResponseBody body = out -> academicRecordService.writeDepartmentRankings(department, out);
+        return ResponseEntity.ok().contentType(NDJSON).body(body);
+    }
+
+    /**
+     * Get cumulative GPA distribution per department
+     */
+    @GetMapping("/rankings/summary")
+    public ResponseEntity<List<DepartmentGpaSummary>> getRankingSummary() {
+        logger.debug("Fetching department GPA summaries");
+
+        try {
+            List<DepartmentGpaSummary> summaries = academicRecordService.getDepartmentSummaries();
+            return ResponseEntity.ok(summaries);
+        } catch (IllegalStateException e) {
+            logger.warn("Department GPA summaries unavailable: {}", e.getMessage());
+            return new ResponseEntity<>(HttpStatus.SERVICE_UNAVAILABLE);
+        }
+    }
+}
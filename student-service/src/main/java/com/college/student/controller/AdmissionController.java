@@ -0,0 +1,50 @@
+package com.college.student.controller;
+
+import com.college.student.dto.AdmissionImportResult;
+import com.college.student.service.AdmissionService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * REST Controller for admission operations
+ */
+@RestController
+@RequestMapping("/api/v1/admissions")
+@CrossOrigin(origins = "*")
+public class AdmissionController {
+
+    private static final Logger logger = LoggerFactory.getLogger(AdmissionController.class);
+
+    @Autowired
+    private AdmissionService admissionService;
+
+    /**
+     * Import admissions and decisions from a CSV request body
+     */
+    @PostMapping(value = "/import", consumes = {"text/csv", "text/plain"})
+    public ResponseEntity<AdmissionImportResult> importAdmissions(InputStream body) throws IOException {
+        logger.info("Importing admissions");
+
+        try {
+            AdmissionImportResult result = admissionService.importAdmissions(body);
+            // A failed import may have written batches already; the result says which
+            return result.getError() == null
+                    ? ResponseEntity.ok(result)
+                    : new ResponseEntity<>(result, HttpStatus.INTERNAL_SERVER_ERROR);
+        } catch (IllegalArgumentException e) {
+            logger.error("Invalid admissions import: {}", e.getMessage());
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        } catch (RejectedExecutionException e) {
+            logger.warn("Admissions import unavailable: {}", e.getMessage());
+            return new ResponseEntity<>(HttpStatus.SERVICE_UNAVAILABLE);
+        }
+    }
+}
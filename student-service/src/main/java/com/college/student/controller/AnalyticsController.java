@@ -0,0 +1,105 @@
+package com.college.student.controller;
+
+import com.college.student.dto.AnalyticsResult;
+import com.college.student.dto.ScoreHistogram;
+import com.college.student.entity.AdmissionStatus;
+import com.college.student.entity.StudentStatus;
+import com.college.student.service.AnalyticsService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * REST Controller for cohort reporting over the in-memory analytics snapshot
+ *
+ * Answers 503 until student.analytics.enabled is set and the first snapshot is built.
+ */
+@RestController
+@RequestMapping("/api/v1/analytics")
+@CrossOrigin(origins = "*")
+public class AnalyticsController {
+
+    private static final Logger logger = LoggerFactory.getLogger(AnalyticsController.class);
+
+    @Autowired
+    private AnalyticsService analyticsService;
+
+    /**
+     * Count students by status, department and year of study, optionally grouped
+     */
+    @GetMapping("/students")
+    public ResponseEntity<AnalyticsResult> queryStudents(
+            @RequestParam(required = false) List<StudentStatus> status,
+            @RequestParam(required = false) List<String> department,
+            @RequestParam(required = false) List<Integer> yearOfStudy,
+            @RequestParam(required = false) String groupBy) {
+
+        if (!analyticsService.isReady()) {
+            return new ResponseEntity<>(HttpStatus.SERVICE_UNAVAILABLE);
+        }
+        try {
+            return ResponseEntity.ok(analyticsService.queryStudents(status, department, yearOfStudy, groupBy));
+        } catch (IllegalArgumentException e) {
+            logger.error("Invalid student analytics query: {}", e.getMessage());
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        }
+    }
+
+    /**
+     * Count admissions by program, admission year and status, optionally grouped
+     */
+    @GetMapping("/admissions")
+    public ResponseEntity<AnalyticsResult> queryAdmissions(
+            @RequestParam(required = false) List<String> program,
+            @RequestParam(required = false) List<Integer> year,
+            @RequestParam(required = false) List<AdmissionStatus> status,
+            @RequestParam(required = false) String groupBy) {
+
+        if (!analyticsService.isReady()) {
+            return new ResponseEntity<>(HttpStatus.SERVICE_UNAVAILABLE);
+        }
+        try {
+            return ResponseEntity.ok(analyticsService.queryAdmissions(program, year, status, groupBy));
+        } catch (IllegalArgumentException e) {
+            logger.error("Invalid admission analytics query: {}", e.getMessage());
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        }
+    }
+
+    /**
+     * Entrance score distribution of the matching admissions
+     */
+    @GetMapping("/admissions/score-histogram")
+    public ResponseEntity<ScoreHistogram> getScoreHistogram(
+            @RequestParam(required = false) List<String> program,
+            @RequestParam(required = false) List<Integer> year,
+            @RequestParam(required = false) List<AdmissionStatus> status,
+            @RequestParam(defaultValue = "0") double min,
+            @RequestParam(defaultValue = "100") double max,
+            @RequestParam(defaultValue = "10") int bins) {
+
+        if (!analyticsService.isReady()) {
+            return new ResponseEntity<>(HttpStatus.SERVICE_UNAVAILABLE);
+        }
+        try {
+            return ResponseEntity.ok(analyticsService.scoreHistogram(program, year, status, min, max, bins));
+        } catch (IllegalArgumentException e) {
+            logger.error("Invalid score histogram query: {}", e.getMessage());
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        }
+    }
+
+    /**
+     * Version, freshness and size of the current snapshot
+     */
+    @GetMapping("/snapshot")
+    public ResponseEntity<Map<String, Object>> getSnapshotInfo() {
+        return ResponseEntity.ok(analyticsService.snapshotInfo());
+    }
+}
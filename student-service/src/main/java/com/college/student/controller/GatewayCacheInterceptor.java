@@ -0,0 +1,33 @@
+package com.college.student.controller;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpMethod;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+/**
+ * Tells the gateway which of its cached reads a student write makes stale
+ *
+ * Every request that may change students answers with X-Cache-Invalidate:
+ * students. The gateway (nginx/njs/student_cache.js) moves on to a new
+ * generation of its student read cache when such a response succeeds and
+ * strips the header, so clients going through it read their own writes. The
+ * header is set before the handler runs, while the response can still take
+ * headers; a failed write carries it too and the gateway ignores it.
+ */
+@Component
+public class GatewayCacheInterceptor implements HandlerInterceptor {
+
+    private static final String INVALIDATE_HEADER = "X-Cache-Invalidate";
+    private static final String STUDENTS = "students";
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        HttpMethod method = HttpMethod.valueOf(request.getMethod());
+        if (method != HttpMethod.GET && method != HttpMethod.HEAD && method != HttpMethod.OPTIONS) {
+            response.setHeader(INVALIDATE_HEADER, STUDENTS);
+        }
+        return true;
+    }
+}
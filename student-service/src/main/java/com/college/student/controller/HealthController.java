@@ -1,13 +1,13 @@
 package com.college.student.controller;
 
+import com.college.student.service.impl.DatabaseHealthMonitor;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
-import javax.sql.DataSource;
-import java.sql.Connection;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -19,7 +19,7 @@ import java.util.Map;
 public class HealthController {
 
     @Autowired
-    private DataSource dataSource;
+    private DatabaseHealthMonitor databaseHealthMonitor;
 
     /**
      * Basic health check
@@ -35,27 +35,21 @@ public class HealthController {
     }
 
     /**
-     * Detailed health check including database connectivity
+     * Detailed health check including database connectivity and connection pool state
+     *
+     * Answered from the last background check, so it never opens a connection;
+     * 503 while the database is down.
      */
     @GetMapping("/detailed")
     public ResponseEntity<Map<String, Object>> detailedHealth() {
         Map<String, Object> health = new HashMap<>();
-        Map<String, Object> database = new HashMap<>();
-        
-        try (Connection connection = dataSource.getConnection()) {
-            database.put("status", "UP");
-            database.put("database", connection.getMetaData().getDatabaseProductName());
-            database.put("url", connection.getMetaData().getURL());
-        } catch (Exception e) {
-            database.put("status", "DOWN");
-            database.put("error", e.getMessage());
-        }
-        
-        health.put("status", "UP");
+        boolean up = databaseHealthMonitor.isUp();
+
+        health.put("status", up ? "UP" : "DOWN");
         health.put("service", "student-service");
-        health.put("database", database);
+        health.putAll(databaseHealthMonitor.describe());
         health.put("timestamp", System.currentTimeMillis());
-        
-        return ResponseEntity.ok(health);
+
+        return ResponseEntity.status(up ? HttpStatus.OK : HttpStatus.SERVICE_UNAVAILABLE).body(health);
     }
 }
\ No newline at end of file
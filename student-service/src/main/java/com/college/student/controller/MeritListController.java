@@ -0,0 +1,49 @@
+package com.college.student.controller;
+
+import com.college.student.dto.MeritListDto;
+import com.college.student.service.MeritListService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+/**
+ * REST Controller for entrance-score merit lists
+ */
+@RestController
+@RequestMapping("/api/v1/merit-lists")
+@CrossOrigin(origins = "*")
+public class MeritListController {
+
+    private static final Logger logger = LoggerFactory.getLogger(MeritListController.class);
+
+    @Autowired
+    private MeritListService meritListService;
+
+    /**
+     * Get merit lists of an admission year by seat count and/or minimum score
+     */
+    @GetMapping
+    public ResponseEntity<List<MeritListDto>> getMeritLists(
+            @RequestParam Integer year,
+            @RequestParam(required = false) String program,
+            @RequestParam(required = false) Integer seats,
+            @RequestParam(required = false) Double minimumScore) {
+
+        logger.debug("Fetching merit lists for year: {}, program: {}", year, program);
+
+        try {
+            return ResponseEntity.ok(meritListService.getMeritLists(year, program, seats, minimumScore));
+        } catch (IllegalArgumentException e) {
+            logger.error("Invalid merit list request: {}", e.getMessage());
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        } catch (IllegalStateException e) {
+            logger.warn("Merit lists unavailable: {}", e.getMessage());
+            return new ResponseEntity<>(HttpStatus.SERVICE_UNAVAILABLE);
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package com.college.student.controller;
+
+import com.college.student.util.RateLimiter;
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+
+/**
+ * Rejects student API requests with 429 before they reach the connection pool
+ *
+ * Requests are admitted by RateLimiter under the name of the controller
+ * method. Clients are told by the X-Client-Id header, or the remote address
+ * without it. The header is not authenticated, so it separates well-behaved
+ * callers rather than stopping a hostile one; the concurrency limit is what
+ * protects the service as a whole.
+ */
+@Component
+public class RateLimitInterceptor implements AsyncHandlerInterceptor {
+
+    private static final String STARTED_AT = RateLimitInterceptor.class.getName() + ".startedAt";
+    private static final String STREAMING = RateLimitInterceptor.class.getName() + ".streaming";
+
+    @Autowired
+    private RateLimiter rateLimiter;
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        // A streamed response comes back through an async dispatch once written; it was admitted already
+        if (!rateLimiter.isEnabled() || !(handler instanceof HandlerMethod method)
+                || request.getDispatcherType() == DispatcherType.ASYNC) {
+            return true;
+        }
+        long now = System.nanoTime();
+        RateLimiter.Rejection rejection = rateLimiter.admit(
+                rateLimiter.clientOf(request.getHeader(rateLimiter.getClientHeader()), request.getRemoteAddr()),
+                method.getMethod().getName(), now);
+        if (rejection != null) {
+            response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+            response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(rejection.retryAfterSeconds()));
+            return false;
+        }
+        if (rateLimiter.limitsConcurrency()) {
+            request.setAttribute(STARTED_AT, now);
+        }
+        return true;
+    }
+
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response,
+                                               Object handler) {
+        request.setAttribute(STREAMING, Boolean.TRUE);
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+                                Exception ex) {
+        Object startedAt = request.getAttribute(STARTED_AT);
+        if (startedAt == null) {
+            return;
+        }
+        request.removeAttribute(STARTED_AT);
+        rateLimiter.release((long) startedAt, System.nanoTime(), request.getAttribute(STREAMING) != null);
+    }
+}
@@ -0,0 +1,88 @@
+package com.college.student.controller;
+
+import com.college.student.util.RateLimiter;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.HttpMessageReader;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.web.reactive.function.server.RequestPredicate;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.ServerWebExchangeDecorator;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+import java.net.InetSocketAddress;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Rejects reactive read requests with 429, as RateLimitInterceptor does for the MVC endpoints
+ *
+ * Routes are named after their ReactiveStudentHandler method, which is what
+ * student.rate-limit.routes is keyed on; requests matching no route are left
+ * to the router's 404. A permit of the concurrency limit is held until the
+ * response has been written, and an NDJSON stream gives it back without
+ * counting its duration.
+ */
+public class ReactiveRateLimitFilter implements WebFilter {
+
+    private final RateLimiter rateLimiter;
+    private final Map<RequestPredicate, String> routes;
+    private final List<HttpMessageReader<?>> messageReaders;
+
+    public ReactiveRateLimitFilter(RateLimiter rateLimiter, Map<RequestPredicate, String> routes,
+                                   List<HttpMessageReader<?>> messageReaders) {
+        this.rateLimiter = rateLimiter;
+        this.routes = routes;
+        this.messageReaders = messageReaders;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        String route = rateLimiter.isEnabled() ? routeOf(exchange) : null;
+        if (route == null) {
+            return chain.filter(exchange);
+        }
+        long startedAt = System.nanoTime();
+        RateLimiter.Rejection rejection = rateLimiter.admit(clientOf(exchange.getRequest()), route, startedAt);
+        if (rejection != null) {
+            ServerHttpResponse response = exchange.getResponse();
+            response.setStatusCode(HttpStatus.TOO_MANY_REQUESTS);
+            response.getHeaders().set(HttpHeaders.RETRY_AFTER, Long.toString(rejection.retryAfterSeconds()));
+            return response.setComplete();
+        }
+        if (!rateLimiter.limitsConcurrency()) {
+            return chain.filter(exchange);
+        }
+        return chain.filter(exchange).doFinally(signal -> rateLimiter.release(startedAt, System.nanoTime(),
+                MediaType.APPLICATION_NDJSON.isCompatibleWith(exchange.getResponse().getHeaders().getContentType())));
+    }
+
+    private String routeOf(ServerWebExchange exchange) {
+        // Matching records the pattern and path variables in the attributes; the router must not find them there
+        Map<String, Object> attributes = new HashMap<>(exchange.getAttributes());
+        ServerRequest request = ServerRequest.create(new ServerWebExchangeDecorator(exchange) {
+            @Override
+            public Map<String, Object> getAttributes() {
+                return attributes;
+            }
+        }, messageReaders);
+        for (Map.Entry<RequestPredicate, String> route : routes.entrySet()) {
+            if (route.getKey().test(request)) {
+                return route.getValue();
+            }
+        }
+        return null;
+    }
+
+    private String clientOf(ServerHttpRequest request) {
+        InetSocketAddress remote = request.getRemoteAddress();
+        return rateLimiter.clientOf(request.getHeaders().getFirst(rateLimiter.getClientHeader()),
+                remote == null ? "unknown" : remote.getHostString());
+    }
+}
@@ -0,0 +1,92 @@
+package com.college.student.controller;
+
+import com.college.student.dto.StudentDto;
+import com.college.student.entity.StudentStatus;
+import com.college.student.repository.ReactiveStudentRepository;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import reactor.core.publisher.Mono;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * WebFlux handlers for the non-blocking student read path
+ *
+ * Mirrors the read endpoints of StudentController with the same StudentDto
+ * contract, plus batch-get and NDJSON streaming.
+ */
+public class ReactiveStudentHandler {
+
+    private static final ParameterizedTypeReference<List<Long>> ID_LIST = new ParameterizedTypeReference<>() {};
+
+    private final ReactiveStudentRepository repository;
+    private final int maxBatchSize;
+
+    public ReactiveStudentHandler(ReactiveStudentRepository repository, int maxBatchSize) {
+        this.repository = repository;
+        this.maxBatchSize = maxBatchSize;
+    }
+
+    /**
+     * Get student by ID
+     */
+    public Mono<ServerResponse> getStudentById(ServerRequest request) {
+        Long id;
+        try {
+            id = Long.valueOf(request.pathVariable("id"));
+        } catch (NumberFormatException e) {
+            return ServerResponse.badRequest().build();
+        }
+        return repository.findById(id)
+                .flatMap(student -> ServerResponse.ok().contentType(MediaType.APPLICATION_JSON).bodyValue(student))
+                .switchIfEmpty(ServerResponse.notFound().build());
+    }
+
+    /**
+     * Get student by student ID
+     */
+    public Mono<ServerResponse> getStudentByStudentId(ServerRequest request) {
+        return repository.findByStudentId(request.pathVariable("studentId"))
+                .flatMap(student -> ServerResponse.ok().contentType(MediaType.APPLICATION_JSON).bodyValue(student))
+                .switchIfEmpty(ServerResponse.notFound().build());
+    }
+
+    /**
+     * Get several students by ID; body is a JSON array of IDs, none of them null
+     */
+    public Mono<ServerResponse> getStudentsByIds(ServerRequest request) {
+        return request.bodyToMono(ID_LIST)
+                .flatMap(ids -> {
+                    if (ids.contains(null)) {
+                        return ServerResponse.badRequest().bodyValue(Map.of("error", "Ids must not be null or blank"));
+                    }
+                    if (ids.size() > maxBatchSize) {
+                        return ServerResponse.badRequest().bodyValue(
+                                Map.of("error", "At most " + maxBatchSize + " ids per batch"));
+                    }
+                    return ServerResponse.ok().contentType(MediaType.APPLICATION_JSON)
+                            .body(repository.findAllById(new LinkedHashSet<>(ids)), StudentDto.class);
+                })
+                .switchIfEmpty(Mono.defer(() -> ServerResponse.badRequest().bodyValue(
+                        Map.of("error", "Body must be a JSON array of ids"))));
+    }
+
+    /**
+     * Stream students as NDJSON, optionally filtered by status and department
+     */
+    public Mono<ServerResponse> streamStudents(ServerRequest request) {
+        StudentStatus status;
+        try {
+            status = request.queryParam("status").map(s -> StudentStatus.valueOf(s.toUpperCase())).orElse(null);
+        } catch (IllegalArgumentException e) {
+            return ServerResponse.badRequest().build();
+        }
+        String department = request.queryParam("department").orElse(null);
+        return ServerResponse.ok().contentType(MediaType.APPLICATION_NDJSON)
+                .body(repository.streamAll(status, department), StudentDto.class);
+    }
+}
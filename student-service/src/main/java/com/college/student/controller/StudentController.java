@@ -1,22 +1,30 @@
 package com.college.student.controller;
 
+import com.college.student.dto.ChangeFeedPage;
+import com.college.student.dto.StudentDirectoryEntry;
 import com.college.student.dto.StudentDto;
 import com.college.student.entity.StudentStatus;
+import com.college.student.service.ChangeFeedService;
 import com.college.student.service.StudentService;
+import com.college.student.util.StudentSortRegistry;
 import jakarta.validation.Valid;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 import java.util.Map;
+import java.util.NoSuchElementException;
 import java.util.Optional;
 
 /**
@@ -29,15 +37,27 @@ public class StudentController {
 
     private static final Logger logger = LoggerFactory.getLogger(StudentController.class);
 
+    private static final String NDJSON_VALUE = "application/x-ndjson";
+    private static final MediaType NDJSON = MediaType.parseMediaType(NDJSON_VALUE);
+
     @Autowired
     private StudentService studentService;
 
+    @Autowired
+    private StudentSortRegistry sortRegistry;
+
+    @Autowired
+    private ChangeFeedService changeFeedService;
+
+    @Value("${student.paging.max-page-size:200}")
+    private int maxPageSize;
+
     /**
      * Create a new student
      */
     @PostMapping
     public ResponseEntity<StudentDto> createStudent(@Valid @RequestBody StudentDto studentDto) {
-        logger.info("Received request to create student with ID: {}", studentDto.getStudentId());
+        logger.debug("Received request to create student with ID: {}", studentDto.getStudentId());
         
         try {
             StudentDto createdStudent = studentService.createStudent(studentDto);
@@ -61,13 +81,25 @@ public class StudentController {
         logger.debug("Fetching students - page: {}, size: {}, sortBy: {}, sortDir: {}", 
                     page, size, sortBy, sortDir);
 
-        Sort sort = sortDir.equalsIgnoreCase("desc") ? 
-                   Sort.by(sortBy).descending() : Sort.by(sortBy).ascending();
-        
-        Pageable pageable = PageRequest.of(page, size, sort);
-        Page<StudentDto> students = studentService.getAllStudents(pageable);
+        if (!isValidPage(page, size)) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        Sort sort;
+        try {
+            sort = sortRegistry.resolve(sortBy, sortDir);
+        } catch (IllegalArgumentException e) {
+            logger.error("Invalid sort: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
+        }
         
-        return ResponseEntity.ok(students);
+        Pageable pageable = PageRequest.of(page, Math.min(size, maxPageSize), sort);
+        try {
+            return ResponseEntity.ok(studentService.getAllStudents(pageable));
+        } catch (IllegalArgumentException e) {
+            logger.error("Invalid page: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
+        }
     }
 
     /**
@@ -94,6 +126,30 @@ public class StudentController {
                      .orElse(ResponseEntity.notFound().build());
     }
 
+    /**
+     * Students and admissions changed, and records deleted, since a token from a previous call
+     *
+     * Without since the feed starts from the beginning. 410 means deletes
+     * since the token have been purged, or the token predates the current
+     * format, and the consumer must start over.
+     */
+    @GetMapping("/changes")
+    public ResponseEntity<ChangeFeedPage> getChanges(
+            @RequestParam(required = false) String since,
+            @RequestParam(defaultValue = "100") int limit) {
+        logger.debug("Fetching changes since: {}", since);
+
+        try {
+            if (changeFeedService.isExpired(since)) {
+                return new ResponseEntity<>(HttpStatus.GONE);
+            }
+            return ResponseEntity.ok(changeFeedService.getChanges(since, Math.max(1, Math.min(limit, maxPageSize))));
+        } catch (IllegalArgumentException e) {
+            logger.error("Invalid changes token: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
     /**
      * Update student
      */
@@ -102,14 +158,17 @@ public class StudentController {
             @PathVariable Long id, 
             @Valid @RequestBody StudentDto studentDto) {
         
-        logger.info("Received request to update student with ID: {}", id);
-        
+        logger.debug("Received request to update student with ID: {}", id);
+
         try {
             StudentDto updatedStudent = studentService.updateStudent(id, studentDto);
             return ResponseEntity.ok(updatedStudent);
-        } catch (IllegalArgumentException e) {
+        } catch (NoSuchElementException e) {
             logger.error("Error updating student: {}", e.getMessage());
             return ResponseEntity.notFound().build();
+        } catch (IllegalArgumentException e) {
+            logger.error("Error updating student: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
         }
     }
 
@@ -118,7 +177,7 @@ public class StudentController {
      */
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> deleteStudent(@PathVariable Long id) {
-        logger.info("Received request to delete student with ID: {}", id);
+        logger.debug("Received request to delete student with ID: {}", id);
         
         boolean deleted = studentService.deleteStudent(id);
         return deleted ? ResponseEntity.noContent().build() : ResponseEntity.notFound().build();
@@ -132,7 +191,7 @@ public class StudentController {
             @PathVariable Long id, 
             @RequestBody Map<String, String> statusUpdate) {
         
-        logger.info("Received request to update status for student ID: {}", id);
+        logger.debug("Received request to update status for student ID: {}", id);
         
         try {
             String statusStr = statusUpdate.get("status");
@@ -147,26 +206,55 @@ public class StudentController {
     }
 
     /**
-     * Get students by department
+     * Get a page of students of a department, in id order
      */
     @GetMapping("/department/{department}")
-    public ResponseEntity<List<StudentDto>> getStudentsByDepartment(@PathVariable String department) {
+    public ResponseEntity<Page<StudentDto>> getStudentsByDepartment(
+            @PathVariable String department,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "10") int size) {
         logger.debug("Fetching students by department: {}", department);
-        
-        List<StudentDto> students = studentService.getStudentsByDepartment(department);
-        return ResponseEntity.ok(students);
+
+        if (!isValidPage(page, size)) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        try {
+            return ResponseEntity.ok(studentService.getStudentsByDepartment(department, byId(page, size)));
+        } catch (IllegalArgumentException e) {
+            logger.error("Invalid page: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
+        }
     }
 
     /**
-     * Get students by status
+     * Stream every student of a department as newline-delimited JSON
+     */
+    @GetMapping(value = "/department/{department}", produces = NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamStudentsByDepartment(@PathVariable String department) {
+        logger.debug("Streaming students by department: {}", department);
+
+        StreamingResponseBody body = out -> studentService.writeStudentsByDepartment(department, out);
+        return ResponseEntity.ok().contentType(NDJSON).body(body);
+    }
+
+    /**
+     * Get a page of students with a status, in id order
      */
     @GetMapping("/status/{status}")
-    public ResponseEntity<List<StudentDto>> getStudentsByStatus(@PathVariable String status) {
+    public ResponseEntity<Page<StudentDto>> getStudentsByStatus(
+            @PathVariable String status,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "10") int size) {
         logger.debug("Fetching students by status: {}", status);
-        
+
+        if (!isValidPage(page, size)) {
+            return ResponseEntity.badRequest().build();
+        }
+
         try {
             StudentStatus studentStatus = StudentStatus.valueOf(status.toUpperCase());
-            List<StudentDto> students = studentService.getStudentsByStatus(studentStatus);
+            Page<StudentDto> students = studentService.getStudentsByStatus(studentStatus, byId(page, size));
             return ResponseEntity.ok(students);
         } catch (IllegalArgumentException e) {
             logger.error("Invalid status: {}", status);
@@ -175,14 +263,53 @@ public class StudentController {
     }
 
     /**
-     * Search students by name
+     * Stream every student with a status as newline-delimited JSON
+     */
+    @GetMapping(value = "/status/{status}", produces = NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamStudentsByStatus(@PathVariable String status) {
+        logger.debug("Streaming students by status: {}", status);
+
+        try {
+            StudentStatus studentStatus = StudentStatus.valueOf(status.toUpperCase());
+            StreamingResponseBody body = out -> studentService.writeStudentsByStatus(studentStatus, out);
+            return ResponseEntity.ok().contentType(NDJSON).body(body);
+        } catch (IllegalArgumentException e) {
+            logger.error("Invalid status: {}", status);
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    /**
+     * Search a page of students by name, in id order
      */
     @GetMapping("/search")
-    public ResponseEntity<List<StudentDto>> searchStudents(@RequestParam String name) {
+    public ResponseEntity<Page<StudentDto>> searchStudents(
+            @RequestParam String name,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "10") int size) {
         logger.debug("Searching students by name: {}", name);
-        
-        List<StudentDto> students = studentService.searchStudentsByName(name);
-        return ResponseEntity.ok(students);
+
+        if (!isValidPage(page, size)) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        try {
+            return ResponseEntity.ok(studentService.searchStudentsByName(name, byId(page, size)));
+        } catch (IllegalArgumentException e) {
+            logger.error("Invalid page: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    /**
+     * Stream every student matching a name search as newline-delimited JSON
+     */
+    @GetMapping(value = "/search", produces = NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamSearchStudents(@RequestParam String name) {
+        logger.debug("Streaming students by name: {}", name);
+
+        StreamingResponseBody body = out -> studentService.writeStudentsByName(name, out);
+        return ResponseEntity.ok().contentType(NDJSON).body(body);
     }
 
     /**
@@ -196,6 +323,26 @@ public class StudentController {
         return ResponseEntity.ok(departments);
     }
 
+    /**
+     * Add a department students can then be assigned to
+     *
+     * Takes a code and a name; the code is stored trimmed and in upper case.
+     * 400 if either is missing or too long, or the code exists already
+     * ignoring case.
+     */
+    @PostMapping("/departments")
+    public ResponseEntity<Map<String, String>> createDepartment(@RequestBody Map<String, String> department) {
+        logger.debug("Received request to create department: {}", department.get("code"));
+
+        try {
+            String code = studentService.createDepartment(department.get("code"), department.get("name"));
+            return new ResponseEntity<>(Map.of("code", code), HttpStatus.CREATED);
+        } catch (IllegalArgumentException e) {
+            logger.error("Error creating department: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
     /**
      * Get student statistics
      */
@@ -231,4 +378,61 @@ public class StudentController {
         boolean exists = studentService.existsByEmail(email);
         return ResponseEntity.ok(Map.of("exists", exists));
     }
-}
\ No newline at end of file
+
+    /**
+     * Check if student exists by ID
+     */
+    @GetMapping("/exists/{id}")
+    public ResponseEntity<Map<String, Boolean>> checkIdExists(@PathVariable Long id) {
+        boolean exists = studentService.existsById(id);
+        return ResponseEntity.ok(Map.of("exists", exists));
+    }
+
+    /**
+     * Resolve ID, student ID, email and status by ID
+     */
+    @GetMapping("/resolve/{id}")
+    public ResponseEntity<StudentDirectoryEntry> resolveById(@PathVariable Long id) {
+        return studentService.resolveById(id)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    /**
+     * Resolve ID, student ID, email and status by student ID
+     */
+    @GetMapping("/resolve/student-id/{studentId}")
+    public ResponseEntity<StudentDirectoryEntry> resolveByStudentId(@PathVariable String studentId) {
+        return studentService.resolveByStudentId(studentId)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    /**
+     * Resolve ID, student ID, email and status by email
+     */
+    @GetMapping("/resolve/email/{email}")
+    public ResponseEntity<StudentDirectoryEntry> resolveByEmail(@PathVariable String email) {
+        return studentService.resolveByEmail(email)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    /**
+     * Whether a requested page can be served; sizes above the maximum are capped rather than refused
+     */
+    private static boolean isValidPage(int page, int size) {
+        if (page < 0 || size < 1) {
+            logger.error("Invalid page: page {}, size {}", page, size);
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Page of a filtered list, capped at student.paging.max-page-size and ordered by id to follow the (column, id) indexes
+     */
+    private Pageable byId(int page, int size) {
+        return PageRequest.of(page, Math.min(size, maxPageSize), Sort.by("id"));
+    }
+}
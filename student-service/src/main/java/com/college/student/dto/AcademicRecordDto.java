@@ -0,0 +1,77 @@
+package com.college.student.dto;
+
+import com.college.student.entity.AcademicRecordStatus;
+import com.fasterxml.jackson.annotation.JsonFormat;
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Data Transfer Object for AcademicRecord
+ */
+public class AcademicRecordDto {
+
+    private Long id;
+
+    @NotNull(message = "Student is required")
+    private Long studentId;
+
+    @NotNull(message = "Semester is required")
+    @Min(value = 1, message = "Semester must be at least 1")
+    @Max(value = 12, message = "Semester must not exceed 12")
+    private Integer semester;
+
+    @NotNull(message = "Year is required")
+    private Integer year;
+
+    @DecimalMin(value = "0.0", message = "GPA must not be negative")
+    @DecimalMax(value = "10.0", message = "GPA must not exceed 10.0")
+    private BigDecimal gpa;
+
+    @Min(value = 0, message = "Total credits must not be negative")
+    private Integer totalCredits;
+
+    private AcademicRecordStatus status;
+
+    @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss")
+    private LocalDateTime createdAt;
+
+    @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss")
+    private LocalDateTime updatedAt;
+
+    // Default constructor
+    public AcademicRecordDto() {}
+
+    // Getters and Setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public Long getStudentId() { return studentId; }
+    public void setStudentId(Long studentId) { this.studentId = studentId; }
+
+    public Integer getSemester() { return semester; }
+    public void setSemester(Integer semester) { this.semester = semester; }
+
+    public Integer getYear() { return year; }
+    public void setYear(Integer year) { this.year = year; }
+
+    public BigDecimal getGpa() { return gpa; }
+    public void setGpa(BigDecimal gpa) { this.gpa = gpa; }
+
+    public Integer getTotalCredits() { return totalCredits; }
+    public void setTotalCredits(Integer totalCredits) { this.totalCredits = totalCredits; }
+
+    public AcademicRecordStatus getStatus() { return status; }
+    public void setStatus(AcademicRecordStatus status) { this.status = status; }
+
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
+
+    public LocalDateTime getUpdatedAt() { return updatedAt; }
+    public void setUpdatedAt(LocalDateTime updatedAt) { this.updatedAt = updatedAt; }
+}
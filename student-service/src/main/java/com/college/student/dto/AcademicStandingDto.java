@@ -0,0 +1,35 @@
+package com.college.student.dto;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Data Transfer Object for a student's cumulative academic standing
+ */
+public class AcademicStandingDto {
+
+    private Long studentId;
+    private BigDecimal cumulativeGpa;
+    private Integer creditsEarned;
+
+    @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss")
+    private LocalDateTime updatedAt;
+
+    // Default constructor
+    public AcademicStandingDto() {}
+
+    // Getters and Setters
+    public Long getStudentId() { return studentId; }
+    public void setStudentId(Long studentId) { this.studentId = studentId; }
+
+    public BigDecimal getCumulativeGpa() { return cumulativeGpa; }
+    public void setCumulativeGpa(BigDecimal cumulativeGpa) { this.cumulativeGpa = cumulativeGpa; }
+
+    public Integer getCreditsEarned() { return creditsEarned; }
+    public void setCreditsEarned(Integer creditsEarned) { this.creditsEarned = creditsEarned; }
+
+    public LocalDateTime getUpdatedAt() { return updatedAt; }
+    public void setUpdatedAt(LocalDateTime updatedAt) { this.updatedAt = updatedAt; }
+}
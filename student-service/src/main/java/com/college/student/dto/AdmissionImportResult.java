@@ -0,0 +1,58 @@
+package com.college.student.dto;
+
+import java.util.List;
+
+/**
+ * Outcome of a bulk admissions import
+ */
+public class AdmissionImportResult {
+
+    private long read;
+    private long inserted;
+    private long updated;
+    private long unchanged;
+    private long invalid;
+    private long duplicates;
+    private long conflicts;
+    private long elapsedMillis;
+    private List<ImportStageStats> stages;
+    private List<RejectedRow> rejected;
+    private String error;
+
+    // Default constructor
+    public AdmissionImportResult() {}
+
+    // Getters and Setters
+    public long getRead() { return read; }
+    public void setRead(long read) { this.read = read; }
+
+    public long getInserted() { return inserted; }
+    public void setInserted(long inserted) { this.inserted = inserted; }
+
+    public long getUpdated() { return updated; }
+    public void setUpdated(long updated) { this.updated = updated; }
+
+    public long getUnchanged() { return unchanged; }
+    public void setUnchanged(long unchanged) { this.unchanged = unchanged; }
+
+    public long getInvalid() { return invalid; }
+    public void setInvalid(long invalid) { this.invalid = invalid; }
+
+    public long getDuplicates() { return duplicates; }
+    public void setDuplicates(long duplicates) { this.duplicates = duplicates; }
+
+    public long getConflicts() { return conflicts; }
+    public void setConflicts(long conflicts) { this.conflicts = conflicts; }
+
+    public long getElapsedMillis() { return elapsedMillis; }
+    public void setElapsedMillis(long elapsedMillis) { this.elapsedMillis = elapsedMillis; }
+
+    public List<ImportStageStats> getStages() { return stages; }
+    public void setStages(List<ImportStageStats> stages) { this.stages = stages; }
+
+    public List<RejectedRow> getRejected() { return rejected; }
+    public void setRejected(List<RejectedRow> rejected) { this.rejected = rejected; }
+
+    public String getError() { return error; }
+    public void setError(String error) { this.error = error; }
+}
@@ -0,0 +1,34 @@
+package com.college.student.dto;
+
+import java.util.Map;
+
+/**
+ * Row count of an analytics query, optionally split by a group-by dimension
+ */
+public class AnalyticsResult {
+
+    private long matched;
+    private String groupBy;
+    private Map<String, Long> groups;
+    private long snapshotVersion;
+    private long tookMicros;
+
+    // Default constructor
+    public AnalyticsResult() {}
+
+    // Getters and Setters
+    public long getMatched() { return matched; }
+    public void setMatched(long matched) { this.matched = matched; }
+
+    public String getGroupBy() { return groupBy; }
+    public void setGroupBy(String groupBy) { this.groupBy = groupBy; }
+
+    public Map<String, Long> getGroups() { return groups; }
+    public void setGroups(Map<String, Long> groups) { this.groups = groups; }
+
+    public long getSnapshotVersion() { return snapshotVersion; }
+    public void setSnapshotVersion(long snapshotVersion) { this.snapshotVersion = snapshotVersion; }
+
+    public long getTookMicros() { return tookMicros; }
+    public void setTookMicros(long tookMicros) { this.tookMicros = tookMicros; }
+}
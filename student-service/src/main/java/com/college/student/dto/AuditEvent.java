@@ -0,0 +1,51 @@
+package com.college.student.dto;
+
+import java.time.Instant;
+import java.util.Map;
+
+/**
+ * One committed mutation: what was done to which entity, and when
+ */
+public class AuditEvent {
+
+    public enum Action { CREATE, UPDATE, DELETE, STATUS_CHANGE }
+
+    private Instant occurredAt;
+    private Action action;
+    private String entityType;
+    private Long entityId;
+    private String entityKey;
+    private Map<String, Object> details;
+
+    // Default constructor
+    public AuditEvent() {}
+
+    public AuditEvent(Instant occurredAt, Action action, String entityType, Long entityId,
+                      String entityKey, Map<String, Object> details) {
+        this.occurredAt = occurredAt;
+        this.action = action;
+        this.entityType = entityType;
+        this.entityId = entityId;
+        this.entityKey = entityKey;
+        this.details = details;
+    }
+
+    // Getters and Setters
+    public Instant getOccurredAt() { return occurredAt; }
+    public void setOccurredAt(Instant occurredAt) { this.occurredAt = occurredAt; }
+
+    public Action getAction() { return action; }
+    public void setAction(Action action) { this.action = action; }
+
+    public String getEntityType() { return entityType; }
+    public void setEntityType(String entityType) { this.entityType = entityType; }
+
+    public Long getEntityId() { return entityId; }
+    public void setEntityId(Long entityId) { this.entityId = entityId; }
+
+    public String getEntityKey() { return entityKey; }
+    public void setEntityKey(String entityKey) { this.entityKey = entityKey; }
+
+    public Map<String, Object> getDetails() { return details; }
+    public void setDetails(Map<String, Object> details) { this.details = details; }
+}
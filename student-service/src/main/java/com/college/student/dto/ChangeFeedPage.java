@@ -0,0 +1,48 @@
+package com.college.student.dto;
+
+import java.util.List;
+
+/**
+ * One page of the changes feed
+ *
+ * Students and admissions are the current state of every row changed since
+ * the token, without nested admissions; deleted lists the rows removed.
+ * Passing next as since returns the following page; once hasMore is false
+ * the consumer is caught up, and polls with next later on.
+ */
+public class ChangeFeedPage {
+
+    private List<StudentDto> students;
+    private List<AdmissionDto> admissions;
+    private List<DeletedRecord> deleted;
+    private String next;
+    private boolean hasMore;
+
+    // Default constructor
+    public ChangeFeedPage() {}
+
+    public ChangeFeedPage(List<StudentDto> students, List<AdmissionDto> admissions, List<DeletedRecord> deleted,
+                          String next, boolean hasMore) {
+        this.students = students;
+        this.admissions = admissions;
+        this.deleted = deleted;
+        this.next = next;
+        this.hasMore = hasMore;
+    }
+
+    // Getters and Setters
+    public List<StudentDto> getStudents() { return students; }
+    public void setStudents(List<StudentDto> students) { this.students = students; }
+
+    public List<AdmissionDto> getAdmissions() { return admissions; }
+    public void setAdmissions(List<AdmissionDto> admissions) { this.admissions = admissions; }
+
+    public List<DeletedRecord> getDeleted() { return deleted; }
+    public void setDeleted(List<DeletedRecord> deleted) { this.deleted = deleted; }
+
+    public String getNext() { return next; }
+    public void setNext(String next) { this.next = next; }
+
+    public boolean isHasMore() { return hasMore; }
+    public void setHasMore(boolean hasMore) { this.hasMore = hasMore; }
+}
@@ -0,0 +1,44 @@
+package com.college.student.dto;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+
+import java.time.LocalDateTime;
+
+/**
+ * Tombstone in the changes feed: a student or admission that was deleted
+ *
+ * type is STUDENT or ADMISSION; studentId is the owning student's ID, the
+ * student's own ID for a deleted student.
+ */
+public class DeletedRecord {
+
+    private String type;
+    private Long id;
+    private Long studentId;
+
+    @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss")
+    private LocalDateTime deletedAt;
+
+    // Default constructor
+    public DeletedRecord() {}
+
+    public DeletedRecord(String type, Long id, Long studentId, LocalDateTime deletedAt) {
+        this.type = type;
+        this.id = id;
+        this.studentId = studentId;
+        this.deletedAt = deletedAt;
+    }
+
+    // Getters and Setters
+    public String getType() { return type; }
+    public void setType(String type) { this.type = type; }
+
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public Long getStudentId() { return studentId; }
+    public void setStudentId(Long studentId) { this.studentId = studentId; }
+
+    public LocalDateTime getDeletedAt() { return deletedAt; }
+    public void setDeletedAt(LocalDateTime deletedAt) { this.deletedAt = deletedAt; }
+}
@@ -0,0 +1,40 @@
+package com.college.student.dto;
+
+/**
+ * Cumulative GPA distribution of one department
+ */
+public class DepartmentGpaSummary {
+
+    private String department;
+    private int students;
+    private double meanGpa;
+    private double stdDevGpa;
+    private double minGpa;
+    private double medianGpa;
+    private double maxGpa;
+
+    // Default constructor
+    public DepartmentGpaSummary() {}
+
+    // Getters and Setters
+    public String getDepartment() { return department; }
+    public void setDepartment(String department) { this.department = department; }
+
+    public int getStudents() { return students; }
+    public void setStudents(int students) { this.students = students; }
+
+    public double getMeanGpa() { return meanGpa; }
+    public void setMeanGpa(double meanGpa) { this.meanGpa = meanGpa; }
+
+    public double getStdDevGpa() { return stdDevGpa; }
+    public void setStdDevGpa(double stdDevGpa) { this.stdDevGpa = stdDevGpa; }
+
+    public double getMinGpa() { return minGpa; }
+    public void setMinGpa(double minGpa) { this.minGpa = minGpa; }
+
+    public double getMedianGpa() { return medianGpa; }
+    public void setMedianGpa(double medianGpa) { this.medianGpa = medianGpa; }
+
+    public double getMaxGpa() { return maxGpa; }
+    public void setMaxGpa(double maxGpa) { this.maxGpa = maxGpa; }
+}
@@ -0,0 +1,52 @@
+package com.college.student.dto;
+
+/**
+ * Throughput and backpressure of one stage of a bulk import
+ */
+public class ImportStageStats {
+
+    private String stage;
+    private int workers;
+    private long rows;
+    private long busyMillis;
+    private long blockedMillis;
+    private long starvedMillis;
+    private double rowsPerSecond;
+
+    // Default constructor
+    public ImportStageStats() {}
+
+    // Constructor with required fields
+    public ImportStageStats(String stage, int workers, long rows, long busyMillis, long blockedMillis,
+                            long starvedMillis, double rowsPerSecond) {
+        this.stage = stage;
+        this.workers = workers;
+        this.rows = rows;
+        this.busyMillis = busyMillis;
+        this.blockedMillis = blockedMillis;
+        this.starvedMillis = starvedMillis;
+        this.rowsPerSecond = rowsPerSecond;
+    }
+
+    // Getters and Setters
+    public String getStage() { return stage; }
+    public void setStage(String stage) { this.stage = stage; }
+
+    public int getWorkers() { return workers; }
+    public void setWorkers(int workers) { this.workers = workers; }
+
+    public long getRows() { return rows; }
+    public void setRows(long rows) { this.rows = rows; }
+
+    public long getBusyMillis() { return busyMillis; }
+    public void setBusyMillis(long busyMillis) { this.busyMillis = busyMillis; }
+
+    public long getBlockedMillis() { return blockedMillis; }
+    public void setBlockedMillis(long blockedMillis) { this.blockedMillis = blockedMillis; }
+
+    public long getStarvedMillis() { return starvedMillis; }
+    public void setStarvedMillis(long starvedMillis) { this.starvedMillis = starvedMillis; }
+
+    public double getRowsPerSecond() { return rowsPerSecond; }
+    public void setRowsPerSecond(double rowsPerSecond) { this.rowsPerSecond = rowsPerSecond; }
+}
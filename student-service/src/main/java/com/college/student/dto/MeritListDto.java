@@ -0,0 +1,48 @@
+package com.college.student.dto;
+
+import java.util.List;
+
+/**
+ * Merit list of one program and admission year
+ *
+ * cutoffScore is the score of the last selected applicant, null if nobody was selected.
+ */
+public class MeritListDto {
+
+    private String program;
+    private Integer admissionYear;
+    private int candidates;
+    private Integer seats;
+    private Double minimumScore;
+    private Double cutoffScore;
+    private List<MeritListEntry> entries;
+    private long rankingVersion;
+
+    // Default constructor
+    public MeritListDto() {}
+
+    // Getters and Setters
+    public String getProgram() { return program; }
+    public void setProgram(String program) { this.program = program; }
+
+    public Integer getAdmissionYear() { return admissionYear; }
+    public void setAdmissionYear(Integer admissionYear) { this.admissionYear = admissionYear; }
+
+    public int getCandidates() { return candidates; }
+    public void setCandidates(int candidates) { this.candidates = candidates; }
+
+    public Integer getSeats() { return seats; }
+    public void setSeats(Integer seats) { this.seats = seats; }
+
+    public Double getMinimumScore() { return minimumScore; }
+    public void setMinimumScore(Double minimumScore) { this.minimumScore = minimumScore; }
+
+    public Double getCutoffScore() { return cutoffScore; }
+    public void setCutoffScore(Double cutoffScore) { this.cutoffScore = cutoffScore; }
+
+    public List<MeritListEntry> getEntries() { return entries; }
+    public void setEntries(List<MeritListEntry> entries) { this.entries = entries; }
+
+    public long getRankingVersion() { return rankingVersion; }
+    public void setRankingVersion(long rankingVersion) { this.rankingVersion = rankingVersion; }
+}
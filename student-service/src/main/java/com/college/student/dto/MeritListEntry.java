@@ -0,0 +1,35 @@
+package com.college.student.dto;
+
+/**
+ * One ranked applicant on a merit list
+ */
+public class MeritListEntry {
+
+    private int rank;
+    private Long admissionId;
+    private Long studentId;
+    private double entranceScore;
+
+    // Default constructor
+    public MeritListEntry() {}
+
+    public MeritListEntry(int rank, Long admissionId, Long studentId, double entranceScore) {
+        this.rank = rank;
+        this.admissionId = admissionId;
+        this.studentId = studentId;
+        this.entranceScore = entranceScore;
+    }
+
+    // Getters and Setters
+    public int getRank() { return rank; }
+    public void setRank(int rank) { this.rank = rank; }
+
+    public Long getAdmissionId() { return admissionId; }
+    public void setAdmissionId(Long admissionId) { this.admissionId = admissionId; }
+
+    public Long getStudentId() { return studentId; }
+    public void setStudentId(Long studentId) { this.studentId = studentId; }
+
+    public double getEntranceScore() { return entranceScore; }
+    public void setEntranceScore(double entranceScore) { this.entranceScore = entranceScore; }
+}
@@ -0,0 +1,26 @@
+package com.college.student.dto;
+
+/**
+ * A row of an import file that was not written, and why
+ */
+public class RejectedRow {
+
+    private long line;
+    private String reason;
+
+    // Default constructor
+    public RejectedRow() {}
+
+    // Constructor with required fields
+    public RejectedRow(long line, String reason) {
+        this.line = line;
+        this.reason = reason;
+    }
+
+    // Getters and Setters
+    public long getLine() { return line; }
+    public void setLine(long line) { this.line = line; }
+
+    public String getReason() { return reason; }
+    public void setReason(String reason) { this.reason = reason; }
+}
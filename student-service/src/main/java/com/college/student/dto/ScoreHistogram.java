@@ -0,0 +1,56 @@
+package com.college.student.dto;
+
+/**
+ * Entrance score distribution over equal-width bins
+ */
+public class ScoreHistogram {
+
+    private double min;
+    private double max;
+    private double binWidth;
+    private long[] counts;
+    private long scored;
+    private long unscored;
+    private long belowRange;
+    private long aboveRange;
+    private double mean;
+    private long snapshotVersion;
+    private long tookMicros;
+
+    // Default constructor
+    public ScoreHistogram() {}
+
+    // Getters and Setters
+    public double getMin() { return min; }
+    public void setMin(double min) { this.min = min; }
+
+    public double getMax() { return max; }
+    public void setMax(double max) { this.max = max; }
+
+    public double getBinWidth() { return binWidth; }
+    public void setBinWidth(double binWidth) { this.binWidth = binWidth; }
+
+    public long[] getCounts() { return counts; }
+    public void setCounts(long[] counts) { this.counts = counts; }
+
+    public long getScored() { return scored; }
+    public void setScored(long scored) { this.scored = scored; }
+
+    public long getUnscored() { return unscored; }
+    public void setUnscored(long unscored) { this.unscored = unscored; }
+
+    public long getBelowRange() { return belowRange; }
+    public void setBelowRange(long belowRange) { this.belowRange = belowRange; }
+
+    public long getAboveRange() { return aboveRange; }
+    public void setAboveRange(long aboveRange) { this.aboveRange = aboveRange; }
+
+    public double getMean() { return mean; }
+    public void setMean(double mean) { this.mean = mean; }
+
+    public long getSnapshotVersion() { return snapshotVersion; }
+    public void setSnapshotVersion(long snapshotVersion) { this.snapshotVersion = snapshotVersion; }
+
+    public long getTookMicros() { return tookMicros; }
+    public void setTookMicros(long tookMicros) { this.tookMicros = tookMicros; }
+}
@@ -0,0 +1,37 @@
+package com.college.student.dto;
+
+import com.college.student.entity.StudentStatus;
+
+/**
+ * Identity of a student without the rest of the record: id, student ID, email and status
+ */
+public class StudentDirectoryEntry {
+
+    private Long id;
+    private String studentId;
+    private String email;
+    private StudentStatus status;
+
+    // Default constructor
+    public StudentDirectoryEntry() {}
+
+    public StudentDirectoryEntry(Long id, String studentId, String email, StudentStatus status) {
+        this.id = id;
+        this.studentId = studentId;
+        this.email = email;
+        this.status = status;
+    }
+
+    // Getters and Setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public String getStudentId() { return studentId; }
+    public void setStudentId(String studentId) { this.studentId = studentId; }
+
+    public String getEmail() { return email; }
+    public void setEmail(String email) { this.email = email; }
+
+    public StudentStatus getStatus() { return status; }
+    public void setStatus(StudentStatus status) { this.status = status; }
+}
@@ -0,0 +1,112 @@
+package com.college.student.entity;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotNull;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Academic record entity representing one semester of a student's results
+ */
+@Entity
+@Table(name = "academic_records")
+public class AcademicRecord {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "student_id", nullable = false)
+    private Student student;
+
+    @Column(name = "semester", nullable = false)
+    @NotNull(message = "Semester is required")
+    private Integer semester;
+
+    @Column(name = "year", nullable = false)
+    @NotNull(message = "Year is required")
+    private Integer year;
+
+    @Column(name = "gpa", precision = 4, scale = 2)
+    private BigDecimal gpa;
+
+    @Column(name = "total_credits")
+    private Integer totalCredits;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", length = 20)
+    private AcademicRecordStatus status = AcademicRecordStatus.IN_PROGRESS;
+
+    @CreationTimestamp
+    @Column(name = "created_at", updatable = false)
+    private LocalDateTime createdAt;
+
+    @UpdateTimestamp
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    // Default constructor
+    public AcademicRecord() {}
+
+    /**
+     * Quality points this record adds to the cumulative GPA; zero unless completed with a grade
+     */
+    public BigDecimal qualityPoints() {
+        return countsTowardGpa() ? gpa.multiply(BigDecimal.valueOf(totalCredits)) : BigDecimal.ZERO;
+    }
+
+    /**
+     * Credits this record adds to the cumulative GPA denominator
+     */
+    public int gpaCredits() {
+        return countsTowardGpa() ? totalCredits : 0;
+    }
+
+    private boolean countsTowardGpa() {
+        return status == AcademicRecordStatus.COMPLETED && gpa != null && totalCredits != null && totalCredits > 0;
+    }
+
+    // Getters and Setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public Student getStudent() { return student; }
+    public void setStudent(Student student) { this.student = student; }
+
+    public Integer getSemester() { return semester; }
+    public void setSemester(Integer semester) { this.semester = semester; }
+
+    public Integer getYear() { return year; }
+    public void setYear(Integer year) { this.year = year; }
+
+    public BigDecimal getGpa() { return gpa; }
+    public void setGpa(BigDecimal gpa) { this.gpa = gpa; }
+
+    public Integer getTotalCredits() { return totalCredits; }
+    public void setTotalCredits(Integer totalCredits) { this.totalCredits = totalCredits; }
+
+    public AcademicRecordStatus getStatus() { return status; }
+    public void setStatus(AcademicRecordStatus status) { this.status = status; }
+
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
+
+    public LocalDateTime getUpdatedAt() { return updatedAt; }
+    public void setUpdatedAt(LocalDateTime updatedAt) { this.updatedAt = updatedAt; }
+
+    @Override
+    public String toString() {
+        return "AcademicRecord{" +
+                "id=" + id +
+                ", semester=" + semester +
+                ", year=" + year +
+                ", gpa=" + gpa +
+                ", totalCredits=" + totalCredits +
+                ", status=" + status +
+                '}';
+    }
+}
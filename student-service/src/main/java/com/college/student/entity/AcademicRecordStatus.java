@@ -0,0 +1,10 @@
+package com.college.student.entity;
+
+/**
+ * Enumeration for academic record status
+ */
+public enum AcademicRecordStatus {
+    IN_PROGRESS,
+    COMPLETED,
+    WITHDRAWN
+}
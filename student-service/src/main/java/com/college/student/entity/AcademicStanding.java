@@ -0,0 +1,49 @@
+package com.college.student.entity;
+
+import jakarta.persistence.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Running cumulative GPA of a student, maintained incrementally from academic records
+ */
+@Entity
+@Table(name = "academic_standings")
+public class AcademicStanding {
+
+    @Id
+    @Column(name = "student_id")
+    private Long studentId;
+
+    @Column(name = "quality_points", nullable = false, precision = 14, scale = 2)
+    private BigDecimal qualityPoints;
+
+    @Column(name = "credits_earned", nullable = false)
+    private Integer creditsEarned;
+
+    @Column(name = "cumulative_gpa", precision = 5, scale = 3)
+    private BigDecimal cumulativeGpa;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    // Default constructor
+    public AcademicStanding() {}
+
+    // Getters and Setters
+    public Long getStudentId() { return studentId; }
+    public void setStudentId(Long studentId) { this.studentId = studentId; }
+
+    public BigDecimal getQualityPoints() { return qualityPoints; }
+    public void setQualityPoints(BigDecimal qualityPoints) { this.qualityPoints = qualityPoints; }
+
+    public Integer getCreditsEarned() { return creditsEarned; }
+    public void setCreditsEarned(Integer creditsEarned) { this.creditsEarned = creditsEarned; }
+
+    public BigDecimal getCumulativeGpa() { return cumulativeGpa; }
+    public void setCumulativeGpa(BigDecimal cumulativeGpa) { this.cumulativeGpa = cumulativeGpa; }
+
+    public LocalDateTime getUpdatedAt() { return updatedAt; }
+    public void setUpdatedAt(LocalDateTime updatedAt) { this.updatedAt = updatedAt; }
+}
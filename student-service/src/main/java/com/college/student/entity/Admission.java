@@ -5,7 +5,10 @@ import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import com.fasterxml.jackson.annotation.JsonFormat;
 import com.fasterxml.jackson.annotation.JsonBackReference;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.UpdateTimestamp;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
@@ -14,7 +17,15 @@ import java.time.LocalDateTime;
  * Admission entity representing student admission records
  */
 @Entity
-@Table(name = "admissions")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "admissions")
+@Table(name = "admissions", indexes = {
+    @Index(name = "idx_admission_updated_at_id", columnList = "updated_at, id"),
+    @Index(name = "idx_admission_student_id", columnList = "student_id"),
+    @Index(name = "idx_admission_status", columnList = "admission_status"),
+    @Index(name = "idx_admission_year", columnList = "admission_year"),
+    @Index(name = "idx_admission_program", columnList = "program")
+})
 public class Admission {
 
     @Id
@@ -52,6 +63,10 @@ public class Admission {
     @Column(name = "created_at", updatable = false)
     private LocalDateTime createdAt;
 
+    @UpdateTimestamp
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
     // Default constructor
     public Admission() {}
 
@@ -91,6 +106,9 @@ public class Admission {
     public LocalDateTime getCreatedAt() { return createdAt; }
     public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
 
+    public LocalDateTime getUpdatedAt() { return updatedAt; }
+    public void setUpdatedAt(LocalDateTime updatedAt) { this.updatedAt = updatedAt; }
+
     @Override
     public String toString() {
         return "Admission{" +
@@ -8,5 +8,24 @@ public enum AdmissionStatus {
     APPROVED,
     REJECTED,
     WAITLISTED,
-    CANCELLED
-}
\ No newline at end of file
+    CANCELLED;
+
+    /**
+     * Whether a decision may move an admission from this status to next
+     *
+     * Pending and waitlisted applications can be decided either way or
+     * cancelled, an approval can only be cancelled, and rejections and
+     * cancellations are final.
+     */
+    public boolean canBecome(AdmissionStatus next) {
+        if (next == this) {
+            return true;
+        }
+        return switch (this) {
+            case PENDING -> true;
+            case WAITLISTED -> next != PENDING;
+            case APPROVED -> next == CANCELLED;
+            case REJECTED, CANCELLED -> false;
+        };
+    }
+}
@@ -0,0 +1,65 @@
+package com.college.student.entity;
+
+import jakarta.persistence.*;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDateTime;
+
+/**
+ * Department entity; students reference it by its integer ID
+ */
+@Entity
+@Table(name = "departments")
+public class Department {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Integer id;
+
+    @Column(name = "dept_code", unique = true, nullable = false, length = 50)
+    private String code;
+
+    @Column(name = "dept_name", nullable = false, length = 100)
+    private String name;
+
+    @Column(name = "head_of_department", length = 100)
+    private String headOfDepartment;
+
+    @Column(name = "established_year")
+    private Integer establishedYear;
+
+    @CreationTimestamp
+    @Column(name = "created_at", updatable = false)
+    private LocalDateTime createdAt;
+
+    // Default constructor
+    public Department() {}
+
+    // Getters and Setters
+    public Integer getId() { return id; }
+    public void setId(Integer id) { this.id = id; }
+
+    public String getCode() { return code; }
+    public void setCode(String code) { this.code = code; }
+
+    public String getName() { return name; }
+    public void setName(String name) { this.name = name; }
+
+    public String getHeadOfDepartment() { return headOfDepartment; }
+    public void setHeadOfDepartment(String headOfDepartment) { this.headOfDepartment = headOfDepartment; }
+
+    public Integer getEstablishedYear() { return establishedYear; }
+    public void setEstablishedYear(Integer establishedYear) { this.establishedYear = establishedYear; }
+
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
+
+    @Override
+    public String toString() {
+        return "Department{" +
+                "id=" + id +
+                ", code='" + code + '\'' +
+                ", name='" + name + '\'' +
+                '}';
+    }
+}
@@ -6,6 +6,8 @@ import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Past;
 import jakarta.validation.constraints.Pattern;
 import com.fasterxml.jackson.annotation.JsonFormat;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 
@@ -16,11 +18,26 @@ import java.util.List;
 
 /**
  * Student entity representing a student in the college management system
+ *
+ * Partial and trigram indexes that JPA cannot express live in the Flyway
+ * migrations only (V4__query_indexes.sql).
+ *
+ * Cached in the second-level cache together with its admissions collection
+ * (regions configured in hibernate-cache.conf).
  */
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "students")
 @Table(name = "students", indexes = {
     @Index(name = "idx_student_email", columnList = "email", unique = true),
-    @Index(name = "idx_student_student_id", columnList = "student_id", unique = true)
+    @Index(name = "idx_student_student_id", columnList = "student_id", unique = true),
+    @Index(name = "idx_student_department_id", columnList = "department_id, id"),
+    @Index(name = "idx_student_department_status", columnList = "department_id, status"),
+    @Index(name = "idx_student_status_id", columnList = "status, id"),
+    @Index(name = "idx_student_year_of_study", columnList = "year_of_study, id"),
+    @Index(name = "idx_student_last_name_id", columnList = "last_name, id"),
+    @Index(name = "idx_student_created_at_id", columnList = "created_at, id"),
+    @Index(name = "idx_student_updated_at_id", columnList = "updated_at, id")
 })
 public class Student {
 
@@ -57,8 +74,8 @@ public class Student {
     @Column(name = "address", columnDefinition = "TEXT")
     private String address;
 
-    @Column(name = "department", length = 50)
-    private String department;
+    @Column(name = "department_id")
+    private Integer departmentId;
 
     @Column(name = "year_of_study")
     private Integer yearOfStudy;
@@ -68,6 +85,7 @@ public class Student {
     private StudentStatus status = StudentStatus.ACTIVE;
 
     @OneToMany(mappedBy = "student", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "student-admissions")
     private List<Admission> admissions = new ArrayList<>();
 
     @CreationTimestamp
@@ -114,8 +132,8 @@ public class Student {
     public String getAddress() { return address; }
     public void setAddress(String address) { this.address = address; }
 
-    public String getDepartment() { return department; }
-    public void setDepartment(String department) { this.department = department; }
+    public Integer getDepartmentId() { return departmentId; }
+    public void setDepartmentId(Integer departmentId) { this.departmentId = departmentId; }
 
     public Integer getYearOfStudy() { return yearOfStudy; }
     public void setYearOfStudy(Integer yearOfStudy) { this.yearOfStudy = yearOfStudy; }
@@ -145,7 +163,7 @@ public class Student {
                 ", firstName='" + firstName + '\'' +
                 ", lastName='" + lastName + '\'' +
                 ", email='" + email + '\'' +
-                ", department='" + department + '\'' +
+                ", departmentId=" + departmentId +
                 ", status=" + status +
                 '}';
     }
@@ -0,0 +1,68 @@
+package com.college.student.repository;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+
+import javax.sql.DataSource;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Streaming reads over academic standings for department rankings
+ *
+ * Rows are pushed to a callback one at a time with a bounded fetch size, so a
+ * ranking over every student never materialises a list of entities. The
+ * PostgreSQL driver only honours the fetch size inside a transaction.
+ */
+@Repository
+public class AcademicRankingRepository {
+
+    private static final int FETCH_SIZE = 1000;
+
+    private static final String RANKED_STANDINGS =
+            "SELECT COALESCE(s.department_id, 0), s.id, s.student_id, st.cumulative_gpa, st.credits_earned " +
+            "FROM academic_standings st JOIN students s ON s.id = st.student_id " +
+            "WHERE st.cumulative_gpa IS NOT NULL";
+
+    private static final String ORDER = " ORDER BY s.department_id NULLS LAST, st.cumulative_gpa DESC, s.id";
+
+    private static final String DEPARTMENT_SIZES =
+            "SELECT COALESCE(s.department_id, 0), count(*) " +
+            "FROM academic_standings st JOIN students s ON s.id = st.student_id " +
+            "WHERE st.cumulative_gpa IS NOT NULL";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public AcademicRankingRepository(DataSource dataSource) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate.setFetchSize(FETCH_SIZE);
+    }
+
+    /**
+     * Stream (department_id, id, student_id, cumulative_gpa, credits_earned) ordered by department then GPA descending
+     *
+     * Students without a department report department_id 0.
+     */
+    public void streamRankedStandings(Integer departmentId, RowCallbackHandler handler) {
+        if (departmentId == null) {
+            jdbcTemplate.query(RANKED_STANDINGS + ORDER, handler);
+        } else {
+            jdbcTemplate.query(RANKED_STANDINGS + " AND s.department_id = ?" + ORDER, handler, departmentId);
+        }
+    }
+
+    /**
+     * Number of graded students per department, needed up front to turn ranks into percentiles
+     */
+    public Map<Integer, Integer> countGradedStudentsByDepartment(Integer departmentId) {
+        Map<Integer, Integer> sizes = new HashMap<>();
+        RowCallbackHandler collect = rs -> sizes.put(rs.getInt(1), rs.getInt(2));
+        if (departmentId == null) {
+            jdbcTemplate.query(DEPARTMENT_SIZES + " GROUP BY s.department_id", collect);
+        } else {
+            jdbcTemplate.query(DEPARTMENT_SIZES + " AND s.department_id = ? GROUP BY s.department_id", collect, departmentId);
+        }
+        return sizes;
+    }
+}
@@ -0,0 +1,31 @@
+package com.college.student.repository;
+
+import com.college.student.entity.AcademicRecord;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Repository interface for AcademicRecord entity operations
+ */
+@Repository
+public interface AcademicRecordRepository extends JpaRepository<AcademicRecord, Long> {
+
+    /**
+     * Find academic records of a student in semester order
+     */
+    List<AcademicRecord> findByStudentIdOrderByYearAscSemesterAsc(Long studentId);
+
+    /**
+     * Find academic record by ID, locking the row so concurrent edits apply their GPA deltas in turn
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT r FROM AcademicRecord r JOIN FETCH r.student WHERE r.id = :id")
+    Optional<AcademicRecord> findByIdForUpdate(@Param("id") Long id);
+}
@@ -0,0 +1,40 @@
+package com.college.student.repository;
+
+import com.college.student.entity.AcademicStanding;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+
+/**
+ * Repository interface for AcademicStanding entity operations
+ */
+@Repository
+public interface AcademicStandingRepository extends JpaRepository<AcademicStanding, Long> {
+
+    /**
+     * Create an empty standing for the student if it has none yet
+     */
+    @Modifying
+    @Query(value = "INSERT INTO academic_standings (student_id, quality_points, credits_earned) " +
+            "VALUES (:studentId, 0, 0) ON CONFLICT (student_id) DO NOTHING", nativeQuery = true)
+    int ensureExists(@Param("studentId") Long studentId);
+
+    /**
+     * Add a quality point / credit delta and recompute the cumulative GPA in the same row update
+     */
+    @Modifying
+    @Query(value = "UPDATE academic_standings SET " +
+            "quality_points = quality_points + :qualityPoints, " +
+            "credits_earned = credits_earned + :credits, " +
+            "cumulative_gpa = CASE WHEN credits_earned + :credits > 0 " +
+            "THEN ROUND((quality_points + :qualityPoints) / (credits_earned + :credits), 3) END, " +
+            "updated_at = CURRENT_TIMESTAMP " +
+            "WHERE student_id = :studentId", nativeQuery = true)
+    int applyDelta(@Param("studentId") Long studentId,
+                   @Param("qualityPoints") BigDecimal qualityPoints,
+                   @Param("credits") int credits);
+}
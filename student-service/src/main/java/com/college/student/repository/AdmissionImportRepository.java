@@ -0,0 +1,106 @@
+package com.college.student.repository;
+
+import com.college.student.entity.AdmissionStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import javax.sql.DataSource;
+import java.sql.Date;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Set-based reads and batched writes of admissions for bulk imports
+ *
+ * Each call handles a whole batch of rows in one statement or one JDBC batch,
+ * on the database the caller is routed to.
+ */
+@Repository
+public class AdmissionImportRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public AdmissionImportRepository(DataSource dataSource) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+    }
+
+    /**
+     * An admission as imported; id is null for one not written yet
+     */
+    public record Row(Long id, long studentId, int admissionYear, String program, LocalDate admissionDate,
+                      AdmissionStatus status, Double entranceScore, String remarks) {}
+
+    /**
+     * Ids of the live students with the given student IDs, by student ID
+     */
+    public Map<String, Long> findStudentIds(Collection<String> studentIds) {
+        Map<String, Long> ids = new HashMap<>();
+        jdbcTemplate.query("SELECT student_id, id FROM students WHERE student_id = ANY(?)",
+                ps -> ps.setArray(1, ps.getConnection().createArrayOf("varchar", studentIds.toArray())),
+                rs -> {
+                    ids.put(rs.getString(1), rs.getLong(2));
+                });
+        return ids;
+    }
+
+    /**
+     * Admissions of the given students
+     */
+    public List<Row> findByStudentIds(Collection<Long> studentIds) {
+        return jdbcTemplate.query("SELECT id, student_id, admission_year, program, admission_date, " +
+                        "admission_status, entrance_score, remarks FROM admissions WHERE student_id = ANY(?) ORDER BY id",
+                ps -> ps.setArray(1, ps.getConnection().createArrayOf("bigint", studentIds.toArray())),
+                (rs, row) -> {
+                    String status = rs.getString(6);
+                    return new Row(rs.getLong(1), rs.getLong(2), rs.getInt(3), rs.getString(4),
+                            rs.getObject(5, LocalDate.class), status == null ? null : AdmissionStatus.valueOf(status),
+                            rs.getObject(7, Double.class), rs.getString(8));
+                });
+    }
+
+    /**
+     * Insert new admissions as one JDBC batch
+     */
+    public void insert(List<Row> rows) {
+        jdbcTemplate.batchUpdate("INSERT INTO admissions (student_id, admission_year, program, admission_date, " +
+                        "admission_status, entrance_score, remarks, created_at, updated_at) " +
+                        "VALUES (?, ?, ?, ?, ?, ?, ?, LOCALTIMESTAMP, LOCALTIMESTAMP)",
+                rows, rows.size(), (ps, row) -> {
+                    ps.setLong(1, row.studentId());
+                    ps.setInt(2, row.admissionYear());
+                    ps.setString(3, row.program());
+                    ps.setObject(4, row.admissionDate() == null ? null : Date.valueOf(row.admissionDate()), Types.DATE);
+                    ps.setString(5, row.status().name());
+                    ps.setObject(6, row.entranceScore(), Types.DOUBLE);
+                    ps.setString(7, row.remarks());
+                });
+    }
+
+    /**
+     * Record decisions on existing admissions as one JDBC batch, each only while its admission still has the
+     * status the decision was made against
+     *
+     * @return rows updated per decision, in order: 0 where the status changed since it was read
+     */
+    public int[] update(List<Row> rows, List<AdmissionStatus> expectedStatuses) {
+        int[] next = {0};
+        int[][] batches = jdbcTemplate.batchUpdate("UPDATE admissions SET admission_status = ?, entrance_score = ?, remarks = ?, " +
+                        "admission_date = COALESCE(?, admission_date), updated_at = LOCALTIMESTAMP " +
+                        "WHERE id = ? AND admission_status IS NOT DISTINCT FROM ?",
+                rows, rows.size(), (ps, row) -> {
+                    AdmissionStatus expected = expectedStatuses.get(next[0]++);
+                    ps.setString(1, row.status().name());
+                    ps.setObject(2, row.entranceScore(), Types.DOUBLE);
+                    ps.setString(3, row.remarks());
+                    ps.setObject(4, row.admissionDate() == null ? null : Date.valueOf(row.admissionDate()), Types.DATE);
+                    ps.setLong(5, row.id());
+                    ps.setString(6, expected == null ? null : expected.name());
+                });
+        // One batch, as batchSize is the number of rows
+        return batches.length == 0 ? new int[0] : batches[0];
+    }
+}
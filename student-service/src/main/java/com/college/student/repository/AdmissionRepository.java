@@ -2,11 +2,15 @@ package com.college.student.repository;
 
 import com.college.student.entity.Admission;
 import com.college.student.entity.AdmissionStatus;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -15,11 +19,21 @@ import java.util.List;
 @Repository
 public interface AdmissionRepository extends JpaRepository<Admission, Long> {
 
+    /**
+     * Query cache region of the program list
+     */
+    String PROGRAMS_REGION = "admission-programs";
+
     /**
      * Find admissions by student ID
      */
     List<Admission> findByStudentId(Long studentId);
 
+    /**
+     * Find admissions of several students by their IDs
+     */
+    List<Admission> findByStudentIdIn(Collection<Long> studentIds);
+
     /**
      * Find admissions by student student ID
      */
@@ -52,8 +66,19 @@ public interface AdmissionRepository extends JpaRepository<Admission, Long> {
     long countByAdmissionYear(Integer year);
 
     /**
-     * Find all programs
+     * Find all programs, cached until an admission is written
      */
+    @QueryHints({@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+                 @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = PROGRAMS_REGION)})
     @Query("SELECT DISTINCT a.program FROM Admission a ORDER BY a.program")
     List<String> findAllPrograms();
-}
\ No newline at end of file
+
+    /**
+     * (id, change_xid) of the admissions written after the (changeXid, id) position by transactions
+     * older than before, in that order
+     */
+    @Query(value = "SELECT a.id, a.change_xid FROM admissions a WHERE (a.change_xid, a.id) > (:changeXid, :id) " +
+                   "AND a.change_xid < :before ORDER BY a.change_xid, a.id LIMIT :limit", nativeQuery = true)
+    List<Object[]> findChangedAfter(@Param("changeXid") long changeXid, @Param("id") long id,
+                                    @Param("before") long before, @Param("limit") int limit);
+}
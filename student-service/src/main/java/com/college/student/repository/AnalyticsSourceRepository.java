@@ -0,0 +1,61 @@
+package com.college.student.repository;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+
+import javax.sql.DataSource;
+import java.sql.Timestamp;
+
+/**
+ * Streaming column reads that feed the in-memory analytics snapshot
+ *
+ * A full build reads every row; an incremental refresh reads rows whose
+ * updated_at is at or after a watermark, served by the (updated_at, id)
+ * indexes. Like the ranking reads, the fetch size only applies inside a
+ * transaction.
+ */
+@Repository
+public class AnalyticsSourceRepository {
+
+    private static final int FETCH_SIZE = 5000;
+
+    private static final String STUDENTS =
+            "SELECT id, COALESCE(department_id, 0), status, COALESCE(year_of_study, 0), updated_at FROM students";
+
+    private static final String ADMISSIONS =
+            "SELECT id, program, admission_year, admission_status, entrance_score, updated_at FROM admissions";
+
+    private static final String CHANGED_SINCE = " WHERE updated_at >= ? ORDER BY updated_at, id";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public AnalyticsSourceRepository(DataSource dataSource) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate.setFetchSize(FETCH_SIZE);
+    }
+
+    /**
+     * Stream (id, department_id, status, year_of_study, updated_at), all rows when since is null
+     *
+     * A missing department or year is reported as 0.
+     */
+    public void streamStudents(Timestamp since, RowCallbackHandler handler) {
+        if (since == null) {
+            jdbcTemplate.query(STUDENTS, handler);
+        } else {
+            jdbcTemplate.query(STUDENTS + CHANGED_SINCE, handler, since);
+        }
+    }
+
+    /**
+     * Stream (id, program, admission_year, admission_status, entrance_score, updated_at), all rows when since is null
+     */
+    public void streamAdmissions(Timestamp since, RowCallbackHandler handler) {
+        if (since == null) {
+            jdbcTemplate.query(ADMISSIONS, handler);
+        } else {
+            jdbcTemplate.query(ADMISSIONS + CHANGED_SINCE, handler, since);
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.college.student.repository;
+
+import com.college.student.dto.AuditEvent;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import javax.sql.DataSource;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Batched inserts into audit_events, run by the audit writer outside any request transaction
+ */
+@Repository
+public class AuditEventRepository {
+
+    private static final String INSERT = "INSERT INTO audit_events "
+            + "(occurred_at, action, entity_type, entity_id, entity_key, details) VALUES (?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public AuditEventRepository(DataSource dataSource) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+    }
+
+    /**
+     * Insert the events as one JDBC batch; details are stored as rendered by detailsJson
+     */
+    public void insertBatch(List<AuditEvent> events, Function<AuditEvent, String> detailsJson) {
+        jdbcTemplate.batchUpdate(INSERT, events, events.size(), (ps, event) -> {
+            ps.setTimestamp(1, Timestamp.from(event.getOccurredAt()));
+            ps.setString(2, event.getAction().name());
+            ps.setString(3, event.getEntityType());
+            if (event.getEntityId() == null) {
+                ps.setNull(4, Types.BIGINT);
+            } else {
+                ps.setLong(4, event.getEntityId());
+            }
+            ps.setString(5, event.getEntityKey());
+            ps.setString(6, detailsJson.apply(event));
+        });
+    }
+}
@@ -0,0 +1,73 @@
+package com.college.student.repository;
+
+import com.college.student.dto.DeletedRecord;
+import com.college.student.util.ChangeFeedToken.Position;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import javax.sql.DataSource;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Reads and retention of change_tombstones, the deletes of the changes feed, and the feed's transaction horizon
+ */
+@Repository
+public class ChangeTombstoneRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public ChangeTombstoneRepository(DataSource dataSource) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+    }
+
+    /**
+     * Id of the oldest transaction still running; every transaction before it has committed or rolled back
+     */
+    public long oldestRunningTransaction() {
+        Long xmin = jdbcTemplate.queryForObject("SELECT pg_snapshot_xmin(pg_current_snapshot())::text::bigint",
+                Long.class);
+        return xmin == null ? 0 : xmin;
+    }
+
+    /**
+     * Tombstones after the (changeXid, id) position written by transactions older than before, in that order
+     *
+     * The id of each tombstone comes back as the record's position in the
+     * stream; it is not the id of the deleted row.
+     */
+    public List<Tombstone> findAfter(long changeXid, long id, long before, int limit) {
+        return jdbcTemplate.query(
+                "SELECT change_xid, id, entity_type, entity_id, student_id, deleted_at FROM change_tombstones " +
+                "WHERE (change_xid, id) > (?, ?) AND change_xid < ? ORDER BY change_xid, id LIMIT ?",
+                (rs, row) -> new Tombstone(rs.getLong(1), rs.getLong(2), new DeletedRecord(rs.getString(3),
+                        rs.getLong(4), rs.getObject(5, Long.class), rs.getObject(6, LocalDateTime.class))),
+                changeXid, id, before, limit);
+    }
+
+    /**
+     * Drop tombstones deleted before the cutoff and move the purge horizon past them; returns how many went
+     */
+    public int deleteOlderThan(LocalDateTime cutoff) {
+        Integer purged = jdbcTemplate.queryForObject(
+                "WITH purged AS (DELETE FROM change_tombstones WHERE deleted_at < ? RETURNING change_xid, id), " +
+                "last AS (SELECT change_xid, id FROM purged ORDER BY change_xid DESC, id DESC LIMIT 1), " +
+                "moved AS (UPDATE change_feed_horizon h SET purged_xid = last.change_xid, purged_id = last.id " +
+                "FROM last WHERE (h.purged_xid, h.purged_id) < (last.change_xid, last.id)) " +
+                "SELECT count(*) FROM purged", Integer.class, cutoff);
+        return purged == null ? 0 : purged;
+    }
+
+    /**
+     * (change_xid, id) of the last tombstone purged; a position behind it may have missed deletes
+     */
+    public Position purgedUpTo() {
+        return jdbcTemplate.queryForObject("SELECT purged_xid, purged_id FROM change_feed_horizon WHERE id = 1",
+                (rs, row) -> new Position(rs.getLong(1), rs.getLong(2)));
+    }
+
+    /**
+     * A tombstone with the (change_xid, id) that orders it within the feed
+     */
+    public record Tombstone(long changeXid, long id, DeletedRecord record) {}
+}
@@ -0,0 +1,29 @@
+package com.college.student.repository;
+
+import com.college.student.entity.Department;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+/**
+ * Repository interface for Department entity operations
+ */
+@Repository
+public interface DepartmentRepository extends JpaRepository<Department, Integer> {
+
+    /**
+     * Find department by code
+     */
+    Optional<Department> findByCode(String code);
+
+    /**
+     * Insert a department under an id allocated on shard 0, for the copies kept on the other shards
+     */
+    @Modifying
+    @Query(value = "INSERT INTO departments (id, dept_code, dept_name) VALUES (:id, :code, :name)", nativeQuery = true)
+    int insertWithId(@Param("id") Integer id, @Param("code") String code, @Param("name") String name);
+}
@@ -0,0 +1,54 @@
+package com.college.student.repository;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+
+import javax.sql.DataSource;
+import java.sql.Timestamp;
+
+/**
+ * Streaming reads of admissions for merit list ranking
+ *
+ * Candidates are PENDING, APPROVED or WAITLISTED admissions with an entrance
+ * score. The full read is ordered by partition so each (program, year) arrives
+ * contiguously; the changed-rows read returns every status so admissions that
+ * stopped being candidates can be dropped.
+ */
+@Repository
+public class MeritCandidateRepository {
+
+    private static final int FETCH_SIZE = 5000;
+
+    private static final String COLUMNS =
+            "SELECT id, student_id, program, admission_year, " +
+            "admission_status IN ('PENDING', 'APPROVED', 'WAITLISTED') AND entrance_score IS NOT NULL, " +
+            "entrance_score, updated_at FROM admissions";
+
+    private static final String CANDIDATES = COLUMNS +
+            " WHERE admission_status IN ('PENDING', 'APPROVED', 'WAITLISTED') AND entrance_score IS NOT NULL" +
+            " ORDER BY program, admission_year";
+
+    private static final String CHANGED_SINCE = COLUMNS + " WHERE updated_at >= ? ORDER BY updated_at, id";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public MeritCandidateRepository(DataSource dataSource) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate.setFetchSize(FETCH_SIZE);
+    }
+
+    /**
+     * Stream (id, student_id, program, admission_year, is_candidate, entrance_score, updated_at) of every candidate
+     */
+    public void streamCandidates(RowCallbackHandler handler) {
+        jdbcTemplate.query(CANDIDATES, handler);
+    }
+
+    /**
+     * Stream the same columns for admissions updated at or after since, candidates or not
+     */
+    public void streamChangedSince(Timestamp since, RowCallbackHandler handler) {
+        jdbcTemplate.query(CHANGED_SINCE, handler, since);
+    }
+}
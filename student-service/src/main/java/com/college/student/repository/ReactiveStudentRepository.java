@@ -0,0 +1,213 @@
+package com.college.student.repository;
+
+import com.college.student.dto.AdmissionDto;
+import com.college.student.dto.StudentDto;
+import com.college.student.entity.AdmissionStatus;
+import com.college.student.entity.StudentStatus;
+import com.college.student.util.DepartmentDictionary;
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.spi.Readable;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.r2dbc.core.DatabaseClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Non-blocking, read-only access to students over R2DBC
+ *
+ * Produces the same StudentDto shape as StudentMapper. Admissions are always
+ * fetched with one ANY(...) query per group of students instead of per row.
+ * Lookups by key fall back to student_archive, as StudentServiceImpl does,
+ * leaving out soft-deleted students; streams cover live students only.
+ */
+public class ReactiveStudentRepository implements DisposableBean {
+
+    private static final String STUDENT_COLUMNS =
+            "id, student_id, first_name, last_name, email, phone, date_of_birth, address, " +
+            "department_id, year_of_study, status, created_at, updated_at";
+
+    private static final int STREAM_CHUNK_SIZE = 256;
+
+    /**
+     * Where students and their admissions are read from, and which of those students are visible
+     */
+    private enum Tables {
+        LIVE("students", "admissions", "TRUE"),
+        ARCHIVED("student_archive", "admission_archive", "deleted_at IS NULL");
+
+        final String students;
+        final String admissions;
+        final String visible;
+
+        Tables(String students, String admissions, String visible) {
+            this.students = students;
+            this.admissions = admissions;
+            this.visible = visible;
+        }
+    }
+
+    private final ConnectionPool connectionPool;
+    private final DatabaseClient databaseClient;
+    private final DepartmentDictionary departmentDictionary;
+
+    public ReactiveStudentRepository(ConnectionPool connectionPool, DepartmentDictionary departmentDictionary) {
+        this.connectionPool = connectionPool;
+        this.databaseClient = DatabaseClient.create(connectionPool);
+        this.departmentDictionary = departmentDictionary;
+    }
+
+    /**
+     * Find student by ID, with admissions, live or archived
+     */
+    public Mono<StudentDto> findById(Long id) {
+        return findOne(Tables.LIVE, "id", id)
+                .switchIfEmpty(Mono.defer(() -> findOne(Tables.ARCHIVED, "id", id)));
+    }
+
+    /**
+     * Find student by student ID, with admissions, live or archived
+     */
+    public Mono<StudentDto> findByStudentId(String studentId) {
+        return findOne(Tables.LIVE, "student_id", studentId)
+                .switchIfEmpty(Mono.defer(() -> findOne(Tables.ARCHIVED, "student_id", studentId)));
+    }
+
+    /**
+     * Find students by IDs, live or archived, ordered by ID, with admissions; missing IDs are skipped
+     *
+     * One round trip for the live students, and one more only when some IDs were not among them.
+     */
+    public Flux<StudentDto> findAllById(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return Flux.empty();
+        }
+        return findAll(Tables.LIVE, ids).collectList().flatMapMany(live -> {
+            Set<Long> missing = new LinkedHashSet<>(ids);
+            live.forEach(student -> missing.remove(student.getId()));
+            if (missing.isEmpty()) {
+                return Flux.fromIterable(live);
+            }
+            return findAll(Tables.ARCHIVED, missing).collectList().flatMapMany(archived -> {
+                List<StudentDto> students = new ArrayList<>(live);
+                students.addAll(archived);
+                students.sort(Comparator.comparing(StudentDto::getId));
+                return Flux.fromIterable(students);
+            });
+        });
+    }
+
+    /**
+     * Stream students ordered by ID, optionally filtered by status and department
+     */
+    public Flux<StudentDto> streamAll(StudentStatus status, String department) {
+        StringBuilder sql = new StringBuilder("SELECT " + STUDENT_COLUMNS + " FROM students WHERE 1 = 1");
+        if (status != null) {
+            sql.append(" AND status = :status");
+        }
+        if (department != null) {
+            // Resolved in SQL so an unknown code never makes the event loop wait on a dictionary reload
+            sql.append(" AND department_id = (SELECT id FROM departments WHERE dept_code = :department)");
+        }
+        sql.append(" ORDER BY id");
+
+        DatabaseClient.GenericExecuteSpec spec = databaseClient.sql(sql.toString());
+        if (status != null) {
+            spec = spec.bind("status", status.name());
+        }
+        if (department != null) {
+            spec = spec.bind("department", department);
+        }
+        return spec.map(this::toStudentDto)
+                .all()
+                .buffer(STREAM_CHUNK_SIZE)
+                .concatMap(students -> withAdmissions(Tables.LIVE, students));
+    }
+
+    private Mono<StudentDto> findOne(Tables tables, String column, Object key) {
+        return databaseClient.sql("SELECT " + STUDENT_COLUMNS + " FROM " + tables.students
+                        + " WHERE " + tables.visible + " AND " + column + " = :key LIMIT 1")
+                .bind("key", key)
+                .map(this::toStudentDto)
+                .first()
+                .flatMap(student -> withAdmissions(tables, List.of(student)).next());
+    }
+
+    private Flux<StudentDto> findAll(Tables tables, Collection<Long> ids) {
+        return databaseClient.sql("SELECT " + STUDENT_COLUMNS + " FROM " + tables.students
+                        + " WHERE " + tables.visible + " AND id = ANY(:ids) ORDER BY id")
+                .bind("ids", ids.toArray(new Long[0]))
+                .map(this::toStudentDto)
+                .all()
+                .collectList()
+                .flatMapMany(students -> withAdmissions(tables, students));
+    }
+
+    private Flux<StudentDto> withAdmissions(Tables tables, List<StudentDto> students) {
+        if (students.isEmpty()) {
+            return Flux.empty();
+        }
+        Map<Long, StudentDto> byId = new LinkedHashMap<>();
+        for (StudentDto student : students) {
+            student.setAdmissions(new ArrayList<>());
+            byId.put(student.getId(), student);
+        }
+        return databaseClient.sql("SELECT id, student_id, admission_year, program, admission_date, " +
+                        "admission_status, entrance_score, remarks, created_at " +
+                        "FROM " + tables.admissions + " WHERE student_id = ANY(:ids) ORDER BY id")
+                .bind("ids", byId.keySet().toArray(new Long[0]))
+                .map(ReactiveStudentRepository::toAdmissionDto)
+                .all()
+                .doOnNext(admission -> byId.get(admission.getStudentId()).getAdmissions().add(admission))
+                .thenMany(Flux.fromIterable(byId.values()));
+    }
+
+    private StudentDto toStudentDto(Readable row) {
+        StudentDto dto = new StudentDto();
+        dto.setId(row.get("id", Long.class));
+        dto.setStudentId(row.get("student_id", String.class));
+        dto.setFirstName(row.get("first_name", String.class));
+        dto.setLastName(row.get("last_name", String.class));
+        dto.setEmail(row.get("email", String.class));
+        dto.setPhone(row.get("phone", String.class));
+        dto.setDateOfBirth(row.get("date_of_birth", LocalDate.class));
+        dto.setAddress(row.get("address", String.class));
+        dto.setDepartment(departmentDictionary.codeOf(row.get("department_id", Integer.class)));
+        dto.setYearOfStudy(row.get("year_of_study", Integer.class));
+        String status = row.get("status", String.class);
+        dto.setStatus(status == null ? null : StudentStatus.valueOf(status));
+        dto.setCreatedAt(row.get("created_at", LocalDateTime.class));
+        dto.setUpdatedAt(row.get("updated_at", LocalDateTime.class));
+        return dto;
+    }
+
+    private static AdmissionDto toAdmissionDto(Readable row) {
+        AdmissionDto dto = new AdmissionDto();
+        dto.setId(row.get("id", Long.class));
+        dto.setStudentId(row.get("student_id", Long.class));
+        dto.setAdmissionYear(row.get("admission_year", Integer.class));
+        dto.setProgram(row.get("program", String.class));
+        dto.setAdmissionDate(row.get("admission_date", LocalDate.class));
+        String status = row.get("admission_status", String.class);
+        dto.setAdmissionStatus(status == null ? null : AdmissionStatus.valueOf(status));
+        dto.setEntranceScore(row.get("entrance_score", Double.class));
+        dto.setRemarks(row.get("remarks", String.class));
+        dto.setCreatedAt(row.get("created_at", LocalDateTime.class));
+        return dto;
+    }
+
+    @Override
+    public void destroy() {
+        connectionPool.dispose();
+    }
+}
@@ -0,0 +1,242 @@
+package com.college.student.repository;
+
+import com.college.student.entity.AcademicRecord;
+import com.college.student.entity.AcademicRecordStatus;
+import com.college.student.entity.AcademicStanding;
+import com.college.student.entity.Admission;
+import com.college.student.entity.AdmissionStatus;
+import com.college.student.entity.Student;
+import com.college.student.entity.StudentStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementSetter;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Moves students into student_archive, with their admissions, academic records and standing, and reads them back
+ *
+ * Archived rows are returned as detached Student, Admission, AcademicRecord
+ * and AcademicStanding entities, the admissions attached to their student, so
+ * they map to DTOs like live ones. Soft-deleted students are kept in the
+ * archive but never returned.
+ */
+@Repository
+public class StudentArchiveRepository {
+
+    private static final String STUDENT_COLUMNS = "id, student_id, first_name, last_name, email, phone, " +
+            "date_of_birth, address, department_id, year_of_study, status, created_at, updated_at";
+    private static final String ADMISSION_COLUMNS = "id, student_id, admission_year, program, admission_date, " +
+            "admission_status, entrance_score, remarks, created_at, updated_at";
+    private static final String RECORD_COLUMNS = "id, student_id, semester, year, gpa, total_credits, status, " +
+            "created_at, updated_at";
+    private static final String STANDING_COLUMNS = "student_id, quality_points, credits_earned, cumulative_gpa, " +
+            "updated_at";
+
+    // One statement moves the picked students with their admissions, academic records
+    // and standings; the foreign keys are checked at its end, once both sides are gone
+    private static final String MOVE =
+            "WITH picked AS (%s), " +
+            "moved_records AS (DELETE FROM academic_records WHERE student_id IN (SELECT id FROM picked) " +
+            "RETURNING " + RECORD_COLUMNS + "), " +
+            "archived_records AS (INSERT INTO academic_record_archive (" + RECORD_COLUMNS + ") " +
+            "SELECT " + RECORD_COLUMNS + " FROM moved_records), " +
+            "moved_standings AS (DELETE FROM academic_standings WHERE student_id IN (SELECT id FROM picked) " +
+            "RETURNING " + STANDING_COLUMNS + "), " +
+            "archived_standings AS (INSERT INTO academic_standing_archive (" + STANDING_COLUMNS + ") " +
+            "SELECT " + STANDING_COLUMNS + " FROM moved_standings), " +
+            "moved_admissions AS (DELETE FROM admissions WHERE student_id IN (SELECT id FROM picked) " +
+            "RETURNING " + ADMISSION_COLUMNS + "), " +
+            "archived_admissions AS (INSERT INTO admission_archive (" + ADMISSION_COLUMNS + ") " +
+            "SELECT " + ADMISSION_COLUMNS + " FROM moved_admissions RETURNING id), " +
+            "moved_students AS (DELETE FROM students WHERE id IN (SELECT id FROM picked) " +
+            "RETURNING " + STUDENT_COLUMNS + "), " +
+            "archived_students AS (INSERT INTO student_archive (" + STUDENT_COLUMNS + ", deleted_at) " +
+            "SELECT " + STUDENT_COLUMNS + ", %s FROM moved_students RETURNING id) " +
+            "SELECT 'STUDENT', id FROM archived_students UNION ALL SELECT 'ADMISSION', id FROM archived_admissions";
+
+    private static final String ARCHIVED = "SELECT " + STUDENT_COLUMNS + " FROM student_archive " +
+            "WHERE deleted_at IS NULL AND ";
+
+    private static final String OF_ARCHIVED_STUDENT = "EXISTS (SELECT 1 FROM student_archive s " +
+            "WHERE s.id = ? AND s.deleted_at IS NULL)";
+
+    private static final RowMapper<Student> STUDENT = (rs, row) -> {
+        Student student = new Student();
+        student.setId(rs.getLong(1));
+        student.setStudentId(rs.getString(2));
+        student.setFirstName(rs.getString(3));
+        student.setLastName(rs.getString(4));
+        student.setEmail(rs.getString(5));
+        student.setPhone(rs.getString(6));
+        student.setDateOfBirth(rs.getObject(7, LocalDate.class));
+        student.setAddress(rs.getString(8));
+        student.setDepartmentId(rs.getObject(9, Integer.class));
+        student.setYearOfStudy(rs.getObject(10, Integer.class));
+        String status = rs.getString(11);
+        student.setStatus(status == null ? null : StudentStatus.valueOf(status));
+        student.setCreatedAt(rs.getObject(12, LocalDateTime.class));
+        student.setUpdatedAt(rs.getObject(13, LocalDateTime.class));
+        return student;
+    };
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public StudentArchiveRepository(DataSource dataSource) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+    }
+
+    /**
+     * Ids of the students and admissions one move took out of the live tables
+     */
+    public record Moved(List<Long> studentIds, List<Long> admissionIds) {
+
+        public boolean isEmpty() {
+            return studentIds.isEmpty();
+        }
+    }
+
+    /**
+     * Archive up to limit students in one of the statuses whose row has not changed for unchangedFor
+     *
+     * Must run in a transaction; it is marked as archiving, so the changes
+     * feed records no tombstones for it. Rows locked by a writer are skipped
+     * until the next run.
+     */
+    public Moved archiveInactive(Collection<StudentStatus> statuses, Duration unchangedFor, int limit) {
+        jdbcTemplate.queryForObject("SELECT set_config('student.archiving', 'on', true)", String.class);
+        String picked = "SELECT id FROM students WHERE status = ANY(?) " +
+                "AND updated_at < LOCALTIMESTAMP - make_interval(secs => ?) ORDER BY id LIMIT ? FOR UPDATE SKIP LOCKED";
+        String[] names = statuses.stream().map(Enum::name).toArray(String[]::new);
+        return move(String.format(MOVE, picked, "NULL"), ps -> {
+            ps.setArray(1, ps.getConnection().createArrayOf("varchar", names));
+            ps.setDouble(2, unchangedFor.toMillis() / 1000.0);
+            ps.setInt(3, limit);
+        });
+    }
+
+    /**
+     * Move one student into the archive as deleted; empty when there is no such live student
+     */
+    public Moved softDelete(long id) {
+        String picked = "SELECT id FROM students WHERE id = ? FOR UPDATE";
+        return move(String.format(MOVE, picked, "LOCALTIMESTAMP"), ps -> ps.setLong(1, id));
+    }
+
+    public Optional<Student> findById(long id) {
+        return find(ARCHIVED + "id = ?", id);
+    }
+
+    public Optional<Student> findByStudentId(String studentId) {
+        return find(ARCHIVED + "student_id = ?", studentId);
+    }
+
+    /**
+     * Academic records of an archived student, by year and semester; empty for a live or deleted one
+     */
+    public List<AcademicRecord> findRecords(long studentId) {
+        Student student = new Student();
+        student.setId(studentId);
+        return jdbcTemplate.query("SELECT " + RECORD_COLUMNS + " FROM academic_record_archive " +
+                        "WHERE student_id = ? AND " + OF_ARCHIVED_STUDENT + " ORDER BY year, semester",
+                (rs, row) -> {
+                    AcademicRecord record = new AcademicRecord();
+                    record.setId(rs.getLong(1));
+                    record.setStudent(student);
+                    record.setSemester(rs.getInt(3));
+                    record.setYear(rs.getInt(4));
+                    record.setGpa(rs.getBigDecimal(5));
+                    record.setTotalCredits(rs.getObject(6, Integer.class));
+                    String status = rs.getString(7);
+                    record.setStatus(status == null ? null : AcademicRecordStatus.valueOf(status));
+                    record.setCreatedAt(rs.getObject(8, LocalDateTime.class));
+                    record.setUpdatedAt(rs.getObject(9, LocalDateTime.class));
+                    return record;
+                }, studentId, studentId);
+    }
+
+    /**
+     * Standing of an archived student as it was when archived
+     */
+    public Optional<AcademicStanding> findStanding(long studentId) {
+        return jdbcTemplate.query("SELECT " + STANDING_COLUMNS + " FROM academic_standing_archive " +
+                        "WHERE student_id = ? AND " + OF_ARCHIVED_STUDENT,
+                (rs, row) -> {
+                    AcademicStanding standing = new AcademicStanding();
+                    standing.setStudentId(rs.getLong(1));
+                    standing.setQualityPoints(rs.getBigDecimal(2));
+                    standing.setCreditsEarned(rs.getInt(3));
+                    standing.setCumulativeGpa(rs.getBigDecimal(4));
+                    standing.setUpdatedAt(rs.getObject(5, LocalDateTime.class));
+                    return standing;
+                }, studentId, studentId).stream().findFirst();
+    }
+
+    public boolean existsByStudentId(String studentId) {
+        return exists("student_id", studentId);
+    }
+
+    public boolean existsByEmail(String email) {
+        return exists("email", email);
+    }
+
+    /**
+     * Archived students in a status; only that status's partition is scanned
+     */
+    public long countByStatus(StudentStatus status) {
+        Long count = jdbcTemplate.queryForObject(
+                "SELECT count(*) FROM student_archive WHERE status = ? AND deleted_at IS NULL", Long.class,
+                status.name());
+        return count == null ? 0 : count;
+    }
+
+    private Moved move(String sql, PreparedStatementSetter arguments) {
+        List<Long> studentIds = new ArrayList<>();
+        List<Long> admissionIds = new ArrayList<>();
+        jdbcTemplate.query(sql, arguments, rs -> {
+            ("STUDENT".equals(rs.getString(1)) ? studentIds : admissionIds).add(rs.getLong(2));
+        });
+        return new Moved(studentIds, admissionIds);
+    }
+
+    private Optional<Student> find(String sql, Object key) {
+        List<Student> students = jdbcTemplate.query(sql + " LIMIT 1", STUDENT, key);
+        if (students.isEmpty()) {
+            return Optional.empty();
+        }
+        Student student = students.get(0);
+        List<Admission> admissions = jdbcTemplate.query(
+                "SELECT " + ADMISSION_COLUMNS + " FROM admission_archive WHERE student_id = ? ORDER BY id",
+                (rs, row) -> {
+                    Admission admission = new Admission();
+                    admission.setId(rs.getLong(1));
+                    admission.setStudent(student);
+                    admission.setAdmissionYear(rs.getInt(3));
+                    admission.setProgram(rs.getString(4));
+                    admission.setAdmissionDate(rs.getObject(5, LocalDate.class));
+                    String status = rs.getString(6);
+                    admission.setAdmissionStatus(status == null ? null : AdmissionStatus.valueOf(status));
+                    admission.setEntranceScore(rs.getObject(7, Double.class));
+                    admission.setRemarks(rs.getString(8));
+                    admission.setCreatedAt(rs.getObject(9, LocalDateTime.class));
+                    admission.setUpdatedAt(rs.getObject(10, LocalDateTime.class));
+                    return admission;
+                }, student.getId());
+        student.setAdmissions(admissions);
+        return Optional.of(student);
+    }
+
+    private boolean exists(String column, String value) {
+        Boolean exists = jdbcTemplate.queryForObject("SELECT EXISTS (SELECT 1 FROM student_archive WHERE "
+                + column + " = ? AND deleted_at IS NULL)", Boolean.class, value);
+        return Boolean.TRUE.equals(exists);
+    }
+}
@@ -0,0 +1,69 @@
+package com.college.student.repository;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+
+import javax.sql.DataSource;
+import java.sql.Timestamp;
+import java.util.Collection;
+
+/**
+ * Streaming reads of (id, student_id, email, status, updated_at) that load the student directory
+ */
+@Repository
+public class StudentDirectoryRepository {
+
+    private static final int FETCH_SIZE = 5000;
+
+    private static final String COLUMNS = "SELECT id, student_id, email, status, updated_at FROM students";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public StudentDirectoryRepository(DataSource dataSource) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate.setFetchSize(FETCH_SIZE);
+    }
+
+    public long countStudents() {
+        Long count = jdbcTemplate.queryForObject("SELECT count(*) FROM students", Long.class);
+        return count == null ? 0 : count;
+    }
+
+    /**
+     * Stream every student
+     */
+    public void streamAll(RowCallbackHandler handler) {
+        jdbcTemplate.query(COLUMNS, handler);
+    }
+
+    public long countArchivedStudents() {
+        Long count = jdbcTemplate.queryForObject("SELECT count(*) FROM student_archive WHERE deleted_at IS NULL",
+                Long.class);
+        return count == null ? 0 : count;
+    }
+
+    /**
+     * Stream every archived student that was not deleted; archived rows never change
+     */
+    public void streamArchived(RowCallbackHandler handler) {
+        jdbcTemplate.query("SELECT id, student_id, email, status, updated_at FROM student_archive " +
+                "WHERE deleted_at IS NULL", handler);
+    }
+
+    /**
+     * Stream those of the given students that are archived and were not deleted
+     */
+    public void streamArchived(Collection<Long> ids, RowCallbackHandler handler) {
+        jdbcTemplate.query("SELECT id, student_id, email, status, updated_at FROM student_archive " +
+                        "WHERE id = ANY(?) AND deleted_at IS NULL",
+                ps -> ps.setArray(1, ps.getConnection().createArrayOf("bigint", ids.toArray())), handler);
+    }
+
+    /**
+     * Stream students updated at or after since
+     */
+    public void streamChangedSince(Timestamp since, RowCallbackHandler handler) {
+        jdbcTemplate.query(COLUMNS + " WHERE updated_at >= ? ORDER BY updated_at, id", handler, since);
+    }
+}
@@ -1,16 +1,23 @@
 package com.college.student.repository;
 
+import com.college.student.dto.StudentDirectoryEntry;
 import com.college.student.entity.Student;
 import com.college.student.entity.StudentStatus;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * Repository interface for Student entity operations
@@ -23,6 +30,18 @@ public interface StudentRepository extends JpaRepository<Student, Long> {
      */
     Optional<Student> findByStudentId(String studentId);
 
+    /**
+     * Find students by IDs, fetching admissions in the same query
+     */
+    @EntityGraph(attributePaths = "admissions")
+    List<Student> findByIdIn(Collection<Long> ids);
+
+    /**
+     * Find students by student IDs, fetching admissions in the same query
+     */
+    @EntityGraph(attributePaths = "admissions")
+    List<Student> findByStudentIdIn(Collection<String> studentIds);
+
     /**
      * Find student by email
      */
@@ -39,9 +58,30 @@ public interface StudentRepository extends JpaRepository<Student, Long> {
     boolean existsByEmail(String email);
 
     /**
-     * Find students by department
+     * Resolve a student's identity by ID without loading the entity
+     */
+    @Query("SELECT new com.college.student.dto.StudentDirectoryEntry(s.id, s.studentId, s.email, s.status) " +
+           "FROM Student s WHERE s.id = :id")
+    Optional<StudentDirectoryEntry> findDirectoryEntryById(@Param("id") Long id);
+
+    /**
+     * Resolve a student's identity by student ID without loading the entity
+     */
+    @Query("SELECT new com.college.student.dto.StudentDirectoryEntry(s.id, s.studentId, s.email, s.status) " +
+           "FROM Student s WHERE s.studentId = :studentId")
+    Optional<StudentDirectoryEntry> findDirectoryEntryByStudentId(@Param("studentId") String studentId);
+
+    /**
+     * Resolve a student's identity by email without loading the entity
      */
-    List<Student> findByDepartment(String department);
+    @Query("SELECT new com.college.student.dto.StudentDirectoryEntry(s.id, s.studentId, s.email, s.status) " +
+           "FROM Student s WHERE s.email = :email")
+    Optional<StudentDirectoryEntry> findDirectoryEntryByEmail(@Param("email") String email);
+
+    /**
+     * Find students by department ID
+     */
+    List<Student> findByDepartmentId(Integer departmentId);
 
     /**
      * Find students by status
@@ -49,9 +89,9 @@ public interface StudentRepository extends JpaRepository<Student, Long> {
     List<Student> findByStatus(StudentStatus status);
 
     /**
-     * Find students by department and status
+     * Find students by department ID and status
      */
-    List<Student> findByDepartmentAndStatus(String department, StudentStatus status);
+    List<Student> findByDepartmentIdAndStatus(Integer departmentId, StudentStatus status);
 
     /**
      * Find students by year of study
@@ -64,7 +104,38 @@ public interface StudentRepository extends JpaRepository<Student, Long> {
     @Query("SELECT s FROM Student s WHERE " +
            "LOWER(s.firstName) LIKE LOWER(CONCAT('%', :name, '%')) OR " +
            "LOWER(s.lastName) LIKE LOWER(CONCAT('%', :name, '%'))")
-    List<Student> findByNameContaining(@Param("name") String name);
+    Page<Student> findByNameContaining(@Param("name") String name, Pageable pageable);
+
+    // Streams are read through a server-side cursor in STREAM_FETCH_SIZE rows and must be consumed
+    // inside a transaction; entities come back read-only, without dirty-checking snapshots
+
+    String STREAM_FETCH_SIZE = "500";
+
+    /**
+     * Stream students of a department in id order
+     */
+    @QueryHints({@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = STREAM_FETCH_SIZE),
+                 @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")})
+    @Query("SELECT s FROM Student s WHERE s.departmentId = :departmentId ORDER BY s.id")
+    Stream<Student> streamByDepartmentId(@Param("departmentId") Integer departmentId);
+
+    /**
+     * Stream students with a status in id order
+     */
+    @QueryHints({@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = STREAM_FETCH_SIZE),
+                 @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")})
+    @Query("SELECT s FROM Student s WHERE s.status = :status ORDER BY s.id")
+    Stream<Student> streamByStatus(@Param("status") StudentStatus status);
+
+    /**
+     * Stream students whose first or last name contains the fragment, in id order
+     */
+    @QueryHints({@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = STREAM_FETCH_SIZE),
+                 @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")})
+    @Query("SELECT s FROM Student s WHERE " +
+           "LOWER(s.firstName) LIKE LOWER(CONCAT('%', :name, '%')) OR " +
+           "LOWER(s.lastName) LIKE LOWER(CONCAT('%', :name, '%')) ORDER BY s.id")
+    Stream<Student> streamByNameContaining(@Param("name") String name);
 
     /**
      * Find students with pagination
@@ -72,9 +143,9 @@ public interface StudentRepository extends JpaRepository<Student, Long> {
     Page<Student> findByStatus(StudentStatus status, Pageable pageable);
 
     /**
-     * Find students by department with pagination
+     * Find students by department ID with pagination
      */
-    Page<Student> findByDepartment(String department, Pageable pageable);
+    Page<Student> findByDepartmentId(Integer departmentId, Pageable pageable);
 
     /**
      * Count students by status
@@ -82,13 +153,22 @@ public interface StudentRepository extends JpaRepository<Student, Long> {
     long countByStatus(StudentStatus status);
 
     /**
-     * Count students by department
+     * Count students by department ID
+     */
+    long countByDepartmentId(Integer departmentId);
+
+    /**
+     * Count students per department ID as (departmentId, count) pairs
      */
-    long countByDepartment(String department);
+    @Query("SELECT s.departmentId, COUNT(s) FROM Student s WHERE s.departmentId IS NOT NULL GROUP BY s.departmentId")
+    List<Object[]> countGroupedByDepartmentId();
 
     /**
-     * Find all departments
+     * (id, change_xid) of the students written after the (changeXid, id) position by transactions
+     * older than before, in that order
      */
-    @Query("SELECT DISTINCT s.department FROM Student s WHERE s.department IS NOT NULL ORDER BY s.department")
-    List<String> findAllDepartments();
-}
\ No newline at end of file
+    @Query(value = "SELECT s.id, s.change_xid FROM students s WHERE (s.change_xid, s.id) > (:changeXid, :id) " +
+                   "AND s.change_xid < :before ORDER BY s.change_xid, s.id LIMIT :limit", nativeQuery = true)
+    List<Object[]> findChangedAfter(@Param("changeXid") long changeXid, @Param("id") long id,
+                                    @Param("before") long before, @Param("limit") int limit);
+}
@@ -0,0 +1,51 @@
+package com.college.student.service;
+
+import com.college.student.dto.AcademicRecordDto;
+import com.college.student.dto.AcademicStandingDto;
+import com.college.student.dto.DepartmentGpaSummary;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Service interface for AcademicRecord operations
+ */
+public interface AcademicRecordService {
+
+    /**
+     * Create an academic record and fold it into the student's cumulative GPA
+     */
+    AcademicRecordDto createRecord(AcademicRecordDto recordDto);
+
+    /**
+     * Update an academic record and adjust the student's cumulative GPA by the difference
+     */
+    AcademicRecordDto updateRecord(Long id, AcademicRecordDto recordDto);
+
+    /**
+     * Delete an academic record and remove it from the student's cumulative GPA
+     */
+    boolean deleteRecord(Long id);
+
+    /**
+     * Get academic records of a student
+     */
+    List<AcademicRecordDto> getRecordsByStudent(Long studentId);
+
+    /**
+     * Get the cumulative standing of a student
+     */
+    Optional<AcademicStandingDto> getStanding(Long studentId);
+
+    /**
+     * Write per-department rank and percentile of every graded student as newline-delimited JSON
+     */
+    void writeDepartmentRankings(String department, OutputStream out) throws IOException;
+
+    /**
+     * Get cumulative GPA distribution per department
+     */
+    List<DepartmentGpaSummary> getDepartmentSummaries();
+}
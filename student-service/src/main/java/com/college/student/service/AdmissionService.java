@@ -0,0 +1,29 @@
+package com.college.student.service;
+
+import com.college.student.dto.AdmissionImportResult;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Service interface for admission operations
+ */
+public interface AdmissionService {
+
+    /**
+     * Import admissions and decisions from a CSV file with a header row
+     *
+     * Columns are student_id, admission_year and program, optionally followed
+     * by admission_date, admission_status, entrance_score and remarks, in any
+     * order. A row for an admission that already exists records a decision on
+     * it. Invalid and duplicate rows are skipped and reported; the others are
+     * written in batches, so a failed import leaves the batches written before
+     * it, and importing the file again completes it.
+     *
+     * @return the outcome; when the import failed part way, what it had written by then, with the error set
+     * @throws IllegalArgumentException if the header is missing or names unknown columns
+     * @throws RejectedExecutionException if another import is running
+     */
+    AdmissionImportResult importAdmissions(InputStream csv) throws IOException;
+}
@@ -0,0 +1,58 @@
+package com.college.student.service;
+
+import com.college.student.dto.AnalyticsResult;
+import com.college.student.dto.ScoreHistogram;
+import com.college.student.entity.AdmissionStatus;
+import com.college.student.entity.StudentStatus;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Cohort reporting over the in-memory columnar snapshot of students and admissions
+ *
+ * Filters are optional; values within one filter are OR-ed and filters are
+ * AND-ed. Results reflect the snapshot, which lags the database by up to one
+ * refresh interval.
+ */
+public interface AnalyticsService {
+
+    /**
+     * Whether a snapshot has been built and queries can be answered
+     */
+    boolean isReady();
+
+    /**
+     * Count students matching the filters, optionally grouped by department, status or yearOfStudy
+     */
+    AnalyticsResult queryStudents(List<StudentStatus> statuses, List<String> departments, List<Integer> years,
+                                  String groupBy);
+
+    /**
+     * Count admissions matching the filters, optionally grouped by program, year or status
+     */
+    AnalyticsResult queryAdmissions(List<String> programs, List<Integer> years, List<AdmissionStatus> statuses,
+                                    String groupBy);
+
+    /**
+     * Equal-width histogram of entrance scores of the matching admissions
+     */
+    ScoreHistogram scoreHistogram(List<String> programs, List<Integer> years, List<AdmissionStatus> statuses,
+                                  double min, double max, int bins);
+
+    /**
+     * Version, age, row counts and memory footprint of the current snapshot
+     */
+    Map<String, Object> snapshotInfo();
+
+    /**
+     * Students and admissions that left the live tables, archived or deleted; the next refresh drops them
+     */
+    void removed(Collection<Long> studentIds, Collection<Long> admissionIds);
+
+    /**
+     * Rebuild at the next refresh, for removals too many to list
+     */
+    void rebuildSoon();
+}
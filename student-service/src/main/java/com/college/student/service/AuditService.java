@@ -0,0 +1,20 @@
+package com.college.student.service;
+
+import com.college.student.dto.AuditEvent;
+
+import java.util.Map;
+
+/**
+ * Structured audit trail of mutations, written behind the request by a background writer
+ */
+public interface AuditService {
+
+    String STUDENT = "STUDENT";
+    String ACADEMIC_RECORD = "ACADEMIC_RECORD";
+
+    /**
+     * Queue an event once the current transaction commits; never throws, and drops the event if the buffer stays full
+     */
+    void record(AuditEvent.Action action, String entityType, Long entityId, String entityKey,
+                Map<String, Object> details);
+}
@@ -0,0 +1,21 @@
+package com.college.student.service;
+
+import com.college.student.dto.ChangeFeedPage;
+
+/**
+ * Service interface for the feed of students and admissions changed or deleted since a token
+ */
+public interface ChangeFeedService {
+
+    /**
+     * The next changes after the token, up to limit of each kind; a null token starts from the beginning
+     *
+     * @throws IllegalArgumentException when the token cannot be read
+     */
+    ChangeFeedPage getChanges(String since, int limit);
+
+    /**
+     * Whether tombstones the token has not reached were purged, so deletes since it may be missing
+     */
+    boolean isExpired(String since);
+}
@@ -0,0 +1,30 @@
+package com.college.student.service;
+
+import com.college.student.dto.MeritListDto;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Service interface for entrance-score merit lists
+ */
+public interface MeritListService {
+
+    /**
+     * Merit lists of an admission year, one per program or only the given program
+     *
+     * Applicants are selected in rank order up to the seat count and/or down to
+     * the minimum score; at least one of the two is required.
+     */
+    List<MeritListDto> getMeritLists(Integer year, String program, Integer seats, Double minimumScore);
+
+    /**
+     * Admissions that left the live table, archived or deleted; the next refresh unranks them
+     */
+    void removed(Collection<Long> admissionIds);
+
+    /**
+     * Rebuild at the next refresh, for removals too many to list
+     */
+    void rebuildSoon();
+}
@@ -1,10 +1,13 @@
 package com.college.student.service;
 
+import com.college.student.dto.StudentDirectoryEntry;
 import com.college.student.dto.StudentDto;
 import com.college.student.entity.StudentStatus;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.util.List;
 import java.util.Optional;
 
@@ -20,6 +23,9 @@ public interface StudentService {
 
     /**
      * Update an existing student
+     *
+     * @throws java.util.NoSuchElementException if no live student has the id
+     * @throws IllegalArgumentException if the email is taken or the department unknown
      */
     StudentDto updateStudent(Long id, StudentDto studentDto);
 
@@ -34,24 +40,39 @@ public interface StudentService {
     Optional<StudentDto> getStudentByStudentId(String studentId);
 
     /**
-     * Get all students with pagination
+     * Get all students with pagination; pages past student.paging.max-sharded-depth are refused while sharded
      */
     Page<StudentDto> getAllStudents(Pageable pageable);
 
     /**
-     * Get students by department
+     * Get a page of students of a department, in id order; deep pages are refused while sharded
      */
-    List<StudentDto> getStudentsByDepartment(String department);
+    Page<StudentDto> getStudentsByDepartment(String department, Pageable pageable);
 
     /**
-     * Get students by status
+     * Get a page of students with a status, in id order; deep pages are refused while sharded
      */
-    List<StudentDto> getStudentsByStatus(StudentStatus status);
+    Page<StudentDto> getStudentsByStatus(StudentStatus status, Pageable pageable);
 
     /**
-     * Search students by name
+     * Get a page of students whose name contains the fragment, in id order; deep pages are refused while sharded
      */
-    List<StudentDto> searchStudentsByName(String name);
+    Page<StudentDto> searchStudentsByName(String name, Pageable pageable);
+
+    /**
+     * Write every student of a department as newline-delimited JSON, in id order
+     */
+    void writeStudentsByDepartment(String department, OutputStream out) throws IOException;
+
+    /**
+     * Write every student with a status as newline-delimited JSON, in id order
+     */
+    void writeStudentsByStatus(StudentStatus status, OutputStream out) throws IOException;
+
+    /**
+     * Write every student whose name contains the fragment as newline-delimited JSON, in id order
+     */
+    void writeStudentsByName(String name, OutputStream out) throws IOException;
 
     /**
      * Delete student by ID
@@ -68,6 +89,13 @@ public interface StudentService {
      */
     List<String> getAllDepartments();
 
+    /**
+     * Add a department and return its code as stored
+     *
+     * @throws IllegalArgumentException if the code or name is missing or too long, or the code exists
+     */
+    String createDepartment(String code, String name);
+
     /**
      * Get student count by status
      */
@@ -82,4 +110,24 @@ public interface StudentService {
      * Check if student exists by email
      */
     boolean existsByEmail(String email);
+
+    /**
+     * Check if student exists by ID
+     */
+    boolean existsById(Long id);
+
+    /**
+     * Resolve a student's ID, student ID, email and status by ID
+     */
+    Optional<StudentDirectoryEntry> resolveById(Long id);
+
+    /**
+     * Resolve a student's ID, student ID, email and status by student ID
+     */
+    Optional<StudentDirectoryEntry> resolveByStudentId(String studentId);
+
+    /**
+     * Resolve a student's ID, student ID, email and status by email
+     */
+    Optional<StudentDirectoryEntry> resolveByEmail(String email);
 }
\ No newline at end of file
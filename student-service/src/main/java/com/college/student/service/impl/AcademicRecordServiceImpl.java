@@ -0,0 +1,357 @@
+package com.college.student.service.impl;
+
+import com.college.student.dto.AcademicRecordDto;
+import com.college.student.dto.AcademicStandingDto;
+import com.college.student.dto.AuditEvent;
+import com.college.student.dto.DepartmentGpaSummary;
+import com.college.student.entity.AcademicRecord;
+import com.college.student.entity.AcademicRecordStatus;
+import com.college.student.entity.Student;
+import com.college.student.repository.AcademicRankingRepository;
+import com.college.student.repository.AcademicRecordRepository;
+import com.college.student.repository.AcademicStandingRepository;
+import com.college.student.repository.StudentArchiveRepository;
+import com.college.student.repository.StudentRepository;
+import com.college.student.service.AcademicRecordService;
+import com.college.student.service.AuditService;
+import com.college.student.util.AcademicRecordMapper;
+import com.college.student.util.DepartmentDictionary;
+import com.college.student.util.ShardRouter;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Isolation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+/**
+ * Implementation of AcademicRecordService
+ *
+ * Cumulative GPA lives in academic_standings as running sums of quality points
+ * and credits. Every record write applies only its own delta to those sums, so
+ * reads never re-aggregate a student's history.
+ *
+ * Records and standings of archived students are read from the archive and
+ * can no longer be changed.
+ */
+@Service
+@Transactional
+public class AcademicRecordServiceImpl implements AcademicRecordService {
+
+    private static final Logger logger = LoggerFactory.getLogger(AcademicRecordServiceImpl.class);
+
+    @Autowired
+    private AcademicRecordRepository academicRecordRepository;
+
+    @Autowired
+    private AcademicStandingRepository academicStandingRepository;
+
+    @Autowired
+    private AcademicRankingRepository academicRankingRepository;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private StudentArchiveRepository archiveRepository;
+
+    @Autowired
+    private AcademicRecordMapper academicRecordMapper;
+
+    @Autowired
+    private DepartmentDictionary departmentDictionary;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private AuditService auditService;
+
+    @Autowired
+    private ShardRouter shardRouter;
+
+    @Override
+    public AcademicRecordDto createRecord(AcademicRecordDto recordDto) {
+        logger.debug("Creating academic record for student ID: {}", recordDto.getStudentId());
+        return shardRouter.onShard(shardRouter.shardOf(recordDto.getStudentId()), () -> {
+            Student student = studentRepository.findById(recordDto.getStudentId())
+                    .orElseThrow(() -> new IllegalArgumentException("Student not found with ID: " + recordDto.getStudentId()));
+
+            AcademicRecord record = new AcademicRecord();
+            record.setStudent(student);
+            record.setStatus(AcademicRecordStatus.IN_PROGRESS);
+            academicRecordMapper.updateEntity(record, recordDto);
+
+            AcademicRecord savedRecord = academicRecordRepository.save(record);
+            applyToStanding(student.getId(), savedRecord.qualityPoints(), savedRecord.gpaCredits());
+            auditService.record(AuditEvent.Action.CREATE, AuditService.ACADEMIC_RECORD, savedRecord.getId(), null,
+                    recordDetails(student.getId(), savedRecord));
+            logger.info("Successfully created academic record with ID: {}", savedRecord.getId());
+
+            return academicRecordMapper.toDto(savedRecord);
+        });
+    }
+
+    @Override
+    public AcademicRecordDto updateRecord(Long id, AcademicRecordDto recordDto) {
+        logger.debug("Updating academic record with ID: {}", id);
+        return shardRouter.onShard(shardRouter.shardOf(id), () -> {
+            AcademicRecord record = academicRecordRepository.findByIdForUpdate(id)
+                    .orElseThrow(() -> new IllegalArgumentException("Academic record not found with ID: " + id));
+
+            BigDecimal previousQualityPoints = record.qualityPoints();
+            int previousCredits = record.gpaCredits();
+            academicRecordMapper.updateEntity(record, recordDto);
+
+            AcademicRecord savedRecord = academicRecordRepository.save(record);
+            applyToStanding(record.getStudent().getId(),
+                    savedRecord.qualityPoints().subtract(previousQualityPoints),
+                    savedRecord.gpaCredits() - previousCredits);
+            auditService.record(AuditEvent.Action.UPDATE, AuditService.ACADEMIC_RECORD, id, null,
+                    recordDetails(record.getStudent().getId(), savedRecord));
+            logger.info("Successfully updated academic record with ID: {}", id);
+
+            return academicRecordMapper.toDto(savedRecord);
+        });
+    }
+
+    @Override
+    public boolean deleteRecord(Long id) {
+        logger.debug("Deleting academic record with ID: {}", id);
+        return shardRouter.onShard(shardRouter.shardOf(id), () -> {
+            Optional<AcademicRecord> record = academicRecordRepository.findByIdForUpdate(id);
+            if (record.isEmpty()) {
+                return false;
+            }
+
+            AcademicRecord existing = record.get();
+            applyToStanding(existing.getStudent().getId(), existing.qualityPoints().negate(), -existing.gpaCredits());
+            academicRecordRepository.delete(existing);
+            auditService.record(AuditEvent.Action.DELETE, AuditService.ACADEMIC_RECORD, id, null,
+                    recordDetails(existing.getStudent().getId(), existing));
+            logger.info("Successfully deleted academic record with ID: {}", id);
+            return true;
+        });
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<AcademicRecordDto> getRecordsByStudent(Long studentId) {
+        logger.debug("Fetching academic records for student ID: {}", studentId);
+        return shardRouter.onShard(shardRouter.shardOf(studentId), () -> {
+            List<AcademicRecord> records = academicRecordRepository.findByStudentIdOrderByYearAscSemesterAsc(studentId);
+            if (records.isEmpty()) {
+                records = archiveRepository.findRecords(studentId);
+            }
+            return records.stream()
+                    .map(academicRecordMapper::toDto)
+                    .collect(Collectors.toList());
+        });
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<AcademicStandingDto> getStanding(Long studentId) {
+        logger.debug("Fetching academic standing for student ID: {}", studentId);
+        return shardRouter.onShard(shardRouter.shardOf(studentId), () ->
+                academicStandingRepository.findById(studentId)
+                        .or(() -> archiveRepository.findStanding(studentId))
+                        .map(academicRecordMapper::toStandingDto));
+    }
+
+    // Department sizes and the ranked rows are read in one snapshot so percentiles stay consistent
+
+    @Override
+    @Transactional(readOnly = true, isolation = Isolation.REPEATABLE_READ)
+    public void writeDepartmentRankings(String department, OutputStream out) throws IOException {
+        logger.debug("Streaming academic rankings for department: {}", department);
+        shardRouter.requireSingleDatabase("Department rankings");
+
+        Integer departmentId = null;
+        if (department != null) {
+            Optional<Integer> knownDepartment = departmentDictionary.findId(department);
+            if (knownDepartment.isEmpty()) {
+                return;
+            }
+            departmentId = knownDepartment.get();
+        }
+
+        Map<Integer, Integer> sizes = academicRankingRepository.countGradedStudentsByDepartment(departmentId);
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.setRootValueSeparator(null);
+            RankingCursor cursor = new RankingCursor();
+            academicRankingRepository.streamRankedStandings(departmentId, rs -> {
+                int rowDepartment = rs.getInt(1);
+                double gpa = rs.getDouble(4);
+                if (cursor.advance(rowDepartment, sizes.getOrDefault(rowDepartment, 0), gpa)) {
+                    cursor.departmentCode = departmentDictionary.codeOf(rowDepartment == 0 ? null : rowDepartment);
+                }
+                try {
+                    generator.writeStartObject();
+                    generator.writeStringField("department", cursor.departmentCode);
+                    generator.writeNumberField("id", rs.getLong(2));
+                    generator.writeStringField("studentId", rs.getString(3));
+                    generator.writeNumberField("cumulativeGpa", gpa);
+                    generator.writeNumberField("creditsEarned", rs.getInt(5));
+                    generator.writeNumberField("rank", cursor.rank);
+                    generator.writeNumberField("percentile", cursor.percentile());
+                    generator.writeEndObject();
+                    generator.writeRaw('\n');
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    @Override
+    @Transactional(readOnly = true, isolation = Isolation.REPEATABLE_READ)
+    public List<DepartmentGpaSummary> getDepartmentSummaries() {
+        logger.debug("Computing department GPA summaries");
+        shardRouter.requireSingleDatabase("Department GPA summaries");
+
+        Map<Integer, Integer> sizes = academicRankingRepository.countGradedStudentsByDepartment(null);
+        List<DepartmentGpaSummary> summaries = new ArrayList<>();
+        GpaAccumulator accumulator = new GpaAccumulator();
+        academicRankingRepository.streamRankedStandings(null, rs -> {
+            int rowDepartment = rs.getInt(1);
+            if (accumulator.count == 0 || accumulator.departmentId != rowDepartment) {
+                if (accumulator.count > 0) {
+                    summaries.add(accumulator.toSummary(departmentDictionary));
+                }
+                accumulator.reset(rowDepartment, sizes.getOrDefault(rowDepartment, 0));
+            }
+            accumulator.add(rs.getDouble(4));
+        });
+        if (accumulator.count > 0) {
+            summaries.add(accumulator.toSummary(departmentDictionary));
+        }
+        return summaries;
+    }
+
+    private static Map<String, Object> recordDetails(Long studentId, AcademicRecord record) {
+        Map<String, Object> details = new HashMap<>();
+        details.put("studentId", studentId);
+        details.put("year", record.getYear());
+        details.put("semester", record.getSemester());
+        details.put("status", record.getStatus());
+        return details;
+    }
+
+    private void applyToStanding(Long studentId, BigDecimal qualityPoints, int credits) {
+        academicStandingRepository.ensureExists(studentId);
+        if (qualityPoints.signum() != 0 || credits != 0) {
+            academicStandingRepository.applyDelta(studentId, qualityPoints, credits);
+        }
+    }
+
+    /**
+     * Competition ranking (ties share a rank) over rows ordered by department then GPA descending
+     */
+    private static final class RankingCursor {
+        private int departmentId;
+        private String departmentCode;
+        private int size;
+        private int position;
+        private int rank;
+        private double previousGpa;
+
+        /**
+         * Move to the next row, returning true when it starts a new department
+         */
+        boolean advance(int rowDepartment, int departmentSize, double gpa) {
+            boolean newDepartment = position == 0 || departmentId != rowDepartment;
+            if (newDepartment) {
+                departmentId = rowDepartment;
+                size = departmentSize;
+                position = 0;
+            }
+            position++;
+            if (position == 1 || gpa != previousGpa) {
+                rank = position;
+            }
+            previousGpa = gpa;
+            return newDepartment;
+        }
+
+        /**
+         * Share of the department ranked strictly below this student, 0-100
+         */
+        double percentile() {
+            if (size <= 1) {
+                return 100.0;
+            }
+            return Math.round(10_000.0 * Math.max(0, size - rank) / (size - 1)) / 100.0;
+        }
+    }
+
+    /**
+     * Welford mean/variance plus min, max and median for one department's GPAs in descending order
+     */
+    private static final class GpaAccumulator {
+        private int departmentId;
+        private int size;
+        private int count;
+        private double mean;
+        private double m2;
+        private double min;
+        private double max;
+        private double median;
+
+        void reset(int newDepartment, int departmentSize) {
+            departmentId = newDepartment;
+            size = departmentSize;
+            count = 0;
+            mean = 0;
+            m2 = 0;
+            median = 0;
+        }
+
+        void add(double gpa) {
+            if (count == 0) {
+                max = gpa;
+            }
+            min = gpa;
+            // Descending order: the median sits at the middle position(s) of the known department size
+            if (count == (size - 1) / 2 || count == size / 2) {
+                median += size % 2 == 1 ? gpa : gpa / 2;
+            }
+            count++;
+            double delta = gpa - mean;
+            mean += delta / count;
+            m2 += delta * (gpa - mean);
+        }
+
+        DepartmentGpaSummary toSummary(DepartmentDictionary departments) {
+            DepartmentGpaSummary summary = new DepartmentGpaSummary();
+            summary.setDepartment(departments.codeOf(departmentId == 0 ? null : departmentId));
+            summary.setStudents(count);
+            summary.setMeanGpa(round(mean));
+            summary.setStdDevGpa(round(count > 1 ? Math.sqrt(m2 / (count - 1)) : 0.0));
+            summary.setMinGpa(min);
+            summary.setMedianGpa(round(median));
+            summary.setMaxGpa(max);
+            return summary;
+        }
+
+        private static double round(double value) {
+            return Math.round(value * 1000.0) / 1000.0;
+        }
+    }
+}
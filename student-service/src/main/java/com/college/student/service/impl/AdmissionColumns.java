@@ -0,0 +1,269 @@
+package com.college.student.service.impl;
+
+import com.college.student.dto.ScoreHistogram;
+import com.college.student.entity.AdmissionStatus;
+import com.college.student.util.Bitmap;
+import com.college.student.util.StringDictionary;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Columnar copy of the admissions table for analytics
+ *
+ * One slot per admission id. Programs are dictionary-encoded to int codes;
+ * entrance scores are a double column with NaN for missing scores. Bitmaps per
+ * program, admission year and admission status serve filters and group-bys.
+ */
+final class AdmissionColumns {
+
+    enum Dimension { PROGRAM, ADMISSION_YEAR, ADMISSION_STATUS }
+
+    private static final AdmissionStatus[] STATUSES = AdmissionStatus.values();
+
+    private final StringDictionary programs;
+    private final Bitmap present;
+    private int[] program;
+    private short[] admissionYear;
+    private byte[] status;
+    private double[] entranceScore;
+    private final List<Bitmap> byProgram;
+    private final Map<Integer, Bitmap> byYear;
+    private final Bitmap[] byStatus;
+
+    AdmissionColumns(int capacity) {
+        programs = new StringDictionary();
+        present = new Bitmap(capacity);
+        program = new int[capacity];
+        admissionYear = new short[capacity];
+        status = new byte[capacity];
+        entranceScore = new double[capacity];
+        byProgram = new ArrayList<>();
+        byYear = new HashMap<>();
+        byStatus = new Bitmap[STATUSES.length];
+        for (int i = 0; i < byStatus.length; i++) {
+            byStatus[i] = new Bitmap(capacity);
+        }
+    }
+
+    private AdmissionColumns(AdmissionColumns source) {
+        programs = source.programs.copy();
+        present = source.present.copy();
+        program = source.program.clone();
+        admissionYear = source.admissionYear.clone();
+        status = source.status.clone();
+        entranceScore = source.entranceScore.clone();
+        byProgram = new ArrayList<>(source.byProgram.size());
+        source.byProgram.forEach(bitmap -> byProgram.add(bitmap.copy()));
+        byYear = StudentColumns.copy(source.byYear);
+        byStatus = new Bitmap[source.byStatus.length];
+        for (int i = 0; i < byStatus.length; i++) {
+            byStatus[i] = source.byStatus[i].copy();
+        }
+    }
+
+    AdmissionColumns copy() {
+        return new AdmissionColumns(this);
+    }
+
+    /**
+     * Insert or overwrite the row for an admission; a null score is stored as NaN
+     */
+    void upsert(long id, String programName, int year, AdmissionStatus admissionStatus, Double score) {
+        int slot = StudentColumns.slot(id);
+        ensureCapacity(slot + 1);
+        if (present.get(slot)) {
+            unindex(slot);
+        }
+        int code = programs.encode(programName == null ? "" : programName);
+        if (code == byProgram.size()) {
+            byProgram.add(new Bitmap(program.length));
+        }
+        present.set(slot);
+        program[slot] = code;
+        admissionYear[slot] = (short) year;
+        status[slot] = admissionStatus == null ? -1 : (byte) admissionStatus.ordinal();
+        entranceScore[slot] = score == null ? Double.NaN : score;
+        byProgram.get(code).set(slot);
+        byYear.computeIfAbsent(year, key -> new Bitmap(program.length)).set(slot);
+        if (admissionStatus != null) {
+            byStatus[admissionStatus.ordinal()].set(slot);
+        }
+    }
+
+    /**
+     * Whether the snapshot holds a row for the id
+     */
+    boolean contains(long id) {
+        int slot = StudentColumns.slot(id);
+        return slot < program.length && present.get(slot);
+    }
+
+    /**
+     * Drop the row of an admission that left the table; false when the snapshot did not hold it
+     */
+    boolean remove(long id) {
+        int slot = StudentColumns.slot(id);
+        if (slot >= program.length || !present.get(slot)) {
+            return false;
+        }
+        unindex(slot);
+        present.clear(slot);
+        return true;
+    }
+
+    /**
+     * Whether the snapshot already holds exactly these values for the admission
+     */
+    boolean holds(long id, String programName, int year, AdmissionStatus admissionStatus, Double score) {
+        int slot = StudentColumns.slot(id);
+        return slot < program.length && present.get(slot)
+                && programs.decode(program[slot]).equals(programName == null ? "" : programName)
+                && admissionYear[slot] == (short) year
+                && status[slot] == (admissionStatus == null ? -1 : admissionStatus.ordinal())
+                && Double.compare(entranceScore[slot], score == null ? Double.NaN : score) == 0;
+    }
+
+    /**
+     * Rows matching every non-empty filter; values within one filter are OR-ed
+     */
+    Bitmap select(Collection<String> programNames, Collection<Integer> years, Collection<AdmissionStatus> statuses) {
+        Bitmap selection = present.copy();
+        if (programNames != null && !programNames.isEmpty()) {
+            Bitmap union = new Bitmap(0);
+            for (String name : programNames) {
+                int code = programs.lookup(name);
+                if (code >= 0) {
+                    union.or(byProgram.get(code));
+                }
+            }
+            selection.and(union);
+        }
+        if (years != null && !years.isEmpty()) {
+            selection.and(StudentColumns.union(byYear, years));
+        }
+        if (statuses != null && !statuses.isEmpty()) {
+            Bitmap union = new Bitmap(0);
+            statuses.forEach(value -> union.or(byStatus[value.ordinal()]));
+            selection.and(union);
+        }
+        return selection;
+    }
+
+    /**
+     * Row count per value of a dimension within the selection, as (value code, count)
+     */
+    Map<Integer, Long> countBy(Bitmap selection, Dimension dimension) {
+        Map<Integer, Long> counts = new TreeMap<>();
+        switch (dimension) {
+            case PROGRAM -> {
+                for (int code = 0; code < byProgram.size(); code++) {
+                    StudentColumns.addCount(counts, code, selection.andCardinality(byProgram.get(code)));
+                }
+            }
+            case ADMISSION_YEAR -> byYear.forEach((key, bitmap) ->
+                    StudentColumns.addCount(counts, key, selection.andCardinality(bitmap)));
+            case ADMISSION_STATUS -> {
+                for (int i = 0; i < byStatus.length; i++) {
+                    StudentColumns.addCount(counts, i, selection.andCardinality(byStatus[i]));
+                }
+            }
+        }
+        return counts;
+    }
+
+    /**
+     * Equal-width histogram of entrance scores within the selection, in one pass over the score column
+     */
+    ScoreHistogram histogram(Bitmap selection, double min, double max, int bins) {
+        long[] counts = new long[bins];
+        double width = (max - min) / bins;
+        long scored = 0;
+        long unscored = 0;
+        long below = 0;
+        long above = 0;
+        double sum = 0;
+        for (int slot = selection.nextSetBit(0); slot >= 0; slot = selection.nextSetBit(slot + 1)) {
+            double score = entranceScore[slot];
+            if (Double.isNaN(score)) {
+                unscored++;
+                continue;
+            }
+            scored++;
+            sum += score;
+            if (score < min) {
+                below++;
+            } else if (score > max) {
+                above++;
+            } else {
+                // The top edge belongs to the last bin
+                counts[Math.min(bins - 1, (int) ((score - min) / width))]++;
+            }
+        }
+
+        ScoreHistogram histogram = new ScoreHistogram();
+        histogram.setMin(min);
+        histogram.setMax(max);
+        histogram.setBinWidth(width);
+        histogram.setCounts(counts);
+        histogram.setScored(scored);
+        histogram.setUnscored(unscored);
+        histogram.setBelowRange(below);
+        histogram.setAboveRange(above);
+        histogram.setMean(scored == 0 ? 0.0 : sum / scored);
+        return histogram;
+    }
+
+    String programName(int code) {
+        return programs.decode(code);
+    }
+
+    static AdmissionStatus status(int code) {
+        return STATUSES[code];
+    }
+
+    long rows() {
+        return present.cardinality();
+    }
+
+    /**
+     * Approximate heap held by the column arrays and bitmaps, excluding the program dictionary
+     */
+    long sizeInBytes() {
+        long bytes = present.sizeInBytes() + 4L * program.length + 2L * admissionYear.length
+                + status.length + 8L * entranceScore.length;
+        for (Bitmap bitmap : byStatus) {
+            bytes += bitmap.sizeInBytes();
+        }
+        for (Bitmap bitmap : byProgram) {
+            bytes += bitmap.sizeInBytes();
+        }
+        for (Bitmap bitmap : byYear.values()) {
+            bytes += bitmap.sizeInBytes();
+        }
+        return bytes;
+    }
+
+    private void unindex(int slot) {
+        byProgram.get(program[slot]).clear(slot);
+        byYear.get((int) admissionYear[slot]).clear(slot);
+        if (status[slot] >= 0) {
+            byStatus[status[slot]].clear(slot);
+        }
+    }
+
+    private void ensureCapacity(int slots) {
+        if (slots > program.length) {
+            int capacity = Math.max(slots, program.length + (program.length >> 1));
+            program = Arrays.copyOf(program, capacity);
+            admissionYear = Arrays.copyOf(admissionYear, capacity);
+            status = Arrays.copyOf(status, capacity);
+            entranceScore = Arrays.copyOf(entranceScore, capacity);
+        }
+    }
+}
@@ -0,0 +1,664 @@
+package com.college.student.service.impl;
+
+import com.college.student.config.AdmissionImportProperties;
+import com.college.student.dto.AdmissionImportResult;
+import com.college.student.dto.ImportStageStats;
+import com.college.student.dto.RejectedRow;
+import com.college.student.entity.Admission;
+import com.college.student.entity.AdmissionStatus;
+import com.college.student.entity.Student;
+import com.college.student.repository.AdmissionImportRepository;
+import com.college.student.repository.AdmissionImportRepository.Row;
+import com.college.student.repository.AdmissionRepository;
+import com.college.student.service.AdmissionService;
+import com.college.student.util.ShardRouter;
+import com.college.student.util.SingleFlight;
+import com.college.student.util.TransactionCallbacks;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.Year;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+/**
+ * Admission service; bulk imports run as a staged pipeline
+ *
+ * parse reads the file into batches on the request thread. validate checks
+ * each row's fields and resolves its student and any existing admission with
+ * one query per batch, on several threads. dedupe, on one thread and in file
+ * order, drops every row after the first for the same student, year and
+ * program. score settles each row's status, from the entrance score when the
+ * row gives none, and checks decisions on existing admissions against the
+ * allowed status transitions. persist writes each batch with one JDBC batch
+ * of inserts and one of updates per shard and transaction. An update only
+ * applies while the admission still has the status validate read, so a
+ * decision made through the API meanwhile is kept and the row is reported as
+ * a conflict. Stages hand batches on through bounded queues, so memory stays
+ * flat whatever the file size and the slowest stage sets the pace.
+ */
+@Service
+public class AdmissionServiceImpl implements AdmissionService {
+
+    private static final Logger logger = LoggerFactory.getLogger(AdmissionServiceImpl.class);
+
+    private static final String ADMISSIONS_ROLE = Student.class.getName() + ".admissions";
+    private static final String METRIC_PREFIX = "student.admissions.import";
+
+    private static final String PARSE = "parse";
+    private static final String VALIDATE = "validate";
+    private static final String DEDUPE = "dedupe";
+    private static final String SCORE = "score";
+    private static final String PERSIST = "persist";
+
+    // Columns of an import file, in the order rows hold their values
+    private static final List<String> COLUMNS = List.of("student_id", "admission_year", "program", "admission_date",
+            "admission_status", "entrance_score", "remarks");
+    private static final int STUDENT_ID = 0;
+    private static final int ADMISSION_YEAR = 1;
+    private static final int PROGRAM = 2;
+    private static final int ADMISSION_DATE = 3;
+    private static final int ADMISSION_STATUS = 4;
+    private static final int ENTRANCE_SCORE = 5;
+    private static final int REMARKS = 6;
+    private static final int REQUIRED_COLUMNS = 3;
+
+    // Widths of the admissions columns
+    private static final int MAX_PROGRAM_LENGTH = 100;
+    private static final int MAX_STUDENT_ID_LENGTH = 20;
+    private static final int FIRST_ADMISSION_YEAR = 1900;
+
+    @Autowired
+    private AdmissionImportProperties properties;
+
+    @Autowired
+    private AdmissionImportRepository importRepository;
+
+    @Autowired
+    private ShardRouter shardRouter;
+
+    @Autowired
+    private SingleFlight singleFlight;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    // One import at a time; the workers are sized for one
+    private final Semaphore importing = new Semaphore(1);
+
+    private int validateWorkers;
+    private ExecutorService executor;
+    private TransactionTemplate writeTransaction;
+    private Cache cache;
+    private volatile BatchPipeline<ImportRow> running;
+
+    /**
+     * A row of the file as it moves through the stages
+     */
+    private static final class ImportRow {
+        final long line;
+        // Trimmed values in COLUMNS order, null when empty or absent
+        final String[] values;
+        Long studentId;
+        int admissionYear;
+        String program;
+        LocalDate admissionDate;
+        AdmissionStatus status;
+        Double entranceScore;
+        String remarks;
+        Row existing;
+        Row write;
+
+        ImportRow(long line, String[] values) {
+            this.line = line;
+            this.values = values;
+        }
+
+        Key key() {
+            return new Key(studentId, admissionYear, program);
+        }
+    }
+
+    private record Key(long studentId, int admissionYear, String program) {}
+
+    /**
+     * Where each column is in the file, -1 when absent
+     */
+    private record Header(int width, int[] positions) {
+
+        String[] values(String[] fields) {
+            String[] values = new String[positions.length];
+            for (int column = 0; column < positions.length; column++) {
+                if (positions[column] >= 0) {
+                    String value = fields[positions[column]].trim();
+                    values[column] = value.isEmpty() ? null : value;
+                }
+            }
+            return values;
+        }
+    }
+
+    /**
+     * Outcomes of one import, counted by every stage
+     */
+    private final class Tally {
+        final LongAdder read = new LongAdder();
+        final LongAdder inserted = new LongAdder();
+        final LongAdder updated = new LongAdder();
+        final LongAdder unchanged = new LongAdder();
+        final LongAdder invalid = new LongAdder();
+        final LongAdder duplicates = new LongAdder();
+        final LongAdder conflicts = new LongAdder();
+        final AtomicInteger reported = new AtomicInteger();
+        final List<RejectedRow> rejected = Collections.synchronizedList(new ArrayList<>());
+
+        void invalid(long line, String reason) {
+            invalid.increment();
+            report(line, reason);
+        }
+
+        void invalid(ImportRow row, String reason) {
+            invalid(row.line, reason);
+        }
+
+        void duplicate(ImportRow row, long firstLine) {
+            duplicates.increment();
+            report(row.line, "Duplicate of line " + firstLine);
+        }
+
+        void conflict(ImportRow row) {
+            conflicts.increment();
+            report(row.line, "Admission changed while the import ran; it is no longer " +
+                    (row.existing.status() != null ? row.existing.status() : AdmissionStatus.PENDING));
+        }
+
+        private void report(long line, String reason) {
+            if (reported.incrementAndGet() <= properties.getMaxReportedRejections()) {
+                rejected.add(new RejectedRow(line, reason));
+            }
+        }
+    }
+
+    @PostConstruct
+    void start() {
+        validateWorkers = properties.getValidateWorkers() > 0
+                ? properties.getValidateWorkers() : Runtime.getRuntime().availableProcessors();
+        CustomizableThreadFactory threads = new CustomizableThreadFactory("admission-import-");
+        threads.setDaemon(true);
+        executor = Executors.newFixedThreadPool(
+                validateWorkers + 1 + properties.getScoreWorkers() + properties.getPersistWorkers(), threads);
+        writeTransaction = new TransactionTemplate(transactionManager);
+        cache = entityManagerFactory.unwrap(SessionFactory.class).getCache();
+        for (String stage : List.of(VALIDATE, DEDUPE, SCORE, PERSIST)) {
+            Gauge.builder(METRIC_PREFIX + ".queue.depth", this, service -> service.queued(stage))
+                    .description("Batches waiting for an import stage")
+                    .tag("stage", stage)
+                    .register(meterRegistry);
+        }
+    }
+
+    @PreDestroy
+    void stop() {
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+
+    @Override
+    public AdmissionImportResult importAdmissions(InputStream csv) throws IOException {
+        if (!importing.tryAcquire()) {
+            throw new RejectedExecutionException("Another admission import is running");
+        }
+        try {
+            return runImport(csv);
+        } finally {
+            running = null;
+            importing.release();
+        }
+    }
+
+    private AdmissionImportResult runImport(InputStream csv) throws IOException {
+        long start = System.nanoTime();
+        Tally tally = new Tally();
+        Map<Key, Long> firstLines = new HashMap<>();
+        BatchPipeline<ImportRow> pipeline = new BatchPipeline<ImportRow>(PARSE, METRIC_PREFIX,
+                properties.getQueueCapacity(), meterRegistry)
+                .stage(VALIDATE, validateWorkers, rows -> validate(rows, tally))
+                .orderedStage(DEDUPE, rows -> dedupe(rows, firstLines, tally))
+                .stage(SCORE, properties.getScoreWorkers(), rows -> score(rows, tally))
+                .stage(PERSIST, properties.getPersistWorkers(), rows -> persist(rows, tally));
+        running = pipeline;
+
+        BufferedReader reader = new BufferedReader(new InputStreamReader(csv, StandardCharsets.UTF_8));
+        try {
+            pipeline.run(sink -> parse(reader, sink, tally), executor);
+        } catch (IllegalArgumentException e) {
+            throw e;
+        } catch (RuntimeException e) {
+            // Batches committed before the failure stay written; the caller gets what they were
+            logger.error("Admission import failed after {} rows were inserted and {} updated: {}",
+                    tally.inserted.sum(), tally.updated.sum(), e.getMessage(), e);
+            AdmissionImportResult partial = result(tally, pipeline, System.nanoTime() - start);
+            partial.setError("Admission import failed after " + tally.inserted.sum() + " rows were inserted and " +
+                    tally.updated.sum() + " updated: " + e.getMessage());
+            return partial;
+        }
+
+        AdmissionImportResult result = result(tally, pipeline, System.nanoTime() - start);
+        logger.info("Imported admissions in {} ms: {} read, {} inserted, {} updated, {} unchanged, " +
+                        "{} invalid, {} duplicates, {} conflicts", result.getElapsedMillis(), result.getRead(),
+                result.getInserted(), result.getUpdated(), result.getUnchanged(), result.getInvalid(),
+                result.getDuplicates(), result.getConflicts());
+        return result;
+    }
+
+    private void parse(BufferedReader reader, Consumer<List<ImportRow>> sink, Tally tally) throws IOException {
+        String line = reader.readLine();
+        if (line == null) {
+            throw new IllegalArgumentException("The import file is empty");
+        }
+        // A byte order mark is read as part of the first column name
+        Header header = header(line.startsWith("﻿") ? line.substring(1) : line);
+
+        long number = 1;
+        List<ImportRow> batch = new ArrayList<>(properties.getBatchSize());
+        while ((line = reader.readLine()) != null) {
+            number++;
+            if (line.isBlank()) {
+                continue;
+            }
+            tally.read.increment();
+            String[] fields = split(line);
+            if (fields == null) {
+                tally.invalid(number, "Unterminated quoted field");
+                continue;
+            }
+            if (fields.length != header.width()) {
+                tally.invalid(number, "Expected " + header.width() + " fields but found " + fields.length);
+                continue;
+            }
+            batch.add(new ImportRow(number, header.values(fields)));
+            if (batch.size() == properties.getBatchSize()) {
+                sink.accept(batch);
+                batch = new ArrayList<>(properties.getBatchSize());
+            }
+        }
+        if (!batch.isEmpty()) {
+            sink.accept(batch);
+        }
+    }
+
+    private Header header(String line) {
+        String[] names = split(line);
+        if (names == null) {
+            throw new IllegalArgumentException("Malformed header row");
+        }
+        int[] positions = new int[COLUMNS.size()];
+        Arrays.fill(positions, -1);
+        for (int i = 0; i < names.length; i++) {
+            String name = names[i].trim().toLowerCase(Locale.ROOT);
+            int column = COLUMNS.indexOf(name);
+            if (column < 0) {
+                throw new IllegalArgumentException("Unknown column: " + names[i].trim());
+            }
+            if (positions[column] >= 0) {
+                throw new IllegalArgumentException("Column appears twice: " + name);
+            }
+            positions[column] = i;
+        }
+        for (int column = 0; column < REQUIRED_COLUMNS; column++) {
+            if (positions[column] < 0) {
+                throw new IllegalArgumentException("Missing column: " + COLUMNS.get(column));
+            }
+        }
+        return new Header(names.length, positions);
+    }
+
+    private List<ImportRow> validate(List<ImportRow> rows, Tally tally) {
+        List<ImportRow> valid = new ArrayList<>(rows.size());
+        Map<String, List<ImportRow>> byStudentId = new HashMap<>();
+        for (ImportRow row : rows) {
+            String studentId = row.values[STUDENT_ID];
+            String reason = studentId == null ? "Student ID is required"
+                    : studentId.length() > MAX_STUDENT_ID_LENGTH ? "Student ID is too long" : parseFields(row);
+            if (reason != null) {
+                tally.invalid(row, reason);
+                continue;
+            }
+            byStudentId.computeIfAbsent(studentId, key -> new ArrayList<>()).add(row);
+        }
+        if (byStudentId.isEmpty()) {
+            return valid;
+        }
+
+        Map<String, Long> ids = new HashMap<>();
+        shardRouter.scatter(() -> importRepository.findStudentIds(byStudentId.keySet())).forEach(ids::putAll);
+        Map<Integer, Set<Long>> studentsByShard = new HashMap<>();
+        byStudentId.forEach((studentId, studentRows) -> {
+            Long id = ids.get(studentId);
+            for (ImportRow row : studentRows) {
+                if (id == null) {
+                    tally.invalid(row, "Unknown student " + studentId);
+                    continue;
+                }
+                row.studentId = id;
+                valid.add(row);
+                studentsByShard.computeIfAbsent(shardRouter.shardOf(id), shard -> new HashSet<>()).add(id);
+            }
+        });
+
+        // Rows for an admission that exists already are decisions on it; the latest one when there are several
+        Map<Key, Row> existing = new HashMap<>();
+        studentsByShard.forEach((shard, studentIds) -> shardRouter.readOnShard(shard,
+                        () -> importRepository.findByStudentIds(studentIds))
+                .forEach(admission -> existing.put(
+                        new Key(admission.studentId(), admission.admissionYear(), admission.program()), admission)));
+        for (ImportRow row : valid) {
+            row.existing = existing.get(row.key());
+        }
+        // Restore file order, which the grouping by student lost
+        valid.sort(Comparator.comparingLong(row -> row.line));
+        return valid;
+    }
+
+    /**
+     * Convert the fields of a row other than its student, returning why it is invalid if it is
+     */
+    private String parseFields(ImportRow row) {
+        String year = row.values[ADMISSION_YEAR];
+        if (year == null) {
+            return "Admission year is required";
+        }
+        try {
+            row.admissionYear = Integer.parseInt(year);
+        } catch (NumberFormatException e) {
+            return "Invalid admission year " + year;
+        }
+        if (row.admissionYear < FIRST_ADMISSION_YEAR || row.admissionYear > Year.now().getValue() + 1) {
+            return "Admission year " + year + " is out of range";
+        }
+
+        row.program = row.values[PROGRAM];
+        if (row.program == null) {
+            return "Program is required";
+        }
+        if (row.program.length() > MAX_PROGRAM_LENGTH) {
+            return "Program is longer than " + MAX_PROGRAM_LENGTH + " characters";
+        }
+
+        String date = row.values[ADMISSION_DATE];
+        if (date != null) {
+            try {
+                row.admissionDate = LocalDate.parse(date);
+            } catch (DateTimeParseException e) {
+                return "Invalid admission date " + date;
+            }
+        }
+
+        String status = row.values[ADMISSION_STATUS];
+        if (status != null) {
+            try {
+                row.status = AdmissionStatus.valueOf(status.toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                return "Unknown admission status " + status;
+            }
+        }
+
+        String score = row.values[ENTRANCE_SCORE];
+        if (score != null) {
+            try {
+                row.entranceScore = Double.parseDouble(score);
+            } catch (NumberFormatException e) {
+                return "Invalid entrance score " + score;
+            }
+            if (!(row.entranceScore >= properties.getMinScore() && row.entranceScore <= properties.getMaxScore())) {
+                return "Entrance score " + score + " is outside " + properties.getMinScore() + " to " +
+                        properties.getMaxScore();
+            }
+        }
+
+        row.remarks = row.values[REMARKS];
+        return null;
+    }
+
+    private List<ImportRow> dedupe(List<ImportRow> rows, Map<Key, Long> firstLines, Tally tally) {
+        List<ImportRow> unique = new ArrayList<>(rows.size());
+        for (ImportRow row : rows) {
+            Long first = firstLines.putIfAbsent(row.key(), row.line);
+            if (first != null) {
+                tally.duplicate(row, first);
+            } else {
+                unique.add(row);
+            }
+        }
+        return unique;
+    }
+
+    private List<ImportRow> score(List<ImportRow> rows, Tally tally) {
+        List<ImportRow> changed = new ArrayList<>(rows.size());
+        for (ImportRow row : rows) {
+            Row existing = row.existing;
+            AdmissionStatus status = row.status != null ? row.status : decide(row.entranceScore);
+            if (existing == null) {
+                if (status == AdmissionStatus.CANCELLED) {
+                    tally.invalid(row, "A new admission cannot be cancelled");
+                    continue;
+                }
+                row.write = new Row(null, row.studentId, row.admissionYear, row.program,
+                        row.admissionDate != null ? row.admissionDate : LocalDate.now(),
+                        status != null ? status : AdmissionStatus.PENDING, row.entranceScore, row.remarks);
+                changed.add(row);
+                continue;
+            }
+
+            AdmissionStatus current = existing.status() != null ? existing.status() : AdmissionStatus.PENDING;
+            AdmissionStatus next = status != null ? status : current;
+            if (!current.canBecome(next)) {
+                tally.invalid(row, "Admission cannot move from " + current + " to " + next);
+                continue;
+            }
+            Row decision = new Row(existing.id(), existing.studentId(), existing.admissionYear(), existing.program(),
+                    row.admissionDate != null ? row.admissionDate : existing.admissionDate(), next,
+                    row.entranceScore != null ? row.entranceScore : existing.entranceScore(),
+                    row.remarks != null ? row.remarks : existing.remarks());
+            if (decision.equals(existing)) {
+                // Importing a file again changes nothing it already wrote
+                tally.unchanged.increment();
+                continue;
+            }
+            row.write = decision;
+            changed.add(row);
+        }
+        return changed;
+    }
+
+    /**
+     * Status from the configured cut-offs, or null when the score decides nothing
+     */
+    private AdmissionStatus decide(Double score) {
+        Double approve = properties.getApproveScore();
+        Double waitlist = properties.getWaitlistScore();
+        if (score == null || (approve == null && waitlist == null)) {
+            return null;
+        }
+        if (approve != null && score >= approve) {
+            return AdmissionStatus.APPROVED;
+        }
+        if (waitlist != null && score >= waitlist) {
+            return AdmissionStatus.WAITLISTED;
+        }
+        return AdmissionStatus.REJECTED;
+    }
+
+    private List<ImportRow> persist(List<ImportRow> rows, Tally tally) {
+        Map<Integer, List<ImportRow>> byShard = new HashMap<>();
+        for (ImportRow row : rows) {
+            byShard.computeIfAbsent(shardRouter.shardOf(row.studentId), shard -> new ArrayList<>()).add(row);
+        }
+        byShard.forEach((shard, shardRows) -> {
+            List<Row> writes = new ArrayList<>();
+            List<Row> inserts = new ArrayList<>();
+            List<ImportRow> decisions = new ArrayList<>();
+            for (ImportRow row : shardRows) {
+                writes.add(row.write);
+                if (row.write.id() == null) {
+                    inserts.add(row.write);
+                } else {
+                    decisions.add(row);
+                }
+            }
+            // Decisions were checked against the status validate read; one changed since then is a conflict
+            int[] updated = shardRouter.onShard(shard, () -> writeTransaction.execute(status -> {
+                if (!inserts.isEmpty()) {
+                    importRepository.insert(inserts);
+                }
+                int[] counts = decisions.isEmpty() ? new int[0] : importRepository.update(
+                        decisions.stream().map(row -> row.write).toList(),
+                        decisions.stream().map(row -> row.existing.status()).toList());
+                TransactionCallbacks.afterCommit(() -> evict(writes));
+                return counts;
+            }));
+            tally.inserted.add(inserts.size());
+            for (int i = 0; i < decisions.size(); i++) {
+                if (updated[i] == 0) {
+                    tally.conflict(decisions.get(i));
+                } else {
+                    tally.updated.increment();
+                }
+            }
+        });
+        return List.of();
+    }
+
+    /**
+     * Drop what this instance caches of the written admissions; other replicas hear of them from the database
+     */
+    private void evict(List<Row> writes) {
+        Set<Long> studentIds = new HashSet<>();
+        for (Row write : writes) {
+            if (write.id() != null) {
+                cache.evictEntityData(Admission.class, write.id());
+            }
+            if (studentIds.add(write.studentId())) {
+                cache.evictCollectionData(ADMISSIONS_ROLE, write.studentId());
+            }
+        }
+        cache.evictQueryRegion(AdmissionRepository.PROGRAMS_REGION);
+        // Students are read with their admissions
+        singleFlight.invalidate();
+    }
+
+    private AdmissionImportResult result(Tally tally, BatchPipeline<ImportRow> pipeline, long elapsedNanos) {
+        AdmissionImportResult result = new AdmissionImportResult();
+        result.setRead(tally.read.sum());
+        result.setInserted(tally.inserted.sum());
+        result.setUpdated(tally.updated.sum());
+        result.setUnchanged(tally.unchanged.sum());
+        result.setInvalid(tally.invalid.sum());
+        result.setDuplicates(tally.duplicates.sum());
+        result.setConflicts(tally.conflicts.sum());
+        result.setElapsedMillis(elapsedNanos / 1_000_000);
+
+        List<ImportStageStats> stages = new ArrayList<>();
+        for (BatchPipeline.StageStats stage : pipeline.stats()) {
+            // What the stage could sustain on its own: rows per second of busy time across its workers
+            double rowsPerSecond = stage.busyNanos() > 0
+                    ? stage.rows() * stage.workers() * 1e9 / stage.busyNanos() : 0;
+            stages.add(new ImportStageStats(stage.name(), stage.workers(), stage.rows(),
+                    stage.busyNanos() / 1_000_000, stage.blockedNanos() / 1_000_000,
+                    stage.starvedNanos() / 1_000_000, Math.round(rowsPerSecond * 10) / 10.0));
+        }
+        result.setStages(stages);
+
+        List<RejectedRow> rejected = new ArrayList<>(tally.rejected);
+        rejected.sort(Comparator.comparingLong(RejectedRow::getLine));
+        result.setRejected(rejected);
+
+        meterRegistry.counter(METRIC_PREFIX + ".records", "outcome", "inserted").increment(result.getInserted());
+        meterRegistry.counter(METRIC_PREFIX + ".records", "outcome", "updated").increment(result.getUpdated());
+        meterRegistry.counter(METRIC_PREFIX + ".records", "outcome", "unchanged").increment(result.getUnchanged());
+        meterRegistry.counter(METRIC_PREFIX + ".records", "outcome", "invalid").increment(result.getInvalid());
+        meterRegistry.counter(METRIC_PREFIX + ".records", "outcome", "duplicate").increment(result.getDuplicates());
+        meterRegistry.counter(METRIC_PREFIX + ".records", "outcome", "conflict").increment(result.getConflicts());
+        return result;
+    }
+
+    private double queued(String stage) {
+        BatchPipeline<ImportRow> pipeline = running;
+        return pipeline == null ? 0 : pipeline.queued(stage);
+    }
+
+    /**
+     * Fields of one CSV line; quoted fields may contain commas and doubled quotes, null if a quote is left open
+     */
+    static String[] split(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c != '"') {
+                    field.append(c);
+                } else if (i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else {
+                    quoted = false;
+                }
+            } else if (c == '"' && field.length() == 0) {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        if (quoted) {
+            return null;
+        }
+        fields.add(field.toString());
+        return fields.toArray(new String[0]);
+    }
+}
@@ -0,0 +1,462 @@
+package com.college.student.service.impl;
+
+import com.college.student.config.AnalyticsProperties;
+import com.college.student.dto.AnalyticsResult;
+import com.college.student.dto.ScoreHistogram;
+import com.college.student.entity.AdmissionStatus;
+import com.college.student.entity.StudentStatus;
+import com.college.student.repository.AnalyticsSourceRepository;
+import com.college.student.service.AnalyticsService;
+import com.college.student.util.Bitmap;
+import com.college.student.util.DepartmentDictionary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.IntFunction;
+
+/**
+ * Implementation of AnalyticsService
+ *
+ * A single background thread builds the snapshot when student.analytics.enabled
+ * is set, then folds in rows whose updated_at moved past the watermark. Changed
+ * rows are applied to a copy and the copy is published through a volatile
+ * field, so queries never see a half-applied refresh and never lock. Rows
+ * that leave the live tables, archived or deleted, leave no updated_at trail:
+ * StudentLifecycleManager reports its own moves and CacheInvalidationListener
+ * the deletes of other replicas, and the next refresh drops them.
+ */
+@Service
+public class AnalyticsServiceImpl implements AnalyticsService {
+
+    private static final Logger logger = LoggerFactory.getLogger(AnalyticsServiceImpl.class);
+
+    private static final int INITIAL_CAPACITY = 1024;
+    private static final int MAX_BINS = 1000;
+    private static final String NO_DEPARTMENT = "NONE";
+    // Pending removals kept before the next refresh is told to rebuild instead
+    private static final int MAX_PENDING_REMOVALS = 100_000;
+
+    @Autowired
+    private AnalyticsProperties properties;
+
+    @Autowired
+    private AnalyticsSourceRepository sourceRepository;
+
+    @Autowired
+    private DepartmentDictionary departmentDictionary;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private volatile Snapshot snapshot;
+
+    // Ids reported removed since the last refresh; committed before they were reported
+    private final Set<Long> removedStudents = ConcurrentHashMap.newKeySet();
+    private final Set<Long> removedAdmissions = ConcurrentHashMap.newKeySet();
+    private final AtomicBoolean rebuildRequested = new AtomicBoolean();
+    private ScheduledExecutorService refresher;
+    private TransactionTemplate snapshotTransaction;
+
+    private record Snapshot(long version, StudentColumns students, AdmissionColumns admissions,
+                            long studentRows, long admissionRows, Timestamp studentWatermark,
+                            Timestamp admissionWatermark, Instant refreshedAt, Instant rebuiltAt) {}
+
+    private record StudentRow(long id, int departmentId, StudentStatus status, int yearOfStudy) {}
+
+    private record AdmissionRow(long id, String program, int year, AdmissionStatus status, Double score) {}
+
+    @PostConstruct
+    void start() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        // One consistent view of both tables per refresh
+        snapshotTransaction = new TransactionTemplate(transactionManager);
+        snapshotTransaction.setReadOnly(true);
+        snapshotTransaction.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+
+        Gauge.builder("student.analytics.rows", this, service -> service.rows(true))
+                .tag("table", "students")
+                .register(meterRegistry);
+        Gauge.builder("student.analytics.rows", this, service -> service.rows(false))
+                .tag("table", "admissions")
+                .register(meterRegistry);
+        Gauge.builder("student.analytics.snapshot.age", this, AnalyticsServiceImpl::ageSeconds)
+                .baseUnit("seconds")
+                .register(meterRegistry);
+
+        CustomizableThreadFactory threads = new CustomizableThreadFactory("student-analytics-");
+        threads.setDaemon(true);
+        refresher = Executors.newSingleThreadScheduledExecutor(threads);
+        refresher.scheduleWithFixedDelay(this::refresh, 0,
+                properties.getRefreshInterval().toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    void stop() {
+        if (refresher != null) {
+            refresher.shutdownNow();
+        }
+    }
+
+    @Override
+    public boolean isReady() {
+        return snapshot != null;
+    }
+
+    @Override
+    public AnalyticsResult queryStudents(List<StudentStatus> statuses, List<String> departments,
+                                         List<Integer> years, String groupBy) {
+        long started = System.nanoTime();
+        StudentColumns.Dimension dimension = studentDimension(groupBy);
+        Snapshot current = requireSnapshot();
+
+        List<Integer> departmentIds = null;
+        if (departments != null && !departments.isEmpty()) {
+            // Unknown codes still narrow the filter, to nothing
+            departmentIds = departments.stream()
+                    .map(code -> departmentDictionary.findId(code).orElse(-1))
+                    .toList();
+        }
+        Bitmap selection = current.students().select(statuses, departmentIds, years);
+
+        Map<String, Long> groups = new LinkedHashMap<>();
+        if (dimension != null) {
+            IntFunction<String> label = switch (dimension) {
+                case DEPARTMENT -> code -> code == 0 ? NO_DEPARTMENT : departmentDictionary.codeOf(code);
+                case STATUS -> code -> StudentColumns.status(code).name();
+                case YEAR_OF_STUDY -> String::valueOf;
+            };
+            current.students().countBy(selection, dimension)
+                    .forEach((code, count) -> groups.put(label.apply(code), count));
+        }
+        return result(selection.cardinality(), groupBy, groups, current, "students", started);
+    }
+
+    @Override
+    public AnalyticsResult queryAdmissions(List<String> programs, List<Integer> years,
+                                           List<AdmissionStatus> statuses, String groupBy) {
+        long started = System.nanoTime();
+        AdmissionColumns.Dimension dimension = admissionDimension(groupBy);
+        Snapshot current = requireSnapshot();
+        Bitmap selection = current.admissions().select(programs, years, statuses);
+
+        Map<String, Long> groups = new LinkedHashMap<>();
+        if (dimension != null) {
+            IntFunction<String> label = switch (dimension) {
+                case PROGRAM -> current.admissions()::programName;
+                case ADMISSION_YEAR -> String::valueOf;
+                case ADMISSION_STATUS -> code -> AdmissionColumns.status(code).name();
+            };
+            current.admissions().countBy(selection, dimension)
+                    .forEach((code, count) -> groups.put(label.apply(code), count));
+        }
+        return result(selection.cardinality(), groupBy, groups, current, "admissions", started);
+    }
+
+    @Override
+    public ScoreHistogram scoreHistogram(List<String> programs, List<Integer> years,
+                                         List<AdmissionStatus> statuses, double min, double max, int bins) {
+        long started = System.nanoTime();
+        if (!(max > min)) {
+            throw new IllegalArgumentException("Histogram max must be greater than min");
+        }
+        if (bins < 1 || bins > MAX_BINS) {
+            throw new IllegalArgumentException("Histogram bins must be between 1 and " + MAX_BINS);
+        }
+        Snapshot current = requireSnapshot();
+        Bitmap selection = current.admissions().select(programs, years, statuses);
+        ScoreHistogram histogram = current.admissions().histogram(selection, min, max, bins);
+        histogram.setSnapshotVersion(current.version());
+        histogram.setTookMicros(recordQuery("histogram", started));
+        return histogram;
+    }
+
+    @Override
+    public Map<String, Object> snapshotInfo() {
+        Map<String, Object> info = new LinkedHashMap<>();
+        Snapshot current = snapshot;
+        info.put("enabled", properties.isEnabled());
+        info.put("ready", current != null);
+        if (current != null) {
+            info.put("version", current.version());
+            info.put("refreshedAt", current.refreshedAt().toString());
+            info.put("rebuiltAt", current.rebuiltAt().toString());
+            info.put("ageSeconds", ageSeconds());
+            info.put("studentRows", current.studentRows());
+            info.put("admissionRows", current.admissionRows());
+            info.put("studentWatermark", String.valueOf(current.studentWatermark()));
+            info.put("admissionWatermark", String.valueOf(current.admissionWatermark()));
+            info.put("sizeBytes", current.students().sizeInBytes() + current.admissions().sizeInBytes());
+        }
+        return info;
+    }
+
+    @Override
+    public void removed(Collection<Long> studentIds, Collection<Long> admissionIds) {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        removedStudents.addAll(studentIds);
+        removedAdmissions.addAll(admissionIds);
+        if (removedStudents.size() + removedAdmissions.size() > MAX_PENDING_REMOVALS) {
+            rebuildSoon();
+            removedStudents.clear();
+            removedAdmissions.clear();
+        }
+    }
+
+    @Override
+    public void rebuildSoon() {
+        rebuildRequested.set(true);
+    }
+
+    void refresh() {
+        Snapshot current = snapshot;
+        if (current == null || rebuildRequested.getAndSet(false) || Duration.between(current.rebuiltAt(),
+                Instant.now()).compareTo(properties.getFullRebuildInterval()) >= 0) {
+            // Rows reported removed are gone before the rebuild reads, so it will not find them
+            removedStudents.clear();
+            removedAdmissions.clear();
+            try {
+                Timer.Sample sample = Timer.start(meterRegistry);
+                Snapshot rebuilt = snapshotTransaction.execute(status -> rebuild(current));
+                sample.stop(meterRegistry.timer("student.analytics.refresh", "mode", "full"));
+                snapshot = rebuilt;
+                logger.info("Built analytics snapshot v{}: {} students, {} admissions",
+                        rebuilt.version(), rebuilt.studentRows(), rebuilt.admissionRows());
+            } catch (RuntimeException e) {
+                // Keep serving the previous snapshot and retry on the next tick
+                rebuildSoon();
+                logger.error("Analytics snapshot rebuild failed: {}", e.getMessage(), e);
+            }
+            return;
+        }
+        // Taken before reading, so the refresh no longer finds these rows
+        List<Long> goneStudents = drain(removedStudents);
+        List<Long> goneAdmissions = drain(removedAdmissions);
+        try {
+            Timer.Sample sample = Timer.start(meterRegistry);
+            snapshot = snapshotTransaction.execute(status -> refreshChanged(current, goneStudents, goneAdmissions));
+            sample.stop(meterRegistry.timer("student.analytics.refresh", "mode", "incremental"));
+        } catch (RuntimeException e) {
+            // Keep serving the previous snapshot and retry on the next tick, removals included
+            removedStudents.addAll(goneStudents);
+            removedAdmissions.addAll(goneAdmissions);
+            logger.error("Analytics snapshot refresh failed: {}", e.getMessage(), e);
+        }
+    }
+
+    private Snapshot rebuild(Snapshot previous) {
+        StudentColumns students = new StudentColumns(INITIAL_CAPACITY);
+        AdmissionColumns admissions = new AdmissionColumns(INITIAL_CAPACITY);
+        Watermark studentWatermark = new Watermark(null);
+        Watermark admissionWatermark = new Watermark(null);
+
+        sourceRepository.streamStudents(null, rs -> {
+            StudentRow row = studentRow(rs);
+            students.upsert(row.id(), row.departmentId(), row.status(), row.yearOfStudy());
+            studentWatermark.advance(rs.getTimestamp(5));
+        });
+        sourceRepository.streamAdmissions(null, rs -> {
+            AdmissionRow row = admissionRow(rs);
+            admissions.upsert(row.id(), row.program(), row.year(), row.status(), row.score());
+            admissionWatermark.advance(rs.getTimestamp(6));
+        });
+
+        Instant now = Instant.now();
+        return new Snapshot(previous == null ? 1 : previous.version() + 1, students, admissions,
+                students.rows(), admissions.rows(), studentWatermark.value, admissionWatermark.value, now, now);
+    }
+
+    private Snapshot refreshChanged(Snapshot current, List<Long> goneStudents, List<Long> goneAdmissions) {
+        List<StudentRow> changedStudents = new ArrayList<>();
+        List<AdmissionRow> changedAdmissions = new ArrayList<>();
+        Watermark studentWatermark = new Watermark(current.studentWatermark());
+        Watermark admissionWatermark = new Watermark(current.admissionWatermark());
+
+        // Re-read an overlap behind the watermark for rows that committed late; rows
+        // the snapshot already holds unchanged are dropped here
+        sourceRepository.streamStudents(since(current.studentWatermark()), rs -> {
+            StudentRow row = studentRow(rs);
+            if (!current.students().holds(row.id(), row.departmentId(), row.status(), row.yearOfStudy())) {
+                changedStudents.add(row);
+            }
+            studentWatermark.advance(rs.getTimestamp(5));
+        });
+        sourceRepository.streamAdmissions(since(current.admissionWatermark()), rs -> {
+            AdmissionRow row = admissionRow(rs);
+            if (!current.admissions().holds(row.id(), row.program(), row.year(), row.status(), row.score())) {
+                changedAdmissions.add(row);
+            }
+            admissionWatermark.advance(rs.getTimestamp(6));
+        });
+
+        goneStudents.removeIf(id -> !current.students().contains(id));
+        goneAdmissions.removeIf(id -> !current.admissions().contains(id));
+        if (changedStudents.isEmpty() && changedAdmissions.isEmpty()
+                && goneStudents.isEmpty() && goneAdmissions.isEmpty()) {
+            return new Snapshot(current.version(), current.students(), current.admissions(),
+                    current.studentRows(), current.admissionRows(), studentWatermark.value,
+                    admissionWatermark.value, Instant.now(), current.rebuiltAt());
+        }
+
+        StudentColumns students = current.students();
+        if (!changedStudents.isEmpty() || !goneStudents.isEmpty()) {
+            students = students.copy();
+            for (StudentRow row : changedStudents) {
+                students.upsert(row.id(), row.departmentId(), row.status(), row.yearOfStudy());
+            }
+            goneStudents.forEach(students::remove);
+        }
+        AdmissionColumns admissions = current.admissions();
+        if (!changedAdmissions.isEmpty() || !goneAdmissions.isEmpty()) {
+            admissions = admissions.copy();
+            for (AdmissionRow row : changedAdmissions) {
+                admissions.upsert(row.id(), row.program(), row.year(), row.status(), row.score());
+            }
+            goneAdmissions.forEach(admissions::remove);
+        }
+        logger.debug("Analytics snapshot v{}: {} student and {} admission rows changed, {} and {} removed",
+                current.version() + 1, changedStudents.size(), changedAdmissions.size(),
+                goneStudents.size(), goneAdmissions.size());
+        return new Snapshot(current.version() + 1, students, admissions, students.rows(), admissions.rows(),
+                studentWatermark.value, admissionWatermark.value, Instant.now(), current.rebuiltAt());
+    }
+
+    private static List<Long> drain(Set<Long> ids) {
+        List<Long> drained = new ArrayList<>();
+        for (Long id : ids) {
+            if (ids.remove(id)) {
+                drained.add(id);
+            }
+        }
+        return drained;
+    }
+
+    private Timestamp since(Timestamp watermark) {
+        if (watermark == null) {
+            return new Timestamp(0);
+        }
+        return new Timestamp(watermark.getTime() - properties.getRefreshOverlap().toMillis());
+    }
+
+    private static StudentRow studentRow(ResultSet rs) throws SQLException {
+        String status = rs.getString(3);
+        return new StudentRow(rs.getLong(1), rs.getInt(2),
+                status == null ? null : StudentStatus.valueOf(status), rs.getInt(4));
+    }
+
+    private static AdmissionRow admissionRow(ResultSet rs) throws SQLException {
+        String status = rs.getString(4);
+        Double score = rs.getObject(5, Double.class);
+        return new AdmissionRow(rs.getLong(1), rs.getString(2), rs.getInt(3),
+                status == null ? null : AdmissionStatus.valueOf(status), score);
+    }
+
+    private Snapshot requireSnapshot() {
+        Snapshot current = snapshot;
+        if (current == null) {
+            throw new IllegalStateException("Analytics snapshot is not available");
+        }
+        return current;
+    }
+
+    private AnalyticsResult result(long matched, String groupBy, Map<String, Long> groups,
+                                   Snapshot current, String type, long started) {
+        AnalyticsResult result = new AnalyticsResult();
+        result.setMatched(matched);
+        result.setGroupBy(groupBy);
+        result.setGroups(groups);
+        result.setSnapshotVersion(current.version());
+        result.setTookMicros(recordQuery(type, started));
+        return result;
+    }
+
+    private long recordQuery(String type, long started) {
+        long elapsed = System.nanoTime() - started;
+        meterRegistry.timer("student.analytics.query", "type", type).record(elapsed, TimeUnit.NANOSECONDS);
+        return TimeUnit.NANOSECONDS.toMicros(elapsed);
+    }
+
+    private static StudentColumns.Dimension studentDimension(String groupBy) {
+        if (groupBy == null || groupBy.isBlank()) {
+            return null;
+        }
+        return switch (groupBy) {
+            case "department" -> StudentColumns.Dimension.DEPARTMENT;
+            case "status" -> StudentColumns.Dimension.STATUS;
+            case "yearOfStudy" -> StudentColumns.Dimension.YEAR_OF_STUDY;
+            default -> throw new IllegalArgumentException("Unsupported groupBy for students: " + groupBy);
+        };
+    }
+
+    private static AdmissionColumns.Dimension admissionDimension(String groupBy) {
+        if (groupBy == null || groupBy.isBlank()) {
+            return null;
+        }
+        return switch (groupBy) {
+            case "program" -> AdmissionColumns.Dimension.PROGRAM;
+            case "year" -> AdmissionColumns.Dimension.ADMISSION_YEAR;
+            case "status" -> AdmissionColumns.Dimension.ADMISSION_STATUS;
+            default -> throw new IllegalArgumentException("Unsupported groupBy for admissions: " + groupBy);
+        };
+    }
+
+    private double rows(boolean students) {
+        Snapshot current = snapshot;
+        if (current == null) {
+            return 0;
+        }
+        return students ? current.studentRows() : current.admissionRows();
+    }
+
+    private double ageSeconds() {
+        Snapshot current = snapshot;
+        return current == null ? 0 : Duration.between(current.refreshedAt(), Instant.now()).toMillis() / 1000.0;
+    }
+
+    private static final class Watermark {
+        Timestamp value;
+
+        Watermark(Timestamp value) {
+            this.value = value;
+        }
+
+        void advance(Timestamp seen) {
+            if (seen != null && (value == null || seen.after(value))) {
+                value = seen;
+            }
+        }
+    }
+}
@@ -0,0 +1,251 @@
+package com.college.student.service.impl;
+
+import com.college.student.config.AuditProperties;
+import com.college.student.dto.AuditEvent;
+import com.college.student.repository.AuditEventRepository;
+import com.college.student.service.AuditService;
+import com.college.student.util.RingBuffer;
+import com.college.student.util.TransactionCallbacks;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Implementation of AuditService
+ *
+ * Request threads only claim a slot in a lock-free ring buffer after their
+ * transaction commits. One writer thread drains it, waiting up to the flush
+ * interval for a batch to fill, and writes each batch with a single JDBC
+ * batch insert or file append. A full buffer drops the event (or, with
+ * overflow BLOCK, waits briefly first) and counts it, so a slow sink never
+ * stalls or fails a mutation.
+ */
+@Service
+public class AuditServiceImpl implements AuditService {
+
+    private static final Logger logger = LoggerFactory.getLogger(AuditServiceImpl.class);
+
+    private static final int WRITE_ATTEMPTS = 3;
+    private static final long RETRY_BACKOFF_MILLIS = 100;
+    private static final long MAX_IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(50);
+    private static final long BLOCK_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(50);
+
+    @Autowired
+    private AuditProperties properties;
+
+    @Autowired
+    private AuditEventRepository auditEventRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private RingBuffer<AuditEvent> buffer;
+    private Thread writer;
+    private volatile boolean running;
+
+    private Counter accepted;
+    private Counter dropped;
+    private Counter blocked;
+    private Counter written;
+    private Counter failed;
+    private Timer flushTimer;
+
+    // Only touched by the writer thread
+    private FileChannel file;
+
+    @PostConstruct
+    void start() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        buffer = new RingBuffer<>(properties.getBufferSize());
+        String sink = properties.getSink().name().toLowerCase();
+        accepted = meterRegistry.counter("student.audit.events", "result", "accepted");
+        dropped = meterRegistry.counter("student.audit.events", "result", "dropped");
+        blocked = meterRegistry.counter("student.audit.backpressure.waits");
+        written = meterRegistry.counter("student.audit.written", "sink", sink);
+        failed = meterRegistry.counter("student.audit.failed", "sink", sink);
+        flushTimer = meterRegistry.timer("student.audit.flush", "sink", sink);
+        Gauge.builder("student.audit.queue.depth", buffer, RingBuffer::size)
+                .register(meterRegistry);
+        Gauge.builder("student.audit.queue.capacity", buffer, RingBuffer::capacity)
+                .register(meterRegistry);
+
+        CustomizableThreadFactory threads = new CustomizableThreadFactory("student-audit-");
+        threads.setDaemon(true);
+        running = true;
+        writer = threads.newThread(this::drainLoop);
+        writer.start();
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException {
+        if (writer == null) {
+            return;
+        }
+        // The writer flushes whatever is still buffered before it exits
+        running = false;
+        LockSupport.unpark(writer);
+        writer.join(TimeUnit.SECONDS.toMillis(10));
+    }
+
+    @Override
+    public void record(AuditEvent.Action action, String entityType, Long entityId, String entityKey,
+                       Map<String, Object> details) {
+        if (buffer == null) {
+            return;
+        }
+        AuditEvent event = new AuditEvent(Instant.now(), action, entityType, entityId, entityKey, details);
+        TransactionCallbacks.afterCommit(() -> enqueue(event));
+    }
+
+    private void enqueue(AuditEvent event) {
+        if (buffer.offer(event)) {
+            accepted.increment();
+            return;
+        }
+        if (properties.getOverflow() == AuditProperties.Overflow.BLOCK && running) {
+            blocked.increment();
+            LockSupport.unpark(writer);
+            long deadline = System.nanoTime() + properties.getBlockTimeout().toNanos();
+            while (System.nanoTime() < deadline) {
+                LockSupport.parkNanos(BLOCK_PARK_NANOS);
+                if (buffer.offer(event)) {
+                    accepted.increment();
+                    return;
+                }
+            }
+        }
+        dropped.increment();
+    }
+
+    private void drainLoop() {
+        int batchSize = properties.getBatchSize();
+        long flushNanos = properties.getFlushInterval().toNanos();
+        List<AuditEvent> batch = new ArrayList<>(batchSize);
+        long batchStartedAt = 0;
+        try {
+            while (true) {
+                boolean stopping = !running;
+                boolean wasEmpty = batch.isEmpty();
+                buffer.drain(batch::add, batchSize - batch.size());
+                if (wasEmpty && !batch.isEmpty()) {
+                    batchStartedAt = System.nanoTime();
+                }
+
+                long waited = System.nanoTime() - batchStartedAt;
+                if (!batch.isEmpty() && (batch.size() >= batchSize || waited >= flushNanos || stopping)) {
+                    write(batch);
+                    batch.clear();
+                    continue;
+                }
+                if (stopping && batch.isEmpty() && buffer.size() == 0) {
+                    return;
+                }
+                LockSupport.parkNanos(batch.isEmpty() ? MAX_IDLE_PARK_NANOS
+                        : Math.min(MAX_IDLE_PARK_NANOS, flushNanos - waited));
+            }
+        } finally {
+            closeFile();
+        }
+    }
+
+    private void write(List<AuditEvent> batch) {
+        for (int attempt = 1; attempt <= WRITE_ATTEMPTS; attempt++) {
+            try {
+                flushTimer.record(() -> {
+                    if (properties.getSink() == AuditProperties.Sink.FILE) {
+                        appendToFile(batch);
+                    } else {
+                        auditEventRepository.insertBatch(batch, this::detailsJson);
+                    }
+                });
+                written.increment(batch.size());
+                return;
+            } catch (RuntimeException e) {
+                if (attempt == WRITE_ATTEMPTS) {
+                    failed.increment(batch.size());
+                    logger.error("Dropping {} audit events after {} attempts: {}",
+                            batch.size(), WRITE_ATTEMPTS, e.getMessage(), e);
+                    return;
+                }
+                logger.warn("Audit write failed, retrying: {}", e.getMessage());
+                closeFile();
+                LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(RETRY_BACKOFF_MILLIS * attempt));
+            }
+        }
+    }
+
+    private void appendToFile(List<AuditEvent> batch) {
+        try {
+            ByteArrayOutputStream lines = new ByteArrayOutputStream(batch.size() * 256);
+            for (AuditEvent event : batch) {
+                objectMapper.writeValue(lines, event);
+                lines.write('\n');
+            }
+            if (file == null) {
+                Path path = Path.of(properties.getFile()).toAbsolutePath();
+                Files.createDirectories(path.getParent());
+                file = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                        StandardOpenOption.APPEND);
+            }
+            ByteBuffer bytes = ByteBuffer.wrap(lines.toByteArray());
+            while (bytes.hasRemaining()) {
+                file.write(bytes);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private String detailsJson(AuditEvent event) {
+        if (event.getDetails() == null || event.getDetails().isEmpty()) {
+            return null;
+        }
+        try {
+            return objectMapper.writeValueAsString(event.getDetails());
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void closeFile() {
+        if (file == null) {
+            return;
+        }
+        try {
+            file.close();
+        } catch (IOException e) {
+            logger.warn("Closing audit file failed: {}", e.getMessage());
+        }
+        file = null;
+    }
+}
@@ -0,0 +1,289 @@
+package com.college.student.service.impl;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.function.UnaryOperator;
+
+/**
+ * Batches of rows passed through a chain of stages, each stage's workers fed by a bounded queue
+ *
+ * The source runs on the calling thread; every other stage runs its workers on
+ * the given executor, which must have a thread free for each of them. A stage
+ * returns the rows of a batch that go on to the next one. When a queue is
+ * full its producer blocks, so a slow stage holds the stages before it back
+ * instead of letting batches pile up; the time spent blocked is that stage's
+ * backpressure, and time spent waiting on an empty queue is starvation.
+ *
+ * An ordered stage has one worker and receives batches in source order, so it
+ * can keep state across them. The first failure anywhere stops every stage
+ * and is rethrown by run.
+ */
+final class BatchPipeline<T> {
+
+    /**
+     * Produces the batches, handing each to the sink
+     */
+    interface Source<T> {
+        void emit(Consumer<List<T>> sink) throws IOException;
+    }
+
+    /**
+     * Work one stage did during a run
+     */
+    record StageStats(String name, int workers, long rows, long busyNanos, long blockedNanos, long starvedNanos) {}
+
+    // How often a blocked worker checks whether the run failed
+    private static final long POLL_MILLIS = 100;
+
+    private record Batch<T>(long sequence, List<T> rows) {}
+
+    private static final class Stage<T> {
+        final String name;
+        final int workers;
+        final boolean ordered;
+        final UnaryOperator<List<T>> work;
+        final BlockingQueue<Batch<T>> input;
+        final AtomicInteger running;
+        final LongAdder rows = new LongAdder();
+        final LongAdder busyNanos = new LongAdder();
+        final LongAdder blockedNanos = new LongAdder();
+        final LongAdder starvedNanos = new LongAdder();
+
+        Stage(String name, int workers, boolean ordered, UnaryOperator<List<T>> work, int capacity) {
+            this.name = name;
+            this.workers = workers;
+            this.ordered = ordered;
+            this.work = work;
+            this.input = capacity > 0 ? new ArrayBlockingQueue<>(capacity) : null;
+            this.running = new AtomicInteger(workers);
+        }
+    }
+
+    private final String metricPrefix;
+    private final int queueCapacity;
+    private final MeterRegistry meterRegistry;
+    private final List<Stage<T>> stages = new ArrayList<>();
+    private final AtomicReference<Throwable> failure = new AtomicReference<>();
+    private final Batch<T> end = new Batch<>(-1, List.of());
+
+    BatchPipeline(String source, String metricPrefix, int queueCapacity, MeterRegistry meterRegistry) {
+        this.metricPrefix = metricPrefix;
+        this.queueCapacity = queueCapacity;
+        this.meterRegistry = meterRegistry;
+        stages.add(new Stage<>(source, 1, true, null, 0));
+    }
+
+    BatchPipeline<T> stage(String name, int workers, UnaryOperator<List<T>> work) {
+        stages.add(new Stage<>(name, workers, false, work, queueCapacity));
+        return this;
+    }
+
+    BatchPipeline<T> orderedStage(String name, UnaryOperator<List<T>> work) {
+        stages.add(new Stage<>(name, 1, true, work, queueCapacity));
+        return this;
+    }
+
+    /**
+     * Worker threads the stages after the source need
+     */
+    int workers() {
+        return stages.stream().skip(1).mapToInt(stage -> stage.workers).sum();
+    }
+
+    /**
+     * Batches waiting in front of a stage
+     */
+    int queued(String name) {
+        for (Stage<T> stage : stages) {
+            if (stage.name.equals(name) && stage.input != null) {
+                return stage.input.size();
+            }
+        }
+        return 0;
+    }
+
+    List<StageStats> stats() {
+        List<StageStats> stats = new ArrayList<>();
+        for (Stage<T> stage : stages) {
+            stats.add(new StageStats(stage.name, stage.workers, stage.rows.sum(), stage.busyNanos.sum(),
+                    stage.blockedNanos.sum(), stage.starvedNanos.sum()));
+        }
+        return stats;
+    }
+
+    /**
+     * Run the source on this thread and every batch it emits through the stages, returning once all are done
+     */
+    void run(Source<T> source, ExecutorService executor) throws IOException {
+        List<Future<?>> workers = new ArrayList<>();
+        for (int index = 1; index < stages.size(); index++) {
+            int stage = index;
+            for (int worker = 0; worker < stages.get(index).workers; worker++) {
+                workers.add(executor.submit(() -> work(stage)));
+            }
+        }
+
+        Stage<T> first = stages.get(0);
+        long[] sequence = {0};
+        long start = System.nanoTime();
+        try {
+            source.emit(rows -> {
+                first.rows.add(rows.size());
+                hand(0, new Batch<>(sequence[0]++, rows));
+            });
+            finish(0);
+        } catch (Throwable e) {
+            fail(e);
+        } finally {
+            first.busyNanos.add(System.nanoTime() - start - first.blockedNanos.sum());
+        }
+
+        for (Future<?> worker : workers) {
+            try {
+                worker.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                fail(e);
+                workers.forEach(other -> other.cancel(true));
+                break;
+            } catch (ExecutionException e) {
+                fail(e.getCause());
+            }
+        }
+
+        Throwable cause = failure.get();
+        if (cause instanceof IOException e) {
+            throw e;
+        } else if (cause instanceof RuntimeException e) {
+            throw e;
+        } else if (cause instanceof Error e) {
+            throw e;
+        } else if (cause != null) {
+            throw new IllegalStateException(cause.getMessage(), cause);
+        }
+    }
+
+    private void work(int index) {
+        Stage<T> stage = stages.get(index);
+        Map<Long, Batch<T>> waiting = new HashMap<>();
+        long next = 0;
+        try {
+            while (true) {
+                Batch<T> batch = take(stage);
+                if (batch == end) {
+                    break;
+                }
+                if (!stage.ordered) {
+                    process(index, batch);
+                    continue;
+                }
+                // Batches overtake each other in parallel stages; hold early ones until their turn
+                waiting.put(batch.sequence(), batch);
+                for (Batch<T> due = waiting.remove(next); due != null; due = waiting.remove(next)) {
+                    process(index, due);
+                    next++;
+                }
+            }
+            if (stage.running.decrementAndGet() == 0) {
+                finish(index);
+            }
+        } catch (Throwable e) {
+            fail(e);
+        }
+    }
+
+    private void process(int index, Batch<T> batch) {
+        Stage<T> stage = stages.get(index);
+        long start = System.nanoTime();
+        List<T> rows = stage.work.apply(batch.rows());
+        stage.busyNanos.add(System.nanoTime() - start);
+        stage.rows.add(batch.rows().size());
+        meterRegistry.counter(metricPrefix + ".rows", "stage", stage.name).increment(batch.rows().size());
+        // Empty batches go on too, so an ordered stage downstream sees every sequence number
+        hand(index, new Batch<>(batch.sequence(), rows));
+    }
+
+    /**
+     * Pass a batch from a stage to the next one, blocking while that one's queue is full
+     */
+    private void hand(int from, Batch<T> batch) {
+        if (from + 1 == stages.size()) {
+            return;
+        }
+        Stage<T> producer = stages.get(from);
+        BlockingQueue<Batch<T>> queue = stages.get(from + 1).input;
+        long start = System.nanoTime();
+        try {
+            checkRunning();
+            while (!queue.offer(batch, POLL_MILLIS, TimeUnit.MILLISECONDS)) {
+                checkRunning();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CancellationException("Interrupted");
+        } finally {
+            long blocked = System.nanoTime() - start;
+            producer.blockedNanos.add(blocked);
+            meterRegistry.timer(metricPrefix + ".blocked", "stage", producer.name)
+                    .record(blocked, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private Batch<T> take(Stage<T> stage) {
+        long start = System.nanoTime();
+        try {
+            while (true) {
+                checkRunning();
+                Batch<T> batch = stage.input.poll(POLL_MILLIS, TimeUnit.MILLISECONDS);
+                if (batch != null) {
+                    return batch;
+                }
+                checkRunning();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CancellationException("Interrupted");
+        } finally {
+            stage.starvedNanos.add(System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Tell every worker of the stage after this one that no more batches are coming
+     */
+    private void finish(int index) {
+        if (index + 1 == stages.size()) {
+            return;
+        }
+        for (int worker = 0; worker < stages.get(index + 1).workers; worker++) {
+            hand(index, end);
+        }
+    }
+
+    private void checkRunning() {
+        if (failure.get() != null) {
+            throw new CancellationException("Pipeline stopped");
+        }
+    }
+
+    private void fail(Throwable e) {
+        // Workers unwinding because of an earlier failure do not replace it
+        failure.compareAndSet(null, e);
+    }
+}
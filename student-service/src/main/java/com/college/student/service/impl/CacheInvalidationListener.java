@@ -0,0 +1,320 @@
+package com.college.student.service.impl;
+
+import com.college.student.config.ApplicationNameConfiguration;
+import com.college.student.config.CacheInvalidationProperties;
+import com.college.student.config.ShardingProperties;
+import com.college.student.entity.Admission;
+import com.college.student.entity.Student;
+import com.college.student.repository.AdmissionRepository;
+import com.college.student.service.AnalyticsService;
+import com.college.student.service.MeritListService;
+import com.college.student.util.DepartmentDictionary;
+import com.college.student.util.SingleFlight;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Evicts students, admissions and departments that another replica changed from this instance's caches
+ *
+ * Each database gets one connection of its own, outside the pool, LISTENing
+ * on the channel the V8 triggers notify for every committed write, whoever
+ * made it. A message names the table, the operation and the ids touched, and
+ * is applied to the Hibernate second-level cache, the student directory, the
+ * coalesced student reads and the department dictionary as it arrives,
+ * milliseconds after the commit. Deletes also drop the rows from the
+ * analytics snapshot and the merit rankings.
+ * Student and admission writes made through this instance come back as well,
+ * tagged with its application_name, and are skipped: Hibernate already keeps
+ * the cache current for them, and an eviction landing while such a write
+ * commits would drop the lock Hibernate holds on the entry, letting a read of
+ * the old row be cached after it.
+ *
+ * Skipping them is only correct because Hibernate sees every other write this
+ * instance makes. The native SQL writes Hibernate does not see evict what they
+ * touched themselves once they commit: the archive moves in
+ * StudentLifecycleManager, which also reports them to analytics and merit
+ * rankings, and the bulk admission import in
+ * AdmissionServiceImpl. A new native write path to students or admissions
+ * must do the same, or this instance keeps serving the rows it replaced.
+ *
+ * Messages sent while a connection is down are lost, so everything is
+ * evicted once it is back; meanwhile the cache expiry bounds staleness.
+ */
+@Component
+public class CacheInvalidationListener {
+
+    private static final Logger logger = LoggerFactory.getLogger(CacheInvalidationListener.class);
+
+    // Channel and payload format are defined by V8__cache_invalidation.sql
+    private static final String CHANNEL = "student_cache_invalidation";
+    private static final String ALL = "*";
+
+    private static final String ADMISSIONS_ROLE = Student.class.getName() + ".admissions";
+
+    // Longest a listener blocks waiting for messages, and so the delay before it notices shutdown
+    private static final int POLL_MILLIS = 1000;
+
+    @Autowired
+    private CacheInvalidationProperties properties;
+
+    @Autowired
+    private DataSourceProperties dataSourceProperties;
+
+    @Autowired
+    private ShardingProperties shardingProperties;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private StudentDirectoryCache directoryCache;
+
+    @Autowired
+    private DepartmentDictionary departmentDictionary;
+
+    @Autowired
+    private SingleFlight singleFlight;
+
+    @Autowired
+    private AnalyticsService analyticsService;
+
+    @Autowired
+    private MeritListService meritListService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private final AtomicInteger connected = new AtomicInteger();
+    private final List<Thread> listeners = new ArrayList<>();
+    private volatile boolean running;
+    private Cache cache;
+
+    private record Database(String name, String url, String username, String password) {}
+
+    @PostConstruct
+    void start() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        cache = entityManagerFactory.unwrap(SessionFactory.class).getCache();
+        Gauge.builder("student.cache.invalidation.listeners", connected, AtomicInteger::get)
+                .description("Databases whose invalidation messages are currently being received")
+                .register(meterRegistry);
+
+        running = true;
+        CustomizableThreadFactory threads = new CustomizableThreadFactory("cache-invalidation-");
+        threads.setDaemon(true);
+        List<Database> databases = databases();
+        for (Database database : databases) {
+            Thread listener = threads.newThread(() -> listen(database));
+            listeners.add(listener);
+            listener.start();
+        }
+        logger.info("Listening for cache invalidations on {} database(s)", databases.size());
+    }
+
+    @PreDestroy
+    void stop() {
+        running = false;
+        listeners.forEach(Thread::interrupt);
+    }
+
+    private List<Database> databases() {
+        List<Database> databases = new ArrayList<>();
+        if (shardingProperties.isEnabled()) {
+            for (int shard = 0; shard < shardingProperties.getShards().size(); shard++) {
+                ShardingProperties.Shard settings = shardingProperties.getShards().get(shard);
+                databases.add(new Database("shard " + shard, settings.getUrl(), settings.getUsername(),
+                        settings.getPassword()));
+            }
+        } else {
+            databases.add(new Database("database", dataSourceProperties.determineUrl(),
+                    dataSourceProperties.determineUsername(), dataSourceProperties.determinePassword()));
+        }
+        return databases;
+    }
+
+    private void listen(Database database) {
+        boolean missed = false;
+        while (running) {
+            try (Connection connection = DriverManager.getConnection(database.url(), database.username(),
+                    database.password())) {
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("LISTEN " + CHANNEL);
+                }
+                PGConnection listener = connection.unwrap(PGConnection.class);
+                connected.incrementAndGet();
+                try {
+                    if (missed) {
+                        logger.info("Cache invalidation listener on {} reconnected, evicting everything it covers",
+                                database.name());
+                        evictAll();
+                        missed = false;
+                    }
+                    receive(connection, listener);
+                } finally {
+                    connected.decrementAndGet();
+                }
+            } catch (SQLException e) {
+                if (!running) {
+                    return;
+                }
+                missed = true;
+                logger.warn("Cache invalidation listener on {} lost its connection, retrying in {}: {}",
+                        database.name(), properties.getReconnectDelay(), e.getMessage());
+                try {
+                    Thread.sleep(properties.getReconnectDelay().toMillis());
+                } catch (InterruptedException interrupted) {
+                    return;
+                }
+            }
+        }
+    }
+
+    private void receive(Connection connection, PGConnection listener) throws SQLException {
+        long heartbeatNanos = properties.getHeartbeatInterval().toNanos();
+        long lastHeard = System.nanoTime();
+        while (running) {
+            PGNotification[] notifications = listener.getNotifications(POLL_MILLIS);
+            if (notifications != null && notifications.length > 0) {
+                for (PGNotification notification : notifications) {
+                    apply(notification.getParameter());
+                }
+                lastHeard = System.nanoTime();
+            } else if (System.nanoTime() - lastHeard > heartbeatNanos) {
+                // A quiet channel and a silently dropped connection look the same until the connection is used
+                if (!connection.isValid(5)) {
+                    throw new SQLException("Listener connection is no longer valid");
+                }
+                lastHeard = System.nanoTime();
+            }
+        }
+    }
+
+    /**
+     * Apply one "table:operation:keys:origin" message
+     */
+    void apply(String payload) {
+        String[] parts = payload.split(":", 4);
+        if (parts.length < 3) {
+            logger.warn("Ignoring malformed cache invalidation: {}", payload);
+            return;
+        }
+        String table = parts[0];
+        String operation = parts[1];
+        boolean all = ALL.equals(parts[2]);
+        boolean own = parts.length == 4 && ApplicationNameConfiguration.APPLICATION_NAME.equals(parts[3]);
+        if (own && !"departments".equals(table)) {
+            return;
+        }
+        try {
+            switch (table) {
+                case "students" -> students(operation, all, parts[2]);
+                case "admissions" -> admissions(operation, all, parts[2]);
+                case "departments" -> departmentDictionary.reload();
+                default -> {
+                    logger.debug("Ignoring cache invalidation for table {}", table);
+                    return;
+                }
+            }
+        } catch (RuntimeException e) {
+            // A bad message must not stop the listener; the cache expiry still bounds staleness
+            logger.error("Failed to apply cache invalidation {}: {}", payload, e.getMessage(), e);
+            return;
+        }
+        meterRegistry.counter("student.cache.invalidations", "table", table, "scope", all ? "all" : "keys").increment();
+    }
+
+    private void students(String operation, boolean all, String keys) {
+        boolean deleted = "DELETE".equals(operation) || "TRUNCATE".equals(operation);
+        singleFlight.invalidate();
+        if (all) {
+            cache.evictEntityData(Student.class);
+            cache.evictCollectionData(ADMISSIONS_ROLE);
+            directoryCache.refreshSoon(deleted);
+            if (deleted) {
+                analyticsService.rebuildSoon();
+            }
+            return;
+        }
+        List<Long> removed = new ArrayList<>();
+        for (String key : keys.split(",")) {
+            Long id = Long.valueOf(key);
+            // A new student cannot be cached yet; only the directory needs to learn about it
+            if (!"INSERT".equals(operation)) {
+                cache.evictEntityData(Student.class, id);
+            }
+            if (deleted) {
+                cache.evictCollectionData(ADMISSIONS_ROLE, id);
+                // Archived or deleted; the directory finds out which
+                directoryCache.removedElsewhere(id);
+                removed.add(id);
+            }
+        }
+        if (deleted) {
+            analyticsService.removed(removed, List.of());
+        } else {
+            directoryCache.refreshSoon(false);
+        }
+    }
+
+    private void admissions(String operation, boolean all, String keys) {
+        boolean deleted = "DELETE".equals(operation) || "TRUNCATE".equals(operation);
+        cache.evictQueryRegion(AdmissionRepository.PROGRAMS_REGION);
+        singleFlight.invalidate();
+        if (all) {
+            cache.evictEntityData(Admission.class);
+            cache.evictCollectionData(ADMISSIONS_ROLE);
+            if (deleted) {
+                analyticsService.rebuildSoon();
+                meritListService.rebuildSoon();
+            }
+            return;
+        }
+        List<Long> removed = new ArrayList<>();
+        for (String key : keys.split(",")) {
+            int slash = key.indexOf('/');
+            Long id = Long.valueOf(key.substring(0, slash));
+            cache.evictEntityData(Admission.class, id);
+            cache.evictCollectionData(ADMISSIONS_ROLE, Long.valueOf(key.substring(slash + 1)));
+            if (deleted) {
+                removed.add(id);
+            }
+        }
+        if (deleted) {
+            analyticsService.removed(List.of(), removed);
+            meritListService.removed(removed);
+        }
+    }
+
+    private void evictAll() {
+        cache.evictAllRegions();
+        singleFlight.invalidate();
+        directoryCache.refreshSoon(true);
+        departmentDictionary.reload();
+        // Deletes among the lost messages left no updated_at behind for a refresh to find
+        analyticsService.rebuildSoon();
+        meritListService.rebuildSoon();
+    }
+}
@@ -0,0 +1,255 @@
+package com.college.student.service.impl;
+
+import com.college.student.config.ChangeFeedProperties;
+import com.college.student.dto.AdmissionDto;
+import com.college.student.dto.ChangeFeedPage;
+import com.college.student.dto.DeletedRecord;
+import com.college.student.dto.StudentDto;
+import com.college.student.entity.Admission;
+import com.college.student.entity.Student;
+import com.college.student.repository.AdmissionRepository;
+import com.college.student.repository.ChangeTombstoneRepository;
+import com.college.student.repository.StudentRepository;
+import com.college.student.service.ChangeFeedService;
+import com.college.student.util.ChangeFeedToken;
+import com.college.student.util.ChangeFeedToken.Position;
+import com.college.student.util.ShardRouter;
+import com.college.student.util.StudentMapper;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Changes feed read by keyset from the (change_xid, id) indexes of students, admissions and tombstones
+ *
+ * Students, admissions and tombstones are three streams, each read on every
+ * shard from its own position in the token, so a page is a handful of index
+ * range scans whatever the table size. A row enters the feed only once the
+ * transaction that wrote it is older than every transaction still running on
+ * its shard (V12__change_feed_xid.sql): that one has finished, however long it
+ * ran, so no row can still commit behind a position already handed out. A
+ * stream that is caught up moves to that bound, so its position keeps up with
+ * the tombstone purge even while nothing changes.
+ */
+@Service
+public class ChangeFeedServiceImpl implements ChangeFeedService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ChangeFeedServiceImpl.class);
+
+    private static final String STUDENTS = "students";
+    private static final String ADMISSIONS = "admissions";
+    private static final String DELETED = "deleted";
+
+    @Autowired
+    private ChangeFeedProperties properties;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private AdmissionRepository admissionRepository;
+
+    @Autowired
+    private ChangeTombstoneRepository tombstoneRepository;
+
+    @Autowired
+    private StudentMapper studentMapper;
+
+    @Autowired
+    private ShardRouter shardRouter;
+
+    private ScheduledExecutorService purger;
+
+    /**
+     * An item of a stream with the position it moves the stream to
+     */
+    private record Row<T>(int shard, Position position, T item) {}
+
+    /**
+     * Rows of one stream on a shard after a position, written by transactions older than before
+     */
+    @FunctionalInterface
+    private interface StreamQuery<T> {
+        List<Row<T>> after(int shard, Position from, long before);
+    }
+
+    /**
+     * Token being moved on while a page is assembled
+     */
+    private static final class Cursor {
+        ChangeFeedToken token;
+        boolean hasMore;
+
+        Cursor(ChangeFeedToken token) {
+            this.token = token;
+        }
+    }
+
+    @PostConstruct
+    void start() {
+        CustomizableThreadFactory threads = new CustomizableThreadFactory("change-feed-");
+        threads.setDaemon(true);
+        purger = Executors.newSingleThreadScheduledExecutor(threads);
+        long interval = properties.getPurgeInterval().toMillis();
+        purger.scheduleWithFixedDelay(this::purgeTombstones, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    void stop() {
+        if (purger != null) {
+            purger.shutdownNow();
+        }
+    }
+
+    @Override
+    public ChangeFeedPage getChanges(String since, int limit) {
+        Cursor cursor = new Cursor(ChangeFeedToken.parse(since));
+
+        List<Row<Long>> changedStudents = read(STUDENTS, limit, cursor, (shard, from, before) ->
+                changed(shard, studentRepository.findChangedAfter(from.changeXid(), from.id(), before, limit)));
+        List<StudentDto> students = load(changedStudents, studentRepository::findByIdIn, Student::getId,
+                student -> studentMapper.toDto(student, null));
+        List<Row<Long>> changedAdmissions = read(ADMISSIONS, limit, cursor, (shard, from, before) ->
+                changed(shard, admissionRepository.findChangedAfter(from.changeXid(), from.id(), before, limit)));
+        List<AdmissionDto> admissions = load(changedAdmissions, admissionRepository::findAllById, Admission::getId,
+                studentMapper::toAdmissionDto);
+        List<DeletedRecord> deleted = new ArrayList<>();
+        read(DELETED, limit, cursor, (shard, from, before) -> {
+            List<Row<DeletedRecord>> rows = new ArrayList<>();
+            tombstoneRepository.findAfter(from.changeXid(), from.id(), before, limit).forEach(tombstone ->
+                    rows.add(new Row<>(shard, new Position(tombstone.changeXid(), tombstone.id()),
+                            tombstone.record())));
+            return rows;
+        }).forEach(row -> deleted.add(row.item()));
+
+        return new ChangeFeedPage(students, admissions, deleted, cursor.token.encode(), cursor.hasMore);
+    }
+
+    @Override
+    public boolean isExpired(String since) {
+        ChangeFeedToken token = ChangeFeedToken.parse(since);
+        if (token.isOutdated()) {
+            return true;
+        }
+        if (token.isEmpty()) {
+            return false;
+        }
+        for (int shard = 0; shard < shardRouter.shardCount(); shard++) {
+            Position purged = shardRouter.readOnShard(shard, () -> tombstoneRepository.purgedUpTo());
+            if (token.get(ChangeFeedToken.stream(DELETED, shard)).isBefore(purged)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Up to limit rows of one stream across the shards, oldest first, moving the cursor past them
+     *
+     * Transaction ids of different shards are unrelated, so ordering by them
+     * only interleaves the shards; each shard's rows keep their own order.
+     */
+    private <T> List<Row<T>> read(String kind, int limit, Cursor cursor, StreamQuery<T> query) {
+        List<Row<T>> rows = new ArrayList<>();
+        Map<Integer, Position> caughtUp = new HashMap<>();
+        for (int shard = 0; shard < shardRouter.shardCount(); shard++) {
+            int index = shard;
+            Position from = cursor.token.get(ChangeFeedToken.stream(kind, shard));
+            List<Row<T>> shardRows = shardRouter.readOnShard(shard, () -> {
+                long before = tombstoneRepository.oldestRunningTransaction();
+                List<Row<T>> found = query.after(index, from, before);
+                if (found.size() < limit) {
+                    // Nothing else before the bound, now or later
+                    caughtUp.put(index, new Position(before, 0));
+                }
+                return found;
+            });
+            // A full batch may have more behind it
+            cursor.hasMore |= shardRows.size() == limit;
+            rows.addAll(shardRows);
+        }
+        rows.sort(Comparator.comparingLong((Row<T> row) -> row.position().changeXid())
+                .thenComparingLong(row -> row.position().id()));
+
+        List<Row<T>> page = new ArrayList<>(rows.subList(0, Math.min(limit, rows.size())));
+        for (Row<T> row : page) {
+            cursor.token = cursor.token.with(ChangeFeedToken.stream(kind, row.shard()), row.position());
+        }
+        // A shard whose rows were cut off the page is not caught up after all
+        rows.subList(page.size(), rows.size()).forEach(row -> caughtUp.remove(row.shard()));
+        caughtUp.forEach((shard, bound) -> {
+            String stream = ChangeFeedToken.stream(kind, shard);
+            if (cursor.token.get(stream).isBefore(bound)) {
+                cursor.token = cursor.token.with(stream, bound);
+            }
+        });
+        cursor.hasMore |= rows.size() > limit;
+        return page;
+    }
+
+    /**
+     * Rows of the (id, change_xid) pairs a changed-after query returns
+     */
+    private static List<Row<Long>> changed(int shard, List<Object[]> idsAndXids) {
+        List<Row<Long>> rows = new ArrayList<>();
+        for (Object[] idAndXid : idsAndXids) {
+            long id = ((Number) idAndXid[0]).longValue();
+            rows.add(new Row<>(shard, new Position(((Number) idAndXid[1]).longValue(), id), id));
+        }
+        return rows;
+    }
+
+    /**
+     * Current state of the changed rows, in feed order; rows deleted since are left to their tombstones
+     */
+    private <E, T> List<T> load(List<Row<Long>> changed, Function<List<Long>, List<E>> find,
+                                Function<E, Long> idOf, Function<E, T> toDto) {
+        Map<Integer, List<Long>> idsByShard = new TreeMap<>();
+        changed.forEach(row -> idsByShard.computeIfAbsent(row.shard(), shard -> new ArrayList<>()).add(row.item()));
+        Map<Long, T> byId = new HashMap<>();
+        idsByShard.forEach((shard, ids) -> shardRouter.readOnShard(shard, () -> {
+            find.apply(ids).forEach(entity -> byId.put(idOf.apply(entity), toDto.apply(entity)));
+            return null;
+        }));
+
+        List<T> items = new ArrayList<>();
+        for (Row<Long> row : changed) {
+            T item = byId.get(row.item());
+            if (item != null) {
+                items.add(item);
+            }
+        }
+        return items;
+    }
+
+    private void purgeTombstones() {
+        LocalDateTime cutoff = LocalDateTime.now().minus(properties.getTombstoneRetention());
+        for (int shard = 0; shard < shardRouter.shardCount(); shard++) {
+            try {
+                int purged = shardRouter.onShard(shard, () -> tombstoneRepository.deleteOlderThan(cutoff));
+                if (purged > 0) {
+                    logger.info("Purged {} change tombstones older than {} on shard {}", purged, cutoff, shard);
+                }
+            } catch (RuntimeException e) {
+                // Retried at the next interval; tombstones only pile up meanwhile
+                logger.warn("Failed to purge change tombstones on shard {}: {}", shard, e.getMessage());
+            }
+        }
+    }
+}
@@ -0,0 +1,219 @@
+package com.college.student.service.impl;
+
+import com.college.student.config.HealthProperties;
+import com.college.student.config.ShardRoutingDataSource;
+import com.college.student.util.ShardRouter;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.DatabaseMetaData;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Database status kept current in the background, so health probes never touch the database
+ *
+ * Every check interval one thread runs SELECT 1 on each database (each shard
+ * when sharded) and records whether it answered within the query timeout and
+ * how long it took, waiting for a pool connection included. Probes read that
+ * result and the Hikari pool counters, both held in memory, so a probe costs
+ * the same under load as at rest and never competes for a connection. A
+ * result older than max-age means the checker itself is stuck, and the
+ * database is reported down.
+ */
+@Component
+public class DatabaseHealthMonitor {
+
+    private static final Logger logger = LoggerFactory.getLogger(DatabaseHealthMonitor.class);
+
+    /**
+     * Outcome of the last check of one database
+     */
+    public record Check(boolean up, long latencyMillis, Instant checkedAt, String database, String url,
+                        String error) {}
+
+    @Autowired
+    private HealthProperties properties;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private ShardRouter shardRouter;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private JdbcTemplate jdbcTemplate;
+    private List<HikariDataSource> pools;
+    private ScheduledExecutorService checker;
+
+    // Last check per database, replaced wholesale by the checker thread
+    private volatile List<Check> checks;
+
+    @PostConstruct
+    void start() {
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        pools = pools();
+        List<Check> pending = new ArrayList<>();
+        for (int shard = 0; shard < shardRouter.shardCount(); shard++) {
+            pending.add(new Check(false, 0, Instant.EPOCH, null, null, "Not checked yet"));
+        }
+        checks = pending;
+
+        for (int shard = 0; shard < shardRouter.shardCount(); shard++) {
+            int index = shard;
+            Gauge.builder("student.db.health.latency", this, monitor -> monitor.checks.get(index).latencyMillis())
+                    .description("Time the last health check of the database took, connection checkout included")
+                    .baseUnit("milliseconds")
+                    .tag("shard", Integer.toString(shard))
+                    .register(meterRegistry);
+            Gauge.builder("student.db.health.up", this, monitor -> monitor.isUp(monitor.checks.get(index)) ? 1 : 0)
+                    .tag("shard", Integer.toString(shard))
+                    .register(meterRegistry);
+        }
+
+        CustomizableThreadFactory threads = new CustomizableThreadFactory("db-health-");
+        threads.setDaemon(true);
+        checker = Executors.newSingleThreadScheduledExecutor(threads);
+        checker.scheduleWithFixedDelay(this::check, 0, properties.getCheckInterval().toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    void stop() {
+        if (checker != null) {
+            checker.shutdownNow();
+        }
+    }
+
+    /**
+     * Whether every database answered its last check, and that check is recent
+     */
+    public boolean isUp() {
+        for (Check check : checks) {
+            if (!isUp(check)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Last check of every database and the state of its connection pool, in shard order
+     */
+    public Map<String, Object> describe() {
+        Map<String, Object> details = new LinkedHashMap<>();
+        List<Check> current = checks;
+        for (int shard = 0; shard < current.size(); shard++) {
+            Check check = current.get(shard);
+            Map<String, Object> database = new LinkedHashMap<>();
+            database.put("status", isUp(check) ? "UP" : "DOWN");
+            database.put("latencyMs", check.latencyMillis());
+            database.put("checkedAt", check.checkedAt().toString());
+            if (check.database() != null) {
+                database.put("database", check.database());
+                database.put("url", check.url());
+            }
+            if (check.error() != null) {
+                database.put("error", check.error());
+            } else if (!isUp(check)) {
+                database.put("error", "Last check is older than " + properties.getMaxAge());
+            }
+            if (shard < pools.size()) {
+                database.put("pool", poolStats(pools.get(shard)));
+            }
+            details.put(current.size() == 1 ? "database" : "shard" + shard, database);
+        }
+        return details;
+    }
+
+    void check() {
+        List<Check> results = new ArrayList<>();
+        for (int shard = 0; shard < shardRouter.shardCount(); shard++) {
+            results.add(shardRouter.onShard(shard, this::checkOne));
+        }
+        for (int shard = 0; shard < results.size(); shard++) {
+            Check previous = checks.get(shard);
+            Check result = results.get(shard);
+            if (previous.up() != result.up() && !Instant.EPOCH.equals(previous.checkedAt())) {
+                logger.warn("Database{} is now {}{}", results.size() == 1 ? "" : " shard " + shard,
+                        result.up() ? "UP" : "DOWN", result.error() == null ? "" : ": " + result.error());
+            }
+        }
+        checks = results;
+    }
+
+    private Check checkOne() {
+        long start = System.nanoTime();
+        try {
+            String[] database = jdbcTemplate.execute((ConnectionCallback<String[]>) connection -> {
+                try (Statement statement = connection.createStatement()) {
+                    statement.setQueryTimeout((int) Math.max(1, properties.getQueryTimeout().toSeconds()));
+                    statement.execute("SELECT 1");
+                }
+                DatabaseMetaData metaData = connection.getMetaData();
+                return new String[]{metaData.getDatabaseProductName(), metaData.getURL()};
+            });
+            long latency = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+            return new Check(true, latency, Instant.now(), database[0], database[1], null);
+        } catch (RuntimeException e) {
+            long latency = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+            return new Check(false, latency, Instant.now(), null, null, e.getMessage());
+        }
+    }
+
+    private boolean isUp(Check check) {
+        return check.up() && check.checkedAt().plus(properties.getMaxAge()).isAfter(Instant.now());
+    }
+
+    private List<HikariDataSource> pools() {
+        List<HikariDataSource> found = new ArrayList<>();
+        try {
+            if (dataSource.isWrapperFor(ShardRoutingDataSource.class)) {
+                Map<Object, DataSource> shards = dataSource.unwrap(ShardRoutingDataSource.class).getResolvedDataSources();
+                for (int shard = 0; shard < shards.size(); shard++) {
+                    found.add(shards.get(shard).unwrap(HikariDataSource.class));
+                }
+            } else if (dataSource.isWrapperFor(HikariDataSource.class)) {
+                found.add(dataSource.unwrap(HikariDataSource.class));
+            }
+        } catch (SQLException e) {
+            logger.warn("Connection pool statistics unavailable: {}", e.getMessage());
+        }
+        return found;
+    }
+
+    private static Map<String, Object> poolStats(HikariDataSource pool) {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("name", pool.getPoolName());
+        stats.put("max", pool.getMaximumPoolSize());
+        HikariPoolMXBean bean = pool.getHikariPoolMXBean();
+        if (bean != null) {
+            stats.put("active", bean.getActiveConnections());
+            stats.put("idle", bean.getIdleConnections());
+            stats.put("total", bean.getTotalConnections());
+            stats.put("waiting", bean.getThreadsAwaitingConnection());
+        }
+        return stats;
+    }
+}
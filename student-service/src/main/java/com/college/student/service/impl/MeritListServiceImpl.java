@@ -0,0 +1,354 @@
+package com.college.student.service.impl;
+
+import com.college.student.config.MeritListProperties;
+import com.college.student.dto.MeritListDto;
+import com.college.student.dto.MeritListEntry;
+import com.college.student.repository.MeritCandidateRepository;
+import com.college.student.service.MeritListService;
+import com.college.student.util.ShardRouter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Implementation of MeritListService
+ *
+ * Rankings are held in memory as one MeritPartition per (program, year) and
+ * ranked in parallel, one partition per task. A request finding them older
+ * than the refresh interval first folds in admissions whose updated_at moved
+ * past the watermark: only the touched partitions are patched. While one
+ * request refreshes, others keep reading the previous rankings. Admissions
+ * that leave the live table, archived or deleted, leave no updated_at trail:
+ * StudentLifecycleManager reports its own moves and CacheInvalidationListener
+ * the deletes of other replicas, and the next refresh unranks them.
+ */
+@Service
+public class MeritListServiceImpl implements MeritListService {
+
+    private static final Logger logger = LoggerFactory.getLogger(MeritListServiceImpl.class);
+
+    // Pending removals kept before the next refresh is told to rebuild instead
+    private static final int MAX_PENDING_REMOVALS = 100_000;
+
+    @Autowired
+    private MeritListProperties properties;
+
+    @Autowired
+    private MeritCandidateRepository candidateRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private ShardRouter shardRouter;
+
+    private volatile Rankings rankings;
+    private final ReentrantLock refreshLock = new ReentrantLock();
+
+    // Where each ranked admission currently sits; guarded by refreshLock
+    private final Map<Long, Location> locations = new HashMap<>();
+    private boolean rebuildRequired;
+
+    // Admission ids reported removed since the last refresh; committed before they were reported
+    private final Set<Long> removedAdmissions = ConcurrentHashMap.newKeySet();
+    private final AtomicBoolean rebuildRequested = new AtomicBoolean();
+
+    private ExecutorService rankingExecutor;
+    private TransactionTemplate readOnlyTransaction;
+
+    private record Rankings(long version, Map<MeritPartition.Key, MeritPartition> partitions, long candidates,
+                            Timestamp watermark, Instant refreshedAt, Instant rebuiltAt) {}
+
+    private record Location(MeritPartition.Key key, double score) {}
+
+    @PostConstruct
+    void init() {
+        readOnlyTransaction = new TransactionTemplate(transactionManager);
+        readOnlyTransaction.setReadOnly(true);
+
+        int parallelism = properties.getParallelism() > 0
+                ? properties.getParallelism() : Runtime.getRuntime().availableProcessors();
+        CustomizableThreadFactory threads = new CustomizableThreadFactory("student-merit-");
+        threads.setDaemon(true);
+        rankingExecutor = Executors.newFixedThreadPool(parallelism, threads);
+
+        Gauge.builder("student.merit.candidates", this, service -> {
+                    Rankings current = service.rankings;
+                    return current == null ? 0 : current.candidates();
+                })
+                .register(meterRegistry);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        rankingExecutor.shutdownNow();
+    }
+
+    @Override
+    public List<MeritListDto> getMeritLists(Integer year, String program, Integer seats, Double minimumScore) {
+        if (year == null) {
+            throw new IllegalArgumentException("Admission year is required");
+        }
+        if (seats == null && minimumScore == null) {
+            throw new IllegalArgumentException("Either seats or minimumScore is required");
+        }
+        if (seats != null && (seats < 1 || seats > properties.getMaxSeats())) {
+            throw new IllegalArgumentException("Seats must be between 1 and " + properties.getMaxSeats());
+        }
+        shardRouter.requireSingleDatabase("Merit lists");
+
+        Timer.Sample sample = Timer.start(meterRegistry);
+        Rankings current = currentRankings();
+        List<MeritListDto> lists = current.partitions().values().stream()
+                .filter(partition -> partition.key().year() == year)
+                .filter(partition -> program == null || partition.key().program().equals(program))
+                .sorted(Comparator.comparing(partition -> partition.key().program()))
+                .map(partition -> toDto(partition, seats, minimumScore, current.version()))
+                .toList();
+        sample.stop(meterRegistry.timer("student.merit.query"));
+        return lists;
+    }
+
+    @Override
+    public void removed(Collection<Long> admissionIds) {
+        removedAdmissions.addAll(admissionIds);
+        if (removedAdmissions.size() > MAX_PENDING_REMOVALS) {
+            // Also bounds the set while no request comes to refresh
+            rebuildSoon();
+            removedAdmissions.clear();
+        }
+    }
+
+    @Override
+    public void rebuildSoon() {
+        rebuildRequested.set(true);
+    }
+
+    private MeritListDto toDto(MeritPartition partition, Integer seats, Double minimumScore, long version) {
+        int selected = partition.selected(seats, minimumScore);
+        List<MeritListEntry> entries = new ArrayList<>(selected);
+        for (int i = 0; i < selected; i++) {
+            entries.add(new MeritListEntry(i + 1, partition.admissionId(i), partition.studentId(i), partition.score(i)));
+        }
+
+        MeritListDto dto = new MeritListDto();
+        dto.setProgram(partition.key().program());
+        dto.setAdmissionYear(partition.key().year());
+        dto.setCandidates(partition.size());
+        dto.setSeats(seats);
+        dto.setMinimumScore(minimumScore);
+        dto.setCutoffScore(selected == 0 ? null : partition.score(selected - 1));
+        dto.setEntries(entries);
+        dto.setRankingVersion(version);
+        return dto;
+    }
+
+    private Rankings currentRankings() {
+        Rankings current = rankings;
+        if (current != null && !isStale(current)) {
+            return current;
+        }
+        if (current == null) {
+            refreshLock.lock();
+        } else if (!refreshLock.tryLock()) {
+            // Another request is refreshing; the previous rankings are at most one refresh behind
+            return current;
+        }
+        try {
+            current = rankings;
+            if (current == null || isStale(current)) {
+                current = refresh(current);
+                rankings = current;
+            }
+            return current;
+        } catch (RuntimeException e) {
+            if (current == null) {
+                throw e;
+            }
+            logger.error("Merit list refresh failed, serving rankings v{}: {}", current.version(), e.getMessage(), e);
+            rebuildRequired = true;
+            return current;
+        } finally {
+            refreshLock.unlock();
+        }
+    }
+
+    private boolean isStale(Rankings current) {
+        return !removedAdmissions.isEmpty() || rebuildRequested.get() || Duration.between(current.refreshedAt(),
+                Instant.now()).compareTo(properties.getRefreshInterval()) >= 0;
+    }
+
+    private Rankings refresh(Rankings current) {
+        if (current == null || rebuildRequested.getAndSet(false) || rebuildRequired
+                || Duration.between(current.rebuiltAt(), Instant.now())
+                .compareTo(properties.getFullRebuildInterval()) >= 0) {
+            // Admissions reported removed are gone before the rebuild reads, so it will not find them
+            removedAdmissions.clear();
+            Timer.Sample sample = Timer.start(meterRegistry);
+            Rankings rebuilt = readOnlyTransaction.execute(status -> rebuild(current));
+            sample.stop(meterRegistry.timer("student.merit.rank", "mode", "full"));
+            rebuildRequired = false;
+            logger.info("Ranked {} merit list candidates in {} partitions",
+                    rebuilt.candidates(), rebuilt.partitions().size());
+            return rebuilt;
+        }
+        // Taken before reading, so the refresh no longer finds these admissions; lost if it fails,
+        // which makes the next refresh a rebuild
+        List<Long> gone = new ArrayList<>();
+        for (Long id : removedAdmissions) {
+            if (removedAdmissions.remove(id)) {
+                gone.add(id);
+            }
+        }
+        Timer.Sample sample = Timer.start(meterRegistry);
+        Rankings refreshed = readOnlyTransaction.execute(status -> refreshChanged(current, gone));
+        sample.stop(meterRegistry.timer("student.merit.rank", "mode", "incremental"));
+        return refreshed;
+    }
+
+    private Rankings rebuild(Rankings previous) {
+        locations.clear();
+        List<CompletableFuture<MeritPartition>> ranked = new ArrayList<>();
+        Timestamp[] watermark = {null};
+        MeritPartition.Key[] key = {null};
+        MeritPartition.Candidates[] candidates = {null};
+
+        // Rows arrive grouped by partition: each completed partition is ranked while the next one streams in
+        candidateRepository.streamCandidates(rs -> {
+            long id = rs.getLong(1);
+            MeritPartition.Key rowKey = new MeritPartition.Key(rs.getString(3), rs.getInt(4));
+            double score = rs.getDouble(6);
+            if (!rowKey.equals(key[0])) {
+                if (key[0] != null) {
+                    ranked.add(rankAsync(key[0], candidates[0]));
+                }
+                key[0] = rowKey;
+                candidates[0] = new MeritPartition.Candidates();
+            }
+            candidates[0].add(id, rs.getLong(2), score);
+            locations.put(id, new Location(rowKey, score));
+            Timestamp updatedAt = rs.getTimestamp(7);
+            if (updatedAt != null && (watermark[0] == null || updatedAt.after(watermark[0]))) {
+                watermark[0] = updatedAt;
+            }
+        });
+        if (key[0] != null) {
+            ranked.add(rankAsync(key[0], candidates[0]));
+        }
+
+        Map<MeritPartition.Key, MeritPartition> partitions = new HashMap<>();
+        for (CompletableFuture<MeritPartition> partition : ranked) {
+            MeritPartition result = partition.join();
+            partitions.put(result.key(), result);
+        }
+        Instant now = Instant.now();
+        return new Rankings(previous == null ? 1 : previous.version() + 1, partitions, locations.size(),
+                watermark[0], now, now);
+    }
+
+    private Rankings refreshChanged(Rankings current, List<Long> gone) {
+        Map<MeritPartition.Key, Set<Long>> removals = new HashMap<>();
+        Map<MeritPartition.Key, MeritPartition.Candidates> additions = new HashMap<>();
+        Timestamp[] watermark = {current.watermark()};
+
+        for (Long id : gone) {
+            Location old = locations.remove(id);
+            if (old != null) {
+                removals.computeIfAbsent(old.key(), k -> new HashSet<>()).add(id);
+            }
+        }
+
+        Timestamp since = current.watermark() == null ? new Timestamp(0)
+                : new Timestamp(current.watermark().getTime() - properties.getRefreshOverlap().toMillis());
+        candidateRepository.streamChangedSince(since, rs -> {
+            long id = rs.getLong(1);
+            MeritPartition.Key rowKey = rs.getBoolean(5) ? new MeritPartition.Key(rs.getString(3), rs.getInt(4)) : null;
+            double score = rs.getDouble(6);
+            Timestamp updatedAt = rs.getTimestamp(7);
+            if (updatedAt != null && (watermark[0] == null || updatedAt.after(watermark[0]))) {
+                watermark[0] = updatedAt;
+            }
+
+            Location old = locations.get(id);
+            if (old == null && rowKey == null) {
+                return;
+            }
+            if (old != null && old.key().equals(rowKey) && old.score() == score) {
+                // Re-read in the overlap, or changed in a column that does not affect rank
+                return;
+            }
+            if (old != null) {
+                removals.computeIfAbsent(old.key(), k -> new HashSet<>()).add(id);
+                locations.remove(id);
+            }
+            if (rowKey != null) {
+                additions.computeIfAbsent(rowKey, k -> new MeritPartition.Candidates()).add(id, rs.getLong(2), score);
+                locations.put(id, new Location(rowKey, score));
+            }
+        });
+
+        if (removals.isEmpty() && additions.isEmpty()) {
+            return new Rankings(current.version(), current.partitions(), current.candidates(),
+                    watermark[0], Instant.now(), current.rebuiltAt());
+        }
+
+        Set<MeritPartition.Key> touched = new HashSet<>(removals.keySet());
+        touched.addAll(additions.keySet());
+        List<CompletableFuture<MeritPartition>> patched = new ArrayList<>();
+        for (MeritPartition.Key key : touched) {
+            MeritPartition existing = current.partitions().get(key);
+            Set<Long> removed = removals.getOrDefault(key, Set.of());
+            MeritPartition.Candidates added = additions.getOrDefault(key, new MeritPartition.Candidates());
+            patched.add(existing == null
+                    ? rankAsync(key, added)
+                    : CompletableFuture.supplyAsync(() -> existing.patch(removed, added), rankingExecutor));
+        }
+
+        Map<MeritPartition.Key, MeritPartition> partitions = new HashMap<>(current.partitions());
+        for (CompletableFuture<MeritPartition> partition : patched) {
+            MeritPartition result = partition.join();
+            if (result.size() == 0) {
+                partitions.remove(result.key());
+            } else {
+                partitions.put(result.key(), result);
+            }
+        }
+        logger.debug("Re-ranked {} merit list partitions", touched.size());
+        return new Rankings(current.version() + 1, partitions, locations.size(),
+                watermark[0], Instant.now(), current.rebuiltAt());
+    }
+
+    private CompletableFuture<MeritPartition> rankAsync(MeritPartition.Key key, MeritPartition.Candidates candidates) {
+        return CompletableFuture.supplyAsync(() -> MeritPartition.rank(key, candidates), rankingExecutor);
+    }
+}
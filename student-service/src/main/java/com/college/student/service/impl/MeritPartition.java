@@ -0,0 +1,184 @@
+package com.college.student.service.impl;
+
+import java.util.Arrays;
+import java.util.Set;
+
+/**
+ * Ranked candidates of one program and admission year
+ *
+ * Parallel primitive arrays ordered by entrance score descending, ties broken
+ * by admission id ascending (the earlier application ranks first), so a
+ * candidate's rank is its array index plus one and never depends on load order.
+ * Instances are immutable; patching returns a new partition.
+ */
+final class MeritPartition {
+
+    record Key(String program, int year) {}
+
+    private final Key key;
+    private final double[] scores;
+    private final long[] admissionIds;
+    private final long[] studentIds;
+
+    private MeritPartition(Key key, double[] scores, long[] admissionIds, long[] studentIds) {
+        this.key = key;
+        this.scores = scores;
+        this.admissionIds = admissionIds;
+        this.studentIds = studentIds;
+    }
+
+    /**
+     * Rank unordered candidates with a full sort
+     */
+    static MeritPartition rank(Key key, Candidates candidates) {
+        int size = candidates.size;
+        int[] order = new int[size];
+        for (int i = 0; i < size; i++) {
+            order[i] = i;
+        }
+        sort(order, new int[size], 0, size, candidates.scores, candidates.admissionIds);
+
+        double[] scores = new double[size];
+        long[] admissionIds = new long[size];
+        long[] studentIds = new long[size];
+        for (int i = 0; i < size; i++) {
+            scores[i] = candidates.scores[order[i]];
+            admissionIds[i] = candidates.admissionIds[order[i]];
+            studentIds[i] = candidates.studentIds[order[i]];
+        }
+        return new MeritPartition(key, scores, admissionIds, studentIds);
+    }
+
+    /**
+     * Copy without the removed admissions and with the added candidates in rank order
+     *
+     * Only the added candidates are sorted; they are then merged with the
+     * surviving entries in one pass, so re-ranking after a handful of score
+     * changes is linear in the partition size rather than a full sort.
+     */
+    MeritPartition patch(Set<Long> removed, Candidates added) {
+        MeritPartition additions = rank(key, added);
+        int capacity = scores.length + additions.size();
+        double[] mergedScores = new double[capacity];
+        long[] mergedAdmissionIds = new long[capacity];
+        long[] mergedStudentIds = new long[capacity];
+
+        int i = 0;
+        int j = 0;
+        int size = 0;
+        while (i < scores.length || j < additions.size()) {
+            if (i < scores.length && removed.contains(admissionIds[i])) {
+                i++;
+                continue;
+            }
+            boolean takeExisting = j == additions.size() || (i < scores.length
+                    && precedes(scores[i], admissionIds[i], additions.scores[j], additions.admissionIds[j]));
+            if (takeExisting) {
+                mergedScores[size] = scores[i];
+                mergedAdmissionIds[size] = admissionIds[i];
+                mergedStudentIds[size++] = studentIds[i++];
+            } else {
+                mergedScores[size] = additions.scores[j];
+                mergedAdmissionIds[size] = additions.admissionIds[j];
+                mergedStudentIds[size++] = additions.studentIds[j++];
+            }
+        }
+        return new MeritPartition(key, Arrays.copyOf(mergedScores, size),
+                Arrays.copyOf(mergedAdmissionIds, size), Arrays.copyOf(mergedStudentIds, size));
+    }
+
+    /**
+     * Number of entries selected by a seat count and/or a minimum score; null means no limit
+     */
+    int selected(Integer seats, Double cutoff) {
+        int count = scores.length;
+        if (cutoff != null) {
+            // Scores are descending: binary search for the first score below the cutoff
+            int low = 0;
+            int high = scores.length;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (scores[mid] >= cutoff) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            count = low;
+        }
+        return seats == null ? count : Math.min(count, seats);
+    }
+
+    Key key() {
+        return key;
+    }
+
+    int size() {
+        return scores.length;
+    }
+
+    double score(int position) {
+        return scores[position];
+    }
+
+    long admissionId(int position) {
+        return admissionIds[position];
+    }
+
+    long studentId(int position) {
+        return studentIds[position];
+    }
+
+    private static boolean precedes(double score, long admissionId, double otherScore, long otherAdmissionId) {
+        return score > otherScore || (score == otherScore && admissionId < otherAdmissionId);
+    }
+
+    /**
+     * Merge sort of candidate indexes by rank without boxing
+     */
+    private static void sort(int[] order, int[] buffer, int from, int to, double[] scores, long[] admissionIds) {
+        if (to - from < 2) {
+            return;
+        }
+        int mid = (from + to) >>> 1;
+        sort(order, buffer, from, mid, scores, admissionIds);
+        sort(order, buffer, mid, to, scores, admissionIds);
+        int left = from;
+        int right = mid;
+        for (int k = from; k < to; k++) {
+            if (right >= to || (left < mid && !precedes(scores[order[right]], admissionIds[order[right]],
+                    scores[order[left]], admissionIds[order[left]]))) {
+                buffer[k] = order[left++];
+            } else {
+                buffer[k] = order[right++];
+            }
+        }
+        System.arraycopy(buffer, from, order, from, to - from);
+    }
+
+    /**
+     * Growable unordered candidate columns, filled while streaming rows
+     */
+    static final class Candidates {
+        private double[] scores = new double[16];
+        private long[] admissionIds = new long[16];
+        private long[] studentIds = new long[16];
+        private int size;
+
+        void add(long admissionId, long studentId, double score) {
+            if (size == scores.length) {
+                int capacity = size << 1;
+                scores = Arrays.copyOf(scores, capacity);
+                admissionIds = Arrays.copyOf(admissionIds, capacity);
+                studentIds = Arrays.copyOf(studentIds, capacity);
+            }
+            scores[size] = score;
+            admissionIds[size] = admissionId;
+            studentIds[size++] = studentId;
+        }
+
+        int size() {
+            return size;
+        }
+    }
+}
@@ -0,0 +1,227 @@
+package com.college.student.service.impl;
+
+import com.college.student.entity.StudentStatus;
+import com.college.student.util.Bitmap;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Columnar copy of the students table for analytics
+ *
+ * One slot per student id (ids are dense BIGSERIAL values), primitive arrays
+ * per column and a bitmap per status, department and year of study.
+ * Instances are mutated only before they are published; refreshes work on a
+ * copy.
+ */
+final class StudentColumns {
+
+    enum Dimension { DEPARTMENT, STATUS, YEAR_OF_STUDY }
+
+    private static final StudentStatus[] STATUSES = StudentStatus.values();
+    private static final int MAX_SLOT = Integer.MAX_VALUE - 64;
+
+    private final Bitmap present;
+    private int[] department;
+    private byte[] status;
+    private byte[] yearOfStudy;
+    private final Bitmap[] byStatus;
+    private final Map<Integer, Bitmap> byDepartment;
+    private final Map<Integer, Bitmap> byYear;
+
+    StudentColumns(int capacity) {
+        present = new Bitmap(capacity);
+        department = new int[capacity];
+        status = new byte[capacity];
+        yearOfStudy = new byte[capacity];
+        byStatus = new Bitmap[STATUSES.length];
+        for (int i = 0; i < byStatus.length; i++) {
+            byStatus[i] = new Bitmap(capacity);
+        }
+        byDepartment = new HashMap<>();
+        byYear = new HashMap<>();
+    }
+
+    private StudentColumns(StudentColumns source) {
+        present = source.present.copy();
+        department = source.department.clone();
+        status = source.status.clone();
+        yearOfStudy = source.yearOfStudy.clone();
+        byStatus = new Bitmap[source.byStatus.length];
+        for (int i = 0; i < byStatus.length; i++) {
+            byStatus[i] = source.byStatus[i].copy();
+        }
+        byDepartment = copy(source.byDepartment);
+        byYear = copy(source.byYear);
+    }
+
+    StudentColumns copy() {
+        return new StudentColumns(this);
+    }
+
+    /**
+     * Insert or overwrite the row for a student; department 0, year 0 and a null status mean unknown
+     */
+    void upsert(long id, int departmentId, StudentStatus studentStatus, int year) {
+        int slot = slot(id);
+        ensureCapacity(slot + 1);
+        if (present.get(slot)) {
+            unindex(slot);
+        }
+        present.set(slot);
+        department[slot] = departmentId;
+        status[slot] = studentStatus == null ? -1 : (byte) studentStatus.ordinal();
+        yearOfStudy[slot] = (byte) year;
+        if (studentStatus != null) {
+            byStatus[studentStatus.ordinal()].set(slot);
+        }
+        byDepartment.computeIfAbsent(departmentId, key -> new Bitmap(department.length)).set(slot);
+        byYear.computeIfAbsent(year, key -> new Bitmap(department.length)).set(slot);
+    }
+
+    /**
+     * Whether the snapshot holds a row for the id
+     */
+    boolean contains(long id) {
+        int slot = slot(id);
+        return slot < department.length && present.get(slot);
+    }
+
+    /**
+     * Drop the row of a student that left the table; false when the snapshot did not hold it
+     */
+    boolean remove(long id) {
+        int slot = slot(id);
+        if (slot >= department.length || !present.get(slot)) {
+            return false;
+        }
+        unindex(slot);
+        present.clear(slot);
+        return true;
+    }
+
+    /**
+     * Whether the snapshot already holds exactly these values for the student
+     */
+    boolean holds(long id, int departmentId, StudentStatus studentStatus, int year) {
+        int slot = slot(id);
+        return slot < department.length && present.get(slot)
+                && department[slot] == departmentId
+                && status[slot] == (studentStatus == null ? -1 : studentStatus.ordinal())
+                && yearOfStudy[slot] == (byte) year;
+    }
+
+    /**
+     * Rows matching every non-empty filter; values within one filter are OR-ed
+     */
+    Bitmap select(Collection<StudentStatus> statuses, Collection<Integer> departments, Collection<Integer> years) {
+        Bitmap selection = present.copy();
+        if (statuses != null && !statuses.isEmpty()) {
+            Bitmap union = new Bitmap(0);
+            statuses.forEach(value -> union.or(byStatus[value.ordinal()]));
+            selection.and(union);
+        }
+        if (departments != null && !departments.isEmpty()) {
+            selection.and(union(byDepartment, departments));
+        }
+        if (years != null && !years.isEmpty()) {
+            selection.and(union(byYear, years));
+        }
+        return selection;
+    }
+
+    /**
+     * Row count per value of a dimension within the selection, as (value code, count)
+     *
+     * Each group is one AND-popcount over the words of two bitmaps, so the cost
+     * depends on the number of groups, not on how many rows match.
+     */
+    Map<Integer, Long> countBy(Bitmap selection, Dimension dimension) {
+        Map<Integer, Long> counts = new TreeMap<>();
+        switch (dimension) {
+            case STATUS -> {
+                for (int i = 0; i < byStatus.length; i++) {
+                    addCount(counts, i, selection.andCardinality(byStatus[i]));
+                }
+            }
+            case DEPARTMENT -> byDepartment.forEach((key, bitmap) -> addCount(counts, key, selection.andCardinality(bitmap)));
+            case YEAR_OF_STUDY -> byYear.forEach((key, bitmap) -> addCount(counts, key, selection.andCardinality(bitmap)));
+        }
+        return counts;
+    }
+
+    long rows() {
+        return present.cardinality();
+    }
+
+    /**
+     * Approximate heap held by the column arrays and bitmaps
+     */
+    long sizeInBytes() {
+        long bytes = present.sizeInBytes() + 4L * department.length + status.length + yearOfStudy.length;
+        for (Bitmap bitmap : byStatus) {
+            bytes += bitmap.sizeInBytes();
+        }
+        for (Bitmap bitmap : byDepartment.values()) {
+            bytes += bitmap.sizeInBytes();
+        }
+        for (Bitmap bitmap : byYear.values()) {
+            bytes += bitmap.sizeInBytes();
+        }
+        return bytes;
+    }
+
+    static StudentStatus status(int code) {
+        return STATUSES[code];
+    }
+
+    private void unindex(int slot) {
+        if (status[slot] >= 0) {
+            byStatus[status[slot]].clear(slot);
+        }
+        byDepartment.get(department[slot]).clear(slot);
+        byYear.get((int) yearOfStudy[slot]).clear(slot);
+    }
+
+    private void ensureCapacity(int slots) {
+        if (slots > department.length) {
+            int capacity = Math.max(slots, department.length + (department.length >> 1));
+            department = Arrays.copyOf(department, capacity);
+            status = Arrays.copyOf(status, capacity);
+            yearOfStudy = Arrays.copyOf(yearOfStudy, capacity);
+        }
+    }
+
+    static int slot(long id) {
+        if (id < 0 || id > MAX_SLOT) {
+            throw new IllegalStateException("Row id out of range for the analytics snapshot: " + id);
+        }
+        return (int) id;
+    }
+
+    static Bitmap union(Map<Integer, Bitmap> bitmaps, Collection<Integer> keys) {
+        Bitmap union = new Bitmap(0);
+        for (Integer key : keys) {
+            Bitmap bitmap = bitmaps.get(key);
+            if (bitmap != null) {
+                union.or(bitmap);
+            }
+        }
+        return union;
+    }
+
+    static Map<Integer, Bitmap> copy(Map<Integer, Bitmap> bitmaps) {
+        Map<Integer, Bitmap> copy = new HashMap<>();
+        bitmaps.forEach((key, bitmap) -> copy.put(key, bitmap.copy()));
+        return copy;
+    }
+
+    static void addCount(Map<Integer, Long> counts, int key, long count) {
+        if (count > 0) {
+            counts.put(key, count);
+        }
+    }
+}
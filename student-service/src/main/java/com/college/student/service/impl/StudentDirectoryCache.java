@@ -0,0 +1,300 @@
+package com.college.student.service.impl;
+
+import com.college.student.config.StudentDirectoryProperties;
+import com.college.student.dto.StudentDirectoryEntry;
+import com.college.student.entity.Student;
+import com.college.student.entity.StudentStatus;
+import com.college.student.repository.StudentDirectoryRepository;
+import com.college.student.util.StudentDirectory;
+import com.college.student.util.TransactionCallbacks;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Keeps the off-heap student directory loaded and current
+ *
+ * Backs the exists and resolve lookups when student.directory.enabled is set.
+ * Writes made through this instance are applied once their transaction
+ * commits; writes made by other instances arrive with the next refresh from
+ * updated_at, and deletes made elsewhere with the next full reload. With
+ * cache invalidation on, both arrive as soon as the other instance commits.
+ *
+ * Archived students that were not deleted keep their studentId and email, so
+ * a second directory holds them for the exists checks; with both loaded a key
+ * neither knows is free without a query. Students archived here move across
+ * when the move commits. A student deleted elsewhere may have been archived
+ * rather than deleted, so its id is looked up in the archive on the refresher
+ * thread; until then its keys read as free.
+ */
+@Component
+public class StudentDirectoryCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(StudentDirectoryCache.class);
+
+    // Reload early once replaced and removed entries take this share of the directory
+    private static final double MAX_GARBAGE_RATIO = 0.5;
+
+    @Autowired
+    private StudentDirectoryProperties properties;
+
+    @Autowired
+    private StudentDirectoryRepository directoryRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private volatile StudentDirectory directory;
+    private volatile StudentDirectory archived;
+    private ScheduledExecutorService refresher;
+    private TransactionTemplate readOnlyTransaction;
+
+    // Set by changes announced from other instances, cleared by the refresher thread
+    private final AtomicBoolean refreshQueued = new AtomicBoolean();
+    private volatile boolean rebuildRequested;
+    private final Set<Long> removedElsewhere = ConcurrentHashMap.newKeySet();
+
+    // Only touched by the refresher thread
+    private Timestamp watermark;
+    private Instant rebuiltAt;
+
+    @PostConstruct
+    void start() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        readOnlyTransaction = new TransactionTemplate(transactionManager);
+        readOnlyTransaction.setReadOnly(true);
+        // A full load reads the live and archived students from one snapshot, so a move between them is not lost
+        readOnlyTransaction.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+
+        Gauge.builder("student.directory.entries", this, cache -> cache.directory == null ? 0 : cache.directory.size())
+                .register(meterRegistry);
+        Gauge.builder("student.directory.archived.entries", this,
+                        cache -> cache.archived == null ? 0 : cache.archived.size())
+                .register(meterRegistry);
+        Gauge.builder("student.directory.memory", this,
+                        cache -> cache.directory == null ? 0 : cache.directory.sizeInBytes() + cache.archived.sizeInBytes())
+                .baseUnit("bytes")
+                .register(meterRegistry);
+
+        CustomizableThreadFactory threads = new CustomizableThreadFactory("student-directory-");
+        threads.setDaemon(true);
+        refresher = Executors.newSingleThreadScheduledExecutor(threads);
+        refresher.scheduleWithFixedDelay(this::refresh, 0,
+                properties.getRefreshInterval().toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    void stop() {
+        if (refresher != null) {
+            refresher.shutdownNow();
+        }
+    }
+
+    /**
+     * Whether the directory is loaded and lookups can be served from it
+     */
+    public boolean isEnabled() {
+        return directory != null;
+    }
+
+    public Optional<StudentDirectoryEntry> findById(Long id) {
+        return toDto(directory.findById(id));
+    }
+
+    public Optional<StudentDirectoryEntry> findByStudentId(String studentId) {
+        return toDto(directory.findByStudentId(studentId));
+    }
+
+    public Optional<StudentDirectoryEntry> findByEmail(String email) {
+        return toDto(directory.findByEmail(email));
+    }
+
+    /**
+     * Whether a live or archived, not deleted, student has this studentId
+     */
+    public boolean isStudentIdTaken(String studentId) {
+        return directory.findByStudentId(studentId) != null || archived.findByStudentId(studentId) != null;
+    }
+
+    /**
+     * Whether a live or archived, not deleted, student has this email
+     */
+    public boolean isEmailTaken(String email) {
+        return directory.findByEmail(email) != null || archived.findByEmail(email) != null;
+    }
+
+    /**
+     * Record a created or updated student once the current transaction commits
+     */
+    public void put(Student student) {
+        if (directory == null) {
+            return;
+        }
+        long id = student.getId();
+        String studentId = student.getStudentId();
+        String email = student.getEmail();
+        StudentStatus status = student.getStatus();
+        TransactionCallbacks.afterCommit(() -> directory.put(id, studentId, email, status));
+    }
+
+    /**
+     * Forget a deleted student once the current transaction commits
+     */
+    public void remove(Long id) {
+        if (directory == null) {
+            return;
+        }
+        TransactionCallbacks.afterCommit(() -> directory.remove(id));
+    }
+
+    /**
+     * Move an archived student across to the archived directory once the current transaction commits
+     */
+    public void archive(Long id) {
+        if (directory == null) {
+            return;
+        }
+        TransactionCallbacks.afterCommit(() -> {
+            StudentDirectory live = directory;
+            StudentDirectory.Entry entry = live.findById(id);
+            if (entry != null) {
+                archived.put(entry.id(), entry.studentId(), entry.email(), entry.status());
+                live.remove(id);
+            }
+        });
+    }
+
+    /**
+     * Forget a student another instance deleted or archived, keeping its keys if it was archived
+     */
+    public void removedElsewhere(Long id) {
+        if (directory == null) {
+            return;
+        }
+        directory.remove(id);
+        removedElsewhere.add(id);
+        refreshSoon(false);
+    }
+
+    /**
+     * Fold in students another instance changed without waiting for the next refresh; rebuild reloads them all
+     */
+    public void refreshSoon(boolean rebuild) {
+        if (directory == null) {
+            return;
+        }
+        if (rebuild) {
+            rebuildRequested = true;
+        }
+        if (refreshQueued.compareAndSet(false, true)) {
+            refresher.execute(() -> {
+                refreshQueued.set(false);
+                refresh();
+            });
+        }
+    }
+
+    void refresh() {
+        try {
+            StudentDirectory current = directory;
+            if (current == null || rebuildRequested || current.garbageRatio() > MAX_GARBAGE_RATIO
+                    || Duration.between(rebuiltAt, Instant.now()).compareTo(properties.getFullRebuildInterval()) >= 0) {
+                rebuildRequested = false;
+                Timer.Sample sample = Timer.start(meterRegistry);
+                StudentDirectory rebuilt = readOnlyTransaction.execute(status -> rebuild());
+                sample.stop(meterRegistry.timer("student.directory.refresh", "mode", "full"));
+                directory = rebuilt;
+                rebuiltAt = Instant.now();
+                logger.info("Loaded student directory: {} entries, {} archived, {} bytes off-heap",
+                        rebuilt.size(), archived.size(), rebuilt.sizeInBytes() + archived.sizeInBytes());
+            } else {
+                Timer.Sample sample = Timer.start(meterRegistry);
+                Timestamp since = watermark == null ? new Timestamp(0)
+                        : new Timestamp(watermark.getTime() - properties.getRefreshOverlap().toMillis());
+                List<Long> removed = new ArrayList<>(removedElsewhere);
+                readOnlyTransaction.executeWithoutResult(status -> {
+                    directoryRepository.streamChangedSince(since, rs -> apply(current, rs));
+                    if (!removed.isEmpty()) {
+                        directoryRepository.streamArchived(removed, rs -> applyArchived(archived, rs));
+                    }
+                });
+                removed.forEach(removedElsewhere::remove);
+                sample.stop(meterRegistry.timer("student.directory.refresh", "mode", "incremental"));
+            }
+        } catch (RuntimeException e) {
+            // Keep serving the loaded directory and retry on the next tick
+            logger.error("Student directory refresh failed: {}", e.getMessage(), e);
+        }
+    }
+
+    private StudentDirectory rebuild() {
+        StudentDirectory rebuilt = new StudentDirectory(capacityFor(directoryRepository.countStudents()));
+        StudentDirectory rebuiltArchive = new StudentDirectory(
+                capacityFor(directoryRepository.countArchivedStudents()));
+        watermark = null;
+        removedElsewhere.clear();
+        directoryRepository.streamAll(rs -> apply(rebuilt, rs));
+        directoryRepository.streamArchived(rs -> applyArchived(rebuiltArchive, rs));
+        // Published before the live directory, which lookups check for first
+        archived = rebuiltArchive;
+        return rebuilt;
+    }
+
+    private static int capacityFor(long students) {
+        return (int) Math.min(Integer.MAX_VALUE / 64, students * 5 / 4);
+    }
+
+    private void apply(StudentDirectory target, ResultSet rs) throws SQLException {
+        String status = rs.getString(4);
+        target.put(rs.getLong(1), rs.getString(2), rs.getString(3),
+                status == null ? null : StudentStatus.valueOf(status));
+        Timestamp updatedAt = rs.getTimestamp(5);
+        if (updatedAt != null && (watermark == null || updatedAt.after(watermark))) {
+            watermark = updatedAt;
+        }
+    }
+
+    private static void applyArchived(StudentDirectory target, ResultSet rs) throws SQLException {
+        // Archived rows never change, so they do not move the watermark
+        String status = rs.getString(4);
+        target.put(rs.getLong(1), rs.getString(2), rs.getString(3),
+                status == null ? null : StudentStatus.valueOf(status));
+    }
+
+    private static Optional<StudentDirectoryEntry> toDto(StudentDirectory.Entry entry) {
+        if (entry == null) {
+            return Optional.empty();
+        }
+        return Optional.of(new StudentDirectoryEntry(entry.id(), entry.studentId(), entry.email(), entry.status()));
+    }
+}
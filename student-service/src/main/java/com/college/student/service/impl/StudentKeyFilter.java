@@ -0,0 +1,249 @@
+package com.college.student.service.impl;
+
+import com.college.student.config.BloomFilterProperties;
+import com.college.student.repository.StudentDirectoryRepository;
+import com.college.student.util.BloomFilter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Bloom filters over every studentId and email, for existence checks
+ *
+ * When student.bloom-filter.enabled is set, a check whose key the filter has
+ * never seen is answered "no" without a query. Keys are added here before the
+ * row is saved, so a local write is never missed; keys written by other
+ * instances arrive with the next refresh from updated_at, and until then the
+ * unique indexes still reject duplicates. Deleted or replaced keys only cost
+ * a database check until the next rebuild drops them.
+ */
+@Component
+public class StudentKeyFilter {
+
+    private static final Logger logger = LoggerFactory.getLogger(StudentKeyFilter.class);
+
+    // Rebuilds size the first layer for the current count plus this headroom
+    private static final double HEADROOM = 1.5;
+
+    @Autowired
+    private BloomFilterProperties properties;
+
+    @Autowired
+    private StudentDirectoryRepository directoryRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private volatile Filters filters;
+    private ScheduledExecutorService refresher;
+    private TransactionTemplate readOnlyTransaction;
+
+    // Keys added while a rebuild streams, replayed into the new filters; guarded by this
+    private List<String[]> addedDuringRebuild;
+
+    // Only touched by the refresher thread
+    private Timestamp watermark;
+    private Instant rebuiltAt;
+
+    private record Filters(BloomFilter studentIds, BloomFilter emails) {}
+
+    @PostConstruct
+    void start() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        readOnlyTransaction = new TransactionTemplate(transactionManager);
+        readOnlyTransaction.setReadOnly(true);
+
+        registerGauges("studentId", Filters::studentIds);
+        registerGauges("email", Filters::emails);
+
+        CustomizableThreadFactory threads = new CustomizableThreadFactory("student-key-filter-");
+        threads.setDaemon(true);
+        refresher = Executors.newSingleThreadScheduledExecutor(threads);
+        refresher.scheduleWithFixedDelay(this::refresh, 0,
+                properties.getRefreshInterval().toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    void stop() {
+        if (refresher != null) {
+            refresher.shutdownNow();
+        }
+    }
+
+    /**
+     * Whether the filters are built and can rule keys out
+     */
+    public boolean isEnabled() {
+        return filters != null;
+    }
+
+    /**
+     * False if no student has this studentId for certain; true if the database has to be asked
+     */
+    public boolean mightContainStudentId(String studentId) {
+        return check("studentId", filters.studentIds(), studentId);
+    }
+
+    /**
+     * False if no student has this email for certain; true if the database has to be asked
+     */
+    public boolean mightContainEmail(String email) {
+        return check("email", filters.emails(), email);
+    }
+
+    /**
+     * Count a filter hit the database then denied, the measured false positives
+     */
+    public void recordFalsePositive(String filter) {
+        meterRegistry.counter("student.bloom.checks", "filter", filter, "result", "false_positive").increment();
+    }
+
+    /**
+     * Add the keys of a student about to be written; null keys are skipped
+     */
+    public synchronized void add(String studentId, String email) {
+        Filters current = filters;
+        if (current == null) {
+            return;
+        }
+        addTo(current, studentId, email);
+        if (addedDuringRebuild != null) {
+            addedDuringRebuild.add(new String[] {studentId, email});
+        }
+    }
+
+    void refresh() {
+        try {
+            Filters current = filters;
+            if (current == null || Duration.between(rebuiltAt, Instant.now())
+                    .compareTo(properties.getRebuildInterval()) >= 0) {
+                rebuild();
+            } else {
+                Timer.Sample sample = Timer.start(meterRegistry);
+                Timestamp since = watermark == null ? new Timestamp(0)
+                        : new Timestamp(watermark.getTime() - properties.getRefreshOverlap().toMillis());
+                readOnlyTransaction.executeWithoutResult(status -> directoryRepository.streamChangedSince(since, rs -> {
+                    synchronized (this) {
+                        addTo(filters, rs.getString(2), rs.getString(3));
+                    }
+                    advance(rs.getTimestamp(5));
+                }));
+                sample.stop(meterRegistry.timer("student.bloom.refresh", "mode", "incremental"));
+            }
+        } catch (RuntimeException e) {
+            // Keep the current filters and retry on the next tick
+            logger.error("Student key filter refresh failed: {}", e.getMessage(), e);
+            synchronized (this) {
+                addedDuringRebuild = null;
+            }
+        }
+    }
+
+    private void rebuild() {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        synchronized (this) {
+            addedDuringRebuild = filters == null ? null : new ArrayList<>();
+        }
+        Filters rebuilt = readOnlyTransaction.execute(status -> {
+            long expected = Math.max(properties.getExpectedKeys(),
+                    (long) ((directoryRepository.countStudents() + directoryRepository.countArchivedStudents())
+                            * HEADROOM));
+            Filters fresh = new Filters(new BloomFilter(expected, properties.getFalsePositiveRate()),
+                    new BloomFilter(expected, properties.getFalsePositiveRate()));
+            watermark = null;
+            directoryRepository.streamAll(rs -> {
+                addTo(fresh, rs.getString(2), rs.getString(3));
+                advance(rs.getTimestamp(5));
+            });
+            // Archived students keep their student IDs and emails
+            directoryRepository.streamArchived(rs -> addTo(fresh, rs.getString(2), rs.getString(3)));
+            return fresh;
+        });
+        synchronized (this) {
+            if (addedDuringRebuild != null) {
+                addedDuringRebuild.forEach(keys -> addTo(rebuilt, keys[0], keys[1]));
+                addedDuringRebuild = null;
+            }
+            filters = rebuilt;
+        }
+        rebuiltAt = Instant.now();
+        sample.stop(meterRegistry.timer("student.bloom.refresh", "mode", "full"));
+        logger.info("Built student key filters: {} student IDs, {} emails, {} bytes",
+                rebuilt.studentIds().size(), rebuilt.emails().size(),
+                rebuilt.studentIds().sizeInBytes() + rebuilt.emails().sizeInBytes());
+    }
+
+    private boolean check(String filter, BloomFilter bloomFilter, String key) {
+        boolean mightContain = key == null || bloomFilter.mightContain(key);
+        meterRegistry.counter("student.bloom.checks", "filter", filter,
+                "result", mightContain ? "positive" : "negative").increment();
+        return mightContain;
+    }
+
+    private void advance(Timestamp updatedAt) {
+        if (updatedAt != null && (watermark == null || updatedAt.after(watermark))) {
+            watermark = updatedAt;
+        }
+    }
+
+    private static void addTo(Filters target, String studentId, String email) {
+        if (studentId != null) {
+            target.studentIds().add(studentId);
+        }
+        if (email != null) {
+            target.emails().add(email);
+        }
+    }
+
+    private void registerGauges(String filter, Function<Filters, BloomFilter> select) {
+        Gauge.builder("student.bloom.keys", this, keyFilter -> keyFilter.measure(select, BloomFilter::size))
+                .tag("filter", filter)
+                .register(meterRegistry);
+        Gauge.builder("student.bloom.memory", this, keyFilter -> keyFilter.measure(select, BloomFilter::sizeInBytes))
+                .tag("filter", filter)
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        Gauge.builder("student.bloom.layers", this, keyFilter -> keyFilter.measure(select, BloomFilter::layerCount))
+                .tag("filter", filter)
+                .register(meterRegistry);
+        Gauge.builder("student.bloom.false.positive.rate", this,
+                        keyFilter -> keyFilter.measure(select, BloomFilter::expectedFalsePositiveRate))
+                .tag("filter", filter)
+                .tag("kind", "expected")
+                .register(meterRegistry);
+        Gauge.builder("student.bloom.false.positive.rate", properties, BloomFilterProperties::getFalsePositiveRate)
+                .tag("filter", filter)
+                .tag("kind", "target")
+                .register(meterRegistry);
+    }
+
+    private double measure(Function<Filters, BloomFilter> select, Function<BloomFilter, Number> metric) {
+        Filters current = filters;
+        return current == null ? 0 : metric.apply(select.apply(current)).doubleValue();
+    }
+}
@@ -0,0 +1,174 @@
+package com.college.student.service.impl;
+
+import com.college.student.config.LifecycleProperties;
+import com.college.student.entity.Admission;
+import com.college.student.entity.Student;
+import com.college.student.repository.AdmissionRepository;
+import com.college.student.repository.StudentArchiveRepository;
+import com.college.student.repository.StudentArchiveRepository.Moved;
+import com.college.student.service.AnalyticsService;
+import com.college.student.service.MeritListService;
+import com.college.student.util.ShardRouter;
+import com.college.student.util.SingleFlight;
+import com.college.student.util.TransactionCallbacks;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Moves students out of the live tables: finished ones into the archive, deleted ones as soft deletes
+ *
+ * Every interval, students whose status is one of the archived statuses and
+ * whose row has not changed for archive-after are moved, with their
+ * admissions, academic records and standing, into the archive tables, a batch
+ * per transaction on each shard. The live tables then hold current students
+ * only, and so do their indexes.
+ *
+ * Moved rows are evicted from this instance's caches, and dropped from its
+ * analytics snapshot and merit rankings, once the move commits; other
+ * replicas hear of it through the delete notifications.
+ */
+@Component
+public class StudentLifecycleManager {
+
+    private static final Logger logger = LoggerFactory.getLogger(StudentLifecycleManager.class);
+
+    private static final String ADMISSIONS_ROLE = Student.class.getName() + ".admissions";
+
+    @Autowired
+    private LifecycleProperties properties;
+
+    @Autowired
+    private StudentArchiveRepository archiveRepository;
+
+    @Autowired
+    private ShardRouter shardRouter;
+
+    @Autowired
+    private StudentDirectoryCache directoryCache;
+
+    @Autowired
+    private SingleFlight singleFlight;
+
+    @Autowired
+    private AnalyticsService analyticsService;
+
+    @Autowired
+    private MeritListService meritListService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private TransactionTemplate archiveTransaction;
+    private Cache cache;
+    private ScheduledExecutorService archiver;
+
+    @PostConstruct
+    void start() {
+        archiveTransaction = new TransactionTemplate(transactionManager);
+        cache = entityManagerFactory.unwrap(SessionFactory.class).getCache();
+        if (!properties.isEnabled()) {
+            return;
+        }
+        CustomizableThreadFactory threads = new CustomizableThreadFactory("student-archiver-");
+        threads.setDaemon(true);
+        archiver = Executors.newSingleThreadScheduledExecutor(threads);
+        archiver.scheduleWithFixedDelay(this::archive, properties.getInterval().toMillis(),
+                properties.getInterval().toMillis(), TimeUnit.MILLISECONDS);
+        logger.info("Archiving {} students unchanged for {}, every {}", properties.getArchivedStatuses(),
+                properties.getArchiveAfter(), properties.getInterval());
+    }
+
+    @PreDestroy
+    void stop() {
+        if (archiver != null) {
+            archiver.shutdownNow();
+        }
+    }
+
+    /**
+     * Move a live student into the archive as deleted, within the caller's transaction and shard
+     *
+     * @return false when there is no such live student
+     */
+    public boolean softDelete(Long id) {
+        Moved moved = archiveRepository.softDelete(id);
+        if (moved.isEmpty()) {
+            return false;
+        }
+        TransactionCallbacks.afterCommit(() -> evict(moved, false));
+        return true;
+    }
+
+    /**
+     * Archive every student due on every shard, one batch per transaction
+     */
+    void archive() {
+        for (int shard = 0; shard < shardRouter.shardCount(); shard++) {
+            int archived = 0;
+            try {
+                Moved moved;
+                do {
+                    moved = shardRouter.onShard(shard, () -> archiveTransaction.execute(status ->
+                            archiveRepository.archiveInactive(properties.getArchivedStatuses(),
+                                    properties.getArchiveAfter(), properties.getBatchSize())));
+                    evict(moved, true);
+                    archived += moved.studentIds().size();
+                    meterRegistry.counter("student.lifecycle.archived").increment(moved.studentIds().size());
+                } while (moved.studentIds().size() == properties.getBatchSize());
+            } catch (RuntimeException e) {
+                // Whatever was not moved is picked up by the next run
+                logger.error("Archiving students on shard {} failed: {}", shard, e.getMessage(), e);
+            }
+            if (archived > 0) {
+                logger.info("Archived {} students on shard {}", archived, shard);
+            }
+        }
+    }
+
+    /**
+     * Drop moved rows from the caches; archived students keep their keys in the directory, deleted ones do not
+     */
+    private void evict(Moved moved, boolean archived) {
+        if (!moved.isEmpty()) {
+            singleFlight.invalidate();
+            analyticsService.removed(moved.studentIds(), moved.admissionIds());
+            meritListService.removed(moved.admissionIds());
+        }
+        for (Long id : moved.studentIds()) {
+            cache.evictEntityData(Student.class, id);
+            cache.evictCollectionData(ADMISSIONS_ROLE, id);
+            if (archived) {
+                directoryCache.archive(id);
+            } else {
+                directoryCache.remove(id);
+            }
+        }
+        for (Long id : moved.admissionIds()) {
+            cache.evictEntityData(Admission.class, id);
+        }
+        if (!moved.admissionIds().isEmpty()) {
+            cache.evictQueryRegion(AdmissionRepository.PROGRAMS_REGION);
+        }
+    }
+}
@@ -0,0 +1,136 @@
+package com.college.student.service.impl;
+
+import com.college.student.config.MicroBatchingProperties;
+import com.college.student.dto.StudentDto;
+import com.college.student.entity.Student;
+import com.college.student.repository.StudentRepository;
+import com.college.student.util.MicroBatcher;
+import com.college.student.util.ShardRouter;
+import com.college.student.util.StudentMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Batches concurrent single-student lookups into IN queries
+ *
+ * Backs getStudentById and getStudentByStudentId when student.batching.enabled
+ * is set. Each batch loads students and their admissions in one query.
+ */
+@Component
+public class StudentLookupBatcher {
+
+    @Autowired
+    private MicroBatchingProperties properties;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private StudentMapper studentMapper;
+
+    @Autowired
+    private ShardRouter shardRouter;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private ScheduledExecutorService scheduler;
+    private ExecutorService loaderExecutor;
+    private MicroBatcher<Long, StudentDto> byId;
+    private MicroBatcher<String, StudentDto> byStudentId;
+
+    @PostConstruct
+    void start() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        CustomizableThreadFactory schedulerThreads = new CustomizableThreadFactory("student-batch-timer-");
+        schedulerThreads.setDaemon(true);
+        scheduler = Executors.newSingleThreadScheduledExecutor(schedulerThreads);
+        CustomizableThreadFactory loaderThreads = new CustomizableThreadFactory("student-batch-loader-");
+        loaderThreads.setDaemon(true);
+        loaderExecutor = Executors.newFixedThreadPool(properties.getLoaderThreads(), loaderThreads);
+
+        byId = new MicroBatcher<>("getStudentById", this::loadByIds, properties.getWindow(),
+                properties.getMaxBatchSize(), scheduler, loaderExecutor, meterRegistry);
+        byStudentId = new MicroBatcher<>("getStudentByStudentId", this::loadByStudentIds, properties.getWindow(),
+                properties.getMaxBatchSize(), scheduler, loaderExecutor, meterRegistry);
+    }
+
+    @PreDestroy
+    void stop() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+            loaderExecutor.shutdown();
+        }
+    }
+
+    public boolean isEnabled() {
+        return byId != null;
+    }
+
+    // A batch that outlasts the timeout (a stuck query, loader threads all busy) is left to finish for
+    // whoever else waits on it, and the caller queries on its own thread rather than holding a request thread
+
+    public Optional<StudentDto> getById(Long id) {
+        try {
+            return Optional.ofNullable(byId.get(id, properties.getTimeout()));
+        } catch (TimeoutException e) {
+            meterRegistry.counter("student.batch.timeouts", "batcher", "getStudentById").increment();
+            return Optional.ofNullable(loadByIds(Set.of(id)).get(id));
+        }
+    }
+
+    public Optional<StudentDto> getByStudentId(String studentId) {
+        try {
+            return Optional.ofNullable(byStudentId.get(studentId, properties.getTimeout()));
+        } catch (TimeoutException e) {
+            meterRegistry.counter("student.batch.timeouts", "batcher", "getStudentByStudentId").increment();
+            return Optional.ofNullable(loadByStudentIds(Set.of(studentId)).get(studentId));
+        }
+    }
+
+    private Map<Long, StudentDto> loadByIds(Set<Long> ids) {
+        Map<Integer, Set<Long>> idsByShard = new HashMap<>();
+        for (Long id : ids) {
+            idsByShard.computeIfAbsent(shardRouter.shardOf(id), shard -> new HashSet<>()).add(id);
+        }
+        Map<Long, StudentDto> result = new HashMap<>();
+        idsByShard.forEach((shard, shardIds) -> result.putAll(shardRouter.readOnShard(shard, () -> {
+            Map<Long, StudentDto> found = new HashMap<>();
+            for (Student student : studentRepository.findByIdIn(shardIds)) {
+                found.put(student.getId(), studentMapper.toDto(student));
+            }
+            return found;
+        })));
+        return result;
+    }
+
+    private Map<String, StudentDto> loadByStudentIds(Set<String> studentIds) {
+        Map<String, StudentDto> result = new HashMap<>();
+        for (Map<String, StudentDto> found : shardRouter.scatter(() -> {
+            Map<String, StudentDto> shardResult = new HashMap<>();
+            for (Student student : studentRepository.findByStudentIdIn(studentIds)) {
+                shardResult.put(student.getStudentId(), studentMapper.toDto(student));
+            }
+            return shardResult;
+        })) {
+            result.putAll(found);
+        }
+        return result;
+    }
+}
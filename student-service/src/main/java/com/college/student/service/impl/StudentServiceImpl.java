@@ -1,22 +1,56 @@
 package com.college.student.service.impl;
 
+import com.college.student.dto.AuditEvent;
+import com.college.student.dto.StudentDirectoryEntry;
 import com.college.student.dto.StudentDto;
+import com.college.student.entity.Admission;
 import com.college.student.entity.Student;
 import com.college.student.entity.StudentStatus;
+import com.college.student.repository.AdmissionRepository;
+import com.college.student.repository.StudentArchiveRepository;
 import com.college.student.repository.StudentRepository;
+import com.college.student.service.AuditService;
 import com.college.student.service.StudentService;
+import com.college.student.util.DepartmentDictionary;
+import com.college.student.util.ShardRouter;
+import com.college.student.util.SingleFlight;
 import com.college.student.util.StudentMapper;
+import com.college.student.util.StudentSortRegistry;
+import com.college.student.util.TransactionCallbacks;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.function.Function;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * Implementation of StudentService
@@ -27,29 +61,94 @@ public class StudentServiceImpl implements StudentService {
 
     private static final Logger logger = LoggerFactory.getLogger(StudentServiceImpl.class);
 
+    // Students mapped and written per batch of streamed rows, one cursor fetch at a time
+    private static final int STREAM_CHUNK_SIZE = Integer.parseInt(StudentRepository.STREAM_FETCH_SIZE);
+
     @Autowired
     private StudentRepository studentRepository;
 
     @Autowired
     private StudentMapper studentMapper;
 
+    @Autowired
+    private SingleFlight singleFlight;
+
+    @Autowired
+    private DepartmentDictionary departmentDictionary;
+
+    @Autowired
+    private StudentLookupBatcher lookupBatcher;
+
+    @Autowired
+    private StudentDirectoryCache directoryCache;
+
+    @Autowired
+    private StudentKeyFilter keyFilter;
+
+    @Autowired
+    private AuditService auditService;
+
+    @Autowired
+    private ShardRouter shardRouter;
+
+    @Autowired
+    private AdmissionRepository admissionRepository;
+
+    @Autowired
+    private StudentArchiveRepository archiveRepository;
+
+    @Autowired
+    private StudentLifecycleManager lifecycleManager;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    // Rows each shard reads for one merged page; deeper pages are refused rather than read
+    @Value("${student.paging.max-sharded-depth:2000}")
+    private int maxShardedDepth;
+
+    private ObjectWriter ndjsonWriter;
+
+    @PostConstruct
+    void initWriter() {
+        // Flushed once per chunk instead of after every student
+        ndjsonWriter = objectMapper.writerFor(StudentDto.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+    }
+
     @Override
     public StudentDto createStudent(StudentDto studentDto) {
-        logger.info("Creating new student with ID: {}", studentDto.getStudentId());
+        logger.debug("Creating new student with ID: {}", studentDto.getStudentId());
 
         // Check if student already exists
-        if (studentRepository.existsByStudentId(studentDto.getStudentId())) {
+        if (studentIdTaken(studentDto.getStudentId())) {
             throw new IllegalArgumentException("Student with ID " + studentDto.getStudentId() + " already exists");
         }
 
-        if (studentRepository.existsByEmail(studentDto.getEmail())) {
+        if (emailTaken(studentDto.getEmail())) {
             throw new IllegalArgumentException("Student with email " + studentDto.getEmail() + " already exists");
         }
 
         Student student = studentMapper.toEntity(studentDto);
         student.setStatus(StudentStatus.ACTIVE);
-        
-        Student savedStudent = studentRepository.save(student);
+        keyFilter.add(student.getStudentId(), student.getEmail());
+
+        Student savedStudent;
+        try {
+            savedStudent = shardRouter.onShard(shardRouter.shardFor(student.getDepartmentId()),
+                    () -> studentRepository.save(student));
+        } catch (DataIntegrityViolationException e) {
+            // Registered concurrently, or by another instance the key filter has not caught up with
+            throw new IllegalArgumentException("Student with ID " + studentDto.getStudentId() +
+                    " or email " + studentDto.getEmail() + " already exists");
+        }
+        directoryCache.put(savedStudent);
+        TransactionCallbacks.afterCommit(singleFlight::invalidate);
+        auditService.record(AuditEvent.Action.CREATE, AuditService.STUDENT, savedStudent.getId(),
+                savedStudent.getStudentId(), null);
         logger.info("Successfully created student with ID: {}", savedStudent.getStudentId());
         
         return studentMapper.toDto(savedStudent);
@@ -57,138 +156,378 @@ public class StudentServiceImpl implements StudentService {
 
     @Override
     public StudentDto updateStudent(Long id, StudentDto studentDto) {
-        logger.info("Updating student with ID: {}", id);
+        logger.debug("Updating student with ID: {}", id);
 
-        Student existingStudent = studentRepository.findById(id)
-                .orElseThrow(() -> new IllegalArgumentException("Student not found with ID: " + id));
+        return shardRouter.onShard(shardRouter.shardOf(id), () -> {
+            Student existingStudent = studentRepository.findById(id)
+                    .orElseThrow(() -> new NoSuchElementException("Student not found with ID: " + id));
 
-        // Check if email is being changed and if the new email already exists
-        if (!existingStudent.getEmail().equals(studentDto.getEmail()) &&
-                studentRepository.existsByEmail(studentDto.getEmail())) {
-            throw new IllegalArgumentException("Student with email " + studentDto.getEmail() + " already exists");
-        }
+            // Check if email is being changed and if the new email already exists
+            if (!existingStudent.getEmail().equals(studentDto.getEmail()) && emailTaken(studentDto.getEmail())) {
+                throw new IllegalArgumentException("Student with email " + studentDto.getEmail() + " already exists");
+            }
+            keyFilter.add(null, studentDto.getEmail());
 
-        // Update fields
-        existingStudent.setFirstName(studentDto.getFirstName());
-        existingStudent.setLastName(studentDto.getLastName());
-        existingStudent.setEmail(studentDto.getEmail());
-        existingStudent.setPhone(studentDto.getPhone());
-        existingStudent.setDateOfBirth(studentDto.getDateOfBirth());
-        existingStudent.setAddress(studentDto.getAddress());
-        existingStudent.setDepartment(studentDto.getDepartment());
-        existingStudent.setYearOfStudy(studentDto.getYearOfStudy());
+            Integer departmentId = departmentDictionary.requireId(studentDto.getDepartment());
+            List<String> changed = new ArrayList<>();
+            collectChange(changed, "firstName", existingStudent.getFirstName(), studentDto.getFirstName());
+            collectChange(changed, "lastName", existingStudent.getLastName(), studentDto.getLastName());
+            collectChange(changed, "email", existingStudent.getEmail(), studentDto.getEmail());
+            collectChange(changed, "phone", existingStudent.getPhone(), studentDto.getPhone());
+            collectChange(changed, "dateOfBirth", existingStudent.getDateOfBirth(), studentDto.getDateOfBirth());
+            collectChange(changed, "address", existingStudent.getAddress(), studentDto.getAddress());
+            collectChange(changed, "department", existingStudent.getDepartmentId(), departmentId);
+            collectChange(changed, "yearOfStudy", existingStudent.getYearOfStudy(), studentDto.getYearOfStudy());
 
-        Student savedStudent = studentRepository.save(existingStudent);
-        logger.info("Successfully updated student with ID: {}", id);
-        
-        return studentMapper.toDto(savedStudent);
+            // Update fields
+            existingStudent.setFirstName(studentDto.getFirstName());
+            existingStudent.setLastName(studentDto.getLastName());
+            existingStudent.setEmail(studentDto.getEmail());
+            existingStudent.setPhone(studentDto.getPhone());
+            existingStudent.setDateOfBirth(studentDto.getDateOfBirth());
+            existingStudent.setAddress(studentDto.getAddress());
+            existingStudent.setDepartmentId(departmentId);
+            existingStudent.setYearOfStudy(studentDto.getYearOfStudy());
+
+            Student savedStudent = studentRepository.save(existingStudent);
+            directoryCache.put(savedStudent);
+            TransactionCallbacks.afterCommit(singleFlight::invalidate);
+            auditService.record(AuditEvent.Action.UPDATE, AuditService.STUDENT, id, savedStudent.getStudentId(),
+                    Map.of("changed", changed));
+            logger.info("Successfully updated student with ID: {}", id);
+
+            return studentMapper.toDto(savedStudent);
+        });
     }
 
+    // Coalesced reads run without an outer transaction: callers waiting on another
+    // caller's query must not each hold a pooled connection while they wait. Each
+    // joined caller gets its own copy of the student. Students not found live are
+    // looked up in the archive.
+
     @Override
-    @Transactional(readOnly = true)
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public Optional<StudentDto> getStudentById(Long id) {
         logger.debug("Fetching student with ID: {}", id);
-        return studentRepository.findById(id)
-                .map(studentMapper::toDto);
+        return singleFlight.execute("getStudentById", () -> (lookupBatcher.isEnabled()
+                ? lookupBatcher.getById(id)
+                : shardRouter.readOnShard(shardRouter.shardOf(id),
+                        () -> studentRepository.findById(id).map(studentMapper::toDto)))
+                .or(() -> shardRouter.readOnShard(shardRouter.shardOf(id),
+                        () -> archiveRepository.findById(id).map(studentMapper::toDto))),
+                student -> student.map(studentMapper::copy), id);
     }
 
     @Override
-    @Transactional(readOnly = true)
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public Optional<StudentDto> getStudentByStudentId(String studentId) {
         logger.debug("Fetching student with student ID: {}", studentId);
-        return studentRepository.findByStudentId(studentId)
-                .map(studentMapper::toDto);
+        return singleFlight.execute("getStudentByStudentId", () -> (lookupBatcher.isEnabled()
+                ? lookupBatcher.getByStudentId(studentId)
+                : shardRouter.findFirst(
+                        () -> studentRepository.findByStudentId(studentId).map(studentMapper::toDto)))
+                .or(() -> shardRouter.findFirst(
+                        () -> archiveRepository.findByStudentId(studentId).map(studentMapper::toDto))),
+                student -> student.map(studentMapper::copy), studentId);
     }
 
     @Override
     @Transactional(readOnly = true)
     public Page<StudentDto> getAllStudents(Pageable pageable) {
         logger.debug("Fetching all students with pagination");
-        return studentRepository.findAll(pageable)
-                .map(studentMapper::toDto);
+        return page(studentRepository::findAll, pageable);
     }
 
     @Override
     @Transactional(readOnly = true)
-    public List<StudentDto> getStudentsByDepartment(String department) {
+    public Page<StudentDto> getStudentsByDepartment(String department, Pageable pageable) {
         logger.debug("Fetching students by department: {}", department);
-        return studentRepository.findByDepartment(department)
-                .stream()
-                .map(studentMapper::toDto)
-                .collect(Collectors.toList());
+        return departmentDictionary.findId(department)
+                .map(departmentId -> page(request -> studentRepository.findByDepartmentId(departmentId, request),
+                        pageable))
+                .orElseGet(() -> Page.empty(pageable));
     }
 
     @Override
     @Transactional(readOnly = true)
-    public List<StudentDto> getStudentsByStatus(StudentStatus status) {
+    public Page<StudentDto> getStudentsByStatus(StudentStatus status, Pageable pageable) {
         logger.debug("Fetching students by status: {}", status);
-        return studentRepository.findByStatus(status)
-                .stream()
-                .map(studentMapper::toDto)
-                .collect(Collectors.toList());
+        return page(request -> studentRepository.findByStatus(status, request), pageable);
     }
 
     @Override
     @Transactional(readOnly = true)
-    public List<StudentDto> searchStudentsByName(String name) {
+    public Page<StudentDto> searchStudentsByName(String name, Pageable pageable) {
         logger.debug("Searching students by name: {}", name);
-        return studentRepository.findByNameContaining(name)
-                .stream()
-                .map(studentMapper::toDto)
-                .collect(Collectors.toList());
+        return page(request -> studentRepository.findByNameContaining(name, request), pageable);
     }
 
     @Override
-    public boolean deleteStudent(Long id) {
-        logger.info("Deleting student with ID: {}", id);
-        
-        if (!studentRepository.existsById(id)) {
-            logger.warn("Student not found with ID: {}", id);
-            return false;
+    @Transactional(readOnly = true)
+    public void writeStudentsByDepartment(String department, OutputStream out) throws IOException {
+        logger.debug("Streaming students by department: {}", department);
+        Optional<Integer> departmentId = departmentDictionary.findId(department);
+        if (departmentId.isPresent()) {
+            writeStream(() -> studentRepository.streamByDepartmentId(departmentId.get()), out);
         }
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void writeStudentsByStatus(StudentStatus status, OutputStream out) throws IOException {
+        logger.debug("Streaming students by status: {}", status);
+        writeStream(() -> studentRepository.streamByStatus(status), out);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void writeStudentsByName(String name, OutputStream out) throws IOException {
+        logger.debug("Streaming students by name: {}", name);
+        writeStream(() -> studentRepository.streamByNameContaining(name), out);
+    }
+
+    @Override
+    public boolean deleteStudent(Long id) {
+        logger.debug("Deleting student with ID: {}", id);
 
-        studentRepository.deleteById(id);
-        logger.info("Successfully deleted student with ID: {}", id);
-        return true;
+        return shardRouter.onShard(shardRouter.shardOf(id), () -> {
+            // Soft delete: the student moves to the archive with its admissions and records, marked deleted
+            if (!lifecycleManager.softDelete(id)) {
+                logger.warn("Student not found with ID: {}", id);
+                return false;
+            }
+
+            auditService.record(AuditEvent.Action.DELETE, AuditService.STUDENT, id, null, null);
+            logger.info("Successfully deleted student with ID: {}", id);
+            return true;
+        });
     }
 
     @Override
     public StudentDto updateStudentStatus(Long id, StudentStatus status) {
-        logger.info("Updating student status to {} for ID: {}", status, id);
+        logger.debug("Updating student status to {} for ID: {}", status, id);
 
-        Student student = studentRepository.findById(id)
-                .orElseThrow(() -> new IllegalArgumentException("Student not found with ID: " + id));
+        return shardRouter.onShard(shardRouter.shardOf(id), () -> {
+            Student student = studentRepository.findById(id)
+                    .orElseThrow(() -> new IllegalArgumentException("Student not found with ID: " + id));
 
-        student.setStatus(status);
-        Student savedStudent = studentRepository.save(student);
-        
-        logger.info("Successfully updated student status for ID: {}", id);
-        return studentMapper.toDto(savedStudent);
+            StudentStatus previousStatus = student.getStatus();
+            student.setStatus(status);
+            Student savedStudent = studentRepository.save(student);
+            directoryCache.put(savedStudent);
+            TransactionCallbacks.afterCommit(singleFlight::invalidate);
+            auditService.record(AuditEvent.Action.STATUS_CHANGE, AuditService.STUDENT, id, savedStudent.getStudentId(),
+                    Map.of("from", String.valueOf(previousStatus), "to", status.name()));
+
+            logger.info("Successfully updated student status for ID: {}", id);
+            return studentMapper.toDto(savedStudent);
+        });
     }
 
+    // Served from the in-memory department dictionary, no connection needed
     @Override
-    @Transactional(readOnly = true)
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public List<String> getAllDepartments() {
         logger.debug("Fetching all departments");
-        return studentRepository.findAllDepartments();
+        return departmentDictionary.codes();
+    }
+
+    // Writes each shard in its own transaction
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public String createDepartment(String code, String name) {
+        logger.debug("Creating department: {}", code);
+        return departmentDictionary.codeOf(departmentDictionary.register(code, name));
     }
 
     @Override
     @Transactional(readOnly = true)
     public long getStudentCountByStatus(StudentStatus status) {
         logger.debug("Getting student count by status: {}", status);
-        return studentRepository.countByStatus(status);
+        return shardRouter.scatter(() -> studentRepository.countByStatus(status)
+                        + archiveRepository.countByStatus(status))
+                .stream()
+                .mapToLong(Long::longValue)
+                .sum();
     }
 
+    // Identity lookups are answered from the off-heap directory when it is loaded,
+    // otherwise by projection queries that skip the entity and its admissions. The
+    // exists checks count archived students too, as createStudent does; the
+    // directory keeps their keys beside the live ones
+
     @Override
-    @Transactional(readOnly = true)
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public boolean existsByStudentId(String studentId) {
-        return studentRepository.existsByStudentId(studentId);
+        return directoryCache.isEnabled()
+                ? directoryCache.isStudentIdTaken(studentId)
+                : studentIdTaken(studentId);
     }
 
     @Override
-    @Transactional(readOnly = true)
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public boolean existsByEmail(String email) {
-        return studentRepository.existsByEmail(email);
+        return directoryCache.isEnabled()
+                ? directoryCache.isEmailTaken(email)
+                : emailTaken(email);
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public boolean existsById(Long id) {
+        return directoryCache.isEnabled()
+                ? directoryCache.findById(id).isPresent()
+                : shardRouter.readOnShard(shardRouter.shardOf(id), () -> studentRepository.existsById(id));
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public Optional<StudentDirectoryEntry> resolveById(Long id) {
+        return directoryCache.isEnabled()
+                ? directoryCache.findById(id)
+                : shardRouter.readOnShard(shardRouter.shardOf(id), () -> studentRepository.findDirectoryEntryById(id));
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public Optional<StudentDirectoryEntry> resolveByStudentId(String studentId) {
+        return directoryCache.isEnabled()
+                ? directoryCache.findByStudentId(studentId)
+                : shardRouter.findFirst(() -> studentRepository.findDirectoryEntryByStudentId(studentId));
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public Optional<StudentDirectoryEntry> resolveByEmail(String email) {
+        return directoryCache.isEnabled()
+                ? directoryCache.findByEmail(email)
+                : shardRouter.findFirst(() -> studentRepository.findDirectoryEntryByEmail(email));
+    }
+
+    // Pre-write uniqueness checks, archived students included: a definite negative from
+    // the key filter skips the query
+
+    private boolean studentIdTaken(String studentId) {
+        if (keyFilter.isEnabled() && !keyFilter.mightContainStudentId(studentId)) {
+            return false;
+        }
+        boolean taken = shardRouter.scatter(() -> studentRepository.existsByStudentId(studentId)
+                || archiveRepository.existsByStudentId(studentId)).contains(true);
+        if (!taken && keyFilter.isEnabled()) {
+            keyFilter.recordFalsePositive("studentId");
+        }
+        return taken;
+    }
+
+    private boolean emailTaken(String email) {
+        if (keyFilter.isEnabled() && !keyFilter.mightContainEmail(email)) {
+            return false;
+        }
+        boolean taken = shardRouter.scatter(() -> studentRepository.existsByEmail(email)
+                || archiveRepository.existsByEmail(email)).contains(true);
+        if (!taken && keyFilter.isEnabled()) {
+            keyFilter.recordFalsePositive("email");
+        }
+        return taken;
+    }
+
+    private static void collectChange(List<String> changed, String field, Object before, Object after) {
+        if (!Objects.equals(before, after)) {
+            changed.add(field);
+        }
+    }
+
+    /**
+     * One page of a query, merged across shards when sharded
+     */
+    private Page<StudentDto> page(Function<Pageable, Page<Student>> query, Pageable pageable) {
+        if (!shardRouter.isSharded()) {
+            Page<Student> students = query.apply(pageable);
+            return new PageImpl<>(toDtos(students.getContent()), pageable, students.getTotalElements());
+        }
+
+        // Every shard returns its first (page + 1) * size rows in the requested order; merged, the page is exact
+        long depth = pageable.getOffset() + pageable.getPageSize();
+        if (depth > maxShardedDepth) {
+            throw new IllegalArgumentException("Pages past row " + maxShardedDepth +
+                    " are not served while students are sharded");
+        }
+        Pageable leading = PageRequest.of(0, (int) depth, pageable.getSort());
+        List<Page<StudentDto>> parts = shardRouter.scatter(() -> {
+            Page<Student> students = query.apply(leading);
+            return new PageImpl<>(toDtos(students.getContent()), leading, students.getTotalElements());
+        });
+        List<StudentDto> merged = new ArrayList<>();
+        long total = 0;
+        for (Page<StudentDto> part : parts) {
+            merged.addAll(part.getContent());
+            total += part.getTotalElements();
+        }
+        merged.sort(StudentSortRegistry.comparator(pageable.getSort()));
+        int from = (int) Math.min(pageable.getOffset(), merged.size());
+        int to = Math.min(from + pageable.getPageSize(), merged.size());
+        return new PageImpl<>(merged.subList(from, to), pageable, total);
+    }
+
+    /**
+     * Map students with their admissions fetched in one query rather than one per student
+     */
+    private List<StudentDto> toDtos(List<Student> students) {
+        if (students.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, List<Admission>> admissions = admissionRepository.findByStudentIdIn(
+                        students.stream().map(Student::getId).toList())
+                .stream()
+                .collect(Collectors.groupingBy(admission -> admission.getStudent().getId()));
+        List<StudentDto> dtos = new ArrayList<>(students.size());
+        for (Student student : students) {
+            dtos.add(studentMapper.toDto(student, admissions.getOrDefault(student.getId(), List.of())));
+        }
+        return dtos;
+    }
+
+    /**
+     * Write a streamed query as newline-delimited JSON, shard after shard
+     *
+     * Rows arrive through the repository's cursor and are written in chunks;
+     * each written chunk is detached, so the heap holds one chunk whatever
+     * the number of matching students.
+     */
+    private void writeStream(Supplier<Stream<Student>> query, OutputStream out) throws IOException {
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            for (int shard = 0; shard < shardRouter.shardCount(); shard++) {
+                shardRouter.readOnShard(shard, () -> {
+                    List<Student> chunk = new ArrayList<>(STREAM_CHUNK_SIZE);
+                    try (Stream<Student> students = query.get()) {
+                        students.forEach(student -> {
+                            chunk.add(student);
+                            if (chunk.size() == STREAM_CHUNK_SIZE) {
+                                writeChunk(chunk, generator);
+                            }
+                        });
+                    }
+                    writeChunk(chunk, generator);
+                    return null;
+                });
+            }
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    private void writeChunk(List<Student> chunk, JsonGenerator generator) {
+        try {
+            for (StudentDto student : toDtos(chunk)) {
+                ndjsonWriter.writeValue(generator, student);
+                generator.writeRaw('\n');
+            }
+            generator.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        entityManager.clear();
+        chunk.clear();
     }
 }
\ No newline at end of file
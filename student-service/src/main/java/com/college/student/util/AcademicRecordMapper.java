@@ -0,0 +1,66 @@
+package com.college.student.util;
+
+import com.college.student.dto.AcademicRecordDto;
+import com.college.student.dto.AcademicStandingDto;
+import com.college.student.entity.AcademicRecord;
+import com.college.student.entity.AcademicStanding;
+import org.springframework.stereotype.Component;
+
+/**
+ * Mapper utility for converting academic record entities and DTOs
+ */
+@Component
+public class AcademicRecordMapper {
+
+    /**
+     * Convert AcademicRecord entity to AcademicRecordDto
+     */
+    public AcademicRecordDto toDto(AcademicRecord record) {
+        if (record == null) {
+            return null;
+        }
+
+        AcademicRecordDto dto = new AcademicRecordDto();
+        dto.setId(record.getId());
+        dto.setStudentId(record.getStudent().getId());
+        dto.setSemester(record.getSemester());
+        dto.setYear(record.getYear());
+        dto.setGpa(record.getGpa());
+        dto.setTotalCredits(record.getTotalCredits());
+        dto.setStatus(record.getStatus());
+        dto.setCreatedAt(record.getCreatedAt());
+        dto.setUpdatedAt(record.getUpdatedAt());
+
+        return dto;
+    }
+
+    /**
+     * Copy the editable fields of an AcademicRecordDto onto an entity
+     */
+    public void updateEntity(AcademicRecord record, AcademicRecordDto dto) {
+        record.setSemester(dto.getSemester());
+        record.setYear(dto.getYear());
+        record.setGpa(dto.getGpa());
+        record.setTotalCredits(dto.getTotalCredits());
+        if (dto.getStatus() != null) {
+            record.setStatus(dto.getStatus());
+        }
+    }
+
+    /**
+     * Convert AcademicStanding entity to AcademicStandingDto
+     */
+    public AcademicStandingDto toStandingDto(AcademicStanding standing) {
+        if (standing == null) {
+            return null;
+        }
+
+        AcademicStandingDto dto = new AcademicStandingDto();
+        dto.setStudentId(standing.getStudentId());
+        dto.setCumulativeGpa(standing.getCumulativeGpa());
+        dto.setCreditsEarned(standing.getCreditsEarned());
+        dto.setUpdatedAt(standing.getUpdatedAt());
+
+        return dto;
+    }
+}
@@ -0,0 +1,123 @@
+package com.college.student.util;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Concurrency limit that follows measured latency
+ *
+ * Completed requests are averaged over short windows. A slow-moving average
+ * of those windows stands for latency without queueing; when a window runs
+ * slower than tolerance times that baseline, requests are waiting on
+ * something (in this service, usually the connection pool) and the limit is
+ * cut in proportion. While latency stays near the baseline and the limit is
+ * actually being used, it grows by about its square root per window.
+ *
+ * Requests beyond the limit are refused immediately rather than queued, so
+ * the ones admitted keep their latency.
+ */
+public class AdaptiveConcurrencyLimiter {
+
+    // Windows the baseline averages over
+    private static final double BASELINE_WINDOWS = 100;
+
+    // Share of each window's target limit applied, damping oscillation
+    private static final double SMOOTHING = 0.2;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double tolerance;
+    private final long windowNanos;
+    private final int minWindowSamples;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private volatile double limit;
+
+    // Current window; guarded by this
+    private long windowStart;
+    private long windowRttSum;
+    private int windowSamples;
+    private int windowMaxInFlight;
+    private double baselineRtt;
+
+    public AdaptiveConcurrencyLimiter(int initialLimit, int minLimit, int maxLimit, double tolerance,
+                                      long windowNanos, int minWindowSamples, long nowNanos) {
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.tolerance = tolerance;
+        this.windowNanos = windowNanos;
+        this.minWindowSamples = minWindowSamples;
+        this.limit = Math.max(minLimit, Math.min(maxLimit, initialLimit));
+        this.windowStart = nowNanos;
+    }
+
+    /**
+     * Admit one request if fewer than the limit are in flight; every admitted request must be released
+     */
+    public boolean tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= (int) limit) {
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Finish an admitted request that took rttNanos
+     */
+    public void release(long rttNanos, long nowNanos) {
+        int current = inFlight.getAndDecrement();
+        synchronized (this) {
+            windowRttSum += rttNanos;
+            windowSamples++;
+            windowMaxInFlight = Math.max(windowMaxInFlight, current);
+            if (nowNanos - windowStart >= windowNanos && windowSamples >= minWindowSamples) {
+                adjust((double) windowRttSum / windowSamples, windowMaxInFlight);
+                windowStart = nowNanos;
+                windowRttSum = 0;
+                windowSamples = 0;
+                windowMaxInFlight = 0;
+            }
+        }
+    }
+
+    /**
+     * Finish an admitted request whose duration says nothing about queueing
+     */
+    public void release() {
+        inFlight.decrementAndGet();
+    }
+
+    public int getLimit() {
+        return (int) limit;
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    private void adjust(double rtt, int maxInFlight) {
+        if (baselineRtt == 0) {
+            baselineRtt = rtt;
+            return;
+        }
+        baselineRtt += (rtt - baselineRtt) / BASELINE_WINDOWS;
+        // Load has dropped well below what the baseline was learned under; let it catch up quickly
+        if (baselineRtt > 2 * rtt) {
+            baselineRtt *= 0.95;
+        }
+
+        double gradient = Math.max(0.5, Math.min(1.0, tolerance * baselineRtt / rtt));
+        double current = limit;
+        if (gradient == 1.0 && maxInFlight < current / 2) {
+            // The limit is not what holds requests back, so latency says nothing about raising it
+            return;
+        }
+        double target = current * gradient + Math.sqrt(current);
+        double next = current * (1 - SMOOTHING) + target * SMOOTHING;
+        limit = Math.max(minLimit, Math.min(maxLimit, next));
+    }
+}
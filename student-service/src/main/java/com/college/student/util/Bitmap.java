@@ -0,0 +1,118 @@
+package com.college.student.util;
+
+import java.util.Arrays;
+
+/**
+ * Growable bitmap over row positions
+ *
+ * Like java.util.BitSet, but exposes intersection counts and in-place
+ * and/or without cloning, which is what filter and group-by evaluation over
+ * columnar data mostly does. Not thread-safe; publish copies instead of
+ * mutating a bitmap other threads read.
+ */
+public final class Bitmap {
+
+    private long[] words;
+
+    public Bitmap(int capacityBits) {
+        this.words = new long[Math.max(1, (capacityBits + 63) >>> 6)];
+    }
+
+    private Bitmap(long[] words) {
+        this.words = words;
+    }
+
+    public Bitmap copy() {
+        return new Bitmap(words.clone());
+    }
+
+    public void set(int bit) {
+        int word = bit >>> 6;
+        if (word >= words.length) {
+            words = Arrays.copyOf(words, Math.max(word + 1, words.length + (words.length >> 1)));
+        }
+        words[word] |= 1L << bit;
+    }
+
+    public void clear(int bit) {
+        int word = bit >>> 6;
+        if (word < words.length) {
+            words[word] &= ~(1L << bit);
+        }
+    }
+
+    public boolean get(int bit) {
+        int word = bit >>> 6;
+        return word < words.length && (words[word] & (1L << bit)) != 0;
+    }
+
+    /**
+     * this &= other
+     */
+    public void and(Bitmap other) {
+        int common = Math.min(words.length, other.words.length);
+        for (int i = 0; i < common; i++) {
+            words[i] &= other.words[i];
+        }
+        Arrays.fill(words, common, words.length, 0L);
+    }
+
+    /**
+     * this |= other
+     */
+    public void or(Bitmap other) {
+        if (other.words.length > words.length) {
+            words = Arrays.copyOf(words, other.words.length);
+        }
+        for (int i = 0; i < other.words.length; i++) {
+            words[i] |= other.words[i];
+        }
+    }
+
+    public long cardinality() {
+        long count = 0;
+        for (long word : words) {
+            count += Long.bitCount(word);
+        }
+        return count;
+    }
+
+    /**
+     * Number of bits set in both bitmaps, without materialising the intersection
+     */
+    public long andCardinality(Bitmap other) {
+        int common = Math.min(words.length, other.words.length);
+        long count = 0;
+        for (int i = 0; i < common; i++) {
+            count += Long.bitCount(words[i] & other.words[i]);
+        }
+        return count;
+    }
+
+    /**
+     * Index of the first set bit at or after from, or -1
+     */
+    public int nextSetBit(int from) {
+        int word = from >>> 6;
+        if (word >= words.length) {
+            return -1;
+        }
+        long bits = words[word] & (-1L << from);
+        while (true) {
+            if (bits != 0) {
+                return (word << 6) + Long.numberOfTrailingZeros(bits);
+            }
+            if (++word == words.length) {
+                return -1;
+            }
+            bits = words[word];
+        }
+    }
+
+    /**
+     * Approximate heap footprint in bytes
+     */
+    public long sizeInBytes() {
+        return 16L + 8L * words.length;
+    }
+}
@@ -0,0 +1,170 @@
+package com.college.student.util;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Scalable Bloom filter over strings
+ *
+ * Starts with one layer sized for the expected number of keys. When a layer
+ * is full another one with twice the capacity and half the false-positive
+ * rate is added, so the compound rate stays below the configured target no
+ * matter how many keys arrive. A key is absent for certain when no layer
+ * reports it. Keys cannot be removed; the filter is rebuilt instead.
+ *
+ * Adds must be serialised by the caller; lookups may run concurrently with them.
+ */
+public final class BloomFilter {
+
+    private static final double TIGHTENING_RATIO = 0.5;
+
+    private final double falsePositiveRate;
+    private volatile List<Layer> layers;
+
+    public BloomFilter(long expectedKeys, double falsePositiveRate) {
+        if (falsePositiveRate <= 0 || falsePositiveRate >= 1) {
+            throw new IllegalArgumentException("False-positive rate must be between 0 and 1");
+        }
+        this.falsePositiveRate = falsePositiveRate;
+        // Layer rates p(1-r), p(1-r)r, p(1-r)r^2... sum to at most p
+        this.layers = List.of(new Layer(Math.max(64, expectedKeys), falsePositiveRate * (1 - TIGHTENING_RATIO)));
+    }
+
+    public void add(String key) {
+        long hash = hash(key);
+        List<Layer> current = layers;
+        for (Layer layer : current) {
+            if (layer.contains(hash)) {
+                return;
+            }
+        }
+        Layer last = current.get(current.size() - 1);
+        if (last.count >= last.capacity) {
+            last = new Layer(last.capacity * 2, last.falsePositiveRate * TIGHTENING_RATIO);
+            List<Layer> grown = new ArrayList<>(current);
+            grown.add(last);
+            layers = List.copyOf(grown);
+        }
+        last.add(hash);
+    }
+
+    /**
+     * False means the key was never added; true means it probably was
+     */
+    public boolean mightContain(String key) {
+        long hash = hash(key);
+        for (Layer layer : layers) {
+            if (layer.contains(hash)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public long size() {
+        long size = 0;
+        for (Layer layer : layers) {
+            size += layer.count;
+        }
+        return size;
+    }
+
+    public int layerCount() {
+        return layers.size();
+    }
+
+    /**
+     * Bytes held by the bit arrays of all layers
+     */
+    public long sizeInBytes() {
+        long bytes = 0;
+        for (Layer layer : layers) {
+            bytes += layer.bits.length() * 8L;
+        }
+        return bytes;
+    }
+
+    /**
+     * False-positive rate implied by the keys added so far, at most the configured target while layers keep up
+     */
+    public double expectedFalsePositiveRate() {
+        double allNegative = 1;
+        for (Layer layer : layers) {
+            allNegative *= 1 - layer.expectedFalsePositiveRate();
+        }
+        return 1 - allNegative;
+    }
+
+    public double configuredFalsePositiveRate() {
+        return falsePositiveRate;
+    }
+
+    private static long hash(String key) {
+        // FNV-1a over the UTF-8 bytes, finished with the murmur3 64-bit mixer
+        long hash = 0xcbf29ce484222325L;
+        for (byte b : key.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b;
+            hash *= 0x100000001b3L;
+        }
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+
+    private static final class Layer {
+        final long capacity;
+        final double falsePositiveRate;
+        final AtomicLongArray bits;
+        final long bitCount;
+        final int hashCount;
+        volatile long count;
+
+        Layer(long capacity, double falsePositiveRate) {
+            this.capacity = capacity;
+            this.falsePositiveRate = falsePositiveRate;
+            double ln2 = Math.log(2);
+            long optimalBits = (long) Math.ceil(-capacity * Math.log(falsePositiveRate) / (ln2 * ln2));
+            int words = (int) Math.min(Integer.MAX_VALUE - 8, (optimalBits + 63) / 64);
+            this.bits = new AtomicLongArray(words);
+            this.bitCount = words * 64L;
+            this.hashCount = Math.max(1, (int) Math.round((double) bitCount / capacity * ln2));
+        }
+
+        void add(long hash) {
+            // Kirsch-Mitzenmacher: k indexes from two halves of one 64-bit hash
+            int h1 = (int) hash;
+            int h2 = (int) (hash >>> 32);
+            for (int i = 0; i < hashCount; i++) {
+                long bit = Math.floorMod(h1 + (long) i * h2, bitCount);
+                int word = (int) (bit >>> 6);
+                long mask = 1L << bit;
+                long current = bits.get(word);
+                while ((current & mask) == 0 && !bits.compareAndSet(word, current, current | mask)) {
+                    current = bits.get(word);
+                }
+            }
+            count++;
+        }
+
+        boolean contains(long hash) {
+            int h1 = (int) hash;
+            int h2 = (int) (hash >>> 32);
+            for (int i = 0; i < hashCount; i++) {
+                long bit = Math.floorMod(h1 + (long) i * h2, bitCount);
+                if ((bits.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        double expectedFalsePositiveRate() {
+            return Math.pow(1 - Math.exp(-(double) hashCount * count / bitCount), hashCount);
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package com.college.student.util;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.regex.Pattern;
+
+/**
+ * Continuation token of the changes feed: the (change_xid, id) position reached in each stream
+ *
+ * Streams are named by kind and shard ("students@0", "deleted@2"); a stream
+ * missing from the token starts at the beginning. Tokens issued before the
+ * feed was keyed by transaction carried timestamps and an issue time; they
+ * still parse, as outdated, so the consumer is told to resynchronise.
+ * Encoded as URL-safe Base64 so consumers treat it as opaque.
+ */
+public final class ChangeFeedToken {
+
+    /**
+     * Position in one stream: everything up to and including (changeXid, id) has been delivered
+     */
+    public record Position(long changeXid, long id) {
+
+        public static final Position START = new Position(0, 0);
+
+        public boolean isBefore(Position other) {
+            return changeXid < other.changeXid || changeXid == other.changeXid && id < other.id;
+        }
+    }
+
+    private static final String ISSUED = "issued";
+
+    // A position of the timestamp tokens, 2026-01-05T10:15:30.123/42
+    private static final Pattern TIMESTAMP_POSITION = Pattern.compile("\\d{4}-\\d{2}-\\d{2}T[^/]+/\\d+");
+
+    private final boolean outdated;
+    private final Map<String, Position> positions;
+
+    private ChangeFeedToken(boolean outdated, Map<String, Position> positions) {
+        this.outdated = outdated;
+        this.positions = positions;
+    }
+
+    /**
+     * Decode a token; null or blank starts every stream from the beginning
+     */
+    public static ChangeFeedToken parse(String token) {
+        Map<String, Position> positions = new TreeMap<>();
+        if (token == null || token.isBlank()) {
+            return new ChangeFeedToken(false, positions);
+        }
+        boolean outdated = false;
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            for (String entry : decoded.split(";")) {
+                int eq = entry.indexOf('=');
+                String name = entry.substring(0, eq);
+                String value = entry.substring(eq + 1);
+                if (ISSUED.equals(name) || TIMESTAMP_POSITION.matcher(value).matches()) {
+                    outdated = true;
+                    continue;
+                }
+                int slash = value.lastIndexOf('/');
+                positions.put(name, new Position(
+                        Long.parseLong(value.substring(0, slash)), Long.parseLong(value.substring(slash + 1))));
+            }
+        } catch (IllegalArgumentException | IndexOutOfBoundsException e) {
+            throw new IllegalArgumentException("Invalid changes token: " + token);
+        }
+        return outdated ? new ChangeFeedToken(true, new TreeMap<>()) : new ChangeFeedToken(false, positions);
+    }
+
+    public static String stream(String kind, int shard) {
+        return kind + "@" + shard;
+    }
+
+    /**
+     * Whether the token predates transaction positions; it cannot be continued
+     */
+    public boolean isOutdated() {
+        return outdated;
+    }
+
+    /**
+     * Whether the token has no position yet, as for a consumer starting from the beginning
+     */
+    public boolean isEmpty() {
+        return positions.isEmpty();
+    }
+
+    public Position get(String stream) {
+        return positions.getOrDefault(stream, Position.START);
+    }
+
+    /**
+     * Copy of this token with one stream moved on
+     */
+    public ChangeFeedToken with(String stream, Position position) {
+        Map<String, Position> moved = new TreeMap<>(positions);
+        moved.put(stream, position);
+        return new ChangeFeedToken(outdated, moved);
+    }
+
+    public String encode() {
+        StringBuilder encoded = new StringBuilder();
+        positions.forEach((stream, position) -> {
+            if (!encoded.isEmpty()) {
+                encoded.append(';');
+            }
+            encoded.append(stream).append('=').append(position.changeXid()).append('/').append(position.id());
+        });
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(encoded.toString().getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,213 @@
+package com.college.student.util;
+
+import com.college.student.entity.Department;
+import com.college.student.repository.DepartmentRepository;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * In-memory department code <-> integer ID dictionary
+ *
+ * Loaded from the departments table at startup so student filters and
+ * group-bys can run on the integer department_id column, and department
+ * codes can be listed and resolved without touching the database.
+ *
+ * Codes are matched ignoring case and surrounding whitespace. Departments are
+ * added by migrations or through register, never by student writes: a code
+ * that is not there is rejected. The snapshot is replaced wholesale on
+ * change. A code or ID added since the last load triggers a reload,
+ * throttled so misses never put a query on every lookup.
+ *
+ * With sharding, departments are added on shard 0 and copied to the other
+ * shards under the same ids; ShardingConfiguration repeats the copy at
+ * startup in case one was interrupted.
+ */
+@Component
+public class DepartmentDictionary {
+
+    private static final Logger logger = LoggerFactory.getLogger(DepartmentDictionary.class);
+
+    private static final long MISS_RELOAD_INTERVAL_NANOS = 10_000_000_000L;
+
+    // Widths of the departments columns
+    private static final int MAX_CODE_LENGTH = 50;
+    private static final int MAX_NAME_LENGTH = 100;
+
+    @Autowired
+    private DepartmentRepository departmentRepository;
+
+    @Autowired
+    private ShardRouter shardRouter;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate writeTransaction;
+
+    private volatile Snapshot snapshot = new Snapshot(Map.of(), new String[0], List.of());
+    private volatile long loadedAt;
+
+    @PostConstruct
+    void load() {
+        writeTransaction = new TransactionTemplate(transactionManager);
+        reload();
+    }
+
+    /**
+     * Integer ID of a department code, empty if the code is unknown
+     */
+    public Optional<Integer> findId(String code) {
+        if (code == null) {
+            return Optional.empty();
+        }
+        String key = normalize(code);
+        Integer id = snapshot.idsByCode.get(key);
+        if (id == null && reloadAfterMiss()) {
+            id = snapshot.idsByCode.get(key);
+        }
+        return Optional.ofNullable(id);
+    }
+
+    /**
+     * Department code of an integer ID, null for a null ID
+     */
+    public String codeOf(Integer id) {
+        if (id == null) {
+            return null;
+        }
+        String code = snapshot.lookup(id);
+        // Rows reference the ID, so it exists: it was added since the last load
+        if (code == null && reloadAfterMiss()) {
+            code = snapshot.lookup(id);
+        }
+        return code;
+    }
+
+    /**
+     * Integer ID of a department code, null for a blank code
+     *
+     * @throws IllegalArgumentException if no department has the code
+     */
+    public Integer requireId(String code) {
+        if (code == null || code.isBlank()) {
+            return null;
+        }
+        return findId(code).orElseThrow(() -> new IllegalArgumentException("Unknown department: " + code));
+    }
+
+    /**
+     * Add a department and return its integer ID; the code is stored trimmed and in upper case
+     *
+     * @throws IllegalArgumentException if the code or name is blank or too long, or the code is taken
+     */
+    public synchronized Integer register(String code, String name) {
+        if (code == null || code.isBlank() || name == null || name.isBlank()) {
+            throw new IllegalArgumentException("Department code and name are required");
+        }
+        String key = normalize(code);
+        String title = name.strip();
+        if (key.length() > MAX_CODE_LENGTH || title.length() > MAX_NAME_LENGTH) {
+            throw new IllegalArgumentException("Department code or name is too long");
+        }
+        // Compared ignoring case, which the unique constraint on dept_code does not
+        reload();
+        if (snapshot.idsByCode.containsKey(key)) {
+            throw new IllegalArgumentException("Department " + key + " already exists");
+        }
+
+        Department department = new Department();
+        department.setCode(key);
+        department.setName(title);
+        Integer id;
+        try {
+            id = shardRouter.onShard(0, () -> writeTransaction.execute(
+                    status -> departmentRepository.save(department).getId()));
+        } catch (DataIntegrityViolationException e) {
+            throw new IllegalArgumentException("Department " + key + " already exists");
+        }
+        for (int shard = 1; shard < shardRouter.shardCount(); shard++) {
+            shardRouter.onShard(shard, () -> writeTransaction.execute(
+                    status -> departmentRepository.insertWithId(id, key, title)));
+        }
+        reload();
+        logger.info("Registered department {} with id {}", key, id);
+        return id;
+    }
+
+    /**
+     * All department codes in alphabetical order
+     */
+    public List<String> codes() {
+        return snapshot.codes;
+    }
+
+    /**
+     * Re-read the departments table
+     */
+    public synchronized void reload() {
+        List<Department> departments = departmentRepository.findAll(Sort.by("id"));
+        Map<String, Integer> idsByCode = new HashMap<>();
+        int maxId = 0;
+        for (Department department : departments) {
+            Integer previous = idsByCode.putIfAbsent(normalize(department.getCode()), department.getId());
+            if (previous != null) {
+                logger.warn("Department code {} of id {} duplicates id {} ignoring case and spacing",
+                        department.getCode(), department.getId(), previous);
+            }
+            maxId = Math.max(maxId, department.getId());
+        }
+        String[] codesById = new String[maxId + 1];
+        List<String> codes = new ArrayList<>();
+        for (Department department : departments) {
+            codesById[department.getId()] = department.getCode();
+            codes.add(department.getCode());
+        }
+        Collections.sort(codes);
+
+        snapshot = new Snapshot(Map.copyOf(idsByCode), codesById, List.copyOf(codes));
+        loadedAt = System.nanoTime();
+        logger.debug("Loaded {} departments", departments.size());
+    }
+
+    /**
+     * Reload unless the snapshot is recent; true if this call reloaded it
+     */
+    private boolean reloadAfterMiss() {
+        if (System.nanoTime() - loadedAt < MISS_RELOAD_INTERVAL_NANOS) {
+            return false;
+        }
+        synchronized (this) {
+            // Callers that missed together wait for one reload instead of each running their own
+            if (System.nanoTime() - loadedAt < MISS_RELOAD_INTERVAL_NANOS) {
+                return true;
+            }
+            reload();
+            return true;
+        }
+    }
+
+    private static String normalize(String code) {
+        return code.strip().toUpperCase(Locale.ROOT);
+    }
+
+    private record Snapshot(Map<String, Integer> idsByCode, String[] codesById, List<String> codes) {
+        String lookup(int id) {
+            return id >= 0 && id < codesById.length ? codesById[id] : null;
+        }
+    }
+}
@@ -0,0 +1,144 @@
+package com.college.student.util;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
+
+/**
+ * Merges independent single-key lookups into one multi-key load
+ *
+ * The first key to arrive opens a window; keys arriving within the window (or
+ * until maxBatchSize distinct keys are pending) are loaded together by one
+ * call to the loader and each caller is completed with its own value. Keys
+ * the loader does not return complete with null.
+ */
+public class MicroBatcher<K, V> {
+
+    private final Function<Set<K>, Map<K, V>> loader;
+    private final long windowNanos;
+    private final int maxBatchSize;
+    private final ScheduledExecutorService scheduler;
+    private final Executor loaderExecutor;
+
+    private final DistributionSummary batchSizes;
+    private final Counter sizeFlushes;
+    private final Counter windowFlushes;
+
+    private final Object lock = new Object();
+    private Map<K, CompletableFuture<V>> pending = new HashMap<>();
+    private long generation;
+    private boolean flushScheduled;
+
+    public MicroBatcher(String name, Function<Set<K>, Map<K, V>> loader, Duration window, int maxBatchSize,
+                        ScheduledExecutorService scheduler, Executor loaderExecutor, MeterRegistry meterRegistry) {
+        this.loader = loader;
+        this.windowNanos = window.toNanos();
+        this.maxBatchSize = maxBatchSize;
+        this.scheduler = scheduler;
+        this.loaderExecutor = loaderExecutor;
+        this.batchSizes = DistributionSummary.builder("student.batch.size")
+                .description("Distinct keys per batched load")
+                .tag("batcher", name)
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+        this.sizeFlushes = Counter.builder("student.batch.flushes")
+                .tag("batcher", name).tag("trigger", "size").register(meterRegistry);
+        this.windowFlushes = Counter.builder("student.batch.flushes")
+                .tag("batcher", name).tag("trigger", "window").register(meterRegistry);
+    }
+
+    /**
+     * Queue a key for the next batch; identical keys in the same window share one future
+     */
+    public CompletableFuture<V> load(K key) {
+        Map<K, CompletableFuture<V>> full = null;
+        CompletableFuture<V> future;
+        synchronized (lock) {
+            future = pending.get(key);
+            if (future != null) {
+                return future;
+            }
+            future = new CompletableFuture<>();
+            pending.put(key, future);
+            if (pending.size() >= maxBatchSize) {
+                full = takePending();
+            } else if (!flushScheduled) {
+                flushScheduled = true;
+                long scheduledGeneration = generation;
+                scheduler.schedule(() -> flushWindow(scheduledGeneration), windowNanos, TimeUnit.NANOSECONDS);
+            }
+        }
+        if (full != null) {
+            sizeFlushes.increment();
+            dispatch(full);
+        }
+        return future;
+    }
+
+    /**
+     * Blocking variant of load that unwraps loader failures
+     *
+     * @throws TimeoutException if the batch has not completed within timeout; it keeps running for the others
+     */
+    public V get(K key, Duration timeout) throws TimeoutException {
+        try {
+            return load(key).get(timeout.toNanos(), TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for a batched load", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    private void flushWindow(long scheduledGeneration) {
+        Map<K, CompletableFuture<V>> batch;
+        synchronized (lock) {
+            // A size-triggered flush already took the keys this timer was armed for
+            if (scheduledGeneration != generation || pending.isEmpty()) {
+                return;
+            }
+            batch = takePending();
+        }
+        windowFlushes.increment();
+        dispatch(batch);
+    }
+
+    private Map<K, CompletableFuture<V>> takePending() {
+        Map<K, CompletableFuture<V>> batch = pending;
+        pending = new HashMap<>();
+        generation++;
+        flushScheduled = false;
+        return batch;
+    }
+
+    private void dispatch(Map<K, CompletableFuture<V>> batch) {
+        batchSizes.record(batch.size());
+        loaderExecutor.execute(() -> {
+            try {
+                Map<K, V> values = loader.apply(batch.keySet());
+                batch.forEach((key, future) -> future.complete(values.get(key)));
+            } catch (RuntimeException | Error e) {
+                batch.values().forEach(future -> future.completeExceptionally(e));
+            }
+        });
+    }
+}
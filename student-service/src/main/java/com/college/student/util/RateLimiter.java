@@ -0,0 +1,169 @@
+package com.college.student.util;
+
+import com.college.student.config.RateLimitProperties;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Admission of student API requests, shared by the MVC interceptor and the reactive filter
+ *
+ * Each request passes, in order, its client's token bucket, its client's
+ * bucket for the endpoint when student.rate-limit.routes lists one, and the
+ * adaptive concurrency limit shared by all endpoints. Both stacks read the
+ * same database, so a client gets one budget across them and the concurrency
+ * limit counts the requests of both.
+ */
+@Component
+public class RateLimiter {
+
+    private static final Logger logger = LoggerFactory.getLogger(RateLimiter.class);
+
+    // Longest client id kept; longer header values are cut so they cannot bloat the bucket map
+    private static final int MAX_CLIENT_ID_LENGTH = 64;
+
+    private static final long SWEEP_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    @Autowired
+    private RateLimitProperties properties;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private final Map<String, TokenBucket> buckets = new ConcurrentHashMap<>();
+    private final AtomicLong sweptAt = new AtomicLong();
+    private AdaptiveConcurrencyLimiter concurrencyLimiter;
+
+    /**
+     * Why a request was turned away, and how long until it may be retried
+     */
+    public record Rejection(String reason, long waitNanos) {
+
+        /**
+         * Seconds for the Retry-After header, rounded up
+         */
+        public long retryAfterSeconds() {
+            return Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + 999_999_999L));
+        }
+    }
+
+    @PostConstruct
+    void start() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        Gauge.builder("student.ratelimit.clients", buckets, Map::size)
+                .description("Client and route token buckets currently tracked")
+                .register(meterRegistry);
+
+        RateLimitProperties.Concurrency concurrency = properties.getConcurrency();
+        if (concurrency.isEnabled()) {
+            concurrencyLimiter = new AdaptiveConcurrencyLimiter(concurrency.getInitialLimit(),
+                    concurrency.getMinLimit(), concurrency.getMaxLimit(), concurrency.getTolerance(),
+                    concurrency.getWindow().toNanos(), concurrency.getMinWindowSamples(), System.nanoTime());
+            Gauge.builder("student.concurrency.limit", concurrencyLimiter, AdaptiveConcurrencyLimiter::getLimit)
+                    .register(meterRegistry);
+            Gauge.builder("student.concurrency.inflight", concurrencyLimiter, AdaptiveConcurrencyLimiter::getInFlight)
+                    .register(meterRegistry);
+        }
+        logger.info("Student API rate limiting enabled: {}/s per client, {} route limits, adaptive concurrency {}",
+                properties.getClient().getRate(), properties.getRoutes().size(),
+                concurrencyLimiter == null ? "off" : "from " + concurrencyLimiter.getLimit());
+    }
+
+    public boolean isEnabled() {
+        return properties.isEnabled();
+    }
+
+    /**
+     * Whether admitted requests hold a concurrency permit, to be given back with release
+     */
+    public boolean limitsConcurrency() {
+        return concurrencyLimiter != null;
+    }
+
+    public String getClientHeader() {
+        return properties.getClientHeader();
+    }
+
+    /**
+     * The client a request counts against: its client header, or its remote address without one
+     */
+    public String clientOf(String header, String remoteAddress) {
+        if (header == null || header.isBlank()) {
+            return remoteAddress;
+        }
+        return header.length() > MAX_CLIENT_ID_LENGTH ? header.substring(0, MAX_CLIENT_ID_LENGTH) : header;
+    }
+
+    /**
+     * Admit a request of the client to the route; null when admitted, otherwise why not
+     */
+    public Rejection admit(String client, String route, long now) {
+        long wait = take(client, properties.getClient(), now);
+        if (wait > 0) {
+            return reject(route, "client", wait);
+        }
+        RateLimitProperties.Bucket routeLimit = route == null ? null : properties.getRoutes().get(route);
+        if (routeLimit != null) {
+            wait = take(client + '|' + route, routeLimit, now);
+            if (wait > 0) {
+                return reject(route, "route", wait);
+            }
+        }
+        if (concurrencyLimiter != null && !concurrencyLimiter.tryAcquire()) {
+            return reject(route, "concurrency", TimeUnit.SECONDS.toNanos(1));
+        }
+        return null;
+    }
+
+    /**
+     * Give back the concurrency permit of a request admitted at startedAt
+     *
+     * A streamed response holds its permit while streaming, but its duration
+     * follows the result size, not queueing, so it does not count as a sample.
+     */
+    public void release(long startedAt, long now, boolean streaming) {
+        if (streaming) {
+            concurrencyLimiter.release();
+        } else {
+            concurrencyLimiter.release(now - startedAt, now);
+        }
+    }
+
+    private long take(String key, RateLimitProperties.Bucket limit, long now) {
+        TokenBucket bucket = buckets.get(key);
+        if (bucket == null) {
+            sweepIfFull(now);
+            bucket = buckets.computeIfAbsent(key, k -> new TokenBucket(limit.getRate(), limit.getBurst(), now));
+        }
+        return bucket.tryAcquire(now);
+    }
+
+    /**
+     * Drop buckets that have refilled completely; a new bucket would start in the same state
+     */
+    private void sweepIfFull(long now) {
+        long last = sweptAt.get();
+        if (buckets.size() < properties.getMaxClients() || now - last < SWEEP_INTERVAL_NANOS
+                || !sweptAt.compareAndSet(last, now)) {
+            return;
+        }
+        buckets.values().removeIf(bucket -> bucket.isFull(now));
+    }
+
+    private Rejection reject(String route, String reason, long waitNanos) {
+        meterRegistry.counter("student.ratelimit.rejected", "route", route == null ? "unknown" : route,
+                "reason", reason).increment();
+        return new Rejection(reason, waitNanos);
+    }
+}
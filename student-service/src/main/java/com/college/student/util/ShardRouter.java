@@ -0,0 +1,183 @@
+package com.college.student.util;
+
+import com.college.student.config.ShardRoutingDataSource;
+import com.college.student.config.ShardingProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Supplier;
+
+/**
+ * Decides which shard holds a student and runs repository work there
+ *
+ * A student is placed by a hash of its department when it is created and
+ * stays on that shard. Each shard allocates ids from its own range, shard n
+ * starting at n << SHARD_SHIFT, so the shard of a student, admission or
+ * academic record is read straight from its id. Queries by anything else
+ * fan out to every shard in parallel and the caller merges the results.
+ *
+ * With student.sharding disabled there is one shard and everything runs on
+ * the calling thread, joining its transaction, exactly as without the router.
+ */
+@Component
+public class ShardRouter {
+
+    /**
+     * Ids of shard n start at n << SHARD_SHIFT, leaving 2^48 ids per shard
+     */
+    public static final int SHARD_SHIFT = 48;
+
+    @Autowired
+    private ShardingProperties properties;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private int shardCount = 1;
+    private ExecutorService fanOut;
+    private TransactionTemplate readOnlyTransaction;
+
+    @PostConstruct
+    void start() {
+        readOnlyTransaction = new TransactionTemplate(transactionManager);
+        readOnlyTransaction.setReadOnly(true);
+        if (!properties.isEnabled()) {
+            return;
+        }
+        shardCount = properties.getShards().size();
+        // A transaction already open on the calling thread may hold a connection to another shard
+        readOnlyTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+
+        int threads = properties.getFanOutThreads() > 0 ? properties.getFanOutThreads() : shardCount * 4;
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("student-shard-");
+        threadFactory.setDaemon(true);
+        fanOut = Executors.newFixedThreadPool(threads, threadFactory);
+    }
+
+    @PreDestroy
+    void stop() {
+        if (fanOut != null) {
+            fanOut.shutdownNow();
+        }
+    }
+
+    public boolean isSharded() {
+        return fanOut != null;
+    }
+
+    public int shardCount() {
+        return shardCount;
+    }
+
+    /**
+     * Shard holding the row with this id; ids outside every shard's range map to shard 0, where they do not exist
+     */
+    public int shardOf(Long id) {
+        if (!isSharded() || id == null) {
+            return 0;
+        }
+        long shard = id >>> SHARD_SHIFT;
+        return shard < shardCount ? (int) shard : 0;
+    }
+
+    /**
+     * Shard a new student of this department is created on
+     */
+    public int shardFor(Integer departmentId) {
+        if (!isSharded() || departmentId == null) {
+            return 0;
+        }
+        int hash = departmentId * 0x9E3779B9;
+        return Math.floorMod(hash ^ (hash >>> 16), shardCount);
+    }
+
+    /**
+     * Run work on the calling thread with its connections opened on the given shard
+     */
+    public <T> T onShard(int shard, Supplier<T> work) {
+        return isSharded() ? ShardRoutingDataSource.callOn(shard, work) : work.get();
+    }
+
+    public void onShard(int shard, Runnable work) {
+        onShard(shard, () -> {
+            work.run();
+            return null;
+        });
+    }
+
+    /**
+     * Run a query in a read-only transaction on the given shard
+     */
+    public <T> T readOnShard(int shard, Supplier<T> query) {
+        return onShard(shard, () -> readOnlyTransaction.execute(status -> query.get()));
+    }
+
+    /**
+     * Run a query on every shard in parallel, each in its own read-only transaction; results in shard order
+     */
+    public <T> List<T> scatter(Supplier<T> query) {
+        if (!isSharded()) {
+            return Collections.singletonList(readOnlyTransaction.execute(status -> query.get()));
+        }
+        Timer.Sample sample = Timer.start(meterRegistry);
+        List<CompletableFuture<T>> parts = new ArrayList<>(shardCount);
+        for (int shard = 0; shard < shardCount; shard++) {
+            int target = shard;
+            parts.add(CompletableFuture.supplyAsync(() -> readOnShard(target, query), fanOut));
+        }
+        List<T> results = new ArrayList<>(shardCount);
+        try {
+            for (CompletableFuture<T> part : parts) {
+                results.add(part.join());
+            }
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        } finally {
+            sample.stop(meterRegistry.timer("student.shard.scatter"));
+        }
+        return results;
+    }
+
+    /**
+     * First non-empty result of a query run on every shard, in shard order
+     */
+    public <T> Optional<T> findFirst(Supplier<Optional<T>> query) {
+        for (Optional<T> result : scatter(query)) {
+            if (result.isPresent()) {
+                return result;
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Fail for features that read one database and would silently see only shard 0
+     */
+    public void requireSingleDatabase(String feature) {
+        if (isSharded()) {
+            throw new IllegalStateException(feature + " is not available while students are sharded");
+        }
+    }
+}
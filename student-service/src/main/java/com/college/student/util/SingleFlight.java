@@ -0,0 +1,122 @@
+package com.college.student.util;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
+
+/**
+ * Coalesces concurrent identical reads into one execution
+ *
+ * The first caller for a (method, arguments) key runs the loader; callers that
+ * arrive while it is still running wait for and share its result instead of
+ * issuing their own query. Nothing is cached once the leader finishes.
+ *
+ * A joined load may have started before a write the joining caller already
+ * saw acknowledged, so writes call invalidate once they have committed: every
+ * load then in flight stops taking joiners, and later callers start their own.
+ * A read never returns data older than the last write committed through this
+ * instance before it arrived; writes made through other instances are only
+ * covered once their invalidation message has been received.
+ *
+ * Without a copy function every caller gets the same result object, which
+ * must then not be mutated.
+ */
+@Component
+public class SingleFlight {
+
+    private final Map<List<Object>, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+    private final Map<String, Counter> counters = new ConcurrentHashMap<>();
+    private final MeterRegistry meterRegistry;
+    private final boolean enabled;
+
+    public SingleFlight(MeterRegistry meterRegistry,
+                        @Value("${student.single-flight.enabled:true}") boolean enabled) {
+        this.meterRegistry = meterRegistry;
+        this.enabled = enabled;
+        Gauge.builder("student.singleflight.inflight", inFlight, Map::size)
+                .description("Distinct keys currently being loaded")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Run the loader for this method and arguments, or join an identical call already in flight
+     */
+    public <T> T execute(String method, Supplier<T> loader, Object... args) {
+        return execute(method, loader, UnaryOperator.identity(), args);
+    }
+
+    /**
+     * As execute, each joined caller receiving its own copy of the shared result
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T execute(String method, Supplier<T> loader, UnaryOperator<T> copy, Object... args) {
+        if (!enabled) {
+            return loader.get();
+        }
+
+        List<Object> key = new ArrayList<>(args.length + 1);
+        key.add(method);
+        key.addAll(Arrays.asList(args));
+
+        CompletableFuture<Object> call = new CompletableFuture<>();
+        CompletableFuture<Object> existing = inFlight.putIfAbsent(key, call);
+        if (existing != null) {
+            counter(method, "coalesced").increment();
+            return copy.apply((T) await(existing));
+        }
+
+        counter(method, "executed").increment();
+        try {
+            T result = loader.get();
+            call.complete(result);
+            return result;
+        } catch (RuntimeException | Error e) {
+            call.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, call);
+        }
+    }
+
+    /**
+     * Let no later caller join a load already in flight; call once a write these loads could read has committed
+     */
+    public void invalidate() {
+        // Running loads keep their callers; removing them only stops new ones joining
+        inFlight.clear();
+    }
+
+    private static Object await(CompletableFuture<Object> call) {
+        try {
+            return call.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw e;
+        }
+    }
+
+    private Counter counter(String method, String outcome) {
+        return counters.computeIfAbsent(method + ':' + outcome, k -> Counter.builder("student.singleflight.calls")
+                .description("Reads that ran a query (executed) or shared one already in flight (coalesced)")
+                .tag("method", method)
+                .tag("outcome", outcome)
+                .register(meterRegistry));
+    }
+}
@@ -0,0 +1,60 @@
+package com.college.student.util;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Append-only dictionary encoding of strings to dense int codes
+ *
+ * Columns store the int code; each distinct value is held once. Codes are
+ * assigned in first-seen order and never change.
+ */
+public final class StringDictionary {
+
+    private final Map<String, Integer> codes;
+    private final List<String> values;
+
+    public StringDictionary() {
+        this.codes = new HashMap<>();
+        this.values = new ArrayList<>();
+    }
+
+    private StringDictionary(StringDictionary source) {
+        this.codes = new HashMap<>(source.codes);
+        this.values = new ArrayList<>(source.values);
+    }
+
+    public StringDictionary copy() {
+        return new StringDictionary(this);
+    }
+
+    /**
+     * Code of a value, assigning the next code if it is new
+     */
+    public int encode(String value) {
+        Integer code = codes.get(value);
+        if (code == null) {
+            code = values.size();
+            codes.put(value, code);
+            values.add(value);
+        }
+        return code;
+    }
+
+    /**
+     * Code of a value, or -1 if it has never been encoded
+     */
+    public int lookup(String value) {
+        return codes.getOrDefault(value, -1);
+    }
+
+    public String decode(int code) {
+        return values.get(code);
+    }
+
+    public int size() {
+        return values.size();
+    }
+}
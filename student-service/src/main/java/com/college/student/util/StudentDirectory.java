@@ -0,0 +1,386 @@
+package com.college.student.util;
+
+import com.college.student.entity.StudentStatus;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.locks.StampedLock;
+
+/**
+ * Off-heap id / studentId / email / status directory
+ *
+ * Each student is a fixed-width 24 byte record (id, offsets of its studentId
+ * and email in a UTF-8 string arena, status) in a direct buffer. Two
+ * open-addressing hash tables with linear probing map studentId and email to
+ * record numbers; each 8 byte slot carries the key's hash in its upper half so
+ * most probe misses never touch the arena. A dense int table maps ids to
+ * records. Apart from the strings, an entry costs about 60 bytes and nothing
+ * of it lives on the Java heap.
+ *
+ * Writers are serialised; readers run lock-free with optimistic StampedLock
+ * reads and only fall back to a read lock if a write raced with them.
+ * Replaced strings and removed records are not reclaimed until the directory
+ * is rebuilt; {@link #garbageRatio()} tells when that is worth it.
+ */
+public final class StudentDirectory {
+
+    public record Entry(long id, String studentId, String email, StudentStatus status) {}
+
+    private static final StudentStatus[] STATUSES = StudentStatus.values();
+
+    private static final int RECORD_BYTES = 24;
+    private static final int ID = 0;
+    private static final int STUDENT_ID_OFFSET = 8;
+    private static final int EMAIL_OFFSET = 12;
+    private static final int STATUS = 16;
+    private static final byte NO_STATUS = -1;
+    private static final int MAX_KEY_BYTES = 0xFFFF;
+
+    private final StampedLock lock = new StampedLock();
+
+    private ByteBuffer records;
+    private ByteBuffer arena;
+    private ByteBuffer byStudentId;
+    private ByteBuffer byEmail;
+    private ByteBuffer byId;
+    private int recordCount;
+    private int liveCount;
+    private int arenaUsed;
+    private long garbageBytes;
+
+    public StudentDirectory(int expectedSize) {
+        int capacity = Math.max(16, expectedSize);
+        records = ByteBuffer.allocateDirect(capacity * RECORD_BYTES);
+        arena = ByteBuffer.allocateDirect(capacity * 48);
+        byStudentId = ByteBuffer.allocateDirect(tableCapacity(capacity) * 8);
+        byEmail = ByteBuffer.allocateDirect(tableCapacity(capacity) * 8);
+        byId = ByteBuffer.allocateDirect(capacity * 4);
+    }
+
+    /**
+     * Insert or replace the entry of a student
+     */
+    public void put(long id, String studentId, String email, StudentStatus status) {
+        byte[] studentIdBytes = utf8(studentId);
+        byte[] emailBytes = utf8(email);
+        if (id < 0 || id >= Integer.MAX_VALUE / 4) {
+            throw new IllegalArgumentException("Student id out of range for the directory: " + id);
+        }
+        long stamp = lock.writeLock();
+        try {
+            int record = recordOf(byId, id);
+            if (record < 0) {
+                record = newRecord(id);
+            } else {
+                int studentIdOffset = records.getInt(record * RECORD_BYTES + STUDENT_ID_OFFSET);
+                int emailOffset = records.getInt(record * RECORD_BYTES + EMAIL_OFFSET);
+                if (keyEquals(arena, studentIdOffset, studentIdBytes) && keyEquals(arena, emailOffset, emailBytes)) {
+                    records.put(record * RECORD_BYTES + STATUS, statusCode(status));
+                    return;
+                }
+                removeKey(byStudentId, arena, studentIdOffset, record);
+                removeKey(byEmail, arena, emailOffset, record);
+                garbageBytes += keyLength(arena, studentIdOffset) + keyLength(arena, emailOffset) + 4;
+            }
+            int studentIdOffset = append(studentIdBytes);
+            int emailOffset = append(emailBytes);
+            records.putInt(record * RECORD_BYTES + STUDENT_ID_OFFSET, studentIdOffset);
+            records.putInt(record * RECORD_BYTES + EMAIL_OFFSET, emailOffset);
+            records.put(record * RECORD_BYTES + STATUS, statusCode(status));
+            byStudentId = insertKey(byStudentId, STUDENT_ID_OFFSET, studentIdBytes, record);
+            byEmail = insertKey(byEmail, EMAIL_OFFSET, emailBytes, record);
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Drop the entry of a student, if present
+     */
+    public void remove(long id) {
+        long stamp = lock.writeLock();
+        try {
+            int record = recordOf(byId, id);
+            if (record < 0) {
+                return;
+            }
+            int studentIdOffset = records.getInt(record * RECORD_BYTES + STUDENT_ID_OFFSET);
+            int emailOffset = records.getInt(record * RECORD_BYTES + EMAIL_OFFSET);
+            removeKey(byStudentId, arena, studentIdOffset, record);
+            removeKey(byEmail, arena, emailOffset, record);
+            byId.putInt((int) id * 4, 0);
+            records.putLong(record * RECORD_BYTES + ID, -1L);
+            garbageBytes += RECORD_BYTES + keyLength(arena, studentIdOffset) + keyLength(arena, emailOffset) + 4;
+            liveCount--;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    public Entry findById(long id) {
+        return read(Lookup.ID, id, null);
+    }
+
+    public Entry findByStudentId(String studentId) {
+        return studentId == null ? null : read(Lookup.STUDENT_ID, 0, utf8(studentId));
+    }
+
+    public Entry findByEmail(String email) {
+        return email == null ? null : read(Lookup.EMAIL, 0, utf8(email));
+    }
+
+    public int size() {
+        return liveCount;
+    }
+
+    /**
+     * Direct memory held by the directory
+     */
+    public long sizeInBytes() {
+        return (long) records.capacity() + arena.capacity() + byStudentId.capacity()
+                + byEmail.capacity() + byId.capacity();
+    }
+
+    /**
+     * Share of the used record and arena bytes taken by replaced or removed entries
+     */
+    public double garbageRatio() {
+        long used = (long) recordCount * RECORD_BYTES + arenaUsed;
+        return used == 0 ? 0 : (double) garbageBytes / used;
+    }
+
+    private enum Lookup { ID, STUDENT_ID, EMAIL }
+
+    private Entry read(Lookup lookup, long id, byte[] key) {
+        long stamp = lock.tryOptimisticRead();
+        if (stamp != 0) {
+            try {
+                Entry entry = locate(lookup, id, key);
+                if (lock.validate(stamp)) {
+                    return entry;
+                }
+            } catch (RuntimeException e) {
+                // Torn read of a structure being written or resized; retry under the read lock
+            }
+        }
+        stamp = lock.readLock();
+        try {
+            return locate(lookup, id, key);
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    private Entry locate(Lookup lookup, long id, byte[] key) {
+        // Read every field once: a writer may swap the buffers under an optimistic reader
+        ByteBuffer records = this.records;
+        ByteBuffer arena = this.arena;
+        int record = switch (lookup) {
+            case ID -> recordOf(byId, id);
+            case STUDENT_ID -> findKey(byStudentId, STUDENT_ID_OFFSET, records, arena, key);
+            case EMAIL -> findKey(byEmail, EMAIL_OFFSET, records, arena, key);
+        };
+        if (record < 0) {
+            return null;
+        }
+        int base = record * RECORD_BYTES;
+        byte status = records.get(base + STATUS);
+        return new Entry(records.getLong(base + ID),
+                decode(arena, records.getInt(base + STUDENT_ID_OFFSET)),
+                decode(arena, records.getInt(base + EMAIL_OFFSET)),
+                status == NO_STATUS ? null : STATUSES[status]);
+    }
+
+    private int newRecord(long id) {
+        if ((recordCount + 1) * RECORD_BYTES > records.capacity()) {
+            records = grow(records, records.capacity() * 2);
+        }
+        if ((id + 1) * 4 > byId.capacity()) {
+            byId = grow(byId, (int) Math.max(byId.capacity() * 2L, (id + 1) * 4));
+        }
+        int record = recordCount++;
+        records.putLong(record * RECORD_BYTES + ID, id);
+        byId.putInt((int) id * 4, record + 1);
+        liveCount++;
+        return record;
+    }
+
+    private int append(byte[] key) {
+        int needed = 2 + key.length;
+        if (arenaUsed + needed > arena.capacity()) {
+            arena = grow(arena, Math.max(arena.capacity() * 2, arenaUsed + needed));
+        }
+        int offset = arenaUsed;
+        arena.putShort(offset, (short) key.length);
+        arena.put(offset + 2, key);
+        arenaUsed += needed;
+        return offset;
+    }
+
+    private ByteBuffer insertKey(ByteBuffer table, int keyField, byte[] key, int record) {
+        int slots = table.capacity() / 8;
+        if ((liveCount + 1) * 2 > slots) {
+            table = rehash(table, slots * 2);
+            slots *= 2;
+        }
+        int hash = hash(key);
+        int mask = slots - 1;
+        for (int i = hash & mask; ; i = (i + 1) & mask) {
+            long slot = table.getLong(i * 8);
+            if (slot == 0 || ((int) (slot >>> 32) == hash
+                    && keyEquals(arena, records.getInt(recordOf(slot) * RECORD_BYTES + keyField), key))) {
+                // A key still owned by another record is taken over; the next rebuild settles it
+                table.putLong(i * 8, ((long) hash << 32) | (record + 1));
+                return table;
+            }
+        }
+    }
+
+    private static int findKey(ByteBuffer table, int keyField, ByteBuffer records, ByteBuffer arena, byte[] key) {
+        int hash = hash(key);
+        int mask = table.capacity() / 8 - 1;
+        for (int i = hash & mask, probes = 0; probes <= mask; i = (i + 1) & mask, probes++) {
+            long slot = table.getLong(i * 8);
+            if (slot == 0) {
+                return -1;
+            }
+            if ((int) (slot >>> 32) == hash) {
+                int record = recordOf(slot);
+                if (keyEquals(arena, records.getInt(record * RECORD_BYTES + keyField), key)) {
+                    return record;
+                }
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Remove the slot pointing at a record, shifting later probe-chain entries back into the gap
+     */
+    private void removeKey(ByteBuffer table, ByteBuffer arena, int keyOffset, int record) {
+        int hash = hash(arena, keyOffset);
+        int mask = table.capacity() / 8 - 1;
+        int gap = -1;
+        for (int i = hash & mask; ; i = (i + 1) & mask) {
+            long slot = table.getLong(i * 8);
+            if (slot == 0) {
+                return;
+            }
+            if (recordOf(slot) == record) {
+                gap = i;
+                break;
+            }
+        }
+        for (int j = (gap + 1) & mask; ; j = (j + 1) & mask) {
+            long slot = table.getLong(j * 8);
+            if (slot == 0) {
+                table.putLong(gap * 8, 0L);
+                return;
+            }
+            int home = (int) (slot >>> 32) & mask;
+            boolean staysPut = gap <= j ? (gap < home && home <= j) : (gap < home || home <= j);
+            if (!staysPut) {
+                table.putLong(gap * 8, slot);
+                gap = j;
+            }
+        }
+    }
+
+    private ByteBuffer rehash(ByteBuffer table, int slots) {
+        ByteBuffer rehashed = ByteBuffer.allocateDirect(slots * 8);
+        int mask = slots - 1;
+        for (int i = 0; i < table.capacity() / 8; i++) {
+            long slot = table.getLong(i * 8);
+            if (slot != 0) {
+                int j = (int) (slot >>> 32) & mask;
+                while (rehashed.getLong(j * 8) != 0) {
+                    j = (j + 1) & mask;
+                }
+                rehashed.putLong(j * 8, slot);
+            }
+        }
+        return rehashed;
+    }
+
+    private static int recordOf(ByteBuffer byId, long id) {
+        if (id < 0 || (id + 1) * 4 > byId.capacity()) {
+            return -1;
+        }
+        return byId.getInt((int) id * 4) - 1;
+    }
+
+    private static int recordOf(long slot) {
+        return (int) slot - 1;
+    }
+
+    private static ByteBuffer grow(ByteBuffer buffer, int capacity) {
+        ByteBuffer grown = ByteBuffer.allocateDirect(capacity);
+        grown.put(0, buffer, 0, buffer.capacity());
+        return grown;
+    }
+
+    private static int tableCapacity(int entries) {
+        return Integer.highestOneBit(Math.max(16, entries * 2 - 1)) << 1;
+    }
+
+    private static boolean keyEquals(ByteBuffer arena, int offset, byte[] key) {
+        if (arena.getShort(offset) != (short) key.length) {
+            return false;
+        }
+        for (int i = 0; i < key.length; i++) {
+            if (arena.get(offset + 2 + i) != key[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int keyLength(ByteBuffer arena, int offset) {
+        return arena.getShort(offset) & 0xFFFF;
+    }
+
+    private static String decode(ByteBuffer arena, int offset) {
+        byte[] bytes = new byte[keyLength(arena, offset)];
+        arena.get(offset + 2, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static int hash(byte[] key) {
+        int hash = 1;
+        for (byte b : key) {
+            hash = 31 * hash + b;
+        }
+        return mix(hash);
+    }
+
+    private static int hash(ByteBuffer arena, int offset) {
+        int hash = 1;
+        int length = keyLength(arena, offset);
+        for (int i = 0; i < length; i++) {
+            hash = 31 * hash + arena.get(offset + 2 + i);
+        }
+        return mix(hash);
+    }
+
+    private static int mix(int hash) {
+        // murmur3 finaliser, so sequential ids such as STU00001.. spread over the table
+        hash ^= hash >>> 16;
+        hash *= 0x85ebca6b;
+        hash ^= hash >>> 13;
+        hash *= 0xc2b2ae35;
+        hash ^= hash >>> 16;
+        return hash;
+    }
+
+    private static byte[] utf8(String value) {
+        byte[] bytes = (value == null ? "" : value).getBytes(StandardCharsets.UTF_8);
+        if (bytes.length > MAX_KEY_BYTES) {
+            throw new IllegalArgumentException("Directory key too long: " + bytes.length + " bytes");
+        }
+        return bytes;
+    }
+
+    private static byte statusCode(StudentStatus status) {
+        return status == null ? NO_STATUS : (byte) status.ordinal();
+    }
+}
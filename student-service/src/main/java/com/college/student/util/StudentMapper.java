@@ -4,6 +4,7 @@ import com.college.student.dto.AdmissionDto;
 import com.college.student.dto.StudentDto;
 import com.college.student.entity.Admission;
 import com.college.student.entity.Student;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
 import java.util.List;
@@ -15,6 +16,9 @@ import java.util.stream.Collectors;
 @Component
 public class StudentMapper {
 
+    @Autowired
+    private DepartmentDictionary departmentDictionary;
+
     /**
      * Convert Student entity to StudentDto
      */
@@ -22,6 +26,13 @@ public class StudentMapper {
         if (student == null) {
             return null;
         }
+        return toDto(student, student.getAdmissions());
+    }
+
+    /**
+     * Convert Student entity to StudentDto with admissions loaded separately, leaving its collection untouched
+     */
+    public StudentDto toDto(Student student, List<Admission> admissions) {
 
         StudentDto dto = new StudentDto();
         dto.setId(student.getId());
@@ -32,14 +43,14 @@ public class StudentMapper {
         dto.setPhone(student.getPhone());
         dto.setDateOfBirth(student.getDateOfBirth());
         dto.setAddress(student.getAddress());
-        dto.setDepartment(student.getDepartment());
+        dto.setDepartment(departmentDictionary.codeOf(student.getDepartmentId()));
         dto.setYearOfStudy(student.getYearOfStudy());
         dto.setStatus(student.getStatus());
         dto.setCreatedAt(student.getCreatedAt());
         dto.setUpdatedAt(student.getUpdatedAt());
 
-        if (student.getAdmissions() != null) {
-            List<AdmissionDto> admissionDtos = student.getAdmissions()
+        if (admissions != null) {
+            List<AdmissionDto> admissionDtos = admissions
                     .stream()
                     .map(this::toAdmissionDto)
                     .collect(Collectors.toList());
@@ -49,6 +60,51 @@ public class StudentMapper {
         return dto;
     }
 
+    /**
+     * Copy a StudentDto and its admissions, for a caller that may change it
+     */
+    public StudentDto copy(StudentDto source) {
+        StudentDto dto = new StudentDto();
+        dto.setId(source.getId());
+        dto.setStudentId(source.getStudentId());
+        dto.setFirstName(source.getFirstName());
+        dto.setLastName(source.getLastName());
+        dto.setEmail(source.getEmail());
+        dto.setPhone(source.getPhone());
+        dto.setDateOfBirth(source.getDateOfBirth());
+        dto.setAddress(source.getAddress());
+        dto.setDepartment(source.getDepartment());
+        dto.setYearOfStudy(source.getYearOfStudy());
+        dto.setStatus(source.getStatus());
+        dto.setCreatedAt(source.getCreatedAt());
+        dto.setUpdatedAt(source.getUpdatedAt());
+
+        if (source.getAdmissions() != null) {
+            List<AdmissionDto> admissionDtos = source.getAdmissions()
+                    .stream()
+                    .map(this::copyAdmission)
+                    .collect(Collectors.toList());
+            dto.setAdmissions(admissionDtos);
+        }
+
+        return dto;
+    }
+
+    private AdmissionDto copyAdmission(AdmissionDto source) {
+        AdmissionDto dto = new AdmissionDto();
+        dto.setId(source.getId());
+        dto.setStudentId(source.getStudentId());
+        dto.setAdmissionYear(source.getAdmissionYear());
+        dto.setProgram(source.getProgram());
+        dto.setAdmissionDate(source.getAdmissionDate());
+        dto.setAdmissionStatus(source.getAdmissionStatus());
+        dto.setEntranceScore(source.getEntranceScore());
+        dto.setRemarks(source.getRemarks());
+        dto.setCreatedAt(source.getCreatedAt());
+
+        return dto;
+    }
+
     /**
      * Convert StudentDto to Student entity
      */
@@ -66,7 +122,7 @@ public class StudentMapper {
         student.setPhone(dto.getPhone());
         student.setDateOfBirth(dto.getDateOfBirth());
         student.setAddress(dto.getAddress());
-        student.setDepartment(dto.getDepartment());
+        student.setDepartmentId(departmentDictionary.requireId(dto.getDepartment()));
         student.setYearOfStudy(dto.getYearOfStudy());
         student.setStatus(dto.getStatus());
 
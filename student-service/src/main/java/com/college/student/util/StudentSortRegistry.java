@@ -0,0 +1,138 @@
+package com.college.student.util;
+
+import com.college.student.dto.StudentDto;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+
+import java.util.Comparator;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Sort keys accepted by the paged student list
+ *
+ * Each key maps to an index on (column, id), and id is always appended as a
+ * tie-breaker, so every page is read in index order with a stable total order.
+ * Keys outside the registry are rejected. A few entity properties without an
+ * index can be let through with student.sorting.allow-unindexed for clients
+ * that still depend on them; those force a full sort of the matching rows
+ * and are counted in student.sort.fallback.
+ */
+@Component
+public class StudentSortRegistry {
+
+    /**
+     * Sort keys with an index serving ORDER BY key, id; QueryPlanCheck checks that one is used
+     */
+    private static final Set<String> INDEXED_KEYS = Set.of(
+            "id", "studentId", "email", "lastName", "yearOfStudy", "createdAt");
+
+    private static final Set<String> UNINDEXED_KEYS = Set.of(
+            "firstName", "phone", "address", "dateOfBirth", "status", "updatedAt");
+
+    private static final String TIE_BREAKER = "id";
+
+    /**
+     * Sort key -> the same order over list DTOs, for merging pages read from several shards
+     *
+     * Text keys are stored with the "C" collation (V11), which orders by code
+     * point; String.compareTo orders by UTF-16 unit and differs above U+FFFF.
+     */
+    private static final Map<String, Comparator<StudentDto>> COMPARATORS = Map.ofEntries(
+            Map.entry("id", by(StudentDto::getId)),
+            Map.entry("studentId", byText(StudentDto::getStudentId)),
+            Map.entry("email", byText(StudentDto::getEmail)),
+            Map.entry("lastName", byText(StudentDto::getLastName)),
+            Map.entry("yearOfStudy", by(StudentDto::getYearOfStudy)),
+            Map.entry("createdAt", by(StudentDto::getCreatedAt)),
+            Map.entry("firstName", byText(StudentDto::getFirstName)),
+            Map.entry("phone", byText(StudentDto::getPhone)),
+            Map.entry("address", byText(StudentDto::getAddress)),
+            Map.entry("dateOfBirth", by(StudentDto::getDateOfBirth)),
+            // Stored as the enum name, so the database orders statuses by name
+            Map.entry("status", by(student -> student.getStatus() == null ? null : student.getStatus().name())),
+            Map.entry("updatedAt", by(StudentDto::getUpdatedAt)));
+
+    private final MeterRegistry meterRegistry;
+    private final boolean allowUnindexed;
+    private final Map<String, Counter> fallbackCounters = new ConcurrentHashMap<>();
+    private final Counter rejected;
+
+    public StudentSortRegistry(MeterRegistry meterRegistry,
+                               @Value("${student.sorting.allow-unindexed:false}") boolean allowUnindexed) {
+        this.meterRegistry = meterRegistry;
+        this.allowUnindexed = allowUnindexed;
+        this.rejected = Counter.builder("student.sort.rejected")
+                .description("List requests rejected for an unsupported sort key")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Build the sort for a key and direction, throwing IllegalArgumentException for unsupported keys
+     */
+    public Sort resolve(String sortBy, String sortDir) {
+        Sort.Direction direction = "desc".equalsIgnoreCase(sortDir) ? Sort.Direction.DESC : Sort.Direction.ASC;
+
+        if (!INDEXED_KEYS.contains(sortBy)) {
+            if (!allowUnindexed || !UNINDEXED_KEYS.contains(sortBy)) {
+                rejected.increment();
+                throw new IllegalArgumentException("Unsupported sort key: " + sortBy
+                        + ", supported keys are " + INDEXED_KEYS);
+            }
+            fallbackCounter(sortBy).increment();
+        }
+
+        Sort sort = Sort.by(direction, sortBy);
+        return TIE_BREAKER.equals(sortBy) ? sort : sort.and(Sort.by(direction, TIE_BREAKER));
+    }
+
+    /**
+     * The order of a resolved sort over DTOs, nulls last ascending and first descending as in PostgreSQL
+     */
+    public static Comparator<StudentDto> comparator(Sort sort) {
+        Comparator<StudentDto> comparator = (a, b) -> 0;
+        for (Sort.Order order : sort) {
+            Comparator<StudentDto> byKey = COMPARATORS.get(order.getProperty());
+            if (byKey == null) {
+                throw new IllegalArgumentException("Unsupported sort key: " + order.getProperty());
+            }
+            comparator = comparator.thenComparing(order.isDescending() ? byKey.reversed() : byKey);
+        }
+        return comparator;
+    }
+
+    private static <T extends Comparable<? super T>> Comparator<StudentDto> by(Function<StudentDto, T> key) {
+        return Comparator.comparing(key, Comparator.nullsLast(Comparator.naturalOrder()));
+    }
+
+    private static Comparator<StudentDto> byText(Function<StudentDto, String> key) {
+        return Comparator.comparing(key, Comparator.nullsLast(StudentSortRegistry::compareCodePoints));
+    }
+
+    static int compareCodePoints(String a, String b) {
+        int i = 0;
+        int j = 0;
+        while (i < a.length() && j < b.length()) {
+            int x = a.codePointAt(i);
+            int y = b.codePointAt(j);
+            if (x != y) {
+                return Integer.compare(x, y);
+            }
+            i += Character.charCount(x);
+            j += Character.charCount(y);
+        }
+        return Integer.compare(a.length() - i, b.length() - j);
+    }
+
+    private Counter fallbackCounter(String sortBy) {
+        return fallbackCounters.computeIfAbsent(sortBy, key -> Counter.builder("student.sort.fallback")
+                .description("List requests sorted on a key without a supporting index")
+                .tag("key", key)
+                .register(meterRegistry));
+    }
+}
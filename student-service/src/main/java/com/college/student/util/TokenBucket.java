@@ -0,0 +1,51 @@
+package com.college.student.util;
+
+/**
+ * Token bucket refilled continuously at a fixed rate
+ *
+ * Holds up to capacity tokens and starts full, so a quiet client may burst
+ * capacity requests before being held to the sustained rate.
+ */
+public class TokenBucket {
+
+    private final double ratePerNano;
+    private final double capacity;
+
+    private double tokens;
+    private long refilledAt;
+
+    public TokenBucket(double ratePerSecond, int capacity, long nowNanos) {
+        this.ratePerNano = ratePerSecond / 1e9;
+        this.capacity = Math.max(1, capacity);
+        this.tokens = this.capacity;
+        this.refilledAt = nowNanos;
+    }
+
+    /**
+     * Take one token; 0 when taken, otherwise the nanoseconds until one is available
+     */
+    public synchronized long tryAcquire(long nowNanos) {
+        refill(nowNanos);
+        if (tokens >= 1) {
+            tokens -= 1;
+            return 0;
+        }
+        return (long) Math.ceil((1 - tokens) / ratePerNano);
+    }
+
+    /**
+     * Whether the bucket has refilled completely and is indistinguishable from a new one
+     */
+    public synchronized boolean isFull(long nowNanos) {
+        refill(nowNanos);
+        return tokens >= capacity;
+    }
+
+    private void refill(long nowNanos) {
+        long elapsed = nowNanos - refilledAt;
+        if (elapsed > 0) {
+            tokens = Math.min(capacity, tokens + elapsed * ratePerNano);
+            refilledAt = nowNanos;
+        }
+    }
+}
@@ -0,0 +1,105 @@
+-- Student archive
+-- Graduated and dropped-out students are moved out of students, with their
+-- admissions, academic records and standing, once their status has been
+-- unchanged for a while, so the tables active-student queries scan hold only
+-- current students. Deleted students are moved here too, marked with
+-- deleted_at, instead of being dropped. student_archive is partitioned by
+-- status; archive lookups by id, student ID or email go through the
+-- partitioned indexes below.
+
+CREATE TABLE IF NOT EXISTS student_archive (
+    id BIGINT NOT NULL,
+    student_id VARCHAR(20) NOT NULL,
+    first_name VARCHAR(50) NOT NULL,
+    last_name VARCHAR(50) NOT NULL,
+    email VARCHAR(100) NOT NULL,
+    phone VARCHAR(15),
+    date_of_birth DATE,
+    address TEXT,
+    department_id INTEGER,
+    year_of_study INTEGER,
+    status VARCHAR(255),
+    created_at TIMESTAMP(6),
+    updated_at TIMESTAMP(6),
+    archived_at TIMESTAMP(6) NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    deleted_at TIMESTAMP(6)
+) PARTITION BY LIST (status);
+
+-- Primary and unique keys of a partitioned table must include status, so ids
+-- are only indexed; each is unique already, having been moved from students.
+CREATE TABLE IF NOT EXISTS student_archive_graduated PARTITION OF student_archive FOR VALUES IN ('GRADUATED');
+CREATE TABLE IF NOT EXISTS student_archive_dropped_out PARTITION OF student_archive FOR VALUES IN ('DROPPED_OUT');
+-- Deleted students of every other status
+CREATE TABLE IF NOT EXISTS student_archive_other PARTITION OF student_archive DEFAULT;
+
+CREATE INDEX IF NOT EXISTS idx_student_archive_id ON student_archive (id);
+CREATE INDEX IF NOT EXISTS idx_student_archive_student_id ON student_archive (student_id);
+CREATE INDEX IF NOT EXISTS idx_student_archive_email ON student_archive (email);
+
+CREATE TABLE IF NOT EXISTS admission_archive (
+    id BIGINT PRIMARY KEY,
+    student_id BIGINT NOT NULL,
+    admission_year INTEGER NOT NULL,
+    program VARCHAR(100) NOT NULL,
+    admission_date DATE,
+    admission_status VARCHAR(255),
+    entrance_score FLOAT(53),
+    remarks TEXT,
+    created_at TIMESTAMP(6),
+    updated_at TIMESTAMP(6),
+    archived_at TIMESTAMP(6) NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE INDEX IF NOT EXISTS idx_admission_archive_student_id ON admission_archive (student_id);
+
+-- Transcripts outlive the student row: academic records and standings move
+-- with their student, so the tables keep their foreign keys to students.
+CREATE TABLE IF NOT EXISTS academic_record_archive (
+    id BIGINT PRIMARY KEY,
+    student_id BIGINT NOT NULL,
+    semester INTEGER NOT NULL,
+    year INTEGER NOT NULL,
+    gpa NUMERIC(4,2),
+    total_credits INTEGER,
+    status VARCHAR(20),
+    created_at TIMESTAMP(6),
+    updated_at TIMESTAMP(6),
+    archived_at TIMESTAMP(6) NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE INDEX IF NOT EXISTS idx_academic_record_archive_student_id ON academic_record_archive (student_id);
+
+CREATE TABLE IF NOT EXISTS academic_standing_archive (
+    student_id BIGINT PRIMARY KEY,
+    quality_points NUMERIC(14,2) NOT NULL,
+    credits_earned INTEGER NOT NULL,
+    cumulative_gpa NUMERIC(5,3),
+    updated_at TIMESTAMP(6),
+    archived_at TIMESTAMP(6) NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+-- Archiving is not a delete to consumers of the changes feed: the archiver
+-- sets student.archiving for its transaction and no tombstones are written.
+CREATE OR REPLACE FUNCTION record_student_tombstones()
+RETURNS TRIGGER AS $$
+BEGIN
+    IF current_setting('student.archiving', true) = 'on' THEN
+        RETURN NULL;
+    END IF;
+    INSERT INTO change_tombstones (entity_type, entity_id, student_id)
+    SELECT 'STUDENT', id, id FROM old_rows;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE OR REPLACE FUNCTION record_admission_tombstones()
+RETURNS TRIGGER AS $$
+BEGIN
+    IF current_setting('student.archiving', true) = 'on' THEN
+        RETURN NULL;
+    END IF;
+    INSERT INTO change_tombstones (entity_type, entity_id, student_id)
+    SELECT 'ADMISSION', id, student_id FROM old_rows;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
@@ -0,0 +1,23 @@
+-- Byte-order collation for the text sort keys of GET /api/v1/students
+-- With sharding, each shard returns its rows in database order and the
+-- service merges them in Java (StudentSortRegistry.comparator). A
+-- locale collation orders case, accents and punctuation in ways Java's
+-- natural order does not reproduce, so merged pages came out of order.
+-- "C" orders by code point on every shard and in Java alike, and the
+-- (column, id) indexes are rebuilt in that order, so they still serve
+-- the sorts. Each column keeps its own type and width.
+
+DO $$
+DECLARE
+    col RECORD;
+BEGIN
+    FOR col IN
+        SELECT a.attname, format_type(a.atttypid, a.atttypmod) AS type
+        FROM pg_attribute a
+        WHERE a.attrelid = 'students'::regclass
+          AND a.attname IN ('student_id', 'email', 'first_name', 'last_name', 'phone', 'address')
+          AND NOT a.attisdropped
+    LOOP
+        EXECUTE format('ALTER TABLE students ALTER COLUMN %I TYPE %s COLLATE "C"', col.attname, col.type);
+    END LOOP;
+END $$;
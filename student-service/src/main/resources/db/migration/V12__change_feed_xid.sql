@@ -0,0 +1,50 @@
+-- Commit-safe positions for the changes feed (GET /api/v1/students/changes)
+-- updated_at and deleted_at are stamped when a transaction writes, not when it
+-- commits, so a feed keyed on them hands out positions past rows that a long
+-- transaction (an archive run, an import batch) commits later with an earlier
+-- stamp. Each row now also records the transaction that last wrote it, and the
+-- feed reads only rows whose transaction is older than the oldest one still
+-- running (pg_snapshot_xmin), which have all finished: nothing can commit
+-- behind a position once it has been handed out.
+
+-- Existing rows all come before any feed position; the constant default
+-- avoids rewriting the tables and firing their updated_at triggers
+ALTER TABLE students ADD COLUMN IF NOT EXISTS change_xid BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE students ALTER COLUMN change_xid SET DEFAULT pg_current_xact_id()::text::bigint;
+
+ALTER TABLE admissions ADD COLUMN IF NOT EXISTS change_xid BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE admissions ALTER COLUMN change_xid SET DEFAULT pg_current_xact_id()::text::bigint;
+
+ALTER TABLE change_tombstones ADD COLUMN IF NOT EXISTS change_xid BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE change_tombstones ALTER COLUMN change_xid SET DEFAULT pg_current_xact_id()::text::bigint;
+
+CREATE OR REPLACE FUNCTION stamp_change_xid()
+RETURNS TRIGGER AS $$
+BEGIN
+    NEW.change_xid = pg_current_xact_id()::text::bigint;
+    RETURN NEW;
+END;
+$$ LANGUAGE plpgsql;
+
+DROP TRIGGER IF EXISTS stamp_students_change_xid ON students;
+CREATE TRIGGER stamp_students_change_xid BEFORE UPDATE ON students
+    FOR EACH ROW EXECUTE FUNCTION stamp_change_xid();
+
+DROP TRIGGER IF EXISTS stamp_admissions_change_xid ON admissions;
+CREATE TRIGGER stamp_admissions_change_xid BEFORE UPDATE ON admissions
+    FOR EACH ROW EXECUTE FUNCTION stamp_change_xid();
+
+-- Keyset continuation of the feed
+CREATE INDEX IF NOT EXISTS idx_student_change_xid_id ON students (change_xid, id);
+CREATE INDEX IF NOT EXISTS idx_admission_change_xid_id ON admissions (change_xid, id);
+CREATE INDEX IF NOT EXISTS idx_tombstone_change_xid_id ON change_tombstones (change_xid, id);
+
+-- Last tombstone position purged by retention; a token still behind it may
+-- have missed deletes and must resynchronise
+CREATE TABLE IF NOT EXISTS change_feed_horizon (
+    id INTEGER PRIMARY KEY CHECK (id = 1),
+    purged_xid BIGINT NOT NULL,
+    purged_id BIGINT NOT NULL
+);
+
+INSERT INTO change_feed_horizon (id, purged_xid, purged_id) VALUES (1, 0, 0) ON CONFLICT (id) DO NOTHING;
@@ -0,0 +1,96 @@
+-- Student Service baseline schema
+-- Matches the JPA mappings of Student and Admission. Databases that existed
+-- before Flyway are baselined at V0 and run this too: tables created by
+-- hibernate ddl-auto already match it, and ones created by
+-- docker-config/postgres/init-students.sql are brought up to it below.
+
+CREATE TABLE IF NOT EXISTS students (
+    id BIGSERIAL PRIMARY KEY,
+    student_id VARCHAR(20) NOT NULL,
+    first_name VARCHAR(50) NOT NULL,
+    last_name VARCHAR(50) NOT NULL,
+    email VARCHAR(100) NOT NULL,
+    phone VARCHAR(15),
+    date_of_birth DATE,
+    address TEXT,
+    department VARCHAR(50),
+    year_of_study INTEGER,
+    status VARCHAR(255) CHECK (status IN ('ACTIVE', 'INACTIVE', 'GRADUATED', 'SUSPENDED', 'DROPPED_OUT')),
+    created_at TIMESTAMP(6),
+    updated_at TIMESTAMP(6)
+);
+
+CREATE TABLE IF NOT EXISTS admissions (
+    id BIGSERIAL PRIMARY KEY,
+    student_id BIGINT NOT NULL REFERENCES students (id),
+    admission_year INTEGER NOT NULL,
+    program VARCHAR(100) NOT NULL,
+    admission_date DATE,
+    admission_status VARCHAR(255) CHECK (admission_status IN ('PENDING', 'APPROVED', 'REJECTED', 'WAITLISTED', 'CANCELLED')),
+    entrance_score FLOAT(53),
+    remarks TEXT,
+    created_at TIMESTAMP(6)
+);
+
+-- Older shape from init-students.sql: no year of study, bigint department ids,
+-- and admissions that were applications for a course. Each step checks for
+-- that shape, so this is a no-op everywhere else.
+ALTER TABLE students ADD COLUMN IF NOT EXISTS year_of_study INTEGER;
+
+DO $$
+BEGIN
+    IF EXISTS (SELECT 1 FROM information_schema.columns
+               WHERE table_schema = current_schema() AND table_name = 'departments'
+                 AND column_name = 'id' AND data_type = 'bigint') THEN
+        ALTER TABLE students ALTER COLUMN department_id TYPE INTEGER;
+        ALTER TABLE departments ALTER COLUMN id TYPE INTEGER;
+        ALTER SEQUENCE departments_id_seq AS INTEGER;
+    END IF;
+
+    IF EXISTS (SELECT 1 FROM information_schema.columns
+               WHERE table_schema = current_schema() AND table_name = 'admissions' AND column_name = 'course') THEN
+        ALTER TABLE admissions ADD COLUMN IF NOT EXISTS admission_year INTEGER;
+        ALTER TABLE admissions ADD COLUMN IF NOT EXISTS program VARCHAR(100);
+        ALTER TABLE admissions ADD COLUMN IF NOT EXISTS admission_date DATE;
+        ALTER TABLE admissions ADD COLUMN IF NOT EXISTS remarks TEXT;
+        UPDATE admissions
+        SET program = course,
+            admission_date = application_date,
+            admission_year = EXTRACT(YEAR FROM COALESCE(application_date, created_at, CURRENT_DATE))
+        WHERE program IS NULL;
+        -- The application columns stay, but the service does not fill them
+        ALTER TABLE admissions
+            ALTER COLUMN program SET NOT NULL,
+            ALTER COLUMN admission_year SET NOT NULL,
+            ALTER COLUMN course DROP NOT NULL,
+            ALTER COLUMN application_id DROP NOT NULL,
+            ALTER COLUMN entrance_score TYPE FLOAT(53);
+    END IF;
+
+    -- V2 keeps an academic_records table that already exists
+    IF EXISTS (SELECT 1 FROM information_schema.columns
+               WHERE table_schema = current_schema() AND table_name = 'academic_records'
+                 AND column_name = 'gpa' AND numeric_precision = 3) THEN
+        ALTER TABLE academic_records ALTER COLUMN gpa TYPE NUMERIC(4,2);
+        ALTER TABLE academic_records DROP CONSTRAINT IF EXISTS academic_records_student_id_fkey;
+        ALTER TABLE academic_records
+            ADD CONSTRAINT academic_records_student_id_fkey
+                FOREIGN KEY (student_id) REFERENCES students (id) ON DELETE CASCADE;
+    END IF;
+END $$;
+
+CREATE UNIQUE INDEX IF NOT EXISTS idx_student_email ON students (email);
+CREATE UNIQUE INDEX IF NOT EXISTS idx_student_student_id ON students (student_id);
+
+-- Keep updated_at current for writes that bypass JPA
+CREATE OR REPLACE FUNCTION update_updated_at_column()
+RETURNS TRIGGER AS $$
+BEGIN
+    NEW.updated_at = CURRENT_TIMESTAMP;
+    RETURN NEW;
+END;
+$$ LANGUAGE plpgsql;
+
+DROP TRIGGER IF EXISTS update_students_updated_at ON students;
+CREATE TRIGGER update_students_updated_at BEFORE UPDATE ON students
+    FOR EACH ROW EXECUTE FUNCTION update_updated_at_column();
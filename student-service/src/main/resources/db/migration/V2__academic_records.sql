@@ -0,0 +1,42 @@
+-- Academic records and per-student cumulative standing
+-- academic_standings is maintained incrementally by the service on every
+-- record write, so GPA queries never have to re-aggregate academic_records.
+
+CREATE TABLE IF NOT EXISTS academic_records (
+    id BIGSERIAL PRIMARY KEY,
+    student_id BIGINT NOT NULL REFERENCES students (id) ON DELETE CASCADE,
+    semester INTEGER NOT NULL,
+    year INTEGER NOT NULL,
+    gpa NUMERIC(4,2),
+    total_credits INTEGER,
+    status VARCHAR(20) DEFAULT 'IN_PROGRESS',
+    created_at TIMESTAMP(6) DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP(6) DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE INDEX IF NOT EXISTS idx_academic_records_student_id ON academic_records (student_id);
+
+DROP TRIGGER IF EXISTS update_academic_records_updated_at ON academic_records;
+CREATE TRIGGER update_academic_records_updated_at BEFORE UPDATE ON academic_records
+    FOR EACH ROW EXECUTE FUNCTION update_updated_at_column();
+
+CREATE TABLE IF NOT EXISTS academic_standings (
+    student_id BIGINT PRIMARY KEY REFERENCES students (id) ON DELETE CASCADE,
+    quality_points NUMERIC(14,2) NOT NULL DEFAULT 0,
+    credits_earned INTEGER NOT NULL DEFAULT 0,
+    cumulative_gpa NUMERIC(5,3),
+    updated_at TIMESTAMP(6) DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE INDEX IF NOT EXISTS idx_academic_standings_gpa ON academic_standings (cumulative_gpa DESC, student_id);
+
+-- Seed standings from records that already exist
+INSERT INTO academic_standings (student_id, quality_points, credits_earned, cumulative_gpa)
+SELECT student_id,
+       SUM(gpa * total_credits),
+       SUM(total_credits),
+       ROUND(SUM(gpa * total_credits) / SUM(total_credits), 3)
+FROM academic_records
+WHERE status = 'COMPLETED' AND gpa IS NOT NULL AND total_credits > 0
+GROUP BY student_id
+ON CONFLICT (student_id) DO NOTHING;
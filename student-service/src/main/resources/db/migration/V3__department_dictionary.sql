@@ -0,0 +1,49 @@
+-- Department dictionary
+-- Students reference departments by a narrow integer key instead of a
+-- free-text department string; the service keeps code <-> id in memory.
+
+CREATE TABLE IF NOT EXISTS departments (
+    id SERIAL PRIMARY KEY,
+    dept_code VARCHAR(50) UNIQUE NOT NULL,
+    dept_name VARCHAR(100) NOT NULL,
+    head_of_department VARCHAR(100),
+    established_year INTEGER,
+    created_at TIMESTAMP(6) DEFAULT CURRENT_TIMESTAMP
+);
+
+-- Databases created from docker-config/postgres/init-students.sql only allow 10 character codes
+ALTER TABLE departments ALTER COLUMN dept_code TYPE VARCHAR(50);
+
+INSERT INTO departments (dept_code, dept_name, head_of_department, established_year) VALUES
+('CSE', 'Computer Science and Engineering', 'Dr. John Smith', 1995),
+('ECE', 'Electronics and Communication Engineering', 'Dr. Sarah Johnson', 1990),
+('ME', 'Mechanical Engineering', 'Dr. Michael Brown', 1985),
+('CE', 'Civil Engineering', 'Dr. Emily Davis', 1980),
+('IT', 'Information Technology', 'Dr. David Wilson', 2000)
+ON CONFLICT (dept_code) DO NOTHING;
+
+ALTER TABLE students ADD COLUMN IF NOT EXISTS department_id INTEGER REFERENCES departments (id);
+
+-- Move free-text departments into the dictionary, then drop the string column
+DO $$
+BEGIN
+    IF EXISTS (SELECT 1 FROM information_schema.columns
+               WHERE table_schema = current_schema() AND table_name = 'students' AND column_name = 'department') THEN
+        -- Codes are matched ignoring case and surrounding whitespace, as DepartmentDictionary does,
+        -- and the lowest id wins where existing codes differ only in those; blank strings meant none
+        INSERT INTO departments (dept_code, dept_name)
+        SELECT upper(trim(s.department)), min(trim(s.department)) FROM students s
+        WHERE trim(s.department) <> ''
+          AND NOT EXISTS (SELECT 1 FROM departments d WHERE upper(trim(d.dept_code)) = upper(trim(s.department)))
+        GROUP BY upper(trim(s.department))
+        ON CONFLICT (dept_code) DO NOTHING;
+
+        UPDATE students s SET department_id = (
+            SELECT min(d.id) FROM departments d WHERE upper(trim(d.dept_code)) = upper(trim(s.department)))
+        WHERE trim(s.department) <> '' AND s.department_id IS NULL;
+
+        ALTER TABLE students DROP COLUMN department;
+    END IF;
+END $$;
+
+CREATE INDEX IF NOT EXISTS idx_student_department_id ON students (department_id);
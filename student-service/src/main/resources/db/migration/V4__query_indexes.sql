@@ -0,0 +1,40 @@
+-- Indexes derived from the repository query methods
+-- Each index names the methods it serves. load-test QueryPlanCheck explains
+-- every repository query against a seeded database and fails the build if
+-- one can only be answered by a sequential scan, so add new indexes here
+-- (in a new migration) together with new query methods.
+
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+-- StudentRepository.findByStatus (paged by id), countByStatus
+CREATE INDEX IF NOT EXISTS idx_student_status_id ON students (status, id);
+
+-- StudentRepository.findByDepartmentIdAndStatus
+CREATE INDEX IF NOT EXISTS idx_student_department_status ON students (department_id, status);
+
+-- StudentRepository.findByDepartmentId (paged by id), countByDepartmentId, countGroupedByDepartmentId
+DROP INDEX IF EXISTS idx_student_department_id;
+CREATE INDEX idx_student_department_id ON students (department_id, id);
+
+-- StudentRepository.findByYearOfStudy
+CREATE INDEX IF NOT EXISTS idx_student_year_of_study ON students (year_of_study, id);
+
+-- Active rosters, the bulk of department/year lookups; a fraction of the full indexes above
+CREATE INDEX IF NOT EXISTS idx_student_active_department ON students (department_id, id) WHERE status = 'ACTIVE';
+CREATE INDEX IF NOT EXISTS idx_student_active_year ON students (year_of_study, id) WHERE status = 'ACTIVE';
+
+-- StudentRepository.findByNameContaining: LOWER(name) LIKE '%term%'
+CREATE INDEX IF NOT EXISTS idx_student_first_name_trgm ON students USING gin (lower(first_name) gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS idx_student_last_name_trgm ON students USING gin (lower(last_name) gin_trgm_ops);
+
+-- AdmissionRepository.findByStudentId, findByStudentStudentId, Student.admissions
+CREATE INDEX IF NOT EXISTS idx_admission_student_id ON admissions (student_id);
+
+-- AdmissionRepository.findByAdmissionStatus, countByAdmissionStatus
+CREATE INDEX IF NOT EXISTS idx_admission_status ON admissions (admission_status);
+
+-- AdmissionRepository.findByAdmissionYear, countByAdmissionYear
+CREATE INDEX IF NOT EXISTS idx_admission_year ON admissions (admission_year);
+
+-- AdmissionRepository.findByProgram, findAllPrograms
+CREATE INDEX IF NOT EXISTS idx_admission_program ON admissions (program);
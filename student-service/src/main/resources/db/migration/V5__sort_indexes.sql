@@ -0,0 +1,6 @@
+-- Indexes backing the sort keys accepted by GET /api/v1/students
+-- (StudentSortRegistry). Every key is (column, id) so pages can be read in
+-- index order, and continued by keyset, without sorting the table.
+
+CREATE INDEX IF NOT EXISTS idx_student_last_name_id ON students (last_name, id);
+CREATE INDEX IF NOT EXISTS idx_student_created_at_id ON students (created_at, id);
@@ -0,0 +1,13 @@
+-- Change tracking for incremental readers (analytics snapshot)
+-- admissions gets the same updated_at trigger as students, and both tables
+-- get an (updated_at, id) index so "changed since" scans stay narrow.
+
+ALTER TABLE admissions ADD COLUMN IF NOT EXISTS updated_at TIMESTAMP(6) DEFAULT CURRENT_TIMESTAMP;
+UPDATE admissions SET updated_at = created_at WHERE created_at IS NOT NULL;
+
+DROP TRIGGER IF EXISTS update_admissions_updated_at ON admissions;
+CREATE TRIGGER update_admissions_updated_at BEFORE UPDATE ON admissions
+    FOR EACH ROW EXECUTE FUNCTION update_updated_at_column();
+
+CREATE INDEX IF NOT EXISTS idx_student_updated_at_id ON students (updated_at, id);
+CREATE INDEX IF NOT EXISTS idx_admission_updated_at_id ON admissions (updated_at, id);
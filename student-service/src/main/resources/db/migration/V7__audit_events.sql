@@ -0,0 +1,15 @@
+-- Mutation audit trail, written in batches by the background audit writer
+
+CREATE TABLE IF NOT EXISTS audit_events (
+    id BIGSERIAL PRIMARY KEY,
+    occurred_at TIMESTAMP(6) NOT NULL,
+    action VARCHAR(30) NOT NULL,
+    entity_type VARCHAR(30) NOT NULL,
+    entity_id BIGINT,
+    entity_key VARCHAR(100),
+    details TEXT
+);
+
+-- History of one entity in time order, and retention by age
+CREATE INDEX IF NOT EXISTS idx_audit_entity ON audit_events (entity_type, entity_id, occurred_at);
+CREATE INDEX IF NOT EXISTS idx_audit_occurred_at ON audit_events (occurred_at);
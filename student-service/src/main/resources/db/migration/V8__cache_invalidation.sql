@@ -0,0 +1,99 @@
+-- Cache invalidation broadcast
+-- Every committed write to students, admissions or departments, whoever makes
+-- it (any service replica, a bulk COPY, psql), sends one NOTIFY on
+-- student_cache_invalidation per statement, next to the existing
+-- updated_at triggers. Payloads are "<table>:<operation>:<keys>:<origin>",
+-- where keys lists the ids touched (admissions as admission_id/student_id
+-- pairs) or is "*" when a statement touched too many rows to list within the
+-- 8000 byte payload limit, and origin is the application_name of the session
+-- that made the write, so a replica can skip its own writes. Colons in the
+-- name are replaced to keep the payload parseable.
+
+CREATE OR REPLACE FUNCTION notify_students_changed()
+RETURNS TRIGGER AS $$
+DECLARE
+    keys TEXT;
+BEGIN
+    IF TG_OP = 'DELETE' THEN
+        SELECT CASE WHEN count(*) > 200 THEN '*' ELSE string_agg(id::text, ',') END INTO keys FROM old_rows;
+    ELSE
+        SELECT CASE WHEN count(*) > 200 THEN '*' ELSE string_agg(id::text, ',') END INTO keys FROM new_rows;
+    END IF;
+    IF keys IS NOT NULL THEN
+        PERFORM pg_notify('student_cache_invalidation', 'students:' || TG_OP || ':' || keys || ':'
+            || replace(current_setting('application_name'), ':', '_'));
+    END IF;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+-- An update may move an admission to another student, so both sides are reported
+CREATE OR REPLACE FUNCTION notify_admissions_changed()
+RETURNS TRIGGER AS $$
+DECLARE
+    keys TEXT;
+BEGIN
+    IF TG_OP = 'DELETE' THEN
+        SELECT CASE WHEN count(*) > 200 THEN '*' ELSE string_agg(id || '/' || student_id, ',') END INTO keys
+        FROM old_rows;
+    ELSIF TG_OP = 'INSERT' THEN
+        SELECT CASE WHEN count(*) > 200 THEN '*' ELSE string_agg(id || '/' || student_id, ',') END INTO keys
+        FROM new_rows;
+    ELSE
+        SELECT CASE WHEN count(*) > 200 THEN '*' ELSE string_agg(id || '/' || student_id, ',') END INTO keys
+        FROM (SELECT id, student_id FROM old_rows UNION SELECT id, student_id FROM new_rows) changed;
+    END IF;
+    IF keys IS NOT NULL THEN
+        PERFORM pg_notify('student_cache_invalidation', 'admissions:' || TG_OP || ':' || keys || ':'
+            || replace(current_setting('application_name'), ':', '_'));
+    END IF;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+-- Whole-table changes: departments (a handful of rows) and TRUNCATE
+CREATE OR REPLACE FUNCTION notify_table_changed()
+RETURNS TRIGGER AS $$
+BEGIN
+    PERFORM pg_notify('student_cache_invalidation', TG_TABLE_NAME || ':' || TG_OP || ':*:'
+        || replace(current_setting('application_name'), ':', '_'));
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+-- Transition tables allow only one event per trigger
+DROP TRIGGER IF EXISTS notify_students_inserted ON students;
+CREATE TRIGGER notify_students_inserted AFTER INSERT ON students
+    REFERENCING NEW TABLE AS new_rows
+    FOR EACH STATEMENT EXECUTE FUNCTION notify_students_changed();
+DROP TRIGGER IF EXISTS notify_students_updated ON students;
+CREATE TRIGGER notify_students_updated AFTER UPDATE ON students
+    REFERENCING NEW TABLE AS new_rows
+    FOR EACH STATEMENT EXECUTE FUNCTION notify_students_changed();
+DROP TRIGGER IF EXISTS notify_students_deleted ON students;
+CREATE TRIGGER notify_students_deleted AFTER DELETE ON students
+    REFERENCING OLD TABLE AS old_rows
+    FOR EACH STATEMENT EXECUTE FUNCTION notify_students_changed();
+DROP TRIGGER IF EXISTS notify_students_truncated ON students;
+CREATE TRIGGER notify_students_truncated AFTER TRUNCATE ON students
+    FOR EACH STATEMENT EXECUTE FUNCTION notify_table_changed();
+
+DROP TRIGGER IF EXISTS notify_admissions_inserted ON admissions;
+CREATE TRIGGER notify_admissions_inserted AFTER INSERT ON admissions
+    REFERENCING NEW TABLE AS new_rows
+    FOR EACH STATEMENT EXECUTE FUNCTION notify_admissions_changed();
+DROP TRIGGER IF EXISTS notify_admissions_updated ON admissions;
+CREATE TRIGGER notify_admissions_updated AFTER UPDATE ON admissions
+    REFERENCING OLD TABLE AS old_rows NEW TABLE AS new_rows
+    FOR EACH STATEMENT EXECUTE FUNCTION notify_admissions_changed();
+DROP TRIGGER IF EXISTS notify_admissions_deleted ON admissions;
+CREATE TRIGGER notify_admissions_deleted AFTER DELETE ON admissions
+    REFERENCING OLD TABLE AS old_rows
+    FOR EACH STATEMENT EXECUTE FUNCTION notify_admissions_changed();
+DROP TRIGGER IF EXISTS notify_admissions_truncated ON admissions;
+CREATE TRIGGER notify_admissions_truncated AFTER TRUNCATE ON admissions
+    FOR EACH STATEMENT EXECUTE FUNCTION notify_table_changed();
+
+DROP TRIGGER IF EXISTS notify_departments_changed ON departments;
+CREATE TRIGGER notify_departments_changed AFTER INSERT OR UPDATE OR DELETE OR TRUNCATE ON departments
+    FOR EACH STATEMENT EXECUTE FUNCTION notify_table_changed();
@@ -0,0 +1,43 @@
+-- Tombstones for the changes feed (GET /api/v1/students/changes)
+-- Students and admissions changed since a point are found by (updated_at, id);
+-- rows that were deleted leave one tombstone each here, written by trigger so
+-- deletes cascaded from a student, or made outside the service, are kept too.
+
+CREATE TABLE IF NOT EXISTS change_tombstones (
+    id BIGSERIAL PRIMARY KEY,
+    entity_type VARCHAR(20) NOT NULL,
+    entity_id BIGINT NOT NULL,
+    student_id BIGINT,
+    deleted_at TIMESTAMP(6) NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+-- Keyset continuation of the feed, and retention by age
+CREATE INDEX IF NOT EXISTS idx_tombstone_deleted_at_id ON change_tombstones (deleted_at, id);
+
+CREATE OR REPLACE FUNCTION record_student_tombstones()
+RETURNS TRIGGER AS $$
+BEGIN
+    INSERT INTO change_tombstones (entity_type, entity_id, student_id)
+    SELECT 'STUDENT', id, id FROM old_rows;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE OR REPLACE FUNCTION record_admission_tombstones()
+RETURNS TRIGGER AS $$
+BEGIN
+    INSERT INTO change_tombstones (entity_type, entity_id, student_id)
+    SELECT 'ADMISSION', id, student_id FROM old_rows;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+DROP TRIGGER IF EXISTS record_students_deleted ON students;
+CREATE TRIGGER record_students_deleted AFTER DELETE ON students
+    REFERENCING OLD TABLE AS old_rows
+    FOR EACH STATEMENT EXECUTE FUNCTION record_student_tombstones();
+
+DROP TRIGGER IF EXISTS record_admissions_deleted ON admissions;
+CREATE TRIGGER record_admissions_deleted AFTER DELETE ON admissions
+    REFERENCING OLD TABLE AS old_rows
+    FOR EACH STATEMENT EXECUTE FUNCTION record_admission_tombstones();
@@ -0,0 +1,187 @@
+package com.college.student.service.impl;
+
+import com.college.student.dto.AcademicRecordDto;
+import com.college.student.entity.AcademicRecord;
+import com.college.student.entity.AcademicRecordStatus;
+import com.college.student.entity.Student;
+import com.college.student.repository.AcademicRecordRepository;
+import com.college.student.repository.AcademicStandingRepository;
+import com.college.student.repository.StudentRepository;
+import com.college.student.service.AuditService;
+import com.college.student.util.AcademicRecordMapper;
+import com.college.student.util.ShardRouter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class AcademicRecordServiceImplTest {
+
+    private static final long STUDENT = 7L;
+
+    private final AcademicRecordRepository recordRepository = mock(AcademicRecordRepository.class);
+    private final AcademicStandingRepository standingRepository = mock(AcademicStandingRepository.class);
+    private final StudentRepository studentRepository = mock(StudentRepository.class);
+    private final ShardRouter shardRouter = mock(ShardRouter.class);
+    // Records and standing sums as the database holds them
+    private final Map<Long, AcademicRecord> records = new HashMap<>();
+    private final AtomicLong nextId = new AtomicLong(1);
+    private BigDecimal qualityPoints;
+    private int credits;
+    private AcademicRecordServiceImpl service;
+
+    @BeforeEach
+    void setUp() {
+        Student student = new Student();
+        student.setId(STUDENT);
+        when(studentRepository.findById(STUDENT)).thenReturn(Optional.of(student));
+
+        when(recordRepository.save(any(AcademicRecord.class))).thenAnswer(invocation -> {
+            AcademicRecord record = invocation.getArgument(0);
+            if (record.getId() == null) {
+                record.setId(nextId.getAndIncrement());
+            }
+            records.put(record.getId(), record);
+            return record;
+        });
+        when(recordRepository.findByIdForUpdate(anyLong()))
+                .thenAnswer(invocation -> Optional.ofNullable(records.get(invocation.<Long>getArgument(0))));
+        doAnswer(invocation -> records.remove(invocation.<AcademicRecord>getArgument(0).getId()))
+                .when(recordRepository).delete(any(AcademicRecord.class));
+
+        when(standingRepository.ensureExists(STUDENT)).thenAnswer(invocation -> {
+            if (qualityPoints == null) {
+                qualityPoints = BigDecimal.ZERO;
+            }
+            return 1;
+        });
+        when(standingRepository.applyDelta(any(), any(), anyInt())).thenAnswer(invocation -> {
+            qualityPoints = qualityPoints.add(invocation.getArgument(1));
+            credits += invocation.<Integer>getArgument(2);
+            return 1;
+        });
+
+        // Unsharded: every call runs its work on the one database
+        when(shardRouter.onShard(anyInt(), any(Supplier.class)))
+                .thenAnswer(invocation -> invocation.<Supplier<?>>getArgument(1).get());
+
+        service = new AcademicRecordServiceImpl();
+        ReflectionTestUtils.setField(service, "academicRecordRepository", recordRepository);
+        ReflectionTestUtils.setField(service, "academicStandingRepository", standingRepository);
+        ReflectionTestUtils.setField(service, "studentRepository", studentRepository);
+        ReflectionTestUtils.setField(service, "academicRecordMapper", new AcademicRecordMapper());
+        ReflectionTestUtils.setField(service, "auditService", mock(AuditService.class));
+        ReflectionTestUtils.setField(service, "shardRouter", shardRouter);
+    }
+
+    @Test
+    void onlyCompletedRecordsCountTowardTheStanding() {
+        service.createRecord(record(1, "3.50", 20, AcademicRecordStatus.COMPLETED));
+        service.createRecord(record(2, "2.00", 20, AcademicRecordStatus.IN_PROGRESS));
+        service.createRecord(record(3, "1.00", 10, AcademicRecordStatus.WITHDRAWN));
+
+        assertStanding("70.00", 20);
+        // The zero deltas of the other two records are not written
+        verify(standingRepository).applyDelta(any(), any(), anyInt());
+    }
+
+    @Test
+    void updatesApplyTheDifferenceOnly() {
+        Long graded = service.createRecord(record(1, "3.00", 20, AcademicRecordStatus.COMPLETED)).getId();
+        Long pending = service.createRecord(record(2, null, 18, AcademicRecordStatus.IN_PROGRESS)).getId();
+
+        service.updateRecord(graded, record(1, "3.50", 20, AcademicRecordStatus.COMPLETED));
+        assertStanding("70.00", 20);
+
+        service.updateRecord(pending, record(2, "4.00", 18, AcademicRecordStatus.COMPLETED));
+        assertStanding("142.00", 38);
+
+        // A regrade back to in progress takes the record out again
+        service.updateRecord(graded, record(1, "3.50", 20, AcademicRecordStatus.IN_PROGRESS));
+        assertStanding("72.00", 18);
+    }
+
+    @Test
+    void deletesSubtractTheRecord() {
+        Long first = service.createRecord(record(1, "3.00", 20, AcademicRecordStatus.COMPLETED)).getId();
+        service.createRecord(record(2, "4.00", 10, AcademicRecordStatus.COMPLETED));
+
+        assertTrue(service.deleteRecord(first));
+        assertStanding("40.00", 10);
+        assertFalse(service.deleteRecord(first));
+        assertStanding("40.00", 10);
+    }
+
+    @Test
+    void standingMatchesTheRecordsAfterAnyEdits() {
+        AcademicRecordStatus[] statuses = AcademicRecordStatus.values();
+        for (int i = 0; i < 40; i++) {
+            int semester = i % 8 + 1;
+            String gpa = String.format("%d.%02d", i % 4, i * 7 % 100);
+            AcademicRecordStatus status = statuses[i % statuses.length];
+            if (i % 3 == 0 || records.isEmpty()) {
+                service.createRecord(record(semester, gpa, 10 + i % 12, status));
+            } else if (i % 5 == 0) {
+                service.deleteRecord(records.keySet().iterator().next());
+            } else {
+                service.updateRecord(records.keySet().iterator().next(), record(semester, gpa, 10 + i % 12, status));
+            }
+        }
+
+        BigDecimal expectedPoints = BigDecimal.ZERO;
+        int expectedCredits = 0;
+        for (AcademicRecord record : records.values()) {
+            expectedPoints = expectedPoints.add(record.qualityPoints());
+            expectedCredits += record.gpaCredits();
+        }
+        assertEquals(0, expectedPoints.compareTo(qualityPoints), () -> "quality points " + qualityPoints);
+        assertEquals(expectedCredits, credits);
+    }
+
+    @Test
+    void rejectsUnknownStudentsAndRecords() {
+        AcademicRecordDto unknownStudent = record(1, "3.00", 20, AcademicRecordStatus.COMPLETED);
+        unknownStudent.setStudentId(99L);
+
+        assertThrows(IllegalArgumentException.class, () -> service.createRecord(unknownStudent));
+        assertThrows(IllegalArgumentException.class,
+                () -> service.updateRecord(99L, record(1, "3.00", 20, AcademicRecordStatus.COMPLETED)));
+        verify(standingRepository, never()).applyDelta(any(), any(), anyInt());
+    }
+
+    private void assertStanding(String expectedPoints, int expectedCredits) {
+        assertEquals(0, new BigDecimal(expectedPoints).compareTo(qualityPoints),
+                () -> "quality points " + qualityPoints);
+        assertEquals(expectedCredits, credits);
+    }
+
+    private static AcademicRecordDto record(int semester, String gpa, int totalCredits, AcademicRecordStatus status) {
+        AcademicRecordDto dto = new AcademicRecordDto();
+        dto.setStudentId(STUDENT);
+        dto.setSemester(semester);
+        dto.setYear(2024);
+        dto.setGpa(gpa == null ? null : new BigDecimal(gpa));
+        dto.setTotalCredits(totalCredits);
+        dto.setStatus(status);
+        return dto;
+    }
+}
@@ -0,0 +1,353 @@
+package com.college.student.service.impl;
+
+import com.college.student.config.AdmissionImportProperties;
+import com.college.student.dto.AdmissionImportResult;
+import com.college.student.entity.AdmissionStatus;
+import com.college.student.repository.AdmissionImportRepository;
+import com.college.student.repository.AdmissionImportRepository.Row;
+import com.college.student.util.ShardRouter;
+import com.college.student.util.SingleFlight;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class AdmissionServiceImplTest {
+
+    private static final String HEADER = "student_id,admission_year,program,admission_status,entrance_score,remarks\n";
+    private static final Map<String, Long> STUDENTS = Map.of("S001", 1L, "S002", 2L, "S003", 3L);
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final AdmissionImportProperties properties = new AdmissionImportProperties();
+    private final AdmissionImportRepository importRepository = mock(AdmissionImportRepository.class);
+    private final ShardRouter shardRouter = mock(ShardRouter.class);
+    // Admissions as the database holds them, by id
+    private final Map<Long, Row> admissions = new ConcurrentHashMap<>();
+    private final AtomicLong nextId = new AtomicLong(100);
+    private AdmissionServiceImpl service;
+
+    @BeforeEach
+    void setUp() {
+        properties.setBatchSize(2);
+        properties.setValidateWorkers(2);
+
+        when(importRepository.findStudentIds(anyCollection())).thenAnswer(invocation -> {
+            Map<String, Long> ids = new HashMap<>();
+            for (Object studentId : invocation.getArgument(0, Collection.class)) {
+                if (STUDENTS.containsKey(studentId)) {
+                    ids.put((String) studentId, STUDENTS.get(studentId));
+                }
+            }
+            return ids;
+        });
+        when(importRepository.findByStudentIds(anyCollection())).thenAnswer(invocation -> {
+            Collection<?> studentIds = invocation.getArgument(0);
+            return admissions.values().stream().filter(row -> studentIds.contains(row.studentId())).toList();
+        });
+        doAnswer(invocation -> {
+            for (Row row : invocation.<List<Row>>getArgument(0)) {
+                long id = nextId.getAndIncrement();
+                admissions.put(id, new Row(id, row.studentId(), row.admissionYear(), row.program(),
+                        row.admissionDate(), row.status(), row.entranceScore(), row.remarks()));
+            }
+            return null;
+        }).when(importRepository).insert(anyList());
+        when(importRepository.update(anyList(), anyList())).thenAnswer(invocation -> {
+            List<Row> rows = invocation.getArgument(0);
+            List<AdmissionStatus> expected = invocation.getArgument(1);
+            int[] counts = new int[rows.size()];
+            for (int i = 0; i < rows.size(); i++) {
+                Row row = rows.get(i);
+                if (admissions.get(row.id()).status() == expected.get(i)) {
+                    admissions.put(row.id(), row);
+                    counts[i] = 1;
+                }
+            }
+            return counts;
+        });
+
+        // Unsharded: every call runs its work on the one database
+        when(shardRouter.scatter(any())).thenAnswer(invocation -> List.of(invocation.<Supplier<?>>getArgument(0).get()));
+        when(shardRouter.readOnShard(anyInt(), any()))
+                .thenAnswer(invocation -> invocation.<Supplier<?>>getArgument(1).get());
+        when(shardRouter.onShard(anyInt(), any(Supplier.class)))
+                .thenAnswer(invocation -> invocation.<Supplier<?>>getArgument(1).get());
+
+        EntityManagerFactory entityManagerFactory = mock(EntityManagerFactory.class);
+        SessionFactory sessionFactory = mock(SessionFactory.class);
+        when(entityManagerFactory.unwrap(SessionFactory.class)).thenReturn(sessionFactory);
+        when(sessionFactory.getCache()).thenReturn(mock(Cache.class));
+
+        service = new AdmissionServiceImpl();
+        ReflectionTestUtils.setField(service, "properties", properties);
+        ReflectionTestUtils.setField(service, "importRepository", importRepository);
+        ReflectionTestUtils.setField(service, "shardRouter", shardRouter);
+        ReflectionTestUtils.setField(service, "singleFlight", new SingleFlight(meterRegistry, true));
+        ReflectionTestUtils.setField(service, "entityManagerFactory", entityManagerFactory);
+        ReflectionTestUtils.setField(service, "transactionManager", mock(PlatformTransactionManager.class));
+        ReflectionTestUtils.setField(service, "meterRegistry", meterRegistry);
+        service.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        service.stop();
+    }
+
+    @Test
+    void splitsQuotedFields() {
+        assertArrayEquals(new String[] {"S001", "2024", "B.Tech"}, AdmissionServiceImpl.split("S001,2024,B.Tech"));
+        assertArrayEquals(new String[] {"S001", "", ""}, AdmissionServiceImpl.split("S001,,"));
+        assertArrayEquals(new String[] {"a, b", "say \"hi\"", "c"},
+                AdmissionServiceImpl.split("\"a, b\",\"say \"\"hi\"\"\",c"));
+        assertNull(AdmissionServiceImpl.split("S001,\"open,2024"));
+    }
+
+    @Test
+    void rejectsBadHeaders() {
+        assertEquals("The import file is empty", headerError(""));
+        assertEquals("Malformed header row", headerError("\"student_id,admission_year\n"));
+        assertEquals("Unknown column: grade", headerError("student_id,admission_year,program,grade\n"));
+        assertEquals("Column appears twice: program", headerError("student_id,program,admission_year,PROGRAM\n"));
+        assertEquals("Missing column: program", headerError("student_id,admission_year\n"));
+    }
+
+    @Test
+    void importsRowsAndReportsTheRest() throws IOException {
+        properties.setApproveScore(80.0);
+        properties.setWaitlistScore(60.0);
+
+        AdmissionImportResult result = importCsv(HEADER +
+                "S001,2024,B.Tech,,85,\n" +
+                "S002,2024,\"B.Sc, Physics\",,70,\"said \"\"maybe\"\"\"\n" +
+                "S003,2024,B.A,,40,\n" +
+                "S001,2024,B.Tech,APPROVED,,\n" +
+                "S999,2024,B.Tech,,,\n" +
+                "S002,abc,B.Tech,,,\n" +
+                "S003,2024,B.Com,,101,\n" +
+                "S003,2024,B.Com,\"open\n" +
+                "S003,2024\n");
+
+        assertNull(result.getError());
+        assertEquals(9, result.getRead());
+        assertEquals(3, result.getInserted());
+        assertEquals(1, result.getDuplicates());
+        assertEquals(5, result.getInvalid());
+        assertEquals(List.of(
+                        new Rejection(5, "Duplicate of line 2"),
+                        new Rejection(6, "Unknown student S999"),
+                        new Rejection(7, "Invalid admission year abc"),
+                        new Rejection(8, "Entrance score 101 is outside 0.0 to 100.0"),
+                        new Rejection(9, "Unterminated quoted field"),
+                        new Rejection(10, "Expected 6 fields but found 2")),
+                rejections(result));
+
+        assertEquals(AdmissionStatus.APPROVED, admission(1L, "B.Tech").status());
+        Row physics = admission(2L, "B.Sc, Physics");
+        assertEquals(AdmissionStatus.WAITLISTED, physics.status());
+        assertEquals("said \"maybe\"", physics.remarks());
+        assertEquals(AdmissionStatus.REJECTED, admission(3L, "B.A").status());
+    }
+
+    @Test
+    void importingTheSameFileAgainChangesNothing() throws IOException {
+        String csv = HEADER +
+                "S001,2024,B.Tech,,,\n" +
+                "S002,2024,B.Tech,WAITLISTED,65,\n" +
+                "S003,2024,B.Tech,APPROVED,90,on merit\n";
+        AdmissionImportResult first = importCsv(csv);
+        assertEquals(3, first.getInserted());
+        Map<Long, Row> written = Map.copyOf(admissions);
+
+        AdmissionImportResult second = importCsv(csv);
+
+        assertEquals(0, second.getInserted());
+        assertEquals(0, second.getUpdated());
+        assertEquals(3, second.getUnchanged());
+        assertEquals(written, admissions);
+        verify(importRepository, never()).update(anyList(), anyList());
+    }
+
+    @Test
+    void recordsDecisionsOnExistingAdmissions() throws IOException {
+        existing(1L, AdmissionStatus.PENDING);
+        existing(2L, AdmissionStatus.WAITLISTED);
+        existing(3L, AdmissionStatus.REJECTED);
+
+        AdmissionImportResult result = importCsv(HEADER +
+                "S001,2024,B.Tech,APPROVED,,\n" +
+                "S002,2024,B.Tech,,77,\n" +
+                "S003,2024,B.Tech,APPROVED,,\n");
+
+        assertEquals(2, result.getUpdated());
+        assertEquals(1, result.getInvalid());
+        assertEquals(List.of(new Rejection(4, "Admission cannot move from REJECTED to APPROVED")),
+                rejections(result));
+        assertEquals(AdmissionStatus.APPROVED, admission(1L, "B.Tech").status());
+        // A score alone keeps the status when no cut-offs are configured
+        Row waitlisted = admission(2L, "B.Tech");
+        assertEquals(AdmissionStatus.WAITLISTED, waitlisted.status());
+        assertEquals(77.0, waitlisted.entranceScore());
+        assertEquals(AdmissionStatus.REJECTED, admission(3L, "B.Tech").status());
+    }
+
+    @Test
+    void keepsDecisionsMadeWhileTheImportRan() throws IOException {
+        Row pending = existing(1L, AdmissionStatus.PENDING);
+        existing(2L, AdmissionStatus.PENDING);
+        // The API approves S001's admission after validate read it as pending
+        doAnswer(invocation -> {
+            admissions.put(pending.id(), withStatus(pending, AdmissionStatus.APPROVED));
+            List<Row> rows = invocation.getArgument(0);
+            List<AdmissionStatus> expected = invocation.getArgument(1);
+            int[] counts = new int[rows.size()];
+            for (int i = 0; i < rows.size(); i++) {
+                if (admissions.get(rows.get(i).id()).status() == expected.get(i)) {
+                    admissions.put(rows.get(i).id(), rows.get(i));
+                    counts[i] = 1;
+                }
+            }
+            return counts;
+        }).when(importRepository).update(anyList(), anyList());
+
+        AdmissionImportResult result = importCsv(HEADER +
+                "S001,2024,B.Tech,REJECTED,,\n" +
+                "S002,2024,B.Tech,REJECTED,,\n");
+
+        assertEquals(1, result.getUpdated());
+        assertEquals(1, result.getConflicts());
+        assertEquals(List.of(new Rejection(2, "Admission changed while the import ran; it is no longer PENDING")),
+                rejections(result));
+        assertEquals(AdmissionStatus.APPROVED, admission(1L, "B.Tech").status());
+        assertEquals(AdmissionStatus.REJECTED, admission(2L, "B.Tech").status());
+    }
+
+    @Test
+    void failedImportReportsWhatItWrote() throws IOException {
+        doAnswer(invocation -> {
+            List<Row> rows = invocation.getArgument(0);
+            if (rows.stream().anyMatch(row -> row.studentId() == 3L)) {
+                // Fail once the other batch is written, whichever worker got it
+                long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+                while (admissions.size() < 2 && System.nanoTime() < deadline) {
+                    Thread.sleep(10);
+                }
+                throw new IllegalStateException("connection lost");
+            }
+            for (Row row : rows) {
+                long id = nextId.getAndIncrement();
+                admissions.put(id, new Row(id, row.studentId(), row.admissionYear(), row.program(),
+                        row.admissionDate(), row.status(), row.entranceScore(), row.remarks()));
+            }
+            return null;
+        }).when(importRepository).insert(anyList());
+
+        AdmissionImportResult result = importCsv(HEADER +
+                "S001,2024,B.Tech,,,\n" +
+                "S002,2024,B.Tech,,,\n" +
+                "S003,2024,B.Tech,,,\n");
+
+        assertNotNull(result.getError());
+        assertTrue(result.getError().contains("connection lost"), result.getError());
+        assertEquals(2, result.getInserted());
+    }
+
+    @Test
+    void secondImportIsTurnedAwayWhileOneRuns() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            started.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return Map.of("S001", 1L);
+        }).doAnswer(invocation -> Map.of("S002", 2L)).when(importRepository).findStudentIds(anyCollection());
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<AdmissionImportResult> running = executor.submit(() -> importCsv(HEADER + "S001,2024,B.Tech,,,\n"));
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+
+            assertThrows(RejectedExecutionException.class, () -> importCsv(HEADER + "S002,2024,B.Tech,,,\n"));
+
+            release.countDown();
+            assertEquals(1, running.get(5, TimeUnit.SECONDS).getInserted());
+            assertEquals(1, importCsv(HEADER + "S002,2024,B.Tech,,,\n").getInserted());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private record Rejection(long line, String reason) {}
+
+    private static List<Rejection> rejections(AdmissionImportResult result) {
+        return result.getRejected().stream().map(rejected -> new Rejection(rejected.getLine(), rejected.getReason()))
+                .toList();
+    }
+
+    private String headerError(String csv) {
+        return assertThrows(IllegalArgumentException.class, () -> importCsv(csv)).getMessage();
+    }
+
+    private AdmissionImportResult importCsv(String csv) throws IOException {
+        InputStream in = new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8));
+        return service.importAdmissions(in);
+    }
+
+    private Row existing(long studentId, AdmissionStatus status) {
+        long id = nextId.getAndIncrement();
+        Row row = new Row(id, studentId, 2024, "B.Tech", LocalDate.of(2024, 7, 1), status, null, null);
+        admissions.put(id, row);
+        return row;
+    }
+
+    private Row admission(long studentId, String program) {
+        return admissions.values().stream()
+                .filter(row -> row.studentId() == studentId && row.program().equals(program))
+                .findFirst()
+                .orElseThrow();
+    }
+
+    private static Row withStatus(Row row, AdmissionStatus status) {
+        return new Row(row.id(), row.studentId(), row.admissionYear(), row.program(), row.admissionDate(), status,
+                row.entranceScore(), row.remarks());
+    }
+}
@@ -0,0 +1,172 @@
+package com.college.student.service.impl;
+
+import com.college.student.config.AnalyticsProperties;
+import com.college.student.dto.AnalyticsResult;
+import com.college.student.entity.AdmissionStatus;
+import com.college.student.repository.AnalyticsSourceRepository;
+import com.college.student.util.DepartmentDictionary;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.ArgumentMatchers.notNull;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+class AnalyticsServiceImplTest {
+
+    private final AnalyticsProperties properties = new AnalyticsProperties();
+    private final AnalyticsSourceRepository sourceRepository = mock(AnalyticsSourceRepository.class);
+    // Rows the next read returns: every row for a rebuild, the changed ones for a refresh
+    private final List<Object[]> students = new ArrayList<>();
+    private final List<Object[]> admissions = new ArrayList<>();
+    private long clock = 1_000_000;
+    private AnalyticsServiceImpl service;
+
+    @BeforeEach
+    void setUp() {
+        properties.setEnabled(true);
+        doAnswer(invocation -> stream(students, invocation.getArgument(1)))
+                .when(sourceRepository).streamStudents(any(), any());
+        doAnswer(invocation -> stream(admissions, invocation.getArgument(1)))
+                .when(sourceRepository).streamAdmissions(any(), any());
+
+        // Refreshes are driven by the test instead of the scheduler start() would create
+        service = new AnalyticsServiceImpl();
+        ReflectionTestUtils.setField(service, "properties", properties);
+        ReflectionTestUtils.setField(service, "sourceRepository", sourceRepository);
+        ReflectionTestUtils.setField(service, "departmentDictionary", mock(DepartmentDictionary.class));
+        ReflectionTestUtils.setField(service, "meterRegistry", new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(service, "snapshotTransaction",
+                new TransactionTemplate(mock(PlatformTransactionManager.class)));
+
+        student(1, "ACTIVE", 1);
+        student(2, "ACTIVE", 2);
+        admission(10, "B.Tech", "APPROVED", 80.0);
+        admission(11, "B.Sc", "PENDING", null);
+        service.refresh();
+    }
+
+    @Test
+    void refreshAppliesChangedRowsToANewVersion() {
+        student(2, "GRADUATED", 2);
+        student(3, "ACTIVE", 1);
+        admission(11, "B.Sc", "APPROVED", 72.5);
+        service.refresh();
+
+        AnalyticsResult byStatus = service.queryStudents(null, null, null, "status");
+        assertEquals(3, byStatus.getMatched());
+        assertEquals(Map.of("ACTIVE", 2L, "GRADUATED", 1L), byStatus.getGroups());
+        assertEquals(2, byStatus.getSnapshotVersion());
+        assertEquals(Map.of("B.Tech", 1L, "B.Sc", 1L),
+                service.queryAdmissions(null, null, List.of(AdmissionStatus.APPROVED), "program").getGroups());
+        verify(sourceRepository, times(1)).streamStudents(isNull(), any());
+        verify(sourceRepository, times(1)).streamStudents(notNull(), any());
+    }
+
+    @Test
+    void unchangedOverlapKeepsTheVersion() {
+        // The overlap behind the watermark reads rows the snapshot already holds
+        student(1, "ACTIVE", 1);
+        admission(10, "B.Tech", "APPROVED", 80.0);
+        service.refresh();
+
+        assertEquals(1, service.queryStudents(null, null, null, null).getSnapshotVersion());
+        assertEquals(2, service.queryStudents(null, null, null, null).getMatched());
+    }
+
+    @Test
+    void removedRowsLeaveWithTheNextRefresh() {
+        service.removed(List.of(1L, 99L), List.of(11L));
+        service.refresh();
+
+        AnalyticsResult remaining = service.queryStudents(null, null, null, null);
+        assertEquals(1, remaining.getMatched());
+        assertEquals(2, remaining.getSnapshotVersion());
+        assertEquals(1, service.queryAdmissions(null, null, null, null).getMatched());
+        assertEquals(1L, service.snapshotInfo().get("studentRows"));
+
+        // A later change to a remaining row keeps the removal
+        student(2, "SUSPENDED", 2);
+        service.refresh();
+        assertEquals(Map.of("SUSPENDED", 1L), service.queryStudents(null, null, null, "status").getGroups());
+    }
+
+    @Test
+    void failedRefreshKeepsItsRemovals() {
+        service.removed(List.of(2L), List.of());
+        doThrow(new IllegalStateException("connection lost")).when(sourceRepository).streamStudents(notNull(), any());
+        service.refresh();
+        assertEquals(2, service.queryStudents(null, null, null, null).getMatched());
+
+        doAnswer(invocation -> stream(students, invocation.getArgument(1)))
+                .when(sourceRepository).streamStudents(any(), any());
+        service.refresh();
+        assertEquals(1, service.queryStudents(null, null, null, null).getMatched());
+    }
+
+    @Test
+    void tooManyRemovalsRebuildInstead() {
+        service.removed(LongStream.rangeClosed(1, 100_001).boxed().toList(), List.of());
+        student(1, "ACTIVE", 1);
+        service.refresh();
+
+        verify(sourceRepository, times(2)).streamStudents(isNull(), any());
+        assertEquals(1, service.queryStudents(null, null, null, null).getMatched());
+        assertEquals(2, service.queryStudents(null, null, null, null).getSnapshotVersion());
+    }
+
+    @Test
+    void rebuildSoonRebuildsOnTheNextRefresh() {
+        service.rebuildSoon();
+        student(2, "ACTIVE", 2);
+        service.refresh();
+
+        verify(sourceRepository, times(2)).streamStudents(isNull(), any());
+        assertEquals(1, service.queryStudents(null, null, null, null).getMatched());
+    }
+
+    private void student(long id, String status, int yearOfStudy) {
+        students.add(new Object[] {id, 0, status, yearOfStudy, new Timestamp(clock++)});
+    }
+
+    private void admission(long id, String program, String status, Double score) {
+        admissions.add(new Object[] {id, program, 2024, status, score, new Timestamp(clock++)});
+    }
+
+    private static Object stream(List<Object[]> rows, RowCallbackHandler handler) throws Exception {
+        for (Object[] row : rows) {
+            handler.processRow(resultSet(row));
+        }
+        rows.clear();
+        return null;
+    }
+
+    private static ResultSet resultSet(Object[] row) {
+        return mock(ResultSet.class, invocation -> {
+            Object value = row[invocation.<Integer>getArgument(0) - 1];
+            return switch (invocation.getMethod().getName()) {
+                case "getLong" -> ((Number) value).longValue();
+                case "getInt" -> ((Number) value).intValue();
+                default -> value;
+            };
+        });
+    }
+}
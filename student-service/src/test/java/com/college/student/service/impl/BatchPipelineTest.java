@@ -0,0 +1,175 @@
+package com.college.student.service.impl;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BatchPipelineTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+
+    @AfterEach
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void orderedStageBehindAParallelOneGetsBatchesInSourceOrder() throws Exception {
+        List<Integer> seen = Collections.synchronizedList(new ArrayList<>());
+        BatchPipeline<Integer> pipeline = new BatchPipeline<Integer>("source", "test", 4, meterRegistry)
+                .stage("shuffle", 4, rows -> {
+                    sleep(ThreadLocalRandom.current().nextInt(3));
+                    return rows;
+                })
+                .orderedStage("collect", rows -> {
+                    seen.addAll(rows);
+                    return rows;
+                });
+
+        pipeline.run(sink -> {
+            for (int i = 0; i < 100; i++) {
+                sink.accept(List.of(i));
+            }
+        }, executor);
+
+        assertEquals(IntStream.range(0, 100).boxed().toList(), seen);
+        for (BatchPipeline.StageStats stage : pipeline.stats()) {
+            assertEquals(100, stage.rows(), stage.name());
+        }
+    }
+
+    @Test
+    void ordersBatchesThatAStageEmptied() throws Exception {
+        List<Integer> seen = Collections.synchronizedList(new ArrayList<>());
+        BatchPipeline<Integer> pipeline = new BatchPipeline<Integer>("source", "test", 4, meterRegistry)
+                .stage("drop odd", 3, rows -> rows.get(0) % 2 == 0 ? rows : List.of())
+                .orderedStage("collect", rows -> {
+                    seen.addAll(rows);
+                    return rows;
+                });
+
+        pipeline.run(sink -> {
+            for (int i = 0; i < 20; i++) {
+                sink.accept(List.of(i));
+            }
+        }, executor);
+
+        assertEquals(List.of(0, 2, 4, 6, 8, 10, 12, 14, 16, 18), seen);
+    }
+
+    @Test
+    void workerFailureStopsTheSourceAndIsRethrown() {
+        IllegalStateException boom = new IllegalStateException("boom");
+        AtomicInteger emitted = new AtomicInteger();
+        BatchPipeline<Integer> pipeline = new BatchPipeline<Integer>("source", "test", 2, meterRegistry)
+                .stage("fail", 2, rows -> {
+                    if (rows.get(0) == 3) {
+                        throw boom;
+                    }
+                    return rows;
+                })
+                .orderedStage("collect", rows -> rows);
+
+        IllegalStateException thrown = assertThrows(IllegalStateException.class, () -> pipeline.run(sink -> {
+            for (int i = 0; i < 100_000; i++) {
+                sink.accept(List.of(i));
+                emitted.incrementAndGet();
+            }
+        }, executor));
+
+        assertSame(boom, thrown);
+        assertTrue(emitted.get() < 100_000, "the source kept emitting after the failure");
+    }
+
+    @Test
+    void sourceFailureIsRethrownAsIs() {
+        IOException broken = new IOException("broken");
+        BatchPipeline<Integer> pipeline = new BatchPipeline<Integer>("source", "test", 2, meterRegistry)
+                .stage("pass", 2, rows -> rows);
+
+        IOException thrown = assertThrows(IOException.class, () -> pipeline.run(sink -> {
+            sink.accept(List.of(1));
+            throw broken;
+        }, executor));
+
+        assertSame(broken, thrown);
+    }
+
+    @Test
+    void fullQueueBlocksTheSource() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger emitted = new AtomicInteger();
+        BatchPipeline<Integer> pipeline = new BatchPipeline<Integer>("source", "test", 2, meterRegistry)
+                .stage("slow", 1, rows -> {
+                    await(release);
+                    return rows;
+                });
+
+        Future<?> run = executor.submit(() -> {
+            pipeline.run(sink -> {
+                for (int i = 0; i < 10; i++) {
+                    sink.accept(List.of(i));
+                    emitted.incrementAndGet();
+                }
+            }, executor);
+            return null;
+        });
+
+        // One batch with the stuck worker and two queued; the fourth cannot be handed on
+        waitFor(() -> emitted.get() == 3);
+        Thread.sleep(300);
+        assertEquals(3, emitted.get());
+        assertEquals(2, pipeline.queued("slow"));
+
+        release.countDown();
+        run.get(5, TimeUnit.SECONDS);
+        assertEquals(10, emitted.get());
+        BatchPipeline.StageStats source = pipeline.stats().get(0);
+        assertTrue(source.blockedNanos() >= TimeUnit.MILLISECONDS.toNanos(300), "source was not held back");
+        assertEquals(10, pipeline.stats().get(1).rows());
+    }
+
+    private static void waitFor(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.nanoTime() < deadline, "timed out");
+            Thread.sleep(10);
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
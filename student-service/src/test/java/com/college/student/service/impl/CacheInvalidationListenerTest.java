@@ -0,0 +1,166 @@
+package com.college.student.service.impl;
+
+import com.college.student.config.ApplicationNameConfiguration;
+import com.college.student.entity.Admission;
+import com.college.student.entity.Student;
+import com.college.student.repository.AdmissionRepository;
+import com.college.student.service.AnalyticsService;
+import com.college.student.service.MeritListService;
+import com.college.student.util.DepartmentDictionary;
+import com.college.student.util.SingleFlight;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.hibernate.Cache;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+
+class CacheInvalidationListenerTest {
+
+    private static final String ADMISSIONS_ROLE = Student.class.getName() + ".admissions";
+    private static final String OTHER = ":student-service-other";
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final Cache cache = mock(Cache.class);
+    private final StudentDirectoryCache directoryCache = mock(StudentDirectoryCache.class);
+    private final DepartmentDictionary departmentDictionary = mock(DepartmentDictionary.class);
+    private final SingleFlight singleFlight = mock(SingleFlight.class);
+    private final AnalyticsService analyticsService = mock(AnalyticsService.class);
+    private final MeritListService meritListService = mock(MeritListService.class);
+    private CacheInvalidationListener listener;
+
+    @BeforeEach
+    void setUp() {
+        // apply() is driven directly; start() would open the LISTEN connections
+        listener = new CacheInvalidationListener();
+        ReflectionTestUtils.setField(listener, "cache", cache);
+        ReflectionTestUtils.setField(listener, "directoryCache", directoryCache);
+        ReflectionTestUtils.setField(listener, "departmentDictionary", departmentDictionary);
+        ReflectionTestUtils.setField(listener, "singleFlight", singleFlight);
+        ReflectionTestUtils.setField(listener, "analyticsService", analyticsService);
+        ReflectionTestUtils.setField(listener, "meritListService", meritListService);
+        ReflectionTestUtils.setField(listener, "meterRegistry", meterRegistry);
+    }
+
+    @Test
+    void evictsUpdatedStudents() {
+        listener.apply("students:UPDATE:1,2" + OTHER);
+
+        verify(cache).evictEntityData(Student.class, 1L);
+        verify(cache).evictEntityData(Student.class, 2L);
+        verify(cache, never()).evictCollectionData(any(), any());
+        verify(singleFlight).invalidate();
+        verify(directoryCache).refreshSoon(false);
+        assertEquals(1, invalidations("students", "keys"));
+    }
+
+    @Test
+    void insertedStudentsOnlyReachTheDirectory() {
+        listener.apply("students:INSERT:3" + OTHER);
+
+        verify(cache, never()).evictEntityData(any(Class.class), any());
+        verify(directoryCache).refreshSoon(false);
+    }
+
+    @Test
+    void deletedStudentsLeaveTheDirectory() {
+        listener.apply("students:DELETE:4" + OTHER);
+
+        verify(cache).evictEntityData(Student.class, 4L);
+        verify(cache).evictCollectionData(ADMISSIONS_ROLE, 4L);
+        verify(directoryCache).removedElsewhere(4L);
+        verify(directoryCache, never()).refreshSoon(anyBoolean());
+    }
+
+    @Test
+    void deletesLeaveAnalyticsAndMeritLists() {
+        listener.apply("students:DELETE:4,5" + OTHER);
+        listener.apply("admissions:DELETE:10/4,11/5" + OTHER);
+        listener.apply("admissions:UPDATE:12/6" + OTHER);
+
+        verify(analyticsService).removed(List.of(4L, 5L), List.of());
+        verify(analyticsService).removed(List.of(), List.of(10L, 11L));
+        verify(meritListService).removed(List.of(10L, 11L));
+        verifyNoMoreInteractions(analyticsService, meritListService);
+    }
+
+    @Test
+    void largeDeletesRebuildAnalyticsAndMeritLists() {
+        listener.apply("students:TRUNCATE:*" + OTHER);
+        listener.apply("admissions:DELETE:*" + OTHER);
+
+        verify(analyticsService, times(2)).rebuildSoon();
+        verify(meritListService).rebuildSoon();
+        verify(directoryCache).refreshSoon(true);
+    }
+
+    @Test
+    void evictsAdmissionsWithTheirStudentsCollection() {
+        listener.apply("admissions:UPDATE:10/4,11/5" + OTHER);
+
+        verify(cache).evictQueryRegion(AdmissionRepository.PROGRAMS_REGION);
+        verify(cache).evictEntityData(Admission.class, 10L);
+        verify(cache).evictEntityData(Admission.class, 11L);
+        verify(cache).evictCollectionData(ADMISSIONS_ROLE, 4L);
+        verify(cache).evictCollectionData(ADMISSIONS_ROLE, 5L);
+        assertEquals(1, invalidations("admissions", "keys"));
+    }
+
+    @Test
+    void largeStatementsEvictTheWholeRegion() {
+        listener.apply("students:UPDATE:*" + OTHER);
+        listener.apply("admissions:UPDATE:*" + OTHER);
+
+        verify(cache).evictEntityData(Student.class);
+        verify(cache).evictEntityData(Admission.class);
+        verify(directoryCache).refreshSoon(false);
+        assertEquals(1, invalidations("students", "all"));
+        assertEquals(1, invalidations("admissions", "all"));
+    }
+
+    @Test
+    void skipsThisInstancesWritesExceptDepartments() {
+        String own = ":" + ApplicationNameConfiguration.APPLICATION_NAME;
+        listener.apply("students:UPDATE:1" + own);
+        listener.apply("admissions:DELETE:10/4" + own);
+        listener.apply("departments:INSERT:7" + own);
+
+        verifyNoInteractions(cache, directoryCache, singleFlight);
+        verify(departmentDictionary).reload();
+    }
+
+    @Test
+    void appliesMessagesWithoutAnOrigin() {
+        // Sent by triggers from before the origin was added to the payload
+        listener.apply("students:UPDATE:1");
+
+        verify(cache).evictEntityData(Student.class, 1L);
+    }
+
+    @Test
+    void ignoresMalformedAndUnknownMessages() {
+        listener.apply("students");
+        listener.apply("students:UPDATE:abc" + OTHER);
+        listener.apply("audit_log:INSERT:1" + OTHER);
+
+        verify(cache, never()).evictEntityData(any(Class.class), any());
+        assertEquals(0, invalidations("students", "keys"));
+        assertEquals(0, meterRegistry.find("student.cache.invalidations").tag("table", "audit_log").counters().size());
+    }
+
+    private double invalidations(String table, String scope) {
+        var counter = meterRegistry.find("student.cache.invalidations").tags("table", table, "scope", scope).counter();
+        return counter == null ? 0 : counter.count();
+    }
+}
@@ -0,0 +1,161 @@
+package com.college.student.service.impl;
+
+import com.college.student.config.ChangeFeedProperties;
+import com.college.student.dto.ChangeFeedPage;
+import com.college.student.dto.DeletedRecord;
+import com.college.student.repository.AdmissionRepository;
+import com.college.student.repository.ChangeTombstoneRepository;
+import com.college.student.repository.ChangeTombstoneRepository.Tombstone;
+import com.college.student.repository.StudentRepository;
+import com.college.student.util.ChangeFeedToken;
+import com.college.student.util.ChangeFeedToken.Position;
+import com.college.student.util.ShardRouter;
+import com.college.student.util.StudentMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ChangeFeedServiceImplTest {
+
+    private static final int SHARDS = 2;
+
+    private final ChangeTombstoneRepository tombstoneRepository = mock(ChangeTombstoneRepository.class);
+    private final ShardRouter shardRouter = mock(ShardRouter.class);
+    // Tombstones, oldest running transaction and purge horizon of each shard
+    private final List<List<Tombstone>> tombstones = List.of(new ArrayList<>(), new ArrayList<>());
+    private final long[] oldestRunning = {1000, 1000};
+    private final Position[] purgedUpTo = {Position.START, Position.START};
+    private int shard;
+    private long nextId = 1;
+    private ChangeFeedServiceImpl service;
+
+    @BeforeEach
+    void setUp() {
+        when(shardRouter.shardCount()).thenReturn(SHARDS);
+        when(shardRouter.readOnShard(anyInt(), any())).thenAnswer(invocation -> {
+            shard = invocation.getArgument(0);
+            return invocation.<Supplier<?>>getArgument(1).get();
+        });
+        when(tombstoneRepository.oldestRunningTransaction()).thenAnswer(invocation -> oldestRunning[shard]);
+        when(tombstoneRepository.purgedUpTo()).thenAnswer(invocation -> purgedUpTo[shard]);
+        when(tombstoneRepository.findAfter(anyLong(), anyLong(), anyLong(), anyInt())).thenAnswer(invocation -> {
+            Position from = new Position(invocation.getArgument(0), invocation.getArgument(1));
+            long before = invocation.getArgument(2);
+            return tombstones.get(shard).stream()
+                    .filter(tombstone -> from.isBefore(new Position(tombstone.changeXid(), tombstone.id())))
+                    .filter(tombstone -> tombstone.changeXid() < before)
+                    .sorted(Comparator.comparingLong(Tombstone::changeXid).thenComparingLong(Tombstone::id))
+                    .limit(invocation.<Integer>getArgument(3))
+                    .toList();
+        });
+
+        // The purge scheduler start() would create is not needed
+        service = new ChangeFeedServiceImpl();
+        ReflectionTestUtils.setField(service, "properties", new ChangeFeedProperties());
+        ReflectionTestUtils.setField(service, "studentRepository", mock(StudentRepository.class));
+        ReflectionTestUtils.setField(service, "admissionRepository", mock(AdmissionRepository.class));
+        ReflectionTestUtils.setField(service, "tombstoneRepository", tombstoneRepository);
+        ReflectionTestUtils.setField(service, "studentMapper", mock(StudentMapper.class));
+        ReflectionTestUtils.setField(service, "shardRouter", shardRouter);
+    }
+
+    @Test
+    void pagesThroughEveryTombstoneOnce() {
+        // Unrelated transaction ids on the two shards, several deletes per transaction
+        for (long xid = 100; xid < 110; xid++) {
+            delete(0, xid, 3 * xid);
+            delete(0, xid, 3 * xid + 1);
+            delete(1, xid * 7, 5 * xid);
+        }
+
+        List<Long> seen = new ArrayList<>();
+        String token = null;
+        ChangeFeedPage page;
+        int pages = 0;
+        do {
+            page = service.getChanges(token, 4);
+            assertTrue(page.getDeleted().size() <= 4);
+            page.getDeleted().forEach(record -> seen.add(record.getId()));
+            token = page.getNext();
+            pages++;
+        } while (page.isHasMore());
+
+        assertEquals(30, seen.size());
+        assertEquals(30, seen.stream().distinct().count());
+        assertTrue(pages >= 8);
+        // Each shard keeps its own order; deleted ids grow with the transaction on both
+        List<Long> first = seen.stream().filter(id -> id < 500).toList();
+        List<Long> second = seen.stream().filter(id -> id >= 500).toList();
+        assertEquals(first.stream().sorted().toList(), first);
+        assertEquals(second.stream().sorted().toList(), second);
+        assertEquals(List.of(), service.getChanges(token, 4).getDeleted());
+    }
+
+    @Test
+    void holdsBackDeletesOfRunningTransactions() {
+        delete(0, 100, 1);
+        delete(0, 200, 2);
+        oldestRunning[0] = 200;
+
+        ChangeFeedPage first = service.getChanges(null, 10);
+        assertEquals(List.of(1L), ids(first));
+        assertFalse(first.isHasMore());
+
+        // The transaction committed after the first page was read; nothing behind the token is skipped
+        oldestRunning[0] = 300;
+        assertEquals(List.of(2L), ids(service.getChanges(first.getNext(), 10)));
+    }
+
+    @Test
+    void caughtUpStreamsMoveToTheBound() {
+        delete(0, 100, 1);
+        oldestRunning[0] = 500;
+        oldestRunning[1] = 700;
+
+        ChangeFeedToken token = ChangeFeedToken.parse(service.getChanges(null, 10).getNext());
+        assertEquals(new Position(500, 0), token.get("deleted@0"));
+        assertEquals(new Position(700, 0), token.get("deleted@1"));
+        assertEquals(new Position(500, 0), token.get("students@0"));
+    }
+
+    @Test
+    void tokensBehindThePurgeAreExpired() {
+        delete(0, 100, 1);
+        delete(0, 120, 2);
+        oldestRunning[0] = 110;
+        String behind = service.getChanges(null, 10).getNext();
+
+        // Retention dropped the tombstone at (120, 2) before the consumer came back
+        oldestRunning[0] = 200;
+        purgedUpTo[0] = new Position(120, 2);
+        assertTrue(service.isExpired(behind));
+
+        String caughtUp = service.getChanges(null, 10).getNext();
+        assertFalse(service.isExpired(caughtUp));
+        assertFalse(service.isExpired(null));
+    }
+
+    private void delete(int onShard, long changeXid, long entityId) {
+        tombstones.get(onShard).add(new Tombstone(changeXid, nextId++,
+                new DeletedRecord("student", entityId, entityId, LocalDateTime.now())));
+    }
+
+    private static List<Long> ids(ChangeFeedPage page) {
+        return page.getDeleted().stream().map(DeletedRecord::getId).toList();
+    }
+}
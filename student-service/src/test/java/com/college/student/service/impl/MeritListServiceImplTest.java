@@ -0,0 +1,211 @@
+package com.college.student.service.impl;
+
+import com.college.student.config.MeritListProperties;
+import com.college.student.dto.MeritListDto;
+import com.college.student.dto.MeritListEntry;
+import com.college.student.repository.MeritCandidateRepository;
+import com.college.student.util.ShardRouter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+
+class MeritListServiceImplTest {
+
+    private static final int YEAR = 2024;
+
+    // Admissions as the database holds them, by id
+    private final Map<Long, Admission> admissions = new TreeMap<>();
+    private final List<MeritListServiceImpl> services = new ArrayList<>();
+    private long clock = 1_000_000;
+    private MeritListServiceImpl service;
+
+    private record Admission(long id, long studentId, String program, boolean candidate, double score,
+                             Timestamp updatedAt) {}
+
+    @BeforeEach
+    void setUp() {
+        admit(1, "B.Tech", 90.0);
+        admit(2, "B.Tech", 75.0);
+        admit(3, "B.Tech", 90.0);
+        admit(4, "B.Sc", 60.0);
+        admit(5, "B.Sc", 82.5);
+        service = newService();
+    }
+
+    @AfterEach
+    void tearDown() {
+        services.forEach(MeritListServiceImpl::shutdown);
+    }
+
+    @Test
+    void tiesRankByAdmissionId() {
+        // Loaded in reverse, still ranked by score, then the earlier application
+        admissions.clear();
+        admit(9, "B.A", 70.0);
+        admit(8, "B.A", 70.0);
+        admit(7, "B.A", 85.0);
+        admit(6, "B.A", 70.0);
+
+        MeritListDto list = newService().getMeritLists(YEAR, "B.A", 3, null).get(0);
+        assertEquals(List.of(7L, 6L, 8L), admissionIds(list));
+        assertEquals(List.of(1, 2, 3), list.getEntries().stream().map(MeritListEntry::getRank).toList());
+        assertEquals(4, list.getCandidates());
+        assertEquals(70.0, list.getCutoffScore());
+    }
+
+    @Test
+    void selectsBySeatsAndMinimumScore() {
+        MeritListDto bySeats = service.getMeritLists(YEAR, "B.Tech", 2, null).get(0);
+        assertEquals(List.of(1L, 3L), admissionIds(bySeats));
+
+        MeritListDto byScore = service.getMeritLists(YEAR, "B.Tech", null, 80.0).get(0);
+        assertEquals(List.of(1L, 3L), admissionIds(byScore));
+        assertEquals(90.0, byScore.getCutoffScore());
+
+        MeritListDto none = service.getMeritLists(YEAR, "B.Sc", null, 95.0).get(0);
+        assertEquals(List.of(), admissionIds(none));
+        assertNull(none.getCutoffScore());
+    }
+
+    @Test
+    void patchesChangedCandidatesIntoTheirPartitions() {
+        List<MeritListDto> before = service.getMeritLists(YEAR, null, 10, null);
+
+        admit(2, "B.Tech", 95.0);
+        admit(3, "B.Sc", 90.0);
+        withdraw(5);
+        admit(10, "B.A", 50.0);
+        List<MeritListDto> after = service.getMeritLists(YEAR, null, 10, null);
+
+        assertEquals(before.get(0).getRankingVersion() + 1, after.get(0).getRankingVersion());
+        assertEquals(List.of("B.A", "B.Sc", "B.Tech"), after.stream().map(MeritListDto::getProgram).toList());
+        assertEquals(List.of(10L), admissionIds(after.get(0)));
+        assertEquals(List.of(3L, 4L), admissionIds(after.get(1)));
+        assertEquals(List.of(2L, 1L), admissionIds(after.get(2)));
+        assertRankedAsRebuilt(after);
+    }
+
+    @Test
+    void emptiedPartitionsAreDropped() {
+        withdraw(4);
+        withdraw(5);
+
+        assertEquals(List.of("B.Tech"), service.getMeritLists(YEAR, null, 10, null).stream()
+                .map(MeritListDto::getProgram).toList());
+    }
+
+    @Test
+    void unchangedOverlapKeepsTheVersion() {
+        long version = service.getMeritLists(YEAR, null, 10, null).get(0).getRankingVersion();
+
+        // Re-read in the overlap behind the watermark, nothing moved
+        assertEquals(version, service.getMeritLists(YEAR, null, 10, null).get(0).getRankingVersion());
+    }
+
+    @Test
+    void removedAdmissionsAreUnranked() {
+        long version = service.getMeritLists(YEAR, null, 10, null).get(0).getRankingVersion();
+
+        // Archived or deleted: the row is gone and leaves nothing for the refresh to read
+        admissions.remove(1L);
+        admissions.remove(4L);
+        admissions.remove(5L);
+        service.removed(List.of(1L, 4L, 5L, 99L));
+        List<MeritListDto> after = service.getMeritLists(YEAR, null, 10, null);
+
+        assertEquals(List.of("B.Tech"), after.stream().map(MeritListDto::getProgram).toList());
+        assertEquals(List.of(3L, 2L), admissionIds(after.get(0)));
+        assertEquals(version + 1, after.get(0).getRankingVersion());
+        assertRankedAsRebuilt(after);
+    }
+
+    @Test
+    void rebuildSoonRanksFromScratch() {
+        service.getMeritLists(YEAR, null, 10, null);
+
+        admissions.remove(2L);
+        service.rebuildSoon();
+        assertEquals(List.of(1L, 3L), admissionIds(service.getMeritLists(YEAR, "B.Tech", 10, null).get(0)));
+    }
+
+    private void admit(long id, String program, double score) {
+        admissions.put(id, new Admission(id, 100 + id, program, true, score, new Timestamp(clock++)));
+    }
+
+    private void withdraw(long id) {
+        Admission admission = admissions.get(id);
+        admissions.put(id, new Admission(id, admission.studentId(), admission.program(), false, admission.score(),
+                new Timestamp(clock++)));
+    }
+
+    private void assertRankedAsRebuilt(List<MeritListDto> patched) {
+        List<MeritListDto> rebuilt = newService().getMeritLists(YEAR, null, 10, null);
+        assertEquals(rebuilt.size(), patched.size());
+        for (int i = 0; i < rebuilt.size(); i++) {
+            assertEquals(rebuilt.get(i).getProgram(), patched.get(i).getProgram());
+            assertEquals(admissionIds(rebuilt.get(i)), admissionIds(patched.get(i)));
+        }
+    }
+
+    private static List<Long> admissionIds(MeritListDto list) {
+        return list.getEntries().stream().map(MeritListEntry::getAdmissionId).toList();
+    }
+
+    /**
+     * A service over the admissions map that refreshes on every request
+     */
+    private MeritListServiceImpl newService() {
+        MeritListProperties properties = new MeritListProperties();
+        properties.setParallelism(2);
+        properties.setRefreshInterval(Duration.ZERO);
+
+        MeritCandidateRepository candidateRepository = mock(MeritCandidateRepository.class);
+        doAnswer(invocation -> stream(admissions.values().stream()
+                .filter(Admission::candidate)
+                .sorted(Comparator.comparing(Admission::program)), invocation.getArgument(0)))
+                .when(candidateRepository).streamCandidates(any());
+        doAnswer(invocation -> stream(admissions.values().stream()
+                .filter(admission -> !admission.updatedAt().before(invocation.getArgument(0)))
+                .sorted(Comparator.comparing(Admission::updatedAt)), invocation.getArgument(1)))
+                .when(candidateRepository).streamChangedSince(any(), any());
+
+        MeritListServiceImpl created = new MeritListServiceImpl();
+        ReflectionTestUtils.setField(created, "properties", properties);
+        ReflectionTestUtils.setField(created, "candidateRepository", candidateRepository);
+        ReflectionTestUtils.setField(created, "transactionManager", mock(PlatformTransactionManager.class));
+        ReflectionTestUtils.setField(created, "meterRegistry", new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(created, "shardRouter", mock(ShardRouter.class));
+        created.init();
+        services.add(created);
+        return created;
+    }
+
+    private static Object stream(Stream<Admission> rows, RowCallbackHandler handler) throws Exception {
+        for (Admission admission : rows.toList()) {
+            Object[] row = {admission.id(), admission.studentId(), admission.program(), YEAR,
+                    admission.candidate(), admission.score(), admission.updatedAt()};
+            handler.processRow(mock(ResultSet.class, invocation -> row[invocation.<Integer>getArgument(0) - 1]));
+        }
+        return null;
+    }
+}
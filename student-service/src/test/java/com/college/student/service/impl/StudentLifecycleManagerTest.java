@@ -0,0 +1,139 @@
+package com.college.student.service.impl;
+
+import com.college.student.config.LifecycleProperties;
+import com.college.student.entity.Admission;
+import com.college.student.entity.Student;
+import com.college.student.repository.StudentArchiveRepository;
+import com.college.student.repository.StudentArchiveRepository.Moved;
+import com.college.student.service.AnalyticsService;
+import com.college.student.service.MeritListService;
+import com.college.student.util.ShardRouter;
+import com.college.student.util.SingleFlight;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.hibernate.Cache;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+class StudentLifecycleManagerTest {
+
+    private static final String ADMISSIONS_ROLE = Student.class.getName() + ".admissions";
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final LifecycleProperties properties = new LifecycleProperties();
+    private final StudentArchiveRepository archiveRepository = mock(StudentArchiveRepository.class);
+    private final ShardRouter shardRouter = mock(ShardRouter.class);
+    private final Cache cache = mock(Cache.class);
+    private final StudentDirectoryCache directoryCache = mock(StudentDirectoryCache.class);
+    private final AnalyticsService analyticsService = mock(AnalyticsService.class);
+    private final MeritListService meritListService = mock(MeritListService.class);
+    private StudentLifecycleManager manager;
+
+    @BeforeEach
+    void setUp() {
+        when(shardRouter.shardCount()).thenReturn(1);
+        when(shardRouter.onShard(anyInt(), any(Supplier.class)))
+                .thenAnswer(invocation -> invocation.<Supplier<?>>getArgument(1).get());
+
+        // archive() is driven directly; start() would schedule it
+        manager = new StudentLifecycleManager();
+        ReflectionTestUtils.setField(manager, "properties", properties);
+        ReflectionTestUtils.setField(manager, "archiveRepository", archiveRepository);
+        ReflectionTestUtils.setField(manager, "shardRouter", shardRouter);
+        ReflectionTestUtils.setField(manager, "directoryCache", directoryCache);
+        ReflectionTestUtils.setField(manager, "singleFlight", new SingleFlight(meterRegistry, true));
+        ReflectionTestUtils.setField(manager, "analyticsService", analyticsService);
+        ReflectionTestUtils.setField(manager, "meritListService", meritListService);
+        ReflectionTestUtils.setField(manager, "meterRegistry", meterRegistry);
+        ReflectionTestUtils.setField(manager, "cache", cache);
+        ReflectionTestUtils.setField(manager, "archiveTransaction",
+                new TransactionTemplate(mock(PlatformTransactionManager.class)));
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void softDeleteIsForgottenOnceItCommits() {
+        when(archiveRepository.softDelete(4L)).thenReturn(new Moved(List.of(4L), List.of(10L, 11L)));
+        TransactionSynchronizationManager.initSynchronization();
+
+        assertTrue(manager.softDelete(4L));
+        verifyNoInteractions(cache, directoryCache, analyticsService, meritListService);
+
+        complete(TransactionSynchronization.STATUS_COMMITTED);
+        verify(cache).evictEntityData(Student.class, 4L);
+        verify(cache).evictCollectionData(ADMISSIONS_ROLE, 4L);
+        verify(cache).evictEntityData(Admission.class, 10L);
+        verify(cache).evictEntityData(Admission.class, 11L);
+        verify(directoryCache).remove(4L);
+        verify(analyticsService).removed(List.of(4L), List.of(10L, 11L));
+        verify(meritListService).removed(List.of(10L, 11L));
+    }
+
+    @Test
+    void rolledBackSoftDeleteChangesNothing() {
+        when(archiveRepository.softDelete(4L)).thenReturn(new Moved(List.of(4L), List.of(10L)));
+        TransactionSynchronizationManager.initSynchronization();
+
+        assertTrue(manager.softDelete(4L));
+        complete(TransactionSynchronization.STATUS_ROLLED_BACK);
+        verifyNoInteractions(cache, directoryCache, analyticsService, meritListService);
+    }
+
+    @Test
+    void softDeleteOfAMissingStudent() {
+        when(archiveRepository.softDelete(5L)).thenReturn(new Moved(List.of(), List.of()));
+
+        assertFalse(manager.softDelete(5L));
+        verifyNoInteractions(cache, directoryCache, analyticsService, meritListService);
+    }
+
+    @Test
+    void archivesInBatchesAndKeepsTheKeys() {
+        properties.setBatchSize(2);
+        when(archiveRepository.archiveInactive(any(), any(), anyInt())).thenReturn(
+                new Moved(List.of(1L, 2L), List.of(10L)),
+                new Moved(List.of(3L), List.of()));
+
+        manager.archive();
+
+        verify(directoryCache).archive(1L);
+        verify(directoryCache).archive(2L);
+        verify(directoryCache).archive(3L);
+        verify(directoryCache, never()).remove(any());
+        verify(analyticsService).removed(List.of(1L, 2L), List.of(10L));
+        verify(analyticsService).removed(List.of(3L), List.of());
+        verify(meritListService).removed(List.of(10L));
+        assertEquals(3, meterRegistry.counter("student.lifecycle.archived").count());
+    }
+
+    private static void complete(int status) {
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        TransactionSynchronizationManager.clearSynchronization();
+        synchronizations.forEach(synchronization -> synchronization.afterCompletion(status));
+    }
+}
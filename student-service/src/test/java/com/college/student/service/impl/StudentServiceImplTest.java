@@ -0,0 +1,115 @@
+package com.college.student.service.impl;
+
+import com.college.student.dto.StudentDto;
+import com.college.student.entity.Student;
+import com.college.student.entity.StudentStatus;
+import com.college.student.repository.StudentArchiveRepository;
+import com.college.student.repository.StudentRepository;
+import com.college.student.service.AuditService;
+import com.college.student.util.DepartmentDictionary;
+import com.college.student.util.ShardRouter;
+import com.college.student.util.SingleFlight;
+import com.college.student.util.StudentMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Optional;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class StudentServiceImplTest {
+
+    private final StudentRepository studentRepository = mock(StudentRepository.class);
+    private final StudentArchiveRepository archiveRepository = mock(StudentArchiveRepository.class);
+    private final StudentLifecycleManager lifecycleManager = mock(StudentLifecycleManager.class);
+    private final AuditService auditService = mock(AuditService.class);
+    private final ShardRouter shardRouter = mock(ShardRouter.class);
+    private StudentServiceImpl service;
+
+    @BeforeEach
+    void setUp() {
+        // Unsharded: every call runs its work on the one database
+        when(shardRouter.readOnShard(anyInt(), any()))
+                .thenAnswer(invocation -> invocation.<Supplier<?>>getArgument(1).get());
+        when(shardRouter.onShard(anyInt(), any(Supplier.class)))
+                .thenAnswer(invocation -> invocation.<Supplier<?>>getArgument(1).get());
+        when(shardRouter.findFirst(any()))
+                .thenAnswer(invocation -> invocation.<Supplier<?>>getArgument(0).get());
+
+        StudentMapper studentMapper = new StudentMapper();
+        ReflectionTestUtils.setField(studentMapper, "departmentDictionary", mock(DepartmentDictionary.class));
+
+        service = new StudentServiceImpl();
+        ReflectionTestUtils.setField(service, "studentRepository", studentRepository);
+        ReflectionTestUtils.setField(service, "archiveRepository", archiveRepository);
+        ReflectionTestUtils.setField(service, "lifecycleManager", lifecycleManager);
+        ReflectionTestUtils.setField(service, "auditService", auditService);
+        ReflectionTestUtils.setField(service, "shardRouter", shardRouter);
+        ReflectionTestUtils.setField(service, "studentMapper", studentMapper);
+        ReflectionTestUtils.setField(service, "singleFlight", new SingleFlight(new SimpleMeterRegistry(), true));
+        ReflectionTestUtils.setField(service, "lookupBatcher", mock(StudentLookupBatcher.class));
+    }
+
+    @Test
+    void liveStudentsAreReadWithoutTheArchive() {
+        when(studentRepository.findById(1L)).thenReturn(Optional.of(student(1, "S001", StudentStatus.ACTIVE)));
+        when(studentRepository.findByStudentId("S001"))
+                .thenReturn(Optional.of(student(1, "S001", StudentStatus.ACTIVE)));
+
+        assertEquals(StudentStatus.ACTIVE, service.getStudentById(1L).orElseThrow().getStatus());
+        assertEquals(1L, service.getStudentByStudentId("S001").orElseThrow().getId());
+        verify(archiveRepository, never()).findById(anyLong());
+        verify(archiveRepository, never()).findByStudentId(anyString());
+    }
+
+    @Test
+    void archivedStudentsAreReadFromTheArchive() {
+        when(archiveRepository.findById(2L)).thenReturn(Optional.of(student(2, "S002", StudentStatus.GRADUATED)));
+        when(archiveRepository.findByStudentId("S002"))
+                .thenReturn(Optional.of(student(2, "S002", StudentStatus.GRADUATED)));
+
+        StudentDto byId = service.getStudentById(2L).orElseThrow();
+        assertEquals("S002", byId.getStudentId());
+        assertEquals(StudentStatus.GRADUATED, byId.getStatus());
+        assertEquals(2L, service.getStudentByStudentId("S002").orElseThrow().getId());
+    }
+
+    @Test
+    void deletedStudentsAreNotFound() {
+        // The archive hides soft-deleted rows, so neither table has the student
+        assertTrue(service.getStudentById(3L).isEmpty());
+        assertTrue(service.getStudentByStudentId("S003").isEmpty());
+    }
+
+    @Test
+    void deleteMovesTheStudentToTheArchive() {
+        when(lifecycleManager.softDelete(4L)).thenReturn(true);
+
+        assertTrue(service.deleteStudent(4L));
+        assertFalse(service.deleteStudent(5L));
+        verify(lifecycleManager).softDelete(5L);
+        verify(studentRepository, never()).deleteById(any());
+        verify(auditService).record(any(), any(), any(), any(), any());
+    }
+
+    private static Student student(long id, String studentId, StudentStatus status) {
+        Student student = new Student();
+        student.setId(id);
+        student.setStudentId(studentId);
+        student.setStatus(status);
+        return student;
+    }
+}
@@ -0,0 +1,139 @@
+package com.college.student.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AdaptiveConcurrencyLimiterTest {
+
+    private static final long WINDOW = 100_000_000L;
+    private static final long BASELINE_RTT = 10_000_000L;
+
+    private long now;
+
+    @Test
+    void admitsUpToTheLimit() {
+        AdaptiveConcurrencyLimiter limiter = limiter(3, 1, 10);
+
+        assertTrue(limiter.tryAcquire());
+        assertTrue(limiter.tryAcquire());
+        assertTrue(limiter.tryAcquire());
+        assertFalse(limiter.tryAcquire());
+        assertEquals(3, limiter.getInFlight());
+
+        limiter.release();
+        assertTrue(limiter.tryAcquire());
+    }
+
+    @Test
+    void raisesTheLimitWhileLatencyHoldsAndTheLimitIsReached() {
+        AdaptiveConcurrencyLimiter limiter = limiter(20, 4, 200);
+        saturatedWindow(limiter, BASELINE_RTT);
+
+        int previous = limiter.getLimit();
+        for (int i = 0; i < 10; i++) {
+            saturatedWindow(limiter, BASELINE_RTT);
+            assertTrue(limiter.getLimit() >= previous);
+            previous = limiter.getLimit();
+        }
+        assertTrue(limiter.getLimit() > 20, "limit " + limiter.getLimit());
+    }
+
+    @Test
+    void firstStepFollowsTheGradientFormula() {
+        AdaptiveConcurrencyLimiter limiter = limiter(20, 4, 200);
+        saturatedWindow(limiter, BASELINE_RTT);
+        assertEquals(20, limiter.getLimit());
+
+        // Unchanged latency: gradient 1, target 20 + sqrt(20) = 24.47, smoothed 0.8 * 20 + 0.2 * 24.47 = 20.89
+        saturatedWindow(limiter, BASELINE_RTT);
+        saturatedWindow(limiter, BASELINE_RTT);
+        // Second step from 20.89: 20.89 + 0.2 * sqrt(20.89) = 21.80
+        assertEquals(21, limiter.getLimit());
+    }
+
+    @Test
+    void lowersTheLimitWhenLatencyClimbs() {
+        AdaptiveConcurrencyLimiter limiter = limiter(20, 4, 200);
+        saturatedWindow(limiter, BASELINE_RTT);
+
+        // Ten times the baseline: gradient clamps to 0.5, target 10 + sqrt(20) = 14.47, smoothed 18.89
+        saturatedWindow(limiter, 10 * BASELINE_RTT);
+        assertEquals(18, limiter.getLimit());
+
+        int previous = limiter.getLimit();
+        for (int i = 0; i < 20; i++) {
+            saturatedWindow(limiter, 10 * BASELINE_RTT);
+            assertTrue(limiter.getLimit() <= previous);
+            previous = limiter.getLimit();
+        }
+        assertTrue(limiter.getLimit() < 10, "limit " + limiter.getLimit());
+    }
+
+    @Test
+    void staysWithinMinAndMax() {
+        AdaptiveConcurrencyLimiter rising = limiter(20, 4, 22);
+        AdaptiveConcurrencyLimiter falling = limiter(20, 15, 200);
+        saturatedWindow(rising, BASELINE_RTT);
+        saturatedWindow(falling, BASELINE_RTT);
+
+        for (int i = 0; i < 50; i++) {
+            saturatedWindow(rising, BASELINE_RTT);
+        }
+        // Few enough windows that the baseline has not yet drifted up to the new latency
+        for (int i = 0; i < 10; i++) {
+            saturatedWindow(falling, 10 * BASELINE_RTT);
+        }
+
+        assertEquals(22, rising.getLimit());
+        assertEquals(15, falling.getLimit());
+    }
+
+    @Test
+    void doesNotRaiseTheLimitWhenItIsNotWhatHoldsRequestsBack() {
+        AdaptiveConcurrencyLimiter limiter = limiter(20, 4, 200);
+        for (int i = 0; i < 10; i++) {
+            window(limiter, BASELINE_RTT, 2);
+        }
+
+        assertEquals(20, limiter.getLimit());
+    }
+
+    @Test
+    void releaseWithoutTimingLeavesTheLimitAlone() {
+        AdaptiveConcurrencyLimiter limiter = limiter(5, 1, 10);
+        for (int i = 0; i < 100; i++) {
+            assertTrue(limiter.tryAcquire());
+            limiter.release();
+        }
+
+        assertEquals(5, limiter.getLimit());
+        assertEquals(0, limiter.getInFlight());
+    }
+
+    private AdaptiveConcurrencyLimiter limiter(int initialLimit, int minLimit, int maxLimit) {
+        now = 0;
+        return new AdaptiveConcurrencyLimiter(initialLimit, minLimit, maxLimit, 2.0, WINDOW, 1, now);
+    }
+
+    /**
+     * One window in which as many requests as the limit allows are in flight together
+     */
+    private void saturatedWindow(AdaptiveConcurrencyLimiter limiter, long rttNanos) {
+        window(limiter, rttNanos, limiter.getLimit());
+    }
+
+    private void window(AdaptiveConcurrencyLimiter limiter, long rttNanos, int concurrency) {
+        for (int i = 0; i < concurrency; i++) {
+            assertTrue(limiter.tryAcquire());
+        }
+        // All but the last finish just inside the window; the last one closes it with every sample counted
+        for (int i = 1; i < concurrency; i++) {
+            limiter.release(rttNanos, now + WINDOW - 1);
+        }
+        now += WINDOW;
+        limiter.release(rttNanos, now);
+    }
+}
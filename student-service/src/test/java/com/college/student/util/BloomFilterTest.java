@@ -0,0 +1,83 @@
+package com.college.student.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BloomFilterTest {
+
+    private static final int PROBES = 200_000;
+
+    @Test
+    void neverReportsAnAddedKeyAbsent() {
+        BloomFilter filter = new BloomFilter(10_000, 0.01);
+        for (int i = 0; i < 10_000; i++) {
+            filter.add("STU" + i);
+        }
+
+        for (int i = 0; i < 10_000; i++) {
+            assertTrue(filter.mightContain("STU" + i));
+        }
+        // A key the filter already reports present is not counted again
+        assertTrue(filter.size() > 9_900 && filter.size() <= 10_000);
+        assertEquals(1, filter.layerCount());
+    }
+
+    @Test
+    void falsePositiveRateStaysUnderTheTarget() {
+        BloomFilter filter = new BloomFilter(10_000, 0.01);
+        for (int i = 0; i < 10_000; i++) {
+            filter.add("STU" + i);
+        }
+
+        double measured = falsePositiveRate(filter);
+        assertTrue(measured < 0.01, "measured false-positive rate " + measured);
+        assertTrue(filter.expectedFalsePositiveRate() < 0.01);
+    }
+
+    @Test
+    void addsLayersInsteadOfDegradingPastTheExpectedKeys() {
+        BloomFilter filter = new BloomFilter(1_000, 0.01);
+        for (int i = 0; i < 50_000; i++) {
+            filter.add("STU" + i);
+        }
+
+        assertTrue(filter.layerCount() > 1);
+        for (int i = 0; i < 50_000; i++) {
+            assertTrue(filter.mightContain("STU" + i));
+        }
+        assertTrue(filter.expectedFalsePositiveRate() < 0.01);
+        // Filled layers sum to just under the target, so leave room for sampling noise
+        double measured = falsePositiveRate(filter);
+        assertTrue(measured < 0.011, "measured false-positive rate " + measured);
+    }
+
+    @Test
+    void duplicateAddsDoNotCount() {
+        BloomFilter filter = new BloomFilter(100, 0.01);
+        filter.add("STU1");
+        filter.add("STU1");
+
+        assertEquals(1, filter.size());
+        assertFalse(filter.mightContain("STU2"));
+    }
+
+    @Test
+    void rejectsRatesOutsideZeroAndOne() {
+        assertThrows(IllegalArgumentException.class, () -> new BloomFilter(100, 0));
+        assertThrows(IllegalArgumentException.class, () -> new BloomFilter(100, 1));
+    }
+
+    private static double falsePositiveRate(BloomFilter filter) {
+        int positives = 0;
+        for (int i = 0; i < PROBES; i++) {
+            if (filter.mightContain("absent-" + i + "@college.edu")) {
+                positives++;
+            }
+        }
+        return (double) positives / PROBES;
+    }
+}
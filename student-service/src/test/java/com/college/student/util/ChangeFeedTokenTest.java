@@ -0,0 +1,77 @@
+package com.college.student.util;
+
+import com.college.student.util.ChangeFeedToken.Position;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ChangeFeedTokenTest {
+
+    @Test
+    void roundTripsEveryStream() {
+        ChangeFeedToken token = ChangeFeedToken.parse(null)
+                .with(ChangeFeedToken.stream("students", 0), new Position(4_294_967_301L, 17))
+                .with(ChangeFeedToken.stream("deleted", 1), new Position(812, 3));
+
+        ChangeFeedToken parsed = ChangeFeedToken.parse(token.encode());
+        assertEquals(new Position(4_294_967_301L, 17), parsed.get("students@0"));
+        assertEquals(new Position(812, 3), parsed.get("deleted@1"));
+        assertEquals(Position.START, parsed.get("admissions@0"));
+        assertEquals(token.encode(), parsed.encode());
+        assertFalse(parsed.isOutdated());
+        assertFalse(parsed.isEmpty());
+    }
+
+    @Test
+    void blankTokensStartFromTheBeginning() {
+        assertTrue(ChangeFeedToken.parse(null).isEmpty());
+        assertTrue(ChangeFeedToken.parse(" ").isEmpty());
+        assertEquals(Position.START, ChangeFeedToken.parse("").get("students@0"));
+    }
+
+    @Test
+    void movingOnLeavesTheOriginal() {
+        ChangeFeedToken original = ChangeFeedToken.parse(null).with("students@0", new Position(5, 1));
+        ChangeFeedToken moved = original.with("students@0", new Position(6, 2));
+
+        assertEquals(new Position(5, 1), original.get("students@0"));
+        assertEquals(new Position(6, 2), moved.get("students@0"));
+    }
+
+    @Test
+    void timestampTokensAreOutdated() {
+        // Issued while the feed was keyed by updated_at
+        String legacy = encode("issued=2026-01-05T10:16:00;students@0=2026-01-05T10:15:30.123/42");
+        String unissued = encode("deleted@1=2026-01-05T10:15:30/7;students@0=2026-01-05T10:15:30.123/42");
+
+        assertTrue(ChangeFeedToken.parse(legacy).isOutdated());
+        assertTrue(ChangeFeedToken.parse(unissued).isOutdated());
+        assertTrue(ChangeFeedToken.parse(unissued).isEmpty());
+    }
+
+    @Test
+    void rejectsGarbage() {
+        assertThrows(IllegalArgumentException.class, () -> ChangeFeedToken.parse("not base64!"));
+        assertThrows(IllegalArgumentException.class, () -> ChangeFeedToken.parse(encode("students@0")));
+        assertThrows(IllegalArgumentException.class, () -> ChangeFeedToken.parse(encode("students@0=12")));
+        assertThrows(IllegalArgumentException.class, () -> ChangeFeedToken.parse(encode("students@0=x/1")));
+    }
+
+    @Test
+    void ordersPositionsByTransactionThenId() {
+        assertTrue(new Position(5, 9).isBefore(new Position(6, 1)));
+        assertTrue(new Position(5, 1).isBefore(new Position(5, 2)));
+        assertFalse(new Position(5, 2).isBefore(new Position(5, 2)));
+        assertFalse(new Position(6, 0).isBefore(new Position(5, 9)));
+    }
+
+    private static String encode(String decoded) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(decoded.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,165 @@
+package com.college.student.util;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+class MicroBatcherTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+    private final ExecutorService loaderExecutor = Executors.newCachedThreadPool();
+    private final List<Set<Long>> batches = new CopyOnWriteArrayList<>();
+
+    @AfterEach
+    void shutdown() {
+        scheduler.shutdownNow();
+        loaderExecutor.shutdownNow();
+    }
+
+    @Test
+    void fullBatchFlushesWithoutWaitingForTheWindow() throws Exception {
+        MicroBatcher<Long, String> batcher = batcher(this::names, Duration.ofHours(1), 3);
+
+        CompletableFuture<String> first = batcher.load(1L);
+        CompletableFuture<String> second = batcher.load(2L);
+        assertFalse(first.isDone());
+        CompletableFuture<String> third = batcher.load(3L);
+
+        assertEquals("student-1", first.get(5, TimeUnit.SECONDS));
+        assertEquals("student-2", second.get(5, TimeUnit.SECONDS));
+        assertEquals("student-3", third.get(5, TimeUnit.SECONDS));
+        assertEquals(List.of(Set.of(1L, 2L, 3L)), batches);
+        assertEquals(1, flushes("size"));
+        assertEquals(0, flushes("window"));
+    }
+
+    @Test
+    void windowFlushesAPartialBatch() throws Exception {
+        MicroBatcher<Long, String> batcher = batcher(this::names, Duration.ofMillis(20), 64);
+
+        CompletableFuture<String> first = batcher.load(1L);
+        CompletableFuture<String> second = batcher.load(2L);
+
+        assertEquals("student-1", first.get(5, TimeUnit.SECONDS));
+        assertEquals("student-2", second.get(5, TimeUnit.SECONDS));
+        assertEquals(List.of(Set.of(1L, 2L)), batches);
+        assertEquals(0, flushes("size"));
+        assertEquals(1, flushes("window"));
+    }
+
+    @Test
+    void staleWindowTimerDoesNotFlushTheNextBatchEarly() throws Exception {
+        ScheduledExecutorService timers = mock(ScheduledExecutorService.class);
+        MicroBatcher<Long, String> batcher = new MicroBatcher<>("test", keys -> {
+            batches.add(Set.copyOf(keys));
+            return names(keys);
+        }, Duration.ofMillis(2), 2, timers, Runnable::run, meterRegistry);
+        ArgumentCaptor<Runnable> windows = ArgumentCaptor.forClass(Runnable.class);
+
+        // The first batch fills before its timer fires; the next key opens a second window
+        batcher.load(1L);
+        batcher.load(2L);
+        CompletableFuture<String> next = batcher.load(3L);
+        verify(timers, times(2)).schedule(windows.capture(), anyLong(), any(TimeUnit.class));
+
+        windows.getAllValues().get(0).run();
+        assertFalse(next.isDone());
+        windows.getAllValues().get(1).run();
+        assertEquals("student-3", next.get());
+        assertEquals(List.of(Set.of(1L, 2L), Set.of(3L)), batches);
+        assertEquals(1, flushes("window"));
+    }
+
+    @Test
+    void identicalKeysInOneWindowShareAFuture() {
+        MicroBatcher<Long, String> batcher = batcher(this::names, Duration.ofHours(1), 64);
+
+        assertSame(batcher.load(7L), batcher.load(7L));
+    }
+
+    @Test
+    void keyMissingFromTheResultCompletesWithNull() throws Exception {
+        MicroBatcher<Long, String> batcher = batcher(keys -> Map.of(), Duration.ofMillis(1), 64);
+
+        assertNull(batcher.get(404L, Duration.ofSeconds(5)));
+    }
+
+    @Test
+    void loaderFailureIsRethrownUnwrapped() {
+        MicroBatcher<Long, String> batcher = batcher(keys -> {
+            throw new IllegalStateException("Database unavailable");
+        }, Duration.ofMillis(1), 64);
+
+        IllegalStateException e = assertThrows(IllegalStateException.class,
+                () -> batcher.get(1L, Duration.ofSeconds(5)));
+        assertEquals("Database unavailable", e.getMessage());
+    }
+
+    @Test
+    void stuckBatchTimesOutAndCompletesLater() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        MicroBatcher<Long, String> batcher = batcher(keys -> {
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return names(keys);
+        }, Duration.ofMillis(1), 64);
+
+        assertThrows(TimeoutException.class, () -> batcher.get(1L, Duration.ofMillis(50)));
+
+        // The batch keeps running for whoever else is waiting on it
+        CompletableFuture<String> other = batcher.load(2L);
+        release.countDown();
+        assertEquals("student-2", other.get(5, TimeUnit.SECONDS));
+        assertTrue(batches.contains(Set.of(1L)));
+    }
+
+    private MicroBatcher<Long, String> batcher(Function<Set<Long>, Map<Long, String>> loader,
+                                               Duration window, int maxBatchSize) {
+        return new MicroBatcher<>("test", keys -> {
+            batches.add(Set.copyOf(keys));
+            return loader.apply(keys);
+        }, window, maxBatchSize, scheduler, loaderExecutor, meterRegistry);
+    }
+
+    private Map<Long, String> names(Set<Long> keys) {
+        Map<Long, String> names = new HashMap<>();
+        keys.forEach(key -> names.put(key, "student-" + key));
+        return names;
+    }
+
+    private double flushes(String trigger) {
+        return meterRegistry.get("student.batch.flushes").tag("trigger", trigger).counter().count();
+    }
+}
@@ -0,0 +1,110 @@
+package com.college.student.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RingBufferTest {
+
+    @Test
+    void rejectsCapacitiesThatAreNotPowersOfTwo() {
+        assertThrows(IllegalArgumentException.class, () -> new RingBuffer<>(0));
+        assertThrows(IllegalArgumentException.class, () -> new RingBuffer<>(1));
+        assertThrows(IllegalArgumentException.class, () -> new RingBuffer<>(12));
+        assertEquals(16, new RingBuffer<>(16).capacity());
+    }
+
+    @Test
+    void fullBufferRefusesOffersUntilDrained() {
+        RingBuffer<Integer> buffer = new RingBuffer<>(4);
+        for (int i = 0; i < 4; i++) {
+            assertTrue(buffer.offer(i));
+        }
+
+        assertFalse(buffer.offer(4));
+        assertEquals(4, buffer.size());
+
+        List<Integer> drained = new ArrayList<>();
+        assertEquals(1, buffer.drain(drained::add, 1));
+        assertTrue(buffer.offer(4));
+        assertFalse(buffer.offer(5));
+        assertEquals(4, buffer.drain(drained::add, 10));
+        assertEquals(List.of(0, 1, 2, 3, 4), drained);
+        assertEquals(0, buffer.size());
+    }
+
+    @Test
+    void keepsOrderAcrossManyWraparounds() {
+        RingBuffer<Integer> buffer = new RingBuffer<>(8);
+        List<Integer> drained = new ArrayList<>();
+        int next = 0;
+        for (int round = 0; round < 100; round++) {
+            // Uneven offer and drain counts move the head and tail across the wrap point at different slots
+            for (int i = 0; i < 5 && buffer.offer(next); i++) {
+                next++;
+            }
+            buffer.drain(drained::add, 3);
+        }
+        buffer.drain(drained::add, Integer.MAX_VALUE);
+
+        assertEquals(next, drained.size());
+        for (int i = 0; i < drained.size(); i++) {
+            assertEquals(i, drained.get(i));
+        }
+    }
+
+    @Test
+    void concurrentProducersLoseNothingThatWasAccepted() throws Exception {
+        RingBuffer<Integer> buffer = new RingBuffer<>(64);
+        int producers = 4;
+        int perProducer = 2_000;
+        ExecutorService executor = Executors.newFixedThreadPool(producers);
+        CountDownLatch done = new CountDownLatch(producers);
+        try {
+            for (int p = 0; p < producers; p++) {
+                int base = p * perProducer;
+                executor.execute(() -> {
+                    for (int i = 0; i < perProducer; i++) {
+                        while (!buffer.offer(base + i)) {
+                            Thread.yield();
+                        }
+                    }
+                    done.countDown();
+                });
+            }
+
+            boolean[] seen = new boolean[producers * perProducer];
+            int[] lastPerProducer = new int[producers];
+            Arrays.fill(lastPerProducer, -1);
+            int received = 0;
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+            while (received < seen.length && System.nanoTime() < deadline) {
+                received += buffer.drain(item -> {
+                    seen[item] = true;
+                    // Items from one producer come out in the order it offered them
+                    assertTrue(item > lastPerProducer[item / perProducer]);
+                    lastPerProducer[item / perProducer] = item;
+                }, 16);
+            }
+
+            assertTrue(done.await(5, TimeUnit.SECONDS));
+            assertEquals(seen.length, received);
+            for (boolean item : seen) {
+                assertTrue(item);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,199 @@
+package com.college.student.util;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SingleFlightTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+
+    @AfterEach
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void concurrentIdenticalCallsShareOneExecution() throws Exception {
+        SingleFlight singleFlight = new SingleFlight(meterRegistry, true);
+        CountDownLatch leaderStarted = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger executions = new AtomicInteger();
+        Object result = new Object();
+
+        Future<Object> leader = executor.submit(() -> singleFlight.execute("getStudent", () -> {
+            executions.incrementAndGet();
+            leaderStarted.countDown();
+            await(release);
+            return result;
+        }, 42L));
+        assertTrue(leaderStarted.await(5, TimeUnit.SECONDS));
+
+        List<Future<Object>> followers = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            followers.add(executor.submit(() -> singleFlight.execute("getStudent", () -> {
+                executions.incrementAndGet();
+                return new Object();
+            }, 42L)));
+        }
+        waitForCount("coalesced", 4);
+        release.countDown();
+
+        assertSame(result, leader.get(5, TimeUnit.SECONDS));
+        for (Future<Object> follower : followers) {
+            assertSame(result, follower.get(5, TimeUnit.SECONDS));
+        }
+        assertEquals(1, executions.get());
+        assertEquals(1, count("executed"));
+        assertEquals(0, meterRegistry.get("student.singleflight.inflight").gauge().value());
+    }
+
+    @Test
+    void differentArgumentsAreNotCoalesced() throws Exception {
+        SingleFlight singleFlight = new SingleFlight(meterRegistry, true);
+        CountDownLatch leaderStarted = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        Future<String> first = executor.submit(() -> singleFlight.execute("getStudent", () -> {
+            leaderStarted.countDown();
+            await(release);
+            return "first";
+        }, 1L));
+        assertTrue(leaderStarted.await(5, TimeUnit.SECONDS));
+
+        assertEquals("second", singleFlight.execute("getStudent", () -> "second", 2L));
+        release.countDown();
+        assertEquals("first", first.get(5, TimeUnit.SECONDS));
+        assertEquals(2, count("executed"));
+    }
+
+    @Test
+    void nothingIsCachedOnceTheLeaderFinishes() {
+        SingleFlight singleFlight = new SingleFlight(meterRegistry, true);
+        AtomicInteger executions = new AtomicInteger();
+
+        singleFlight.execute("getStudent", executions::incrementAndGet, 42L);
+        singleFlight.execute("getStudent", executions::incrementAndGet, 42L);
+
+        assertEquals(2, executions.get());
+        assertEquals(0, count("coalesced"));
+    }
+
+    @Test
+    void failureReachesEveryJoinedCaller() throws Exception {
+        SingleFlight singleFlight = new SingleFlight(meterRegistry, true);
+        CountDownLatch leaderStarted = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        Future<Object> leader = executor.submit(() -> singleFlight.execute("getStudent", () -> {
+            leaderStarted.countDown();
+            await(release);
+            throw new IllegalArgumentException("Student not found");
+        }, 42L));
+        assertTrue(leaderStarted.await(5, TimeUnit.SECONDS));
+        Future<Object> follower = executor.submit(() -> singleFlight.execute("getStudent", Object::new, 42L));
+        waitForCount("coalesced", 1);
+        release.countDown();
+
+        for (Future<Object> call : List.of(leader, follower)) {
+            Exception e = assertThrows(Exception.class, () -> call.get(5, TimeUnit.SECONDS));
+            assertTrue(e.getCause() instanceof IllegalArgumentException);
+        }
+    }
+
+    @Test
+    void callersAfterInvalidateDoNotJoinEarlierLoads() throws Exception {
+        SingleFlight singleFlight = new SingleFlight(meterRegistry, true);
+        CountDownLatch leaderStarted = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        Future<String> stale = executor.submit(() -> singleFlight.execute("getStudent", () -> {
+            leaderStarted.countDown();
+            await(release);
+            return "version 1";
+        }, 42L));
+        assertTrue(leaderStarted.await(5, TimeUnit.SECONDS));
+
+        // A write committed while the first load was running
+        singleFlight.invalidate();
+        assertEquals("version 2", singleFlight.execute("getStudent", () -> "version 2", 42L));
+        release.countDown();
+
+        assertEquals("version 1", stale.get(5, TimeUnit.SECONDS));
+        assertEquals(2, count("executed"));
+        assertEquals(0, count("coalesced"));
+    }
+
+    @Test
+    void joinedCallersGetTheirOwnCopy() throws Exception {
+        SingleFlight singleFlight = new SingleFlight(meterRegistry, true);
+        CountDownLatch leaderStarted = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        List<String> result = new ArrayList<>(List.of("shared"));
+
+        Future<List<String>> leader = executor.submit(() -> singleFlight.execute("getStudent", () -> {
+            leaderStarted.countDown();
+            await(release);
+            return result;
+        }, ArrayList::new, 42L));
+        assertTrue(leaderStarted.await(5, TimeUnit.SECONDS));
+        Future<List<String>> follower = executor.submit(() -> singleFlight.execute("getStudent",
+                () -> List.of("own"), ArrayList::new, 42L));
+        waitForCount("coalesced", 1);
+        release.countDown();
+
+        List<String> joined = follower.get(5, TimeUnit.SECONDS);
+        assertSame(result, leader.get(5, TimeUnit.SECONDS));
+        assertEquals(result, joined);
+        assertNotSame(result, joined);
+    }
+
+    @Test
+    void disabledRunsEveryCall() {
+        SingleFlight singleFlight = new SingleFlight(meterRegistry, false);
+        AtomicInteger executions = new AtomicInteger();
+
+        singleFlight.execute("getStudent", executions::incrementAndGet, 42L);
+        singleFlight.execute("getStudent", executions::incrementAndGet, 42L);
+
+        assertEquals(2, executions.get());
+        assertEquals(0, count("executed"));
+    }
+
+    private double count(String outcome) {
+        var counter = meterRegistry.find("student.singleflight.calls").tag("outcome", outcome).counter();
+        return counter == null ? 0 : counter.count();
+    }
+
+    private void waitForCount(String outcome, int expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (count(outcome) < expected && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        assertEquals(expected, count(outcome));
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
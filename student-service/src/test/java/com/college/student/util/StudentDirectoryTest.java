@@ -0,0 +1,108 @@
+package com.college.student.util;
+
+import com.college.student.entity.StudentStatus;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class StudentDirectoryTest {
+
+    // "Aa" and "BB" share a polynomial hash, so every mix of them collides on the full 32 bits
+    private static final List<String> COLLIDING = List.of("AaAa", "AaBB", "BBAa", "BBBB");
+
+    @Test
+    void findsEntriesByEveryKey() {
+        StudentDirectory directory = new StudentDirectory(16);
+        directory.put(1, "STU00001", "ada@college.edu", StudentStatus.ACTIVE);
+        directory.put(2, "STU00002", "alan@college.edu", null);
+
+        StudentDirectory.Entry entry = new StudentDirectory.Entry(1, "STU00001", "ada@college.edu", StudentStatus.ACTIVE);
+        assertEquals(entry, directory.findById(1));
+        assertEquals(entry, directory.findByStudentId("STU00001"));
+        assertEquals(entry, directory.findByEmail("ada@college.edu"));
+        assertNull(directory.findById(2).status());
+        assertNull(directory.findById(3));
+        assertNull(directory.findByStudentId("STU00003"));
+        assertNull(directory.findByEmail(null));
+        assertEquals(2, directory.size());
+    }
+
+    @Test
+    void collidingKeysAreToldApartByContent() {
+        StudentDirectory directory = new StudentDirectory(16);
+        for (int i = 0; i < COLLIDING.size(); i++) {
+            directory.put(i + 1, COLLIDING.get(i), COLLIDING.get(i) + "@college.edu", StudentStatus.ACTIVE);
+        }
+
+        for (int i = 0; i < COLLIDING.size(); i++) {
+            assertEquals(i + 1, directory.findByStudentId(COLLIDING.get(i)).id());
+        }
+        assertNull(directory.findByStudentId("BBBBAa"));
+    }
+
+    @Test
+    void removingTheHeadOfAProbeChainKeepsTheRestReachable() {
+        StudentDirectory directory = new StudentDirectory(16);
+        for (int i = 0; i < COLLIDING.size(); i++) {
+            directory.put(i + 1, COLLIDING.get(i), "student" + i + "@college.edu", StudentStatus.ACTIVE);
+        }
+
+        directory.remove(1);
+        directory.remove(3);
+
+        assertNull(directory.findById(1));
+        assertNull(directory.findByStudentId("AaAa"));
+        assertNull(directory.findByStudentId("BBAa"));
+        assertEquals(2, directory.findByStudentId("AaBB").id());
+        assertEquals(4, directory.findByStudentId("BBBB").id());
+        assertEquals(2, directory.size());
+    }
+
+    @Test
+    void growsPastItsExpectedSize() {
+        StudentDirectory directory = new StudentDirectory(16);
+        long initialBytes = directory.sizeInBytes();
+        for (int id = 1; id <= 5000; id++) {
+            directory.put(id, String.format("STU%05d", id), "student" + id + "@college.edu", StudentStatus.ACTIVE);
+        }
+
+        assertEquals(5000, directory.size());
+        assertTrue(directory.sizeInBytes() > initialBytes);
+        for (int id = 1; id <= 5000; id++) {
+            assertEquals(id, directory.findByStudentId(String.format("STU%05d", id)).id());
+            assertEquals(id, directory.findByEmail("student" + id + "@college.edu").id());
+        }
+    }
+
+    @Test
+    void replacingKeysMovesTheLookupsAndLeavesGarbage() {
+        StudentDirectory directory = new StudentDirectory(16);
+        directory.put(1, "STU00001", "old@college.edu", StudentStatus.ACTIVE);
+        directory.put(1, "STU00001", "old@college.edu", StudentStatus.GRADUATED);
+        assertEquals(0, directory.garbageRatio());
+        assertEquals(StudentStatus.GRADUATED, directory.findById(1).status());
+
+        directory.put(1, "STU00001", "new@college.edu", StudentStatus.GRADUATED);
+
+        assertNull(directory.findByEmail("old@college.edu"));
+        assertEquals(1, directory.findByEmail("new@college.edu").id());
+        assertEquals(1, directory.findByStudentId("STU00001").id());
+        assertEquals(1, directory.size());
+        assertTrue(directory.garbageRatio() > 0);
+    }
+
+    @Test
+    void rejectsIdsOutsideTheDenseTable() {
+        StudentDirectory directory = new StudentDirectory(16);
+
+        assertThrows(IllegalArgumentException.class,
+                () -> directory.put(-1, "STU00001", "ada@college.edu", StudentStatus.ACTIVE));
+        assertThrows(IllegalArgumentException.class,
+                () -> directory.put(Integer.MAX_VALUE, "STU00001", "ada@college.edu", StudentStatus.ACTIVE));
+    }
+}
@@ -0,0 +1,72 @@
+package com.college.student.util;
+
+import com.college.student.dto.StudentDto;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Sort;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class StudentSortRegistryTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void appendsIdAsTieBreaker() {
+        StudentSortRegistry registry = new StudentSortRegistry(meterRegistry, false);
+
+        assertEquals(Sort.by(Sort.Direction.DESC, "lastName").and(Sort.by(Sort.Direction.DESC, "id")),
+                registry.resolve("lastName", "desc"));
+        assertEquals(Sort.by(Sort.Direction.ASC, "id"), registry.resolve("id", "asc"));
+    }
+
+    @Test
+    void rejectsUnindexedKeysUnlessAllowed() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new StudentSortRegistry(meterRegistry, false).resolve("firstName", "asc"));
+        assertThrows(IllegalArgumentException.class,
+                () -> new StudentSortRegistry(meterRegistry, true).resolve("password", "asc"));
+
+        new StudentSortRegistry(meterRegistry, true).resolve("firstName", "asc");
+        assertEquals(1, meterRegistry.counter("student.sort.fallback", "key", "firstName").count());
+    }
+
+    @Test
+    void textKeysCompareByCodePointLikeTheCCollation() {
+        // Upper case before lower, accents after z, and a character above U+FFFF after U+FFFD,
+        // which comparing UTF-16 units would put first
+        List<StudentDto> students = new ArrayList<>(List.of(
+                student(1L, "zeta"), student(2L, "𝔸x"), student(3L, "Beta"), student(4L, null),
+                student(5L, "Ärger"), student(6L, "alpha"), student(7L, "�x"), student(8L, "alpha")));
+
+        students.sort(StudentSortRegistry.comparator(Sort.by("lastName").and(Sort.by("id"))));
+        assertEquals(List.of(3L, 6L, 8L, 1L, 5L, 7L, 2L, 4L), ids(students));
+
+        students.sort(StudentSortRegistry.comparator(
+                Sort.by(Sort.Direction.DESC, "lastName").and(Sort.by(Sort.Direction.DESC, "id"))));
+        assertEquals(List.of(4L, 2L, 7L, 5L, 1L, 8L, 6L, 3L), ids(students));
+    }
+
+    @Test
+    void comparesCodePointsOfPrefixes() {
+        assertTrue(StudentSortRegistry.compareCodePoints("ab", "abc") < 0);
+        assertTrue(StudentSortRegistry.compareCodePoints("abc", "ab") > 0);
+        assertEquals(0, StudentSortRegistry.compareCodePoints("𝔸", "𝔸"));
+    }
+
+    private static StudentDto student(Long id, String lastName) {
+        StudentDto student = new StudentDto();
+        student.setId(id);
+        student.setLastName(lastName);
+        return student;
+    }
+
+    private static List<Long> ids(List<StudentDto> students) {
+        return students.stream().map(StudentDto::getId).toList();
+    }
+}
@@ -0,0 +1,82 @@
+package com.college.student.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TokenBucketTest {
+
+    private static final long MILLI = 1_000_000L;
+    private static final long START = 1_000_000_000L;
+
+    @Test
+    void startsFullAndAllowsABurstOfCapacity() {
+        TokenBucket bucket = new TokenBucket(10, 5, START);
+        assertTrue(bucket.isFull(START));
+
+        for (int i = 0; i < 5; i++) {
+            assertEquals(0, bucket.tryAcquire(START));
+        }
+        assertFalse(bucket.isFull(START));
+        assertNear(100 * MILLI, bucket.tryAcquire(START));
+    }
+
+    @Test
+    void refillsAtTheConfiguredRate() {
+        TokenBucket bucket = new TokenBucket(10, 5, START);
+        drain(bucket, START);
+
+        // Half a token after 50ms: the wait is the other half
+        assertNear(50 * MILLI, bucket.tryAcquire(START + 50 * MILLI));
+        assertEquals(0, bucket.tryAcquire(START + 100 * MILLI));
+        assertNear(100 * MILLI, bucket.tryAcquire(START + 100 * MILLI));
+
+        // 250ms is 2.5 tokens: two acquire, the third waits for the missing half
+        assertEquals(0, bucket.tryAcquire(START + 350 * MILLI));
+        assertEquals(0, bucket.tryAcquire(START + 350 * MILLI));
+        assertNear(50 * MILLI, bucket.tryAcquire(START + 350 * MILLI));
+    }
+
+    @Test
+    void refillStopsAtCapacity() {
+        TokenBucket bucket = new TokenBucket(10, 5, START);
+        drain(bucket, START);
+
+        long later = START + 10_000 * MILLI;
+        assertTrue(bucket.isFull(later));
+        for (int i = 0; i < 5; i++) {
+            assertEquals(0, bucket.tryAcquire(later));
+        }
+        assertTrue(bucket.tryAcquire(later) > 0);
+    }
+
+    @Test
+    void clockGoingBackwardsAddsNothing() {
+        TokenBucket bucket = new TokenBucket(10, 1, START);
+        assertEquals(0, bucket.tryAcquire(START));
+
+        assertNear(100 * MILLI, bucket.tryAcquire(START - 500 * MILLI));
+    }
+
+    @Test
+    void capacityIsAtLeastOne() {
+        TokenBucket bucket = new TokenBucket(1, 0, START);
+
+        assertEquals(0, bucket.tryAcquire(START));
+        assertNear(1_000 * MILLI, bucket.tryAcquire(START));
+    }
+
+    private static void drain(TokenBucket bucket, long nowNanos) {
+        while (bucket.tryAcquire(nowNanos) == 0) {
+            // take every token
+        }
+    }
+
+    private static void assertNear(long expectedNanos, long actualNanos) {
+        // The wait is rounded up from a floating-point token count
+        assertTrue(Math.abs(expectedNanos - actualNanos) <= 1_000,
+                "expected about " + expectedNanos + "ns but was " + actualNanos + "ns");
+    }
+}